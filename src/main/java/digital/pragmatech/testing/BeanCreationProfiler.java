@@ -1,34 +1,55 @@
 package digital.pragmatech.testing;
 
 import java.time.Instant;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
 import java.util.List;
 import java.util.Map;
+import java.util.WeakHashMap;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicLong;
 
+import digital.pragmatech.testing.journal.BinaryEventLog;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.BeansException;
-import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.beans.factory.config.InstantiationAwareBeanPostProcessor;
+import org.springframework.context.ConfigurableApplicationContext;
 
 /**
  * BeanPostProcessor that tracks detailed bean creation metrics during context loading. Provides
- * insights into bean creation timing, order, and dependencies.
+ * insights into bean creation timing, order, and dependencies. Each bean is measured from before
+ * its instantiation until after its initialization. Beans created in between (its dependencies) are
+ * tracked on a per-thread stack and their time and allocations are subtracted, so every bean is
+ * charged for its own work only. The allocated bytes are read from the thread's allocation counter,
+ * so allocation-heavy beans (e.g. large caches or classpath scanners) can be ranked independently
+ * of garbage collections.
+ *
+ * <p>Each context is measured by a single profiler, registered by whichever initializer asks for it
+ * first via {@link #registerIfAbsent(ConfigurableApplicationContext)}. Consumers like the bean
+ * category breakdown or the auto-configuration report read the self times from it.
  */
-public class BeanCreationProfiler implements BeanPostProcessor {
+public class BeanCreationProfiler implements InstantiationAwareBeanPostProcessor {
 
   private static final Logger logger = LoggerFactory.getLogger(BeanCreationProfiler.class);
 
+  // Weak keys, so closed contexts and their metrics can be garbage collected
+  private static final Map<ConfigurableApplicationContext, BeanCreationProfiler> profilers =
+      Collections.synchronizedMap(new WeakHashMap<>());
+
   private final String contextId;
   private final Map<String, BeanCreationMetric> beanMetrics = new ConcurrentHashMap<>();
-  private final Map<String, Instant> beanStartTimes = new ConcurrentHashMap<>();
+  private final Map<String, Long> selfTimeNanos = new ConcurrentHashMap<>();
+  private final ThreadLocal<Deque<Frame>> creationStack = ThreadLocal.withInitial(ArrayDeque::new);
   private final AtomicLong beanCreationOrder = new AtomicLong(0);
 
   // Aggregated metrics
   private final AtomicLong totalBeansCreated = new AtomicLong(0);
   private final AtomicLong totalCreationTimeMs = new AtomicLong(0);
+  private final AtomicLong totalAllocatedBytes = new AtomicLong(0);
   private volatile long slowestBeanTimeMs = 0;
   private volatile String slowestBeanName = null;
 
@@ -36,46 +57,113 @@ public class BeanCreationProfiler implements BeanPostProcessor {
     this.contextId = contextId;
   }
 
+  /**
+   * Adds a profiler to the given context unless it already has one, so every bean is measured once
+   * however many initializers are registered.
+   *
+   * @return the profiler of the context
+   */
+  public static BeanCreationProfiler registerIfAbsent(ConfigurableApplicationContext context) {
+    return profilers.computeIfAbsent(
+        context,
+        key -> {
+          BeanCreationProfiler profiler =
+              new BeanCreationProfiler(
+                  TimingTrackingApplicationContextInitializer.generateContextId(key));
+          key.getBeanFactory().addBeanPostProcessor(profiler);
+          return profiler;
+        });
+  }
+
+  /** Gets the profiler of the given context, {@code null} if none was registered. */
+  public static BeanCreationProfiler of(ConfigurableApplicationContext context) {
+    return profilers.get(context);
+  }
+
   @Override
-  public Object postProcessBeforeInitialization(Object bean, String beanName)
+  public Object postProcessBeforeInstantiation(Class<?> beanClass, String beanName)
       throws BeansException {
     // Record bean creation start
-    beanStartTimes.put(beanName, Instant.now());
-    return bean;
+    creationStack
+        .get()
+        .push(
+            new Frame(
+                beanName,
+                Instant.now(),
+                System.nanoTime(),
+                ThreadAllocationCounter.currentThread()));
+    return null;
   }
 
   @Override
   public Object postProcessAfterInitialization(Object bean, String beanName) throws BeansException {
+    Deque<Frame> stack = creationStack.get();
+    if (stack.stream().noneMatch(frame -> frame.beanName.equals(beanName))) {
+      // e.g. objects exposed by a FactoryBean, they are post-processed without being instantiated
+      return bean;
+    }
+
     // Record bean creation completion
+    long endNanos = System.nanoTime();
     Instant endTime = Instant.now();
-    Instant startTime = beanStartTimes.remove(beanName);
-
-    if (startTime != null) {
-      long creationTimeMs = java.time.Duration.between(startTime, endTime).toMillis();
-      long order = beanCreationOrder.incrementAndGet();
-
-      // Create metric record
-      BeanCreationMetric metric =
-          new BeanCreationMetric(
-              beanName, bean.getClass().getName(), startTime, endTime, creationTimeMs, order);
-
-      beanMetrics.put(beanName, metric);
+    long endAllocatedBytes = ThreadAllocationCounter.currentThread();
+    Frame frame;
+    do {
+      // Frames above the bean belong to creations that failed without reaching this callback
+      frame = stack.pop();
+    } while (!frame.beanName.equals(beanName));
+
+    long totalNanos = endNanos - frame.startNanos;
+    long totalAllocatedBytesOfBean =
+        ThreadAllocationCounter.between(frame.startAllocatedBytes, endAllocatedBytes);
+    if (stack.isEmpty()) {
+      creationStack.remove();
+    } else {
+      Frame parent = stack.peek();
+      parent.childNanos += totalNanos;
+      parent.childAllocatedBytes += Math.max(0, totalAllocatedBytesOfBean);
+    }
 
-      // Update aggregated metrics
-      totalBeansCreated.incrementAndGet();
-      totalCreationTimeMs.addAndGet(creationTimeMs);
+    long selfNanos = Math.max(0, totalNanos - frame.childNanos);
+    long creationTimeMs = selfNanos / 1_000_000;
+    long allocatedBytes =
+        totalAllocatedBytesOfBean >= 0
+            ? Math.max(0, totalAllocatedBytesOfBean - frame.childAllocatedBytes)
+            : -1;
+    long order = beanCreationOrder.incrementAndGet();
+
+    // Create metric record
+    BeanCreationMetric metric =
+        new BeanCreationMetric(
+            beanName,
+            bean.getClass().getName(),
+            frame.startTime,
+            endTime,
+            creationTimeMs,
+            order,
+            allocatedBytes);
+
+    beanMetrics.put(beanName, metric);
+    selfTimeNanos.merge(beanName, selfNanos, Long::sum);
+    BinaryEventLog.current()
+        .append(BinaryEventLog.EventType.BEAN_CREATED, 0, null, beanName, contextId, selfNanos);
+
+    // Update aggregated metrics
+    totalBeansCreated.incrementAndGet();
+    totalCreationTimeMs.addAndGet(creationTimeMs);
+    if (allocatedBytes > 0) {
+      totalAllocatedBytes.addAndGet(allocatedBytes);
+    }
 
-      // Track slowest bean
-      if (creationTimeMs > slowestBeanTimeMs) {
-        slowestBeanTimeMs = creationTimeMs;
-        slowestBeanName = beanName;
-      }
+    // Track slowest bean
+    if (creationTimeMs > slowestBeanTimeMs) {
+      slowestBeanTimeMs = creationTimeMs;
+      slowestBeanName = beanName;
+    }
 
-      // Log slow beans
-      if (creationTimeMs > 100) {
-        logger.debug(
-            "Slow bean creation: {} took {}ms (order: {})", beanName, creationTimeMs, order);
-      }
+    // Log slow beans
+    if (creationTimeMs > 100) {
+      logger.debug("Slow bean creation: {} took {}ms (order: {})", beanName, creationTimeMs, order);
     }
 
     return bean;
@@ -89,6 +177,7 @@ public class BeanCreationProfiler implements BeanPostProcessor {
         totalCreationTimeMs.get(),
         slowestBeanName,
         slowestBeanTimeMs,
+        totalAllocatedBytes.get(),
         new ArrayList<>(beanMetrics.values()));
   }
 
@@ -97,6 +186,16 @@ public class BeanCreationProfiler implements BeanPostProcessor {
     return beanMetrics.get(beanName);
   }
 
+  /** Self time of the given bean in nanoseconds, {@code 0} if the bean was not timed. */
+  public long getSelfTimeNanos(String beanName) {
+    return selfTimeNanos.getOrDefault(beanName, 0L);
+  }
+
+  /** Self time of all timed beans in nanoseconds. */
+  public Map<String, Long> getSelfTimeNanos() {
+    return Collections.unmodifiableMap(selfTimeNanos);
+  }
+
   /** Gets beans sorted by creation time (slowest first). */
   public List<BeanCreationMetric> getSlowestBeans(int limit) {
     return beanMetrics.values().stream()
@@ -105,6 +204,27 @@ public class BeanCreationProfiler implements BeanPostProcessor {
         .collect(ArrayList::new, ArrayList::add, ArrayList::addAll);
   }
 
+  /** Gets beans sorted by allocated bytes (most allocating first). */
+  public List<BeanCreationMetric> getTopAllocatingBeans(int limit) {
+    return getMetrics().getTopAllocatingBeans(limit);
+  }
+
+  private static final class Frame {
+    private final String beanName;
+    private final Instant startTime;
+    private final long startNanos;
+    private final long startAllocatedBytes;
+    private long childNanos;
+    private long childAllocatedBytes;
+
+    private Frame(String beanName, Instant startTime, long startNanos, long startAllocatedBytes) {
+      this.beanName = beanName;
+      this.startTime = startTime;
+      this.startNanos = startNanos;
+      this.startAllocatedBytes = startAllocatedBytes;
+    }
+  }
+
   /** Individual bean creation metric. */
   public static class BeanCreationMetric {
     private final String beanName;
@@ -113,6 +233,7 @@ public class BeanCreationProfiler implements BeanPostProcessor {
     private final Instant endTime;
     private final long creationTimeMs;
     private final long creationOrder;
+    private final long allocatedBytes;
 
     public BeanCreationMetric(
         String beanName,
@@ -121,12 +242,24 @@ public class BeanCreationProfiler implements BeanPostProcessor {
         Instant endTime,
         long creationTimeMs,
         long creationOrder) {
+      this(beanName, beanClass, startTime, endTime, creationTimeMs, creationOrder, -1);
+    }
+
+    public BeanCreationMetric(
+        String beanName,
+        String beanClass,
+        Instant startTime,
+        Instant endTime,
+        long creationTimeMs,
+        long creationOrder,
+        long allocatedBytes) {
       this.beanName = beanName;
       this.beanClass = beanClass;
       this.startTime = startTime;
       this.endTime = endTime;
       this.creationTimeMs = creationTimeMs;
       this.creationOrder = creationOrder;
+      this.allocatedBytes = allocatedBytes;
     }
 
     public String getBeanName() {
@@ -152,6 +285,14 @@ public class BeanCreationProfiler implements BeanPostProcessor {
     public long getCreationOrder() {
       return creationOrder;
     }
+
+    /**
+     * Bytes allocated while the bean was instantiated and initialized, without its nested beans.
+     * {@code -1} if not supported by the JVM.
+     */
+    public long getAllocatedBytes() {
+      return allocatedBytes;
+    }
   }
 
   /** Aggregated bean creation metrics for a context. */
@@ -161,6 +302,7 @@ public class BeanCreationProfiler implements BeanPostProcessor {
     private final long totalCreationTimeMs;
     private final String slowestBeanName;
     private final long slowestBeanTimeMs;
+    private final long totalAllocatedBytes;
     private final List<BeanCreationMetric> allBeans;
 
     public BeanCreationMetrics(
@@ -170,11 +312,30 @@ public class BeanCreationProfiler implements BeanPostProcessor {
         String slowestBeanName,
         long slowestBeanTimeMs,
         List<BeanCreationMetric> allBeans) {
+      this(
+          contextId,
+          totalBeansCreated,
+          totalCreationTimeMs,
+          slowestBeanName,
+          slowestBeanTimeMs,
+          0,
+          allBeans);
+    }
+
+    public BeanCreationMetrics(
+        String contextId,
+        long totalBeansCreated,
+        long totalCreationTimeMs,
+        String slowestBeanName,
+        long slowestBeanTimeMs,
+        long totalAllocatedBytes,
+        List<BeanCreationMetric> allBeans) {
       this.contextId = contextId;
       this.totalBeansCreated = totalBeansCreated;
       this.totalCreationTimeMs = totalCreationTimeMs;
       this.slowestBeanName = slowestBeanName;
       this.slowestBeanTimeMs = slowestBeanTimeMs;
+      this.totalAllocatedBytes = totalAllocatedBytes;
       this.allBeans = Collections.unmodifiableList(allBeans);
     }
 
@@ -202,6 +363,20 @@ public class BeanCreationProfiler implements BeanPostProcessor {
       return allBeans;
     }
 
+    /** Bytes allocated while the beans were created. */
+    public long getTotalAllocatedBytes() {
+      return totalAllocatedBytes;
+    }
+
+    /** Gets the beans with a known allocation, most allocating first. */
+    public List<BeanCreationMetric> getTopAllocatingBeans(int limit) {
+      return allBeans.stream()
+          .filter(metric -> metric.getAllocatedBytes() > 0)
+          .sorted(Comparator.comparingLong(BeanCreationMetric::getAllocatedBytes).reversed())
+          .limit(limit)
+          .toList();
+    }
+
     public double getAverageCreationTimeMs() {
       return totalBeansCreated > 0 ? (double) totalCreationTimeMs / totalBeansCreated : 0.0;
     }
@@ -0,0 +1,113 @@
+package digital.pragmatech.testing;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Metrics of the configuration class processing of a context: component scanning, {@code
+ * Configuration} class parsing and {@code @Import} chains. Recorded by the {@link
+ * TimedConfigurationClassPostProcessor}.
+ */
+public class ConfigurationClassProfile {
+
+  // Total time of ConfigurationClassPostProcessor#postProcessBeanDefinitionRegistry
+  private volatile long processingTimeMs = -1;
+  // CGLIB enhancement of @Configuration classes
+  private volatile long enhancementTimeMs = -1;
+  private volatile int configurationClassCount;
+  private volatile int maxImportDepth = -1;
+  private volatile List<String> deepestImportChain = List.of();
+
+  private final Map<String, PackageScan> packageScans = new ConcurrentHashMap<>();
+
+  void recordPackageScan(String basePackage, int candidateClasses, long durationNanos) {
+    packageScans.merge(
+        basePackage,
+        new PackageScan(basePackage, candidateClasses, durationNanos),
+        (existing, scan) ->
+            new PackageScan(
+                basePackage,
+                existing.candidateClasses() + scan.candidateClasses(),
+                existing.durationNanos() + scan.durationNanos()));
+  }
+
+  /** Whether the configuration classes of the context were processed with profiling. */
+  public boolean isRecorded() {
+    return processingTimeMs >= 0;
+  }
+
+  public long getProcessingTimeMs() {
+    return processingTimeMs;
+  }
+
+  void setProcessingTimeMs(long processingTimeMs) {
+    this.processingTimeMs = processingTimeMs;
+  }
+
+  public long getEnhancementTimeMs() {
+    return enhancementTimeMs;
+  }
+
+  void setEnhancementTimeMs(long enhancementTimeMs) {
+    this.enhancementTimeMs = enhancementTimeMs;
+  }
+
+  /** Number of classes annotated with {@code @Configuration} (incl. meta-annotations) parsed. */
+  public int getConfigurationClassCount() {
+    return configurationClassCount;
+  }
+
+  void setConfigurationClassCount(int configurationClassCount) {
+    this.configurationClassCount = configurationClassCount;
+  }
+
+  /** Length of the longest {@code @Import} chain, {@code -1} if unknown. */
+  public int getMaxImportDepth() {
+    return maxImportDepth;
+  }
+
+  /** Class names of the longest {@code @Import} chain, starting with the importing class. */
+  public List<String> getDeepestImportChain() {
+    return deepestImportChain;
+  }
+
+  void setImportDepth(int maxImportDepth, List<String> deepestImportChain) {
+    this.maxImportDepth = maxImportDepth;
+    this.deepestImportChain = List.copyOf(deepestImportChain);
+  }
+
+  /** Scanned packages, slowest first. */
+  public List<PackageScan> getPackageScans() {
+    List<PackageScan> scans = new ArrayList<>(packageScans.values());
+    scans.sort(Comparator.comparingLong(PackageScan::durationNanos).reversed());
+    return Collections.unmodifiableList(scans);
+  }
+
+  /** Time spent traversing the classpath for candidate components. */
+  public long getScanTimeMs() {
+    return packageScans.values().stream().mapToLong(PackageScan::durationNanos).sum() / 1_000_000;
+  }
+
+  /** Number of candidate class files found (and read) by component scanning. */
+  public int getCandidateClassCount() {
+    return packageScans.values().stream().mapToInt(PackageScan::candidateClasses).sum();
+  }
+
+  /**
+   * A component scan of a base package.
+   *
+   * @param basePackage the scanned package
+   * @param candidateClasses the number of class files found in the package
+   * @param durationNanos the time spent to find them
+   */
+  public record PackageScan(String basePackage, int candidateClasses, long durationNanos) {
+
+    public long getDurationMs() {
+      return durationNanos / 1_000_000;
+    }
+  }
+}
@@ -13,11 +13,17 @@ import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
+import digital.pragmatech.testing.autoconfigure.AutoConfigurationReport;
+import digital.pragmatech.testing.beans.BeanCategoryBreakdown;
+import digital.pragmatech.testing.gc.GcPauseStats;
+import digital.pragmatech.testing.jpa.JpaBootstrapProfile;
+import digital.pragmatech.testing.threads.BackgroundThread;
 import org.springframework.test.context.MergedContextConfiguration;
 
 /** Entry representing a cached context configuration. */
 public class ContextCacheEntry {
   private final MergedContextConfiguration configuration;
+  private final String fingerprint;
   private final Set<String> testClasses = ConcurrentHashMap.newKeySet();
   private final Set<String> testMethods = ConcurrentHashMap.newKeySet();
   private volatile boolean created = false;
@@ -28,7 +34,16 @@ public class ContextCacheEntry {
   private volatile MergedContextConfiguration nearestContext;
   private volatile int beanDefinitionCount = 0;
   private volatile Set<String> beanDefinitionNames = ConcurrentHashMap.newKeySet();
-  private volatile long contextLoadTimeMs = 0;
+  private volatile AutoConfigurationReport autoConfigurationReport;
+  private volatile ConfigurationClassProfile configurationClassProfile;
+  private volatile JvmActivity jvmActivity;
+  private volatile boolean firstContextInJvm;
+  private volatile GcPauseStats gcPauses;
+  private volatile long allocatedBytes = -1;
+  private volatile List<BeanCreationProfiler.BeanCreationMetric> topAllocatingBeans = List.of();
+  private volatile List<BackgroundThread> backgroundThreads = List.of();
+  private volatile BeanCategoryBreakdown beanCategories;
+  private volatile List<JpaBootstrapProfile> jpaBootstrapProfiles = List.of();
 
   // ContextDiagnostic fields
   private volatile long heapMemoryUsedBytes = 0;
@@ -40,8 +55,31 @@ public class ContextCacheEntry {
   // Timeline tracking for future visualization
   private final List<Instant> accessTimes = new CopyOnWriteArrayList<>();
 
+  // Lifecycle of the context: every load, the test classes using it and every close
+  private final List<Load> loads = new CopyOnWriteArrayList<>();
+  private final Map<String, Instant> runningTestClasses = new ConcurrentHashMap<>();
+  private final List<TestClassUse> testClassUses = new CopyOnWriteArrayList<>();
+  private final List<Instant> closeTimes = new CopyOnWriteArrayList<>();
+
+  /** A test class using this context, from the start to the end of the class. */
+  public record TestClassUse(String testClassName, Instant startTime, Instant endTime) {}
+
+  /**
+   * A load of this context, the first one or a reload after it was evicted or marked dirty.
+   *
+   * @param endTime when the load completed
+   * @param loadTimeMs how long the load took
+   */
+  public record Load(Instant endTime, long loadTimeMs) {
+
+    public Instant startTime() {
+      return endTime.minusMillis(loadTimeMs);
+    }
+  }
+
   public ContextCacheEntry(MergedContextConfiguration configuration) {
     this.configuration = configuration;
+    this.fingerprint = ContextFingerprint.of(configuration);
   }
 
   public void addTestClass(String testClassName) {
@@ -86,13 +124,22 @@ public class ContextCacheEntry {
   }
 
   public void recordCreation(long loadTimeMs) {
+    recordCreation(loadTimeMs, Instant.now());
+  }
+
+  /**
+   * Records a load of this context that completed at the given time. A reload after a close adds
+   * its load time, the creation and first used time stay those of the first load.
+   */
+  public void recordCreation(long loadTimeMs, Instant loadedTime) {
+    loads.add(new Load(loadedTime, loadTimeMs));
+    if (!created) {
+      this.creationTime = loadedTime;
+      this.firstUsedTime = loadedTime;
+    }
     this.created = true;
-    this.contextLoadTimeMs = loadTimeMs;
-    Instant now = Instant.now();
-    this.creationTime = now;
-    this.firstUsedTime = now;
-    this.lastUsedTime = now;
-    this.accessTimes.add(now);
+    this.lastUsedTime = loadedTime;
+    this.accessTimes.add(loadedTime);
   }
 
   public void recordCacheHit() {
@@ -107,6 +154,23 @@ public class ContextCacheEntry {
     }
   }
 
+  public void recordTestClassStart(String testClassName, Instant startTime) {
+    runningTestClasses.put(testClassName, startTime);
+  }
+
+  public void recordTestClassEnd(String testClassName, Instant endTime) {
+    Instant startTime = runningTestClasses.remove(testClassName);
+    if (startTime == null) {
+      return;
+    }
+    testClassUses.add(new TestClassUse(testClassName, startTime, endTime));
+  }
+
+  /** Records that the context was closed, when it was evicted from the cache or marked dirty. */
+  public void recordClose(Instant closedTime) {
+    closeTimes.add(closedTime);
+  }
+
   public void setNearestContext(MergedContextConfiguration nearestContext) {
     this.nearestContext = nearestContext;
   }
@@ -117,6 +181,41 @@ public class ContextCacheEntry {
     this.beanDefinitionNames.addAll(Arrays.asList(beanNames));
   }
 
+  public void setAutoConfigurationReport(AutoConfigurationReport autoConfigurationReport) {
+    this.autoConfigurationReport = autoConfigurationReport;
+  }
+
+  public void setConfigurationClassProfile(ConfigurationClassProfile configurationClassProfile) {
+    this.configurationClassProfile = configurationClassProfile;
+  }
+
+  public void setJvmActivity(JvmActivity jvmActivity, boolean firstContextInJvm) {
+    this.jvmActivity = jvmActivity;
+    this.firstContextInJvm = firstContextInJvm;
+  }
+
+  public void setGcPauses(GcPauseStats gcPauses) {
+    this.gcPauses = gcPauses;
+  }
+
+  public void setAllocations(
+      long allocatedBytes, List<BeanCreationProfiler.BeanCreationMetric> topAllocatingBeans) {
+    this.allocatedBytes = allocatedBytes;
+    this.topAllocatingBeans = List.copyOf(topAllocatingBeans);
+  }
+
+  public void setBackgroundThreads(List<BackgroundThread> backgroundThreads) {
+    this.backgroundThreads = List.copyOf(backgroundThreads);
+  }
+
+  public void setBeanCategories(BeanCategoryBreakdown beanCategories) {
+    this.beanCategories = beanCategories;
+  }
+
+  public void setJpaBootstrapProfiles(List<JpaBootstrapProfile> jpaBootstrapProfiles) {
+    this.jpaBootstrapProfiles = List.copyOf(jpaBootstrapProfiles);
+  }
+
   public void setContextDiagnostic(long heapMemoryUsedBytes, int availableProcessors) {
     this.heapMemoryUsedBytes = heapMemoryUsedBytes;
     this.availableProcessors = availableProcessors;
@@ -126,6 +225,11 @@ public class ContextCacheEntry {
     return configuration;
   }
 
+  /** Stable, content-based identifier of this context that is comparable across runs. */
+  public String getFingerprint() {
+    return fingerprint;
+  }
+
   public Set<String> getTestClasses() {
     return Collections.unmodifiableSet(testClasses);
   }
@@ -138,6 +242,29 @@ public class ContextCacheEntry {
     return created;
   }
 
+  /**
+   * Whether the context is in the cache: every load closes once, so it is loaded while it has more
+   * loads than closes. A test class getting the context of a closed entry triggered a reload, not a
+   * cache hit.
+   */
+  public boolean isLoaded() {
+    return loads.size() > closeTimes.size();
+  }
+
+  /** Every load of this context in the order they completed. */
+  public List<Load> getLoads() {
+    return Collections.unmodifiableList(loads);
+  }
+
+  public int getLoadCount() {
+    return loads.size();
+  }
+
+  /** When the first load of this context started, {@code null} if it was not created. */
+  public Instant getFirstLoadStartTime() {
+    return loads.isEmpty() ? null : loads.get(0).startTime();
+  }
+
   public Instant getCreationTime() {
     return creationTime;
   }
@@ -162,6 +289,16 @@ public class ContextCacheEntry {
     return Collections.unmodifiableList(accessTimes);
   }
 
+  /** The test classes that used this context so far, in the order they completed. */
+  public List<TestClassUse> getTestClassUses() {
+    return Collections.unmodifiableList(testClassUses);
+  }
+
+  /** Every time the context was closed, in the order they were recorded. */
+  public List<Instant> getCloseTimes() {
+    return Collections.unmodifiableList(closeTimes);
+  }
+
   /**
    * Calculates the age of this context from creation to now.
    *
@@ -210,8 +347,86 @@ public class ContextCacheEntry {
     return Collections.unmodifiableSet(beanDefinitionNames);
   }
 
+  /** Load time of all loads of this context, see {@link #getLoadCount()}. */
   public long getContextLoadTimeMs() {
-    return contextLoadTimeMs;
+    return loads.stream().mapToLong(Load::loadTimeMs).sum();
+  }
+
+  /** Auto-configurations of this context, {@code null} if it was not a Spring Boot context. */
+  public AutoConfigurationReport getAutoConfigurationReport() {
+    return autoConfigurationReport;
+  }
+
+  /**
+   * Component scanning and configuration class parsing metrics, {@code null} unless the {@link
+   * TimingTrackingApplicationContextInitializer} profiled the context.
+   */
+  public ConfigurationClassProfile getConfigurationClassProfile() {
+    return configurationClassProfile;
+  }
+
+  /**
+   * Classes loaded, JIT compilation and GC time while the context loaded, {@code null} unless the
+   * {@link TimingTrackingApplicationContextInitializer} profiled the context.
+   */
+  public JvmActivity getJvmActivity() {
+    return jvmActivity;
+  }
+
+  /** Whether the load time of this context includes the warm-up of the JVM. */
+  public boolean isFirstContextInJvm() {
+    return firstContextInJvm;
+  }
+
+  /** GC pauses and estimated allocations while this context loaded, {@code null} if unknown. */
+  public GcPauseStats getGcPauses() {
+    return gcPauses;
+  }
+
+  /**
+   * Bytes allocated by the loading thread while this context loaded, {@code -1} unless the {@link
+   * TimingTrackingApplicationContextInitializer} profiled the context on a JVM that supports it.
+   */
+  public long getAllocatedBytes() {
+    return allocatedBytes;
+  }
+
+  public double getAllocatedMB() {
+    return allocatedBytes / (1024.0 * 1024.0);
+  }
+
+  /** Beans that allocated the most while they were initialized, most allocating first. */
+  public List<BeanCreationProfiler.BeanCreationMetric> getTopAllocatingBeans() {
+    return topAllocatingBeans;
+  }
+
+  /** Threads started while this context loaded, e.g. executors and schedulers. */
+  public List<BackgroundThread> getBackgroundThreads() {
+    return backgroundThreads;
+  }
+
+  /** CPU time the background threads of this context consumed after the load. */
+  public long getBackgroundThreadsCpuTimeMs() {
+    return backgroundThreads.stream()
+        .mapToLong(BackgroundThread::getCpuTimeMs)
+        .filter(cpuTimeMs -> cpuTimeMs > 0)
+        .sum();
+  }
+
+  /**
+   * Bean creation time split into infrastructure, application and framework beans, {@code null} if
+   * no bean creation times were recorded for this context.
+   */
+  public BeanCategoryBreakdown getBeanCategories() {
+    return beanCategories;
+  }
+
+  /**
+   * Bootstrap breakdown of the JPA entity manager factories, empty unless the {@link
+   * TimingTrackingApplicationContextInitializer} profiled a context using Hibernate.
+   */
+  public List<JpaBootstrapProfile> getJpaBootstrapProfiles() {
+    return jpaBootstrapProfiles;
   }
 
   public long getHeapMemoryUsedBytes() {
@@ -5,6 +5,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
@@ -15,8 +16,13 @@ import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.atomic.AtomicInteger;
 
+import digital.pragmatech.testing.autoconfigure.AutoConfigurationReport;
+import digital.pragmatech.testing.beans.BeanCategoryBreakdown;
+import digital.pragmatech.testing.gc.GcPauseStats;
+import digital.pragmatech.testing.jpa.JpaBootstrapProfile;
 import digital.pragmatech.testing.optimization.ContextOptimizationOpportunity;
-import digital.pragmatech.testing.reporting.ContextTimelineEvent;
+import digital.pragmatech.testing.threads.BackgroundThread;
+import digital.pragmatech.testing.threads.BackgroundThreads;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.test.context.MergedContextConfiguration;
@@ -24,19 +30,17 @@ import org.springframework.test.context.MergedContextConfiguration;
 /**
  * Tracks context cache usage independently of Spring's internal cache. This allows tracking more
  * than Spring's default 32 context limit and provides detailed information about which test classes
- * use which contexts.
+ * use which contexts. Contexts are keyed by their {@link ContextFingerprint}.
  */
 public class ContextCacheTracker {
 
   private static final Logger logger = LoggerFactory.getLogger(ContextCacheTracker.class);
 
-  // Map from context configuration to list of test methods (format: "ClassName.methodName")
-  private final Map<MergedContextConfiguration, List<String>> contextToTestMethods =
-      new ConcurrentHashMap<>();
+  // Map from context fingerprint to list of test methods (format: "ClassName.methodName")
+  private final Map<String, List<String>> contextToTestMethods = new ConcurrentHashMap<>();
 
-  // Map from context configuration to context information
-  private final Map<MergedContextConfiguration, ContextCacheEntry> cacheEntries =
-      new ConcurrentHashMap<>();
+  // Map from context fingerprint to context information
+  private final Map<String, ContextCacheEntry> cacheEntries = new ConcurrentHashMap<>();
 
   // Map from test class name to context configuration
   private final Map<String, MergedContextConfiguration> testClassToContext =
@@ -54,20 +58,35 @@ public class ContextCacheTracker {
   public void recordTestClassForContext(MergedContextConfiguration config, String testClassName) {
     testClassToContext.put(testClassName, config);
 
-    cacheEntries
-        .computeIfAbsent(
-            config,
+    ContextCacheEntry cacheEntry =
+        cacheEntries.computeIfAbsent(
+            ContextFingerprint.of(config),
             k -> {
               ContextCacheEntry entry = new ContextCacheEntry(config);
               logger.debug("Created new context cache entry for config: {}", config);
               return entry;
-            })
-        .addTestClass(testClassName);
+            });
+    cacheEntry.addTestClass(testClassName);
+    cacheEntry.recordTestClassStart(testClassName, Instant.now());
+  }
+
+  /** Records that a test class completed, which ends its use of the context. */
+  public void recordTestClassEnd(String testClassName) {
+    MergedContextConfiguration config = testClassToContext.get(testClassName);
+    if (config != null) {
+      getCacheEntry(config)
+          .ifPresent(entry -> entry.recordTestClassEnd(testClassName, Instant.now()));
+    }
+  }
+
+  /** Records that a context was closed, either evicted from Spring's cache or marked dirty. */
+  public void recordContextClosed(MergedContextConfiguration config) {
+    getCacheEntry(config).ifPresent(entry -> entry.recordClose(Instant.now()));
   }
 
   /** Records the test annotation type for a context configuration. */
   public void recordTestAnnotationType(MergedContextConfiguration config, String annotationType) {
-    ContextCacheEntry entry = cacheEntries.get(config);
+    ContextCacheEntry entry = cacheEntries.get(ContextFingerprint.of(config));
     if (entry != null) {
       entry.addTestAnnotationType(annotationType);
     }
@@ -78,11 +97,11 @@ public class ContextCacheTracker {
       MergedContextConfiguration config, String testClassName, String methodName) {
     String testMethodIdentifier = testClassName + "." + methodName;
     contextToTestMethods
-        .computeIfAbsent(config, k -> new CopyOnWriteArrayList<>())
+        .computeIfAbsent(ContextFingerprint.of(config), k -> new CopyOnWriteArrayList<>())
         .add(testMethodIdentifier);
 
     // Also add to the ContextCacheEntry
-    ContextCacheEntry entry = cacheEntries.get(config);
+    ContextCacheEntry entry = cacheEntries.get(ContextFingerprint.of(config));
     if (entry != null) {
       entry.addTestMethod(testClassName, methodName);
     }
@@ -92,12 +111,17 @@ public class ContextCacheTracker {
 
   /** Records that a new context was created (cache miss) with timing information. */
   public void recordContextCreation(MergedContextConfiguration config, long loadTimeMs) {
-    ContextCacheEntry entry = cacheEntries.get(config);
+    ContextCacheEntry entry = cacheEntries.get(ContextFingerprint.of(config));
     if (entry != null) {
+      boolean reload = entry.isCreated();
       entry.recordCreation(loadTimeMs);
+      cacheMisses.incrementAndGet();
+      if (reload) {
+        logger.debug("Context {} reloaded after it was closed ({}ms)", config, loadTimeMs);
+        return;
+      }
       contextCreationOrder.add(config);
       totalContextsCreated.incrementAndGet();
-      cacheMisses.incrementAndGet();
 
       // Find nearest existing context if this is not the first one
       if (contextCreationOrder.size() > 1) {
@@ -120,13 +144,18 @@ public class ContextCacheTracker {
       long loadTimeMs,
       long heapMemoryUsedBytes,
       int availableProcessors) {
-    ContextCacheEntry entry = cacheEntries.get(config);
+    ContextCacheEntry entry = cacheEntries.get(ContextFingerprint.of(config));
     if (entry != null) {
+      boolean reload = entry.isCreated();
       entry.recordCreation(loadTimeMs);
       entry.setContextDiagnostic(heapMemoryUsedBytes, availableProcessors);
+      cacheMisses.incrementAndGet();
+      if (reload) {
+        logger.debug("Context {} reloaded after it was closed ({}ms)", config, loadTimeMs);
+        return;
+      }
       contextCreationOrder.add(config);
       totalContextsCreated.incrementAndGet();
-      cacheMisses.incrementAndGet();
 
       // Find nearest existing context if this is not the first one
       if (contextCreationOrder.size() > 1) {
@@ -147,16 +176,100 @@ public class ContextCacheTracker {
 
   /** Records bean definitions for a context configuration. */
   public void recordBeanDefinitions(MergedContextConfiguration config, String[] beanNames) {
-    ContextCacheEntry entry = cacheEntries.get(config);
+    ContextCacheEntry entry = cacheEntries.get(ContextFingerprint.of(config));
     if (entry != null) {
       entry.setBeanDefinitions(beanNames);
       logger.debug("Recorded {} bean definitions for context: {}", beanNames.length, config);
     }
   }
 
+  /** Records the auto-configurations of a context configuration. */
+  public void recordAutoConfigurationReport(
+      MergedContextConfiguration config, AutoConfigurationReport autoConfigurationReport) {
+    ContextCacheEntry entry = cacheEntries.get(ContextFingerprint.of(config));
+    if (entry != null) {
+      entry.setAutoConfigurationReport(autoConfigurationReport);
+      logger.debug(
+          "Recorded {} applied auto-configurations for context: {}",
+          autoConfigurationReport.applied().size(),
+          config);
+    }
+  }
+
+  /** Records the configuration class processing metrics of a context configuration. */
+  public void recordConfigurationClassProfile(
+      MergedContextConfiguration config, ConfigurationClassProfile configurationClassProfile) {
+    ContextCacheEntry entry = cacheEntries.get(ContextFingerprint.of(config));
+    if (entry != null) {
+      entry.setConfigurationClassProfile(configurationClassProfile);
+    }
+  }
+
+  /** Records the JVM activity (class loading, JIT, GC) while a context configuration loaded. */
+  public void recordJvmActivity(
+      MergedContextConfiguration config, JvmActivity jvmActivity, boolean firstContextInJvm) {
+    ContextCacheEntry entry = cacheEntries.get(ContextFingerprint.of(config));
+    if (entry != null) {
+      entry.setJvmActivity(jvmActivity, firstContextInJvm);
+    }
+  }
+
+  /** Records the bytes allocated while a context configuration loaded and its top beans. */
+  public void recordAllocations(
+      MergedContextConfiguration config,
+      long allocatedBytes,
+      List<BeanCreationProfiler.BeanCreationMetric> topAllocatingBeans) {
+    ContextCacheEntry entry = cacheEntries.get(ContextFingerprint.of(config));
+    if (entry != null) {
+      entry.setAllocations(allocatedBytes, topAllocatingBeans);
+    }
+  }
+
+  /** Records the bean creation time per bean category of a context configuration. */
+  public void recordBeanCategories(
+      MergedContextConfiguration config, BeanCategoryBreakdown beanCategories) {
+    ContextCacheEntry entry = cacheEntries.get(ContextFingerprint.of(config));
+    if (entry != null) {
+      entry.setBeanCategories(beanCategories);
+    }
+  }
+
+  /** Records the JPA bootstrap breakdown of a context configuration. */
+  public void recordJpaBootstrapProfiles(
+      MergedContextConfiguration config, List<JpaBootstrapProfile> jpaBootstrapProfiles) {
+    ContextCacheEntry entry = cacheEntries.get(ContextFingerprint.of(config));
+    if (entry != null) {
+      entry.setJpaBootstrapProfiles(jpaBootstrapProfiles);
+    }
+  }
+
+  /** Records the threads started while a context configuration loaded. */
+  public void recordBackgroundThreads(
+      MergedContextConfiguration config, List<BackgroundThread> backgroundThreads) {
+    ContextCacheEntry entry = cacheEntries.get(ContextFingerprint.of(config));
+    if (entry != null) {
+      entry.setBackgroundThreads(backgroundThreads);
+    }
+  }
+
+  /** Reads the CPU time the background threads of all contexts consumed so far. */
+  public void updateBackgroundThreadCpuTime() {
+    for (ContextCacheEntry entry : cacheEntries.values()) {
+      BackgroundThreads.updateCpuTime(entry.getBackgroundThreads());
+    }
+  }
+
+  /** Records the GC pauses that happened while a context configuration loaded. */
+  public void recordGcPauses(MergedContextConfiguration config, GcPauseStats gcPauses) {
+    ContextCacheEntry entry = cacheEntries.get(ContextFingerprint.of(config));
+    if (entry != null) {
+      entry.setGcPauses(gcPauses);
+    }
+  }
+
   /** Records that a context was retrieved from cache (cache hit). */
   public void recordContextCacheHit(MergedContextConfiguration config) {
-    ContextCacheEntry entry = cacheEntries.get(config);
+    ContextCacheEntry entry = cacheEntries.get(ContextFingerprint.of(config));
     if (entry != null) {
       entry.recordCacheHit();
       cacheHits.incrementAndGet();
@@ -175,20 +288,20 @@ public class ContextCacheTracker {
     MergedContextConfiguration nearestConfig = null;
     int highestScore = 0;
 
-    for (Map.Entry<MergedContextConfiguration, ContextCacheEntry> entry : cacheEntries.entrySet()) {
-      if (entry.getKey().equals(targetConfig)) {
+    String targetFingerprint = ContextFingerprint.of(targetConfig);
+    for (ContextCacheEntry candidate : cacheEntries.values()) {
+      if (candidate.getFingerprint().equals(targetFingerprint)) {
         continue; // Skip self
       }
 
-      ContextCacheEntry candidate = entry.getValue();
       if (!candidate.isCreated()) {
         continue; // Skip entries not yet created
       }
 
-      int score = calculateSimilarityScore(targetConfig, entry.getKey());
+      int score = calculateSimilarityScore(targetConfig, candidate.getConfiguration());
       if (score > highestScore) {
         highestScore = score;
-        nearestConfig = entry.getKey();
+        nearestConfig = candidate.getConfiguration();
       }
     }
 
@@ -251,7 +364,14 @@ public class ContextCacheTracker {
 
   /** Gets a specific context cache entry. */
   public Optional<ContextCacheEntry> getCacheEntry(MergedContextConfiguration config) {
-    return Optional.ofNullable(cacheEntries.get(config));
+    return getCacheEntry(ContextFingerprint.of(config));
+  }
+
+  /** Gets a specific context cache entry by its {@link ContextFingerprint}. */
+  public Optional<ContextCacheEntry> getCacheEntry(String fingerprint) {
+    return fingerprint != null
+        ? Optional.ofNullable(cacheEntries.get(fingerprint))
+        : Optional.empty();
   }
 
   /**
@@ -316,7 +436,7 @@ public class ContextCacheTracker {
     for (ContextCacheEntry entry : entries) {
       Optional<MergedContextConfiguration> nearest = entry.getNearestContext();
       if (nearest.isPresent()) {
-        ContextCacheEntry nearestEntry = cacheEntries.get(nearest.get());
+        ContextCacheEntry nearestEntry = cacheEntries.get(ContextFingerprint.of(nearest.get()));
         if (nearestEntry != null && nearestEntry.isCreated()) {
           // Time that could be saved if this context was harmonized with the nearest one
           savings += entry.getContextLoadTimeMs();
@@ -379,28 +499,16 @@ public class ContextCacheTracker {
   }
 
   /**
-   * Gets timeline data for visualization of context lifecycle. Returns data suitable for Chart.js
-   * timeline visualization showing actual test execution progression.
+   * Gets the lifecycle of every created context for the timeline: its load, the intervals test
+   * classes used it, the idle gaps in the cache and its close. The timeline ends with the last use
+   * of any context, contexts closed after that are held until the end of the run.
    */
   public TimelineData getTimelineData() {
     List<ContextCacheEntry> createdEntries =
         cacheEntries.values().stream()
             .filter(ContextCacheEntry::isCreated)
-            .sorted(
-                (a, b) -> {
-                  Instant timeA = a.getCreationTime();
-                  Instant timeB = b.getCreationTime();
-                  if (timeA == null && timeB == null) {
-                    return 0;
-                  }
-                  if (timeA == null) {
-                    return 1;
-                  }
-                  if (timeB == null) {
-                    return -1;
-                  }
-                  return timeA.compareTo(timeB);
-                })
+            .filter(entry -> entry.getFirstLoadStartTime() != null)
+            .sorted(Comparator.comparing(ContextCacheEntry::getFirstLoadStartTime))
             .toList();
 
     if (createdEntries.isEmpty()) {
@@ -408,21 +516,25 @@ public class ContextCacheTracker {
     }
 
     // Calculate timeline bounds
-    Instant earliestCreation = createdEntries.get(0).getCreationTime();
-    Instant latestAccess =
-        createdEntries.stream()
-            .map(ContextCacheEntry::getLastUsedTime)
-            .filter(Objects::nonNull)
-            .max(Instant::compareTo)
-            .orElse(Instant.now());
-
-    // Generate context events for timeline visualization
-    List<ContextTimelineEvent> events = new ArrayList<>();
+    Instant timelineStart = createdEntries.get(0).getFirstLoadStartTime();
+    Instant timelineEnd = timelineStart;
+    for (ContextCacheEntry entry : createdEntries) {
+      for (ContextCacheEntry.Load load : entry.getLoads()) {
+        timelineEnd = latest(timelineEnd, load.endTime());
+      }
+      timelineEnd = latest(timelineEnd, entry.getLastUsedTime());
+      for (ContextCacheEntry.TestClassUse use : entry.getTestClassUses()) {
+        timelineEnd = latest(timelineEnd, use.endTime());
+      }
+    }
+
     List<String> contextColors =
         Arrays.asList(
             "#e74c3c", "#3498db", "#27ae60", "#f39c12", "#9b59b6", "#e67e22", "#1abc9c", "#34495e",
             "#e91e63", "#ff5722");
 
+    List<ContextLifecycle> contexts = new ArrayList<>();
+    List<TimelineEntry> timelineEntries = new ArrayList<>();
     for (int i = 0; i < createdEntries.size(); i++) {
       ContextCacheEntry entry = createdEntries.get(i);
 
@@ -433,42 +545,23 @@ public class ContextCacheTracker {
         contextLabel = simpleName;
       }
 
-      String color = contextColors.get(i % contextColors.size());
-      long creationTimeSeconds =
-          java.time.Duration.between(earliestCreation, entry.getCreationTime()).toMillis() / 1000;
-
-      events.add(
-          new ContextTimelineEvent(
+      ContextLifecycle lifecycle =
+          ContextLifecycle.of(
+              entry,
+              ContextIdGenerator.getContextId(entry.getConfiguration()),
               contextLabel,
-              color,
-              creationTimeSeconds,
-              entry.getContextLoadTimeMs(),
-              entry.getTestClasses().size(),
-              entry.getHitCount(),
-              entry.getBeanDefinitionCount()));
+              contextColors.get(i % contextColors.size()),
+              timelineStart,
+              timelineEnd);
+      contexts.add(lifecycle);
+      timelineEntries.addAll(lifecycle.intervals());
     }
 
-    // Calculate timeline entries for the table
-    List<TimelineEntry> timelineEntries = new ArrayList<>();
-    for (int i = 0; i < createdEntries.size(); i++) {
-      ContextCacheEntry entry = createdEntries.get(i);
-
-      String contextLabel = events.get(i).contextName();
-      long creationStartMs =
-          java.time.Duration.between(earliestCreation, entry.getCreationTime()).toMillis();
-
-      timelineEntries.add(
-          new TimelineEntry(
-              contextLabel,
-              "Creation",
-              creationStartMs,
-              creationStartMs + entry.getContextLoadTimeMs(),
-              events.get(i).color(),
-              entry.getContextLoadTimeMs() + "ms load time",
-              entry.getConfiguration().hashCode()));
-    }
+    return new TimelineData(timelineEntries, timelineStart, timelineEnd, contexts);
+  }
 
-    return new TimelineData(timelineEntries, earliestCreation, latestAccess, events);
+  private static Instant latest(Instant current, Instant candidate) {
+    return candidate != null && candidate.isAfter(current) ? candidate : current;
   }
 
   /** Gets the total number of cache hits tracked by this tracker. */
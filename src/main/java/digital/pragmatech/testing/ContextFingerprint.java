@@ -0,0 +1,432 @@
+package digital.pragmatech.testing;
+
+import java.io.File;
+import java.io.Serializable;
+import java.lang.annotation.Annotation;
+import java.lang.invoke.SerializedLambda;
+import java.lang.ref.WeakReference;
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Member;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Type;
+import java.net.URI;
+import java.net.URL;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Period;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.regex.Pattern;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.ResolvableType;
+import org.springframework.test.context.ContextCustomizer;
+import org.springframework.test.context.MergedContextConfiguration;
+import org.springframework.test.context.web.WebMergedContextConfiguration;
+
+/**
+ * Computes a stable, content-based fingerprint for a {@link MergedContextConfiguration}: a SHA-256
+ * over a normalized serialization of the configuration classes, locations, profiles, property
+ * sources, initializers, context customizers, context loader and the parent fingerprint.
+ *
+ * <p>Unlike {@code hashCode()}, the fingerprint does not depend on the JVM, the execution order or
+ * identity hash codes, so it can be compared across forks and runs. Context customizers don't
+ * expose their identity, so they are serialized reflectively: their object graph up to a depth and
+ * size limit, with sorted sets and maps and objects reached again marked as references.
+ * Serializable lambdas are identified by their implementation method, other lambdas by their
+ * defining class and captured arguments. Runtime state that differs per run, e.g. containers,
+ * connections and JDK objects other than plain values, is identified by its class only. Spring
+ * ignores where a bean override is declared and only compares the annotations of its field, so
+ * reflective {@link Field} references are serialized as their annotations, and the {@code
+ * testClass} Spring Boot's customizers keep for diagnostics is skipped.
+ *
+ * <p>Configurations that are {@code equals()} always share a fingerprint. Two configurations that
+ * aren't but serialize the same, e.g. customizers holding different non-serializable lambdas with
+ * the same captured arguments, can't be told apart across JVMs: the later one gets a counter suffix
+ * that is only unique within the JVM, so they are still reported as two contexts.
+ */
+public final class ContextFingerprint {
+
+  private static final Logger logger = LoggerFactory.getLogger(ContextFingerprint.class);
+
+  // Bounds of the customizer graph that is serialized, deeper or further objects by class only
+  private static final int MAX_DEPTH = 16;
+  private static final int MAX_VALUES = 10_000;
+
+  private static final List<Class<?>> STABLE_JDK_VALUES =
+      List.of(
+          Duration.class,
+          Period.class,
+          Locale.class,
+          Charset.class,
+          URI.class,
+          URL.class,
+          Path.class,
+          File.class,
+          Pattern.class);
+
+  // Weak keys, the registry must not keep the configurations of evicted contexts alive
+  private static final Map<MergedContextConfiguration, String> fingerprints =
+      Collections.synchronizedMap(new WeakHashMap<>());
+  private static final Map<String, WeakReference<MergedContextConfiguration>> configurations =
+      new HashMap<>();
+
+  private ContextFingerprint() {}
+
+  /**
+   * Returns the fingerprint of the given configuration.
+   *
+   * @param configuration the merged context configuration
+   * @return the hex-encoded SHA-256 fingerprint, with a {@code -<n>} suffix if a configuration that
+   *     isn't equal serialized the same, or {@code null} for a {@code null} configuration
+   */
+  public static String of(MergedContextConfiguration configuration) {
+    if (configuration == null) {
+      return null;
+    }
+    String fingerprint = fingerprints.get(configuration);
+    if (fingerprint != null) {
+      return fingerprint;
+    }
+
+    synchronized (fingerprints) {
+      fingerprint = fingerprints.get(configuration);
+      if (fingerprint != null) {
+        return fingerprint;
+      }
+      String description = describe(configuration);
+      String hash = sha256(description);
+      fingerprint = hash;
+      for (int suffix = 2; ; suffix++) {
+        WeakReference<MergedContextConfiguration> previous = configurations.get(fingerprint);
+        MergedContextConfiguration other = previous != null ? previous.get() : null;
+        if (other == null || other.equals(configuration)) {
+          break;
+        }
+        fingerprint = hash + "-" + suffix;
+        logger.debug(
+            "Context configurations {} and {} are not equal but serialize the same, their"
+                + " customizers differ only in state that can't be serialized. Using fingerprint"
+                + " {}, it is not comparable across JVMs:\n{}",
+            other,
+            configuration,
+            fingerprint,
+            description);
+      }
+      configurations.put(fingerprint, new WeakReference<>(configuration));
+      fingerprints.put(configuration, fingerprint);
+      return fingerprint;
+    }
+  }
+
+  /**
+   * Returns the normalized serialization the fingerprint is computed from. Useful to understand why
+   * two configurations end up with different fingerprints.
+   */
+  public static String describe(MergedContextConfiguration configuration) {
+    StringBuilder sb = new StringBuilder();
+    sb.append("type=").append(configuration.getClass().getName()).append('\n');
+    sb.append("classes=")
+        .append(Arrays.stream(configuration.getClasses()).map(Class::getName).toList())
+        .append('\n');
+    sb.append("locations=").append(Arrays.asList(configuration.getLocations())).append('\n');
+    sb.append("activeProfiles=")
+        .append(Arrays.asList(configuration.getActiveProfiles()))
+        .append('\n');
+    sb.append("propertySources=").append(describePropertySources(configuration)).append('\n');
+    sb.append("propertySourceProperties=")
+        .append(Arrays.asList(configuration.getPropertySourceProperties()))
+        .append('\n');
+    sb.append("contextInitializers=")
+        .append(
+            configuration.getContextInitializerClasses().stream()
+                .map(Class::getName)
+                .sorted()
+                .toList())
+        .append('\n');
+    sb.append("contextCustomizers=")
+        .append(
+            configuration.getContextCustomizers().stream()
+                .map(ContextFingerprint::describeCustomizer)
+                .sorted()
+                .toList())
+        .append('\n');
+    sb.append("contextLoader=")
+        .append(
+            configuration.getContextLoader() != null
+                ? configuration.getContextLoader().getClass().getName()
+                : "null")
+        .append('\n');
+    if (configuration instanceof WebMergedContextConfiguration webConfiguration) {
+      sb.append("resourceBasePath=").append(webConfiguration.getResourceBasePath()).append('\n');
+    }
+    sb.append("parent=")
+        .append(configuration.getParent() != null ? of(configuration.getParent()) : "null");
+    return sb.toString();
+  }
+
+  /**
+   * Property source descriptors with their name, encoding and factory (Spring Framework 6.1+), the
+   * plain locations on older versions.
+   */
+  private static List<String> describePropertySources(MergedContextConfiguration configuration) {
+    try {
+      return configuration.getPropertySourceDescriptors().stream()
+          .map(
+              descriptor ->
+                  "{locations="
+                      + descriptor.locations()
+                      + ",ignoreResourceNotFound="
+                      + descriptor.ignoreResourceNotFound()
+                      + ",name="
+                      + descriptor.name()
+                      + ",factory="
+                      + (descriptor.propertySourceFactory() != null
+                          ? descriptor.propertySourceFactory().getName()
+                          : "null")
+                      + ",encoding="
+                      + descriptor.encoding()
+                      + "}")
+          .toList();
+    } catch (NoSuchMethodError e) {
+      try {
+        Method method = MergedContextConfiguration.class.getMethod("getPropertySourceLocations");
+        return Arrays.asList((String[]) method.invoke(configuration));
+      } catch (ReflectiveOperationException ex) {
+        throw new IllegalStateException("Cannot read the property source locations", ex);
+      }
+    }
+  }
+
+  static String describeCustomizer(ContextCustomizer customizer) {
+    return describeValue(customizer, new Walk());
+  }
+
+  private static String describeValue(Object value, Walk walk) {
+    if (value == null) {
+      return "null";
+    }
+    if (value instanceof CharSequence) {
+      return "\"" + value + "\"";
+    }
+    if (value instanceof Number || value instanceof Boolean || value instanceof Character) {
+      return value.toString();
+    }
+    if (value instanceof Enum<?> enumValue) {
+      return enumValue.getDeclaringClass().getName() + "." + enumValue.name();
+    }
+    if (value instanceof Class<?> clazz) {
+      return className(clazz);
+    }
+    if (value instanceof Type type) {
+      return type.getTypeName();
+    }
+    if (value instanceof Field field) {
+      return Arrays.stream(field.getAnnotations()).map(Annotation::toString).sorted().toList()
+          + " "
+          + field.getGenericType().getTypeName();
+    }
+    if (value instanceof Member || value instanceof Annotation || value instanceof ResolvableType) {
+      return value.toString();
+    }
+    if (isStableJdkValue(value.getClass())) {
+      return value.toString();
+    }
+    if (isRuntimeState(value)) {
+      return className(value.getClass());
+    }
+    if (!walk.visited.add(value)) {
+      // Cycles and shared objects are described once, the walk stays linear in the graph size
+      return "<ref:" + className(value.getClass()) + ">";
+    }
+    if (walk.depth >= MAX_DEPTH || ++walk.values > MAX_VALUES) {
+      return className(value.getClass());
+    }
+
+    walk.depth++;
+    try {
+      if (value.getClass().isArray()) {
+        List<String> elements = new ArrayList<>();
+        for (int i = 0; i < Array.getLength(value); i++) {
+          elements.add(describeValue(Array.get(value, i), walk));
+        }
+        return elements.toString();
+      }
+      if (value instanceof Optional<?> optional) {
+        return "Optional[" + describeValue(optional.orElse(null), walk) + "]";
+      }
+      if (value instanceof Collection<?> collection) {
+        List<String> elements = new ArrayList<>();
+        for (Object element : collection) {
+          elements.add(describeValue(element, walk));
+        }
+        if (value instanceof Set<?>) {
+          Collections.sort(elements);
+        }
+        return elements.toString();
+      }
+      if (value instanceof Map<?, ?> map) {
+        List<String> entries = new ArrayList<>();
+        for (Map.Entry<?, ?> entry : map.entrySet()) {
+          entries.add(
+              describeValue(entry.getKey(), walk) + "=" + describeValue(entry.getValue(), walk));
+        }
+        Collections.sort(entries);
+        return entries.toString();
+      }
+      if (isJdkClass(value.getClass())) {
+        // Other JDK objects, e.g. Instant or Thread, are runtime state that differs per run
+        return className(value.getClass());
+      }
+      if (value.getClass().isSynthetic() && value instanceof Serializable) {
+        SerializedLambda lambda = serializedLambda(value);
+        if (lambda != null) {
+          return describeLambda(lambda, walk);
+        }
+      }
+      return describeFields(value, walk);
+    } catch (RuntimeException e) {
+      // E.g. a collection modified concurrently, the profiler must not fail the test
+      logger.debug("Failed to describe {}: {}", value.getClass().getName(), e.toString());
+      return className(value.getClass());
+    } finally {
+      walk.depth--;
+    }
+  }
+
+  /** JDK values whose string form is their identity and stays the same across runs. */
+  private static boolean isStableJdkValue(Class<?> clazz) {
+    return STABLE_JDK_VALUES.stream().anyMatch(type -> type.isAssignableFrom(clazz));
+  }
+
+  /**
+   * Resources such as Testcontainers containers, connections and executors hold runtime state
+   * (ports, ids, threads) that differs per run, they are identified by their class only.
+   */
+  private static boolean isRuntimeState(Object value) {
+    return value instanceof AutoCloseable
+        || value instanceof Thread
+        || value instanceof ClassLoader
+        || value.getClass().getName().startsWith("org.testcontainers.");
+  }
+
+  private static SerializedLambda serializedLambda(Object lambda) {
+    try {
+      Method writeReplace = lambda.getClass().getDeclaredMethod("writeReplace");
+      writeReplace.setAccessible(true);
+      return writeReplace.invoke(lambda) instanceof SerializedLambda serialized ? serialized : null;
+    } catch (ReflectiveOperationException | RuntimeException e) {
+      return null;
+    }
+  }
+
+  private static String describeLambda(SerializedLambda lambda, Walk walk) {
+    List<String> capturedArgs = new ArrayList<>();
+    for (int i = 0; i < lambda.getCapturedArgCount(); i++) {
+      capturedArgs.add(describeValue(lambda.getCapturedArg(i), walk));
+    }
+    return lambda.getImplClass().replace('/', '.')
+        + "::"
+        + lambda.getImplMethodName()
+        + lambda.getImplMethodSignature()
+        + capturedArgs;
+  }
+
+  private static String describeFields(Object value, Walk walk) {
+    List<Field> fields = new ArrayList<>();
+    for (Class<?> type = value.getClass(); type != null && type != Object.class; ) {
+      for (Field field : type.getDeclaredFields()) {
+        int modifiers = field.getModifiers();
+        if (!Modifier.isStatic(modifiers)
+            && !Modifier.isTransient(modifiers)
+            && !field.isSynthetic()
+            && !"testClass".equals(field.getName())) {
+          fields.add(field);
+        }
+      }
+      type = type.getSuperclass();
+    }
+    fields.sort(Comparator.comparing(Field::getName));
+
+    StringBuilder sb = new StringBuilder(className(value.getClass())).append('{');
+    boolean first = true;
+    for (Field field : fields) {
+      Object fieldValue;
+      try {
+        field.setAccessible(true);
+        fieldValue = field.get(value);
+      } catch (RuntimeException | IllegalAccessException e) {
+        // Inaccessible (e.g. module restrictions), identify by declared type only
+        fieldValue = field.getType();
+      }
+      if (!first) {
+        sb.append(',');
+      }
+      first = false;
+      sb.append(field.getName()).append('=').append(describeValue(fieldValue, walk));
+    }
+    return sb.append('}').toString();
+  }
+
+  /**
+   * Class name without the JVM-specific suffix of lambdas and hidden classes, their captured
+   * arguments are serialized as fields.
+   */
+  private static String className(Class<?> clazz) {
+    String name = clazz.getName();
+    int lambdaIndex = name.indexOf("$$Lambda");
+    return lambdaIndex >= 0 ? name.substring(0, lambdaIndex + "$$Lambda".length()) : name;
+  }
+
+  private static boolean isJdkClass(Class<?> clazz) {
+    String name = clazz.getName();
+    return name.startsWith("java.") || name.startsWith("javax.") || name.startsWith("jdk.");
+  }
+
+  /** State of the serialization of one customizer. */
+  private static final class Walk {
+
+    private final Set<Object> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+    private int depth;
+    private int values;
+  }
+
+  private static String sha256(String value) {
+    try {
+      MessageDigest digest = MessageDigest.getInstance("SHA-256");
+      StringBuilder hex = new StringBuilder();
+      for (byte b : digest.digest(value.getBytes(StandardCharsets.UTF_8))) {
+        hex.append(String.format("%02x", b));
+      }
+      return hex.toString();
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 is not available", e);
+    }
+  }
+
+  /** Clears the fingerprint registry (for testing purposes). */
+  static void reset() {
+    synchronized (fingerprints) {
+      fingerprints.clear();
+      configurations.clear();
+    }
+  }
+}
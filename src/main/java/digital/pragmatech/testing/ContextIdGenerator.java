@@ -11,12 +11,13 @@ import org.springframework.test.context.MergedContextConfiguration;
  */
 public class ContextIdGenerator {
   private static final AtomicLong contextCounter = new AtomicLong(0);
-  private static final ConcurrentHashMap<Integer, String> hashToIdMapping =
+  private static final ConcurrentHashMap<String, String> fingerprintToIdMapping =
       new ConcurrentHashMap<>();
 
   /**
-   * Gets or generates a human-readable context ID for the given configuration. Uses the
-   * configuration's hashCode to ensure the same configuration always gets the same ID.
+   * Gets or generates a human-readable context ID for the given configuration. Uses the {@link
+   * ContextFingerprint} to ensure the same configuration always gets the same ID. The IDs are only
+   * meaningful within a run, use the fingerprint to compare contexts across runs.
    *
    * @param configuration the merged context configuration
    * @return a human-readable context ID like "context-0", "context-1", etc.
@@ -26,9 +27,8 @@ public class ContextIdGenerator {
       return "context-unknown";
     }
 
-    int hash = configuration.hashCode();
-    return hashToIdMapping.computeIfAbsent(
-        hash, h -> "context-" + contextCounter.getAndIncrement());
+    return fingerprintToIdMapping.computeIfAbsent(
+        ContextFingerprint.of(configuration), f -> "context-" + contextCounter.getAndIncrement());
   }
 
   /** Gets the current counter value (for testing purposes). */
@@ -39,6 +39,6 @@ public class ContextIdGenerator {
   /** Resets the counter and mapping (for testing purposes). */
   static void reset() {
     contextCounter.set(0);
-    hashToIdMapping.clear();
+    fingerprintToIdMapping.clear();
   }
 }
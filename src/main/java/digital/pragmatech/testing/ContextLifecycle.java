@@ -0,0 +1,238 @@
+package digital.pragmatech.testing;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Lifecycle of one context on the timeline of the run: the load, the intervals test classes used
+ * it, the idle gaps in between and after the last use, and the end of the lifecycle. The end is the
+ * close if the context was evicted from the cache or marked dirty during the run, the end of the
+ * run otherwise. A context reloaded after a close has a load, uses and idle gaps per load, the time
+ * between a close and the reload is not spent in the cache. All times are milliseconds since the
+ * start of the timeline.
+ */
+public record ContextLifecycle(
+    String contextKey,
+    String label,
+    String color,
+    long loadStartMs,
+    long loadEndMs,
+    long endMs,
+    boolean closed,
+    List<Long> closeMs,
+    int loadCount,
+    long heldMs,
+    long allocatedBytes,
+    int testClassCount,
+    int cacheHitCount,
+    int beanCount,
+    List<TimelineEntry> intervals) {
+
+  public static final String PHASE_LOAD = "Load";
+  public static final String PHASE_USE = "Use";
+  public static final String PHASE_IDLE = "Idle";
+
+  // Shorter gaps are the overhead between two test classes, not idle time
+  private static final long MIN_IDLE_MS = 10;
+
+  /**
+   * Builds the lifecycle of a created context. Overlapping uses, e.g. of nested or parallel test
+   * classes, are merged into one interval.
+   */
+  public static ContextLifecycle of(
+      ContextCacheEntry entry,
+      String contextKey,
+      String label,
+      String color,
+      Instant timelineStart,
+      Instant timelineEnd) {
+    List<ContextCacheEntry.Load> loads = entry.getLoads();
+    List<Instant> closeTimes = entry.getCloseTimes().stream().sorted().toList();
+
+    List<TimelineEntry> intervals = new ArrayList<>();
+    List<Long> closeMs = new ArrayList<>();
+    long heldMs = 0;
+    long endMs = 0;
+    boolean closed = false;
+    for (int i = 0; i < loads.size(); i++) {
+      ContextCacheEntry.Load load = loads.get(i);
+      Instant loadEnd = load.endTime();
+
+      // The context is in the cache until its next close, the next load or the end of the run
+      Instant end = i + 1 < loads.size() ? loads.get(i + 1).startTime() : timelineEnd;
+      closed = false;
+      for (Instant closeTime : closeTimes) {
+        if (!closeTime.isBefore(loadEnd) && closeTime.isBefore(end)) {
+          end = closeTime;
+          closed = true;
+          break;
+        }
+      }
+      if (end.isBefore(loadEnd)) {
+        end = loadEnd;
+      }
+
+      intervals.add(
+          new TimelineEntry(
+              label,
+              PHASE_LOAD,
+              millisSince(timelineStart, load.startTime()),
+              millisSince(timelineStart, loadEnd),
+              color,
+              load.loadTimeMs() + (i == 0 ? "ms load time" : "ms reload after close"),
+              contextKey));
+
+      long cursor = millisSince(timelineStart, loadEnd);
+      endMs = millisSince(timelineStart, end);
+      heldMs += endMs - cursor;
+      if (closed) {
+        closeMs.add(endMs);
+      }
+      for (Use use : mergeUses(entry.getTestClassUses(), timelineStart, cursor, endMs)) {
+        if (use.startMs - cursor >= MIN_IDLE_MS) {
+          intervals.add(idle(label, color, contextKey, cursor, use.startMs, entry));
+        }
+        intervals.add(
+            new TimelineEntry(
+                label,
+                PHASE_USE,
+                use.startMs,
+                use.endMs,
+                color,
+                String.join(", ", use.testClasses),
+                contextKey));
+        cursor = use.endMs;
+      }
+      if (endMs - cursor >= MIN_IDLE_MS) {
+        intervals.add(idle(label, color, contextKey, cursor, endMs, entry));
+      }
+    }
+
+    ContextCacheEntry.Load firstLoad = loads.get(0);
+    return new ContextLifecycle(
+        contextKey,
+        label,
+        color,
+        millisSince(timelineStart, firstLoad.startTime()),
+        millisSince(timelineStart, firstLoad.endTime()),
+        endMs,
+        closed,
+        List.copyOf(closeMs),
+        loads.size(),
+        heldMs,
+        entry.getAllocatedBytes(),
+        entry.getTestClasses().size(),
+        entry.getHitCount(),
+        entry.getBeanDefinitionCount(),
+        List.copyOf(intervals));
+  }
+
+  /** Load time of all loads of the context. */
+  public long getLoadMs() {
+    return sumOf(PHASE_LOAD);
+  }
+
+  public long getActiveMs() {
+    return sumOf(PHASE_USE);
+  }
+
+  public long getIdleMs() {
+    return sumOf(PHASE_IDLE);
+  }
+
+  /** Share of the time in the cache after its loads the context was not used. */
+  public double getIdlePercent() {
+    return heldMs > 0 ? getIdleMs() * 100.0 / heldMs : 0.0;
+  }
+
+  public boolean hasAllocatedBytes() {
+    return allocatedBytes >= 0;
+  }
+
+  /**
+   * Bytes allocated while the context loaded, the upper bound of the heap it holds. Not all of it
+   * is retained, but heavy contexts allocate more.
+   */
+  public double getAllocatedMB() {
+    return hasAllocatedBytes() ? allocatedBytes / (1024.0 * 1024.0) : 0.0;
+  }
+
+  /** Allocated megabytes times idle seconds, ranks the contexts wasting the most heap. */
+  public double getIdleMegabyteSeconds() {
+    return getAllocatedMB() * getIdleMs() / 1000.0;
+  }
+
+  private long sumOf(String phase) {
+    return intervals.stream()
+        .filter(interval -> interval.phase().equals(phase))
+        .mapToLong(TimelineEntry::getDurationMs)
+        .sum();
+  }
+
+  private static TimelineEntry idle(
+      String label,
+      String color,
+      String contextKey,
+      long startMs,
+      long endMs,
+      ContextCacheEntry entry) {
+    String tooltip = "Idle in the cache";
+    if (entry.getAllocatedBytes() >= 0) {
+      tooltip += String.format(", %.1fMB allocated at load", entry.getAllocatedMB());
+    }
+    return new TimelineEntry(label, PHASE_IDLE, startMs, endMs, color, tooltip, contextKey);
+  }
+
+  private static List<Use> mergeUses(
+      List<ContextCacheEntry.TestClassUse> testClassUses,
+      Instant timelineStart,
+      long loadEndMs,
+      long endMs) {
+    List<Use> merged = new ArrayList<>();
+    testClassUses.stream()
+        .sorted(Comparator.comparing(ContextCacheEntry.TestClassUse::startTime))
+        .forEach(
+            testClassUse -> {
+              // The first test class starts before the load it triggers
+              long startMs =
+                  Math.max(millisSince(timelineStart, testClassUse.startTime()), loadEndMs);
+              long useEndMs = Math.min(millisSince(timelineStart, testClassUse.endTime()), endMs);
+              if (useEndMs <= startMs) {
+                return;
+              }
+              String testClass =
+                  testClassUse
+                      .testClassName()
+                      .substring(testClassUse.testClassName().lastIndexOf('.') + 1);
+              Use last = merged.isEmpty() ? null : merged.get(merged.size() - 1);
+              if (last != null && startMs <= last.endMs) {
+                last.endMs = Math.max(last.endMs, useEndMs);
+                last.testClasses.add(testClass);
+              } else {
+                Use use = new Use(startMs, useEndMs);
+                use.testClasses.add(testClass);
+                merged.add(use);
+              }
+            });
+    return merged;
+  }
+
+  private static long millisSince(Instant timelineStart, Instant instant) {
+    return Duration.between(timelineStart, instant).toMillis();
+  }
+
+  private static final class Use {
+
+    private final long startMs;
+    private long endMs;
+    private final List<String> testClasses = new ArrayList<>();
+
+    Use(long startMs, long endMs) {
+      this.startMs = startMs;
+      this.endMs = endMs;
+    }
+  }
+}
@@ -5,6 +5,9 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import digital.pragmatech.testing.jpa.JpaBootstrapProfile;
 
 /**
  * Comprehensive profile data for a Spring application context. Tracks timing, memory usage, bean
@@ -21,6 +24,7 @@ public class ContextProfileData {
   private volatile long endMemoryBytes;
   private volatile long totalLoadTimeMs;
   private volatile long memoryUsedMB;
+  private volatile long allocatedBytes = -1;
 
   // Bean metrics
   private volatile int beanDefinitionCount;
@@ -29,6 +33,17 @@ public class ContextProfileData {
   // Lifecycle phases (e.g., BeanDefinitionRegistration, ContextRefreshedEvent)
   private final Map<String, Instant> lifecyclePhases = new ConcurrentHashMap<>();
 
+  // Class loading, JIT compilation and GC while the context loaded
+  private volatile JvmActivity jvmActivity;
+  private volatile boolean firstContextInJvm;
+
+  // Component scanning and configuration class parsing
+  private final ConfigurationClassProfile configurationClassProfile =
+      new ConfigurationClassProfile();
+
+  // JPA entity manager factory bootstrap (Hibernate only)
+  private final List<JpaBootstrapProfile> jpaBootstrapProfiles = new CopyOnWriteArrayList<>();
+
   // Additional context information
   private final Map<String, Object> metadata = new ConcurrentHashMap<>();
 
@@ -98,7 +113,8 @@ public class ContextProfileData {
   // Memory analysis
   public double getMemoryEfficiencyMBPerBean() {
     if (beanCreationMetrics != null && beanCreationMetrics.getTotalBeansCreated() > 0) {
-      return (double) memoryUsedMB / beanCreationMetrics.getTotalBeansCreated();
+      double usedMB = allocatedBytes >= 0 ? getAllocatedMB() : memoryUsedMB;
+      return usedMB / beanCreationMetrics.getTotalBeansCreated();
     }
     return 0.0;
   }
@@ -154,6 +170,10 @@ public class ContextProfileData {
     this.totalLoadTimeMs = totalLoadTimeMs;
   }
 
+  /**
+   * Heap usage delta between context start and refresh. Garbage collections in between distort it
+   * (it can even be negative), prefer {@link #getAllocatedBytes()}.
+   */
   public long getMemoryUsedMB() {
     return memoryUsedMB;
   }
@@ -162,6 +182,23 @@ public class ContextProfileData {
     this.memoryUsedMB = memoryUsedMB;
   }
 
+  /**
+   * Bytes allocated by the loading thread between context start and refresh, {@code -1} if not
+   * supported by the JVM. Allocations of other threads (e.g. background initialization) are not
+   * included.
+   */
+  public long getAllocatedBytes() {
+    return allocatedBytes;
+  }
+
+  public double getAllocatedMB() {
+    return allocatedBytes / (1024.0 * 1024.0);
+  }
+
+  public void setAllocatedBytes(long allocatedBytes) {
+    this.allocatedBytes = allocatedBytes;
+  }
+
   public int getBeanDefinitionCount() {
     return beanDefinitionCount;
   }
@@ -170,6 +207,41 @@ public class ContextProfileData {
     this.beanDefinitionCount = beanDefinitionCount;
   }
 
+  /** JVM activity between context start and refresh, {@code null} if not completed. */
+  public JvmActivity getJvmActivity() {
+    return jvmActivity;
+  }
+
+  public void setJvmActivity(JvmActivity jvmActivity) {
+    this.jvmActivity = jvmActivity;
+  }
+
+  /**
+   * Whether this was the first context loaded in the JVM (e.g. the test fork). Its load time
+   * includes the warm-up of the JVM: loading and JIT-compiling the classes of Spring and the
+   * libraries.
+   */
+  public boolean isFirstContextInJvm() {
+    return firstContextInJvm;
+  }
+
+  public void setFirstContextInJvm(boolean firstContextInJvm) {
+    this.firstContextInJvm = firstContextInJvm;
+  }
+
+  public ConfigurationClassProfile getConfigurationClassProfile() {
+    return configurationClassProfile;
+  }
+
+  public void addJpaBootstrapProfile(JpaBootstrapProfile jpaBootstrapProfile) {
+    jpaBootstrapProfiles.add(jpaBootstrapProfile);
+  }
+
+  /** Bootstrap breakdown of the JPA entity manager factories of the context, if any. */
+  public List<JpaBootstrapProfile> getJpaBootstrapProfiles() {
+    return List.copyOf(jpaBootstrapProfiles);
+  }
+
   public BeanCreationProfiler.BeanCreationMetrics getBeanCreationMetrics() {
     return beanCreationMetrics;
   }
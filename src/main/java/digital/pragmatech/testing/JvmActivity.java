@@ -0,0 +1,52 @@
+package digital.pragmatech.testing;
+
+import java.lang.management.CompilationMXBean;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+
+/**
+ * Cumulative JVM activity counters, or the difference between two samples of them. Sampled when a
+ * context starts and when it is refreshed to tell the cost of loading and JIT-compiling classes
+ * (that the first context of a JVM mostly pays) apart from the cost of the configuration itself.
+ *
+ * @param loadedClassCount classes loaded (including classes unloaded since)
+ * @param compilationTimeMs time spent in the JIT compiler, {@code -1} if not supported by the JVM
+ * @param gcTimeMs accumulated collection time of all garbage collectors
+ * @param gcCount number of collections of all garbage collectors
+ */
+public record JvmActivity(
+    long loadedClassCount, long compilationTimeMs, long gcTimeMs, long gcCount) {
+
+  public static JvmActivity capture() {
+    CompilationMXBean compilation = ManagementFactory.getCompilationMXBean();
+    long compilationTimeMs =
+        compilation != null && compilation.isCompilationTimeMonitoringSupported()
+            ? compilation.getTotalCompilationTime()
+            : -1;
+
+    long gcTimeMs = 0;
+    long gcCount = 0;
+    for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+      // -1 if undefined for this collector
+      gcTimeMs += Math.max(0, collector.getCollectionTime());
+      gcCount += Math.max(0, collector.getCollectionCount());
+    }
+
+    return new JvmActivity(
+        ManagementFactory.getClassLoadingMXBean().getTotalLoadedClassCount(),
+        compilationTimeMs,
+        gcTimeMs,
+        gcCount);
+  }
+
+  /** Returns the activity between the given earlier sample and this one. */
+  public JvmActivity since(JvmActivity start) {
+    return new JvmActivity(
+        loadedClassCount - start.loadedClassCount,
+        compilationTimeMs >= 0 && start.compilationTimeMs >= 0
+            ? compilationTimeMs - start.compilationTimeMs
+            : -1,
+        gcTimeMs - start.gcTimeMs,
+        gcCount - start.gcCount);
+  }
+}
@@ -0,0 +1,83 @@
+package digital.pragmatech.testing;
+
+import java.io.IOException;
+import java.util.Map;
+
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.core.io.support.ResourcePatternResolver;
+
+/**
+ * Resource loader that records how long the class file patterns of component scans take to resolve
+ * and how many candidate classes they return. Everything else is delegated, including the resource
+ * caches so metadata readers stay shared with the application context.
+ */
+class ScanTimingResourceLoader extends DefaultResourceLoader implements ResourcePatternResolver {
+
+  private static final String CLASS_FILE_PATTERN_SUFFIX = "/**/*.class";
+
+  private final ResourceLoader delegate;
+  private final ResourcePatternResolver patternResolver;
+  private final ConfigurationClassProfile profile;
+
+  ScanTimingResourceLoader(ResourceLoader delegate, ConfigurationClassProfile profile) {
+    super(delegate.getClassLoader());
+    this.delegate = delegate;
+    this.patternResolver =
+        delegate instanceof ResourcePatternResolver resourcePatternResolver
+            ? resourcePatternResolver
+            : new PathMatchingResourcePatternResolver(delegate);
+    this.profile = profile;
+  }
+
+  @Override
+  public Resource[] getResources(String locationPattern) throws IOException {
+    if (!locationPattern.endsWith(".class")) {
+      return patternResolver.getResources(locationPattern);
+    }
+    long start = System.nanoTime();
+    Resource[] resources = patternResolver.getResources(locationPattern);
+    profile.recordPackageScan(
+        toBasePackage(locationPattern), resources.length, System.nanoTime() - start);
+    return resources;
+  }
+
+  @Override
+  public Resource getResource(String location) {
+    return delegate.getResource(location);
+  }
+
+  @Override
+  public ClassLoader getClassLoader() {
+    return delegate.getClassLoader();
+  }
+
+  @Override
+  public <T> Map<Resource, T> getResourceCache(Class<T> valueType) {
+    return delegate instanceof DefaultResourceLoader defaultResourceLoader
+        ? defaultResourceLoader.getResourceCache(valueType)
+        : super.getResourceCache(valueType);
+  }
+
+  @Override
+  public void clearResourceCaches() {
+    if (delegate instanceof DefaultResourceLoader defaultResourceLoader) {
+      defaultResourceLoader.clearResourceCaches();
+    }
+    super.clearResourceCaches();
+  }
+
+  static String toBasePackage(String locationPattern) {
+    String path = locationPattern;
+    int prefixIndex = path.indexOf(':');
+    if (prefixIndex >= 0) {
+      path = path.substring(prefixIndex + 1);
+    }
+    if (path.endsWith(CLASS_FILE_PATTERN_SUFFIX)) {
+      path = path.substring(0, path.length() - CLASS_FILE_PATTERN_SUFFIX.length());
+    }
+    return path.replace('/', '.');
+  }
+}
@@ -2,16 +2,29 @@ package digital.pragmatech.testing;
 
 import java.lang.reflect.Method;
 import java.time.Instant;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicReference;
 
+import digital.pragmatech.testing.autoconfigure.AutoConfigurationReport;
+import digital.pragmatech.testing.autoconfigure.AutoConfigurationReportCollector;
+import digital.pragmatech.testing.beans.BeanCategoryBreakdown;
+import digital.pragmatech.testing.beans.BeanCategoryClassifier;
 import digital.pragmatech.testing.diagnostic.ContextDiagnostic;
+import digital.pragmatech.testing.gc.GcPauseStats;
+import digital.pragmatech.testing.journal.BinaryEventLog;
+import digital.pragmatech.testing.journal.RunJournal;
+import digital.pragmatech.testing.phases.TestPhase;
+import digital.pragmatech.testing.phases.TestPhaseListener;
 import digital.pragmatech.testing.reporting.html.TestExecutionReporter;
+import digital.pragmatech.testing.threads.BackgroundThreads;
 import digital.pragmatech.testing.util.TestAnnotationDetector;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.event.ContextClosedEvent;
 import org.springframework.core.Ordered;
 import org.springframework.lang.NonNull;
 import org.springframework.test.context.MergedContextConfiguration;
@@ -28,10 +41,13 @@ public class SpringTestProfilerListener extends AbstractTestExecutionListener {
 
   private static final Logger logger = LoggerFactory.getLogger(SpringTestProfilerListener.class);
 
+  private static final int TOP_ALLOCATING_BEANS_LIMIT = 10;
+
   // Shared instances for tracking across all tests
   private static final TestExecutionTracker executionTracker = new TestExecutionTracker();
   private static final ContextCacheTracker contextCacheTracker = new ContextCacheTracker();
   private static final TestExecutionReporter reporter = new TestExecutionReporter();
+  private static volatile RunJournal journal = RunJournal.disabled();
 
   // Track current test class and method
   private final Map<TestContext, String> testClassNames = new ConcurrentHashMap<>();
@@ -69,6 +85,8 @@ public class SpringTestProfilerListener extends AbstractTestExecutionListener {
     // Record test class start
     testClassNames.put(testContext, className);
     executionTracker.recordTestClassStart(className);
+    BinaryEventLog.current()
+        .append(BinaryEventLog.EventType.TEST_CLASS_START, 0, className, null, null, 0);
 
     // Capture the TestContext reference for cache access
     lastTestContext.set(testContext);
@@ -80,8 +98,8 @@ public class SpringTestProfilerListener extends AbstractTestExecutionListener {
     TestContextBootstrapper bootstrapper = resolveBootstrapper(testClass);
     MergedContextConfiguration mergedConfig = bootstrapper.buildMergedContextConfiguration();
 
-    // The cache key is the hashCode of the MergedContextConfiguration
-    int cacheKey = mergedConfig.hashCode();
+    // Stable, content-based key of the MergedContextConfiguration (comparable across runs)
+    String fingerprint = ContextFingerprint.of(mergedConfig);
 
     // Track the association between context configuration and test class
     contextCacheTracker.recordTestClassForContext(mergedConfig, className);
@@ -90,7 +108,7 @@ public class SpringTestProfilerListener extends AbstractTestExecutionListener {
     String annotationType = TestAnnotationDetector.detectTestAnnotationType(testClass);
     contextCacheTracker.recordTestAnnotationType(mergedConfig, annotationType);
 
-    logger.info("Test class {} uses context cache key {}", className, cacheKey);
+    logger.info("Test class {} uses context with fingerprint {}", className, fingerprint);
   }
 
   @Override
@@ -98,14 +116,23 @@ public class SpringTestProfilerListener extends AbstractTestExecutionListener {
     String className = testClassNames.get(testContext);
 
     if (className != null) {
+      // Attribute GC pauses during the (potential) context load to it
+      GcPauseStats contextLoadGcPauses = new GcPauseStats();
+      // Threads started during the (potential) context load belong to it
+      Set<Long> threadIdsBeforeLoad = BackgroundThreads.liveThreadIds();
+      executionTracker.getGcActivityTracker().begin(contextLoadGcPauses);
       try {
         // Force context loading BEFORE capturing end time.
         // This listener runs with HIGHEST_PRECEDENCE (before
         // DependencyInjectionTestExecutionListener),
         // so the context has not been loaded yet when prepareTestInstance is called.
         // Calling getApplicationContext() triggers lazy context creation.
-        org.springframework.context.ApplicationContext applicationContext =
-            testContext.getApplicationContext();
+        org.springframework.context.ApplicationContext applicationContext;
+        try {
+          applicationContext = testContext.getApplicationContext();
+        } finally {
+          executionTracker.getGcActivityTracker().end();
+        }
         Instant contextLoadEndTime = Instant.now();
 
         Class<?> testClass = testContext.getTestClass();
@@ -133,20 +160,29 @@ public class SpringTestProfilerListener extends AbstractTestExecutionListener {
         if (profileData != null && profileData.getTotalLoadTimeMs() > 0) {
           contextLoadDurationMs = profileData.getTotalLoadTimeMs();
           logger.debug(
-              "Using initializer timing for test class {} - Total time: {}ms, Memory: {}MB, Beans: {}",
+              "Using initializer timing for test class {} - Total time: {}ms, Allocated: {} bytes, Beans: {}",
               className,
               profileData.getTotalLoadTimeMs(),
-              profileData.getMemoryUsedMB(),
+              profileData.getAllocatedBytes(),
               profileData.getBeanCreationMetrics() != null
                   ? profileData.getBeanCreationMetrics().getTotalBeansCreated()
                   : "unknown");
         }
 
         // Now check if this was a cache hit or miss
-        // If the context was already tracked as created for another test, it's a hit
+        // If the context is still loaded for another test, it's a hit, after a close it was
+        // reloaded
         Optional<ContextCacheEntry> entry = contextCacheTracker.getCacheEntry(mergedConfig);
-        if (entry.isPresent() && entry.get().isCreated()) {
+        if (entry.isPresent() && entry.get().isLoaded()) {
           contextCacheTracker.recordContextCacheHit(mergedConfig);
+          BinaryEventLog.current()
+              .append(
+                  BinaryEventLog.EventType.CONTEXT_HIT,
+                  0,
+                  className,
+                  null,
+                  ContextIdGenerator.getContextId(mergedConfig),
+                  0);
           logger.debug(
               "Context cache hit for test class {} ({}ms)", className, contextLoadDurationMs);
         } else {
@@ -166,9 +202,75 @@ public class SpringTestProfilerListener extends AbstractTestExecutionListener {
             contextCacheTracker.recordContextCreation(mergedConfig, contextLoadDurationMs);
           }
 
+          // Spring closes the context when it evicts it from the cache or a test marks it dirty
+          configurableContext.addApplicationListener(
+              event -> {
+                if (event instanceof ContextClosedEvent closedEvent
+                    && closedEvent.getApplicationContext() == configurableContext) {
+                  contextCacheTracker.recordContextClosed(mergedConfig);
+                }
+              });
+
           // Capture bean definitions for context complexity analysis
           String[] beanNames = applicationContext.getBeanDefinitionNames();
           contextCacheTracker.recordBeanDefinitions(mergedConfig, beanNames);
+          contextCacheTracker.recordGcPauses(mergedConfig, contextLoadGcPauses);
+          contextCacheTracker.recordBackgroundThreads(
+              mergedConfig, BackgroundThreads.startedSince(threadIdsBeforeLoad));
+
+          // Component scanning and configuration class parsing (TimingTracking initializer only)
+          if (profileData != null && profileData.getConfigurationClassProfile().isRecorded()) {
+            contextCacheTracker.recordConfigurationClassProfile(
+                mergedConfig, profileData.getConfigurationClassProfile());
+          }
+
+          // Class loading, JIT and GC during the load (TimingTracking initializer only)
+          if (profileData != null && profileData.getJvmActivity() != null) {
+            contextCacheTracker.recordJvmActivity(
+                mergedConfig, profileData.getJvmActivity(), profileData.isFirstContextInJvm());
+          }
+
+          // Entity scanning, metamodel, hbm2ddl and cache of JPA (TimingTracking initializer only)
+          if (profileData != null && !profileData.getJpaBootstrapProfiles().isEmpty()) {
+            contextCacheTracker.recordJpaBootstrapProfiles(
+                mergedConfig, profileData.getJpaBootstrapProfiles());
+          }
+
+          // Bytes allocated by the loading thread and per bean (TimingTracking initializer only)
+          if (profileData != null && profileData.getAllocatedBytes() >= 0) {
+            contextCacheTracker.recordAllocations(
+                mergedConfig,
+                profileData.getAllocatedBytes(),
+                profileData.getBeanCreationMetrics() != null
+                    ? profileData
+                        .getBeanCreationMetrics()
+                        .getTopAllocatingBeans(TOP_ALLOCATING_BEANS_LIMIT)
+                    : List.of());
+          }
+
+          // Split the bean creation time into infrastructure, application and framework beans
+          BeanCategoryBreakdown beanCategories =
+              BeanCategoryClassifier.collect(configurableContext);
+          if (beanCategories != null) {
+            contextCacheTracker.recordBeanCategories(mergedConfig, beanCategories);
+          }
+
+          // Capture applied/excluded auto-configurations and the time spent on their beans
+          AutoConfigurationReport autoConfigurationReport =
+              AutoConfigurationReportCollector.collect(configurableContext);
+          if (autoConfigurationReport != null) {
+            contextCacheTracker.recordAutoConfigurationReport(
+                mergedConfig, autoConfigurationReport);
+          }
+          contextCacheTracker.getCacheEntry(mergedConfig).ifPresent(journal::recordContextLoaded);
+          BinaryEventLog.current()
+              .append(
+                  BinaryEventLog.EventType.CONTEXT_LOADED,
+                  0,
+                  className,
+                  null,
+                  ContextIdGenerator.getContextId(mergedConfig),
+                  contextLoadDurationMs * 1_000_000);
           logger.debug(
               "New context created for test class {} with {} bean definitions ({}ms)",
               className,
@@ -190,6 +292,17 @@ public class SpringTestProfilerListener extends AbstractTestExecutionListener {
     String className = testClassNames.get(testContext);
     if (className != null) {
       executionTracker.recordTestClassEnd(className);
+      contextCacheTracker.recordTestClassEnd(className);
+      BinaryEventLog.current()
+          .append(BinaryEventLog.EventType.TEST_CLASS_END, 0, className, null, null, 0);
+      TestExecutionTracker.TestClassMetrics metrics =
+          executionTracker.getClassMetrics().get(className);
+      if (metrics != null) {
+        journal.recordTestClassCompleted(
+            metrics, contextCacheTracker.getContextForTestClass(className));
+      }
+      // Catch the CPU time of background threads before their context may be evicted
+      contextCacheTracker.updateBackgroundThreadCpuTime();
       logger.debug("Completed Spring Test Profiler for test class: {}", className);
     }
 
@@ -204,6 +317,8 @@ public class SpringTestProfilerListener extends AbstractTestExecutionListener {
 
     if (className != null) {
       executionTracker.recordTestMethodStart(className, methodName);
+      BinaryEventLog.current()
+          .append(BinaryEventLog.EventType.TEST_METHOD_START, 0, className, methodName, null, 0);
       methodStartTimes.put(testContext, Instant.now());
 
       // Record which test method uses this context
@@ -215,6 +330,14 @@ public class SpringTestProfilerListener extends AbstractTestExecutionListener {
     }
   }
 
+  @Override
+  public void beforeTestExecution(@NonNull TestContext testContext) throws Exception {
+    String className = testClassNames.get(testContext);
+    if (className != null) {
+      recordTestPhase(className, testContext.getTestMethod().getName(), TestPhase.EXECUTION);
+    }
+  }
+
   @Override
   public void afterTestExecution(@NonNull TestContext testContext) throws Exception {
     String className = testClassNames.get(testContext);
@@ -224,12 +347,34 @@ public class SpringTestProfilerListener extends AbstractTestExecutionListener {
       // Determine test status based on test exception
       TestStatus status = determineTestStatus(testContext);
       executionTracker.recordTestMethodEnd(className, methodName, status);
+      BinaryEventLog.current()
+          .append(
+              BinaryEventLog.EventType.TEST_METHOD_END,
+              status.ordinal(),
+              className,
+              methodName,
+              null,
+              0);
+      recordTestPhase(className, methodName, TestPhase.TEARDOWN);
 
       // Clean up
       methodStartTimes.remove(testContext);
     }
   }
 
+  @Override
+  public void afterTestMethod(@NonNull TestContext testContext) throws Exception {
+    // Runs last, after the rollback, @Sql scripts and mock resets of Spring's listeners
+    String className = testClassNames.get(testContext);
+    if (className != null) {
+      String methodName = testContext.getTestMethod().getName();
+      executionTracker.recordTestMethodTeardownEnd(className, methodName);
+      BinaryEventLog.current()
+          .append(
+              BinaryEventLog.EventType.TEST_METHOD_TEARDOWN_END, 0, className, methodName, null, 0);
+    }
+  }
+
   private TestStatus determineTestStatus(TestContext testContext) {
     if (testContext.getTestException() != null) {
       Throwable exception = testContext.getTestException();
@@ -305,18 +450,40 @@ public class SpringTestProfilerListener extends AbstractTestExecutionListener {
                       },
                       "SpringTestProfilerReportGenerator"));
           shutdownHookRegistered = true;
+          // Parse the report templates while the tests run instead of in the shutdown hook
+          reporter.prewarmAsync();
+          // Journal the completed work, so a later run can recover it if this JVM is killed
+          journal = reporter.startJournal();
+          reporter.startEventLog();
           logger.debug("Registered shutdown hook for Spring Test Profiler report generation");
         }
       }
     }
   }
 
+  /**
+   * Starts the given phase of the running test method. Called by the {@link TestPhaseListener}s
+   * around Spring's own listeners.
+   */
+  public static void recordTestPhase(TestContext testContext, TestPhase phase) {
+    recordTestPhase(
+        testContext.getTestClass().getName(), testContext.getTestMethod().getName(), phase);
+  }
+
+  private static void recordTestPhase(String className, String methodName, TestPhase phase) {
+    executionTracker.recordTestPhase(className, methodName, phase);
+    BinaryEventLog.current()
+        .append(
+            BinaryEventLog.EventType.TEST_PHASE, phase.ordinal(), className, methodName, null, 0);
+  }
+
   /** Called by the shutdown hook or manually to generate the final report. */
   public static void generateReport() {
     synchronized (SpringTestProfilerListener.class) {
       if (!reportGenerated) {
         logger.info("Generating Spring Test Profiler");
         executionTracker.stopTracking();
+        contextCacheTracker.updateBackgroundThreadCpuTime();
 
         // Get context cache statistics including our custom tracking
         SpringContextCacheAccessor.CacheStatistics springStats = getCacheStatistics();
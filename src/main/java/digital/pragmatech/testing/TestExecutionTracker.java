@@ -5,6 +5,12 @@ import java.time.Instant;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import digital.pragmatech.testing.gc.GcActivityTracker;
+import digital.pragmatech.testing.gc.GcPauseStats;
+import digital.pragmatech.testing.phases.TestPhase;
+import digital.pragmatech.testing.phases.TestPhaseDurations;
 
 /** Tracks test execution metrics across all test classes and methods. */
 public class TestExecutionTracker {
@@ -12,50 +18,108 @@ public class TestExecutionTracker {
   private final Map<String, TestClassMetrics> classMetrics = new ConcurrentHashMap<>();
   private final AtomicInteger totalTestClasses = new AtomicInteger(0);
   private final AtomicInteger totalTestMethods = new AtomicInteger(0);
+  private final TestStatusCounters statusCounters = new TestStatusCounters();
   private Instant overallStartTime;
   private Instant overallEndTime;
+  private final GcActivityTracker gcActivityTracker = new GcActivityTracker();
 
   public void startTracking() {
     overallStartTime = Instant.now();
+    gcActivityTracker.start();
   }
 
   public void stopTracking() {
     overallEndTime = Instant.now();
   }
 
+  /** Sets the overall duration of a run that is replayed from a recording. */
+  public void recordTrackingInterval(Instant startTime, Instant endTime) {
+    overallStartTime = startTime;
+    overallEndTime = endTime;
+  }
+
   public void recordTestClassStart(String className) {
+    recordTestClassStart(className, Instant.now());
+  }
+
+  public void recordTestClassStart(String className, Instant startTime) {
     classMetrics
         .computeIfAbsent(
             className,
             k -> {
               totalTestClasses.incrementAndGet();
-              return new TestClassMetrics(className);
+              return new TestClassMetrics(className, statusCounters);
             })
-        .recordStart();
+        .recordStart(startTime);
   }
 
   public void recordTestClassEnd(String className) {
+    recordTestClassEnd(className, Instant.now());
+  }
+
+  public void recordTestClassEnd(String className, Instant endTime) {
     TestClassMetrics metrics = classMetrics.get(className);
     if (metrics != null) {
-      metrics.recordEnd();
+      metrics.recordEnd(endTime);
     }
   }
 
   public void recordTestMethodStart(String className, String methodName) {
+    recordTestMethodStart(className, methodName, Instant.now(), System.nanoTime());
+  }
+
+  public void recordTestMethodStart(
+      String className, String methodName, Instant startTime, long nanoTime) {
     TestClassMetrics metrics = classMetrics.get(className);
     if (metrics != null) {
-      metrics.recordMethodStart(methodName);
+      metrics.recordMethodStart(methodName, startTime, nanoTime);
       totalTestMethods.incrementAndGet();
+      gcActivityTracker.begin(metrics.getGcPauses());
     }
   }
 
   public void recordTestMethodEnd(String className, String methodName, TestStatus status) {
+    recordTestMethodEnd(className, methodName, status, Instant.now());
+  }
+
+  public void recordTestMethodEnd(
+      String className, String methodName, TestStatus status, Instant endTime) {
+    TestClassMetrics metrics = classMetrics.get(className);
+    if (metrics != null) {
+      metrics.recordMethodEnd(methodName, status, endTime);
+    }
+    gcActivityTracker.end();
+  }
+
+  /** Starts the given phase of a running test method; the previous phase ends. */
+  public void recordTestPhase(String className, String methodName, TestPhase phase) {
+    recordTestPhase(className, methodName, phase, System.nanoTime());
+  }
+
+  public void recordTestPhase(String className, String methodName, TestPhase phase, long nanoTime) {
+    TestClassMetrics metrics = classMetrics.get(className);
+    if (metrics != null) {
+      metrics.recordMethodPhase(methodName, phase, nanoTime);
+    }
+  }
+
+  /** Ends the phases of a test method after the last after callback. */
+  public void recordTestMethodTeardownEnd(String className, String methodName) {
+    recordTestMethodTeardownEnd(className, methodName, System.nanoTime());
+  }
+
+  public void recordTestMethodTeardownEnd(String className, String methodName, long nanoTime) {
     TestClassMetrics metrics = classMetrics.get(className);
     if (metrics != null) {
-      metrics.recordMethodEnd(methodName, status);
+      metrics.recordMethodTeardownEnd(methodName, nanoTime);
     }
   }
 
+  /** Attributes GC pauses to context loads and the test methods of each test class. */
+  public GcActivityTracker getGcActivityTracker() {
+    return gcActivityTracker;
+  }
+
   public Map<String, TestClassMetrics> getClassMetrics() {
     return Collections.unmodifiableMap(classMetrics);
   }
@@ -68,6 +132,11 @@ public class TestExecutionTracker {
     return totalTestMethods.get();
   }
 
+  /** Number of test methods of all classes whose last invocation ended with the given status. */
+  public long getTestMethodCount(TestStatus status) {
+    return statusCounters.get(status);
+  }
+
   public Duration getOverallDuration() {
     if (overallStartTime != null && overallEndTime != null) {
       return Duration.between(overallStartTime, overallEndTime);
@@ -75,33 +144,116 @@ public class TestExecutionTracker {
     return Duration.ZERO;
   }
 
+  /**
+   * Test methods per status, updated when a method ends, so the report reads the counts without
+   * iterating over all methods. A method that ends again (e.g. a retried or repeated test with the
+   * same name) moves from its previous status to the new one.
+   */
+  public static final class TestStatusCounters {
+    private final LongAdder[] counters = new LongAdder[TestStatus.values().length];
+
+    TestStatusCounters() {
+      for (int i = 0; i < counters.length; i++) {
+        counters[i] = new LongAdder();
+      }
+    }
+
+    void update(TestStatus previous, TestStatus current) {
+      if (previous == current) {
+        return;
+      }
+      if (previous != null) {
+        counters[previous.ordinal()].decrement();
+      }
+      if (current != null) {
+        counters[current.ordinal()].increment();
+      }
+    }
+
+    public long get(TestStatus status) {
+      return counters[status.ordinal()].sum();
+    }
+  }
+
   /** Metrics for a single test class. */
   public static class TestClassMetrics {
     private final String className;
     private final Map<String, TestMethodMetrics> methodMetrics = new ConcurrentHashMap<>();
+    private final GcPauseStats gcPauses = new GcPauseStats();
+    private final TestStatusCounters statusCounters = new TestStatusCounters();
+    private final TestStatusCounters trackerStatusCounters;
     private Instant startTime;
     private Instant endTime;
 
     public TestClassMetrics(String className) {
+      this(className, null);
+    }
+
+    TestClassMetrics(String className, TestStatusCounters trackerStatusCounters) {
       this.className = className;
+      this.trackerStatusCounters = trackerStatusCounters;
     }
 
     public void recordStart() {
-      this.startTime = Instant.now();
+      recordStart(Instant.now());
+    }
+
+    public void recordStart(Instant startTime) {
+      this.startTime = startTime;
     }
 
     public void recordEnd() {
-      this.endTime = Instant.now();
+      recordEnd(Instant.now());
+    }
+
+    public void recordEnd(Instant endTime) {
+      this.endTime = endTime;
     }
 
     public void recordMethodStart(String methodName) {
-      methodMetrics.computeIfAbsent(methodName, TestMethodMetrics::new).recordStart();
+      recordMethodStart(methodName, Instant.now(), System.nanoTime());
+    }
+
+    public void recordMethodStart(String methodName, Instant startTime, long nanoTime) {
+      methodMetrics
+          .computeIfAbsent(methodName, TestMethodMetrics::new)
+          .recordStart(startTime, nanoTime);
     }
 
     public void recordMethodEnd(String methodName, TestStatus status) {
+      recordMethodEnd(methodName, status, Instant.now());
+    }
+
+    public void recordMethodEnd(String methodName, TestStatus status, Instant endTime) {
+      TestMethodMetrics metrics = methodMetrics.get(methodName);
+      if (metrics != null) {
+        TestStatus previous = metrics.recordEnd(status, endTime);
+        statusCounters.update(previous, status);
+        if (trackerStatusCounters != null) {
+          trackerStatusCounters.update(previous, status);
+        }
+      }
+    }
+
+    public void recordMethodPhase(String methodName, TestPhase phase) {
+      recordMethodPhase(methodName, phase, System.nanoTime());
+    }
+
+    public void recordMethodPhase(String methodName, TestPhase phase, long nanoTime) {
       TestMethodMetrics metrics = methodMetrics.get(methodName);
       if (metrics != null) {
-        metrics.recordEnd(status);
+        metrics.recordPhase(phase, nanoTime);
+      }
+    }
+
+    public void recordMethodTeardownEnd(String methodName) {
+      recordMethodTeardownEnd(methodName, System.nanoTime());
+    }
+
+    public void recordMethodTeardownEnd(String methodName, long nanoTime) {
+      TestMethodMetrics metrics = methodMetrics.get(methodName);
+      if (metrics != null) {
+        metrics.recordTeardownEnd(nanoTime);
       }
     }
 
@@ -116,6 +268,20 @@ public class TestExecutionTracker {
       return Duration.ZERO;
     }
 
+    /** GC pauses during the test methods of this class. */
+    public GcPauseStats getGcPauses() {
+      return gcPauses;
+    }
+
+    /** Time per test method phase, summed up over all methods of this class. */
+    public TestPhaseDurations getPhaseDurations() {
+      TestPhaseDurations durations = new TestPhaseDurations();
+      for (TestMethodMetrics metrics : methodMetrics.values()) {
+        durations.addAll(metrics.getPhaseDurations());
+      }
+      return durations;
+    }
+
     public Map<String, TestMethodMetrics> getMethodMetrics() {
       return Collections.unmodifiableMap(methodMetrics);
     }
@@ -125,15 +291,16 @@ public class TestExecutionTracker {
     }
 
     public long getPassedMethods() {
-      return methodMetrics.values().stream()
-          .filter(m -> m.getStatus() == TestStatus.PASSED)
-          .count();
+      return statusCounters.get(TestStatus.PASSED);
     }
 
     public long getFailedMethods() {
-      return methodMetrics.values().stream()
-          .filter(m -> m.getStatus() == TestStatus.FAILED)
-          .count();
+      return statusCounters.get(TestStatus.FAILED);
+    }
+
+    /** Number of test methods whose last invocation ended with the given status. */
+    public long getMethodCount(TestStatus status) {
+      return statusCounters.get(status);
     }
   }
 
@@ -143,18 +310,58 @@ public class TestExecutionTracker {
     private Instant startTime;
     private Instant endTime;
     private TestStatus status;
+    private final TestPhaseDurations phaseDurations = new TestPhaseDurations();
+    private TestPhase currentPhase;
+    private long phaseStartNanos;
 
     public TestMethodMetrics(String methodName) {
       this.methodName = methodName;
     }
 
     public void recordStart() {
-      this.startTime = Instant.now();
+      recordStart(Instant.now(), System.nanoTime());
+    }
+
+    public synchronized void recordStart(Instant startTime, long nanoTime) {
+      this.startTime = startTime;
+      this.currentPhase = TestPhase.SETUP;
+      this.phaseStartNanos = nanoTime;
+    }
+
+    public void recordPhase(TestPhase phase) {
+      recordPhase(phase, System.nanoTime());
+    }
+
+    public synchronized void recordPhase(TestPhase phase, long nanoTime) {
+      // Ignore probes outside of a running method, e.g. when the profiler started late
+      if (currentPhase != null) {
+        phaseDurations.add(currentPhase, nanoTime - phaseStartNanos);
+        currentPhase = phase;
+        phaseStartNanos = nanoTime;
+      }
+    }
+
+    public void recordTeardownEnd() {
+      recordTeardownEnd(System.nanoTime());
+    }
+
+    public synchronized void recordTeardownEnd(long nanoTime) {
+      if (currentPhase != null) {
+        phaseDurations.add(currentPhase, nanoTime - phaseStartNanos);
+        currentPhase = null;
+      }
     }
 
     public void recordEnd(TestStatus status) {
-      this.endTime = Instant.now();
+      recordEnd(status, Instant.now());
+    }
+
+    /** Ends an invocation of this method and returns the status of the previous one, if any. */
+    public synchronized TestStatus recordEnd(TestStatus status, Instant endTime) {
+      TestStatus previous = this.status;
+      this.endTime = endTime;
       this.status = status;
+      return previous;
     }
 
     public String getMethodName() {
@@ -171,5 +378,10 @@ public class TestExecutionTracker {
     public TestStatus getStatus() {
       return status;
     }
+
+    /** Time per phase, summed up over all invocations of this method (e.g. parameterized). */
+    public TestPhaseDurations getPhaseDurations() {
+      return phaseDurations;
+    }
   }
 }
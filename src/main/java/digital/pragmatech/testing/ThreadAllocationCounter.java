@@ -0,0 +1,48 @@
+package digital.pragmatech.testing;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * Reads the bytes allocated by a thread from HotSpot's {@code com.sun.management.ThreadMXBean}.
+ * Unlike a heap usage delta, the counter only grows and is independent of garbage collections in
+ * between, so the difference of two readings is the exact amount the thread allocated.
+ */
+public final class ThreadAllocationCounter {
+
+  private static final com.sun.management.ThreadMXBean threadMXBean = lookupThreadMXBean();
+
+  private ThreadAllocationCounter() {}
+
+  /** Bytes allocated by the current thread so far, {@code -1} if not supported by the JVM. */
+  public static long currentThread() {
+    return threadMXBean != null ? threadMXBean.getCurrentThreadAllocatedBytes() : -1;
+  }
+
+  /**
+   * Bytes allocated by the given thread so far, {@code -1} if not supported by the JVM or the
+   * thread is no longer alive.
+   */
+  public static long ofThread(long threadId) {
+    return threadMXBean != null ? threadMXBean.getThreadAllocatedBytes(threadId) : -1;
+  }
+
+  /** Difference of two readings, {@code -1} if either reading is unknown. */
+  public static long between(long startBytes, long endBytes) {
+    return startBytes >= 0 && endBytes >= 0 ? Math.max(0, endBytes - startBytes) : -1;
+  }
+
+  private static com.sun.management.ThreadMXBean lookupThreadMXBean() {
+    try {
+      if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean bean
+          && bean.isThreadAllocatedMemorySupported()) {
+        if (!bean.isThreadAllocatedMemoryEnabled()) {
+          bean.setThreadAllocatedMemoryEnabled(true);
+        }
+        return bean;
+      }
+    } catch (LinkageError | RuntimeException e) {
+      // Not a HotSpot-based JVM or not permitted to enable the measurement
+    }
+    return null;
+  }
+}
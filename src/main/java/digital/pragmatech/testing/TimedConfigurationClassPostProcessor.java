@@ -0,0 +1,182 @@
+package digital.pragmatech.testing;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.AnnotatedBeanDefinition;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.beans.factory.config.SingletonBeanRegistry;
+import org.springframework.beans.factory.support.AbstractBeanDefinition;
+import org.springframework.beans.factory.support.BeanDefinitionRegistry;
+import org.springframework.beans.factory.support.BeanDefinitionRegistryPostProcessor;
+import org.springframework.context.annotation.AnnotationConfigUtils;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ConfigurationClassPostProcessor;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.core.type.AnnotationMetadata;
+
+/**
+ * {@link ConfigurationClassPostProcessor} that records the time spent processing and enhancing
+ * configuration classes, the component scans (via a {@link ScanTimingResourceLoader}), the number
+ * of {@code @Configuration} classes and the depth of {@code @Import} chains.
+ *
+ * <p>Swapped in for the context's configuration class post-processor by the {@link Installer},
+ * which {@link TimingTrackingApplicationContextInitializer} registers. Extending the post-processor
+ * (instead of wrapping it) keeps its bean definition, property values (e.g. Spring Boot's shared
+ * metadata reader factory) and type intact.
+ */
+class TimedConfigurationClassPostProcessor extends ConfigurationClassPostProcessor {
+
+  private static final Logger logger =
+      LoggerFactory.getLogger(TimedConfigurationClassPostProcessor.class);
+
+  private static final String IMPORT_REGISTRY_BEAN_NAME =
+      ConfigurationClassPostProcessor.class.getName() + ".importRegistry";
+
+  private final ConfigurationClassProfile profile;
+
+  TimedConfigurationClassPostProcessor(ConfigurationClassProfile profile) {
+    this.profile = profile;
+  }
+
+  @Override
+  public void setResourceLoader(ResourceLoader resourceLoader) {
+    super.setResourceLoader(new ScanTimingResourceLoader(resourceLoader, profile));
+  }
+
+  @Override
+  public void postProcessBeanDefinitionRegistry(BeanDefinitionRegistry registry) {
+    long start = System.nanoTime();
+    super.postProcessBeanDefinitionRegistry(registry);
+    profile.setProcessingTimeMs((System.nanoTime() - start) / 1_000_000);
+
+    try {
+      recordConfigurationClasses(registry);
+    } catch (Exception e) {
+      logger.debug("Failed to analyze configuration classes: {}", e.getMessage());
+    }
+  }
+
+  @Override
+  public void postProcessBeanFactory(ConfigurableListableBeanFactory beanFactory) {
+    long start = System.nanoTime();
+    super.postProcessBeanFactory(beanFactory);
+    profile.setEnhancementTimeMs((System.nanoTime() - start) / 1_000_000);
+  }
+
+  private void recordConfigurationClasses(BeanDefinitionRegistry registry) throws Exception {
+    Object importRegistry =
+        registry instanceof SingletonBeanRegistry singletonRegistry
+                && singletonRegistry.containsSingleton(IMPORT_REGISTRY_BEAN_NAME)
+            ? singletonRegistry.getSingleton(IMPORT_REGISTRY_BEAN_NAME)
+            : null;
+    Method importingClassLookup = resolveImportingClassLookup(importRegistry);
+
+    int configurationClassCount = 0;
+    List<String> deepestImportChain = List.of();
+    for (String beanName : registry.getBeanDefinitionNames()) {
+      BeanDefinition beanDefinition = registry.getBeanDefinition(beanName);
+      if (!(beanDefinition instanceof AnnotatedBeanDefinition annotatedBeanDefinition)
+          || !annotatedBeanDefinition.getMetadata().isAnnotated(Configuration.class.getName())) {
+        continue;
+      }
+      configurationClassCount++;
+
+      if (importingClassLookup != null) {
+        List<String> importChain =
+            resolveImportChain(
+                importingClassLookup,
+                importRegistry,
+                annotatedBeanDefinition.getMetadata().getClassName());
+        if (importChain.size() > deepestImportChain.size()) {
+          deepestImportChain = importChain;
+        }
+      }
+    }
+
+    profile.setConfigurationClassCount(configurationClassCount);
+    if (importingClassLookup != null) {
+      profile.setImportDepth(Math.max(0, deepestImportChain.size() - 1), deepestImportChain);
+    }
+  }
+
+  /**
+   * The import registry of the parser records which class imported each configuration class. Its
+   * type is package-private, so the lookup method is resolved reflectively.
+   */
+  private static Method resolveImportingClassLookup(Object importRegistry) {
+    if (importRegistry == null) {
+      return null;
+    }
+    try {
+      Method method = importRegistry.getClass().getMethod("getImportingClassFor", String.class);
+      method.setAccessible(true);
+      return method;
+    } catch (NoSuchMethodException | RuntimeException e) {
+      logger.debug("Import registry is not accessible: {}", e.getMessage());
+      return null;
+    }
+  }
+
+  /** Follows the importing classes up to a class that was not imported, e.g. the test class. */
+  private static List<String> resolveImportChain(
+      Method importingClassLookup, Object importRegistry, String className) throws Exception {
+    List<String> chain = new ArrayList<>();
+    Set<String> visited = new HashSet<>();
+    String current = className;
+    while (current != null && visited.add(current)) {
+      chain.add(0, current);
+      AnnotationMetadata importingClass =
+          (AnnotationMetadata) importingClassLookup.invoke(importRegistry, current);
+      current = importingClass != null ? importingClass.getClassName() : null;
+    }
+    return chain;
+  }
+
+  /**
+   * Replaces the bean class of the configuration class post-processor before it is instantiated.
+   * Registered as a context post-processor, so it runs before any post-processor bean is created.
+   */
+  static class Installer implements BeanDefinitionRegistryPostProcessor {
+
+    private final ConfigurationClassProfile profile;
+
+    Installer(ConfigurationClassProfile profile) {
+      this.profile = profile;
+    }
+
+    @Override
+    public void postProcessBeanDefinitionRegistry(BeanDefinitionRegistry registry) {
+      String beanName = AnnotationConfigUtils.CONFIGURATION_ANNOTATION_PROCESSOR_BEAN_NAME;
+      if (!registry.containsBeanDefinition(beanName)) {
+        return;
+      }
+      BeanDefinition beanDefinition = registry.getBeanDefinition(beanName);
+      if (!(beanDefinition instanceof AbstractBeanDefinition abstractBeanDefinition)
+          || !ConfigurationClassPostProcessor.class
+              .getName()
+              .equals(abstractBeanDefinition.getBeanClassName())
+          || abstractBeanDefinition.getInstanceSupplier() != null) {
+        logger.debug("Configuration class post-processor is customized, not profiling it");
+        return;
+      }
+
+      abstractBeanDefinition.setBeanClass(TimedConfigurationClassPostProcessor.class);
+      abstractBeanDefinition.setInstanceSupplier(
+          () -> new TimedConfigurationClassPostProcessor(profile));
+      if (registry instanceof ConfigurableListableBeanFactory beanFactory) {
+        // The merged bean definition may already be cached with the original bean class
+        beanFactory.clearMetadataCache();
+      }
+    }
+
+    @Override
+    public void postProcessBeanFactory(ConfigurableListableBeanFactory beanFactory) {}
+  }
+}
@@ -1,13 +1,34 @@
 package digital.pragmatech.testing;
 
+import java.time.Duration;
 import java.time.Instant;
+import java.util.Comparator;
 import java.util.List;
 
-import digital.pragmatech.testing.reporting.ContextTimelineEvent;
-
 /** Data structure for timeline visualization. */
 public record TimelineData(
     List<TimelineEntry> entries,
     Instant startTime,
     Instant endTime,
-    List<ContextTimelineEvent> events) {}
+    List<ContextLifecycle> contexts) {
+
+  public long getTotalDurationMs() {
+    return startTime != null && endTime != null
+        ? Duration.between(startTime, endTime).toMillis()
+        : 0;
+  }
+
+  public long getTotalIdleMs() {
+    return contexts.stream().mapToLong(ContextLifecycle::getIdleMs).sum();
+  }
+
+  /** The contexts wasting the most heap first, then the longest idle. */
+  public List<ContextLifecycle> getContextsByIdleCost() {
+    return contexts.stream()
+        .sorted(
+            Comparator.comparingDouble(ContextLifecycle::getIdleMegabyteSeconds)
+                .thenComparingLong(ContextLifecycle::getIdleMs)
+                .reversed())
+        .toList();
+  }
+}
@@ -3,7 +3,9 @@ package digital.pragmatech.testing;
 import java.time.Instant;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
 
+import digital.pragmatech.testing.jpa.JpaBootstrapProbe;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.context.ApplicationContextInitializer;
@@ -37,20 +39,36 @@ public class TimingTrackingApplicationContextInitializer
   private static final Map<ConfigurableApplicationContext, Long> contextStartMemory =
       new ConcurrentHashMap<>();
 
+  // Class loading, JIT and GC tracking
+  private static final Map<ConfigurableApplicationContext, JvmActivity> contextStartJvmActivity =
+      new ConcurrentHashMap<>();
+  private static final AtomicBoolean firstContextStarted = new AtomicBoolean(false);
+
+  // Allocation tracking of the loading thread: thread ID and allocated bytes at start
+  private static final Map<ConfigurableApplicationContext, long[]> contextStartAllocation =
+      new ConcurrentHashMap<>();
+
   @Override
   public void initialize(ConfigurableApplicationContext applicationContext) {
     // Capture start time and memory state
     Instant startTime = Instant.now();
     long startMemory = getUsedMemory();
+    JvmActivity startJvmActivity = JvmActivity.capture();
+    long loadingThreadId = Thread.currentThread().getId();
+    long startAllocatedBytes = ThreadAllocationCounter.currentThread();
 
     String contextId = generateContextId(applicationContext);
 
     // Store start state
     contextStartTimes.put(applicationContext, startTime);
     contextStartMemory.put(applicationContext, startMemory);
+    contextStartJvmActivity.put(applicationContext, startJvmActivity);
+    contextStartAllocation.put(
+        applicationContext, new long[] {loadingThreadId, startAllocatedBytes});
 
     // Initialize profile data
     ContextProfileData profileData = new ContextProfileData(contextId, startTime, startMemory);
+    profileData.setFirstContextInJvm(firstContextStarted.compareAndSet(false, true));
     contextProfileData.put(contextId, profileData);
 
     logger.debug(
@@ -58,9 +76,20 @@ public class TimingTrackingApplicationContextInitializer
         contextId,
         startMemory / 1024 / 1024);
 
-    // Add bean creation profiler
-    BeanCreationProfiler beanProfiler = new BeanCreationProfiler(contextId);
-    applicationContext.getBeanFactory().addBeanPostProcessor(beanProfiler);
+    // Add bean creation profiler, shared with the ContextDiagnosticApplicationInitializer
+    BeanCreationProfiler beanProfiler = BeanCreationProfiler.registerIfAbsent(applicationContext);
+
+    // Profile component scanning and configuration class parsing
+    applicationContext.addBeanFactoryPostProcessor(
+        new TimedConfigurationClassPostProcessor.Installer(
+            profileData.getConfigurationClassProfile()));
+
+    // Break the JPA bootstrap down if Hibernate is used
+    if (JpaBootstrapProbe.isApplicable(applicationContext.getClassLoader())) {
+      applicationContext
+          .getBeanFactory()
+          .addBeanPostProcessor(new JpaBootstrapProbe(profileData::addJpaBootstrapProfile));
+    }
 
     // Add BeanFactory post-processor for early profiling
     applicationContext.addBeanFactoryPostProcessor(
@@ -110,9 +139,12 @@ public class TimingTrackingApplicationContextInitializer
       BeanCreationProfiler beanProfiler) {
     Instant endTime = Instant.now();
     long endMemory = getUsedMemory();
+    JvmActivity endJvmActivity = JvmActivity.capture();
 
     Instant startTime = contextStartTimes.remove(applicationContext);
     Long startMemoryValue = contextStartMemory.remove(applicationContext);
+    JvmActivity startJvmActivity = contextStartJvmActivity.remove(applicationContext);
+    long[] startAllocation = contextStartAllocation.remove(applicationContext);
 
     if (startTime != null) {
       long loadTimeMs = java.time.Duration.between(startTime, endTime).toMillis();
@@ -124,20 +156,35 @@ public class TimingTrackingApplicationContextInitializer
       profileData.setTotalLoadTimeMs(loadTimeMs);
       profileData.setMemoryUsedMB(memoryUsed / 1024 / 1024);
       profileData.setBeanCreationMetrics(beanProfiler.getMetrics());
+      if (startJvmActivity != null) {
+        profileData.setJvmActivity(endJvmActivity.since(startJvmActivity));
+      }
+      if (startAllocation != null) {
+        // Read the counter of the thread that started the load, refresh may end on another one
+        profileData.setAllocatedBytes(
+            ThreadAllocationCounter.between(
+                startAllocation[1], ThreadAllocationCounter.ofThread(startAllocation[0])));
+      }
 
       // Store for retrieval
       contextLoadTimes.put(contextId, loadTimeMs);
 
       logger.info(
-          "Context {} loaded in {}ms (memory: +{}MB, beans: {})",
+          "Context {} loaded in {}ms (allocated: {}, beans: {}, classes loaded: {}{})",
           contextId,
           loadTimeMs,
-          memoryUsed / 1024 / 1024,
-          beanProfiler.getMetrics().getTotalBeansCreated());
+          profileData.getAllocatedBytes() >= 0
+              ? String.format("%.1fMB", profileData.getAllocatedMB())
+              : "unknown",
+          beanProfiler.getMetrics().getTotalBeansCreated(),
+          profileData.getJvmActivity() != null
+              ? profileData.getJvmActivity().loadedClassCount()
+              : "unknown",
+          profileData.isFirstContextInJvm() ? ", first context in JVM" : "");
     }
   }
 
-  private String generateContextId(ConfigurableApplicationContext context) {
+  static String generateContextId(ConfigurableApplicationContext context) {
     return context.getClass().getSimpleName() + "@" + System.identityHashCode(context);
   }
 
@@ -147,7 +194,6 @@ public class TimingTrackingApplicationContextInitializer
   }
 
   public static ContextProfileData getContextProfileData(ConfigurableApplicationContext context) {
-    String contextId = context.getClass().getSimpleName() + "@" + System.identityHashCode(context);
-    return contextProfileData.get(contextId);
+    return contextProfileData.get(generateContextId(context));
   }
 }
@@ -0,0 +1,41 @@
+package digital.pragmatech.testing.autoconfigure;
+
+import java.util.List;
+
+/**
+ * The Spring Boot auto-configurations of a context: which were applied (with the number and
+ * creation time of the beans they contributed), which were excluded and which were not applied
+ * because of a condition.
+ *
+ * @param applied applied auto-configurations, slowest first
+ * @param excluded auto-configurations excluded via {@code exclude}/{@code excludeName} or the
+ *     {@code spring.autoconfigure.exclude} property
+ * @param notApplied auto-configurations whose conditions did not match
+ * @param beanTimingAvailable whether bean creation times were recorded for the context (requires
+ *     the {@code ContextDiagnosticApplicationInitializer} or the {@code
+ *     TimingTrackingApplicationContextInitializer})
+ */
+public record AutoConfigurationReport(
+    List<AppliedAutoConfiguration> applied,
+    List<String> excluded,
+    List<NotAppliedAutoConfiguration> notApplied,
+    boolean beanTimingAvailable) {
+
+  public long getTotalBeanCreationTimeMs() {
+    return applied.stream().mapToLong(AppliedAutoConfiguration::beanCreationTimeMs).sum();
+  }
+
+  public record AppliedAutoConfiguration(String className, int beanCount, long beanCreationTimeMs) {
+
+    public String getSimpleName() {
+      return className.substring(className.lastIndexOf('.') + 1);
+    }
+  }
+
+  public record NotAppliedAutoConfiguration(String className, String reason) {
+
+    public String getSimpleName() {
+      return className.substring(className.lastIndexOf('.') + 1);
+    }
+  }
+}
@@ -0,0 +1,147 @@
+package digital.pragmatech.testing.autoconfigure;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+import digital.pragmatech.testing.BeanCreationProfiler;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionEvaluationReport;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.util.ClassUtils;
+
+/**
+ * Reads the {@link ConditionEvaluationReport} Spring Boot records while loading a context and
+ * attributes the beans of the context to the applied auto-configurations. Beans are attributed to
+ * an auto-configuration if they are the auto-configuration itself, one of its nested configuration
+ * classes or are defined by a {@code @Bean} method of one of them. Their creation time is the self
+ * time recorded by the {@link BeanCreationProfiler} of the context, if present.
+ *
+ * <p>Works for both {@code @SpringBootTest} and slice tests like {@code @WebMvcTest} or
+ * {@code @DataJpaTest}: the report of a slice context only contains the auto-configurations
+ * imported by the slice.
+ */
+public final class AutoConfigurationReportCollector {
+
+  private static final boolean CONDITION_EVALUATION_REPORT_PRESENT =
+      ClassUtils.isPresent(
+          "org.springframework.boot.autoconfigure.condition.ConditionEvaluationReport",
+          AutoConfigurationReportCollector.class.getClassLoader());
+
+  // Bean name Spring Boot registers the report with, checked to never create a report ourselves
+  private static final String CONDITION_EVALUATION_REPORT_BEAN_NAME = "autoConfigurationReport";
+
+  private AutoConfigurationReportCollector() {}
+
+  /**
+   * Collects the auto-configuration report of the given context.
+   *
+   * @return the report, or {@code null} if the context was not auto-configured by Spring Boot
+   */
+  public static AutoConfigurationReport collect(ConfigurableApplicationContext context) {
+    if (!CONDITION_EVALUATION_REPORT_PRESENT) {
+      return null;
+    }
+    ConfigurableListableBeanFactory beanFactory = context.getBeanFactory();
+    if (!beanFactory.containsSingleton(CONDITION_EVALUATION_REPORT_BEAN_NAME)) {
+      return null;
+    }
+    return ConditionEvaluationReportReader.read(beanFactory, BeanCreationProfiler.of(context));
+  }
+
+  /** Isolates the Spring Boot types, so the collector can be loaded without Spring Boot. */
+  private static final class ConditionEvaluationReportReader {
+
+    private static AutoConfigurationReport read(
+        ConfigurableListableBeanFactory beanFactory, BeanCreationProfiler beanProfiler) {
+      ConditionEvaluationReport report = ConditionEvaluationReport.get(beanFactory);
+
+      Set<String> appliedClasses = new TreeSet<>(report.getUnconditionalClasses());
+      List<AutoConfigurationReport.NotAppliedAutoConfiguration> notApplied = new ArrayList<>();
+      for (Map.Entry<String, ConditionEvaluationReport.ConditionAndOutcomes> entry :
+          report.getConditionAndOutcomesBySource().entrySet()) {
+        String source = entry.getKey();
+        if (!source.equals(topLevelClassName(source)) || source.contains("#")) {
+          // Nested configurations and @Bean methods are part of their auto-configuration
+          continue;
+        }
+        if (entry.getValue().isFullMatch()) {
+          appliedClasses.add(source);
+        } else {
+          notApplied.add(
+              new AutoConfigurationReport.NotAppliedAutoConfiguration(
+                  source, firstNonMatchMessage(entry.getValue())));
+        }
+      }
+      notApplied.sort(
+          Comparator.comparing(AutoConfigurationReport.NotAppliedAutoConfiguration::className));
+
+      Map<String, Integer> beanCounts = new HashMap<>();
+      Map<String, Long> beanCreationNanos = new HashMap<>();
+      for (String beanName : beanFactory.getBeanDefinitionNames()) {
+        String autoConfiguration = findAutoConfiguration(beanFactory, beanName, appliedClasses);
+        if (autoConfiguration != null) {
+          beanCounts.merge(autoConfiguration, 1, Integer::sum);
+          if (beanProfiler != null) {
+            beanCreationNanos.merge(
+                autoConfiguration, beanProfiler.getSelfTimeNanos(beanName), Long::sum);
+          }
+        }
+      }
+
+      List<AutoConfigurationReport.AppliedAutoConfiguration> applied = new ArrayList<>();
+      for (String className : appliedClasses) {
+        applied.add(
+            new AutoConfigurationReport.AppliedAutoConfiguration(
+                className,
+                beanCounts.getOrDefault(className, 0),
+                beanCreationNanos.getOrDefault(className, 0L) / 1_000_000));
+      }
+      applied.sort(
+          Comparator.comparingLong(
+                  AutoConfigurationReport.AppliedAutoConfiguration::beanCreationTimeMs)
+              .reversed()
+              .thenComparing(AutoConfigurationReport.AppliedAutoConfiguration::className));
+
+      return new AutoConfigurationReport(
+          applied,
+          report.getExclusions().stream().sorted().toList(),
+          notApplied,
+          beanProfiler != null);
+    }
+
+    private static String findAutoConfiguration(
+        ConfigurableListableBeanFactory beanFactory, String beanName, Set<String> appliedClasses) {
+      // Configuration classes imported by auto-configuration are named by their class name
+      if (appliedClasses.contains(topLevelClassName(beanName))) {
+        return topLevelClassName(beanName);
+      }
+      BeanDefinition beanDefinition = beanFactory.getBeanDefinition(beanName);
+      String factoryBeanName = beanDefinition.getFactoryBeanName();
+      if (factoryBeanName != null && appliedClasses.contains(topLevelClassName(factoryBeanName))) {
+        return topLevelClassName(factoryBeanName);
+      }
+      return null;
+    }
+
+    private static String firstNonMatchMessage(
+        ConditionEvaluationReport.ConditionAndOutcomes conditionAndOutcomes) {
+      return conditionAndOutcomes.stream()
+          .filter(conditionAndOutcome -> !conditionAndOutcome.getOutcome().isMatch())
+          .map(conditionAndOutcome -> conditionAndOutcome.getOutcome().getMessage())
+          .filter(message -> message != null && !message.isEmpty())
+          .findFirst()
+          .orElse("");
+    }
+  }
+
+  private static String topLevelClassName(String className) {
+    int nestedIndex = className.indexOf('$');
+    return nestedIndex >= 0 ? className.substring(0, nestedIndex) : className;
+  }
+}
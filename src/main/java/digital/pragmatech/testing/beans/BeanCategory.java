@@ -0,0 +1,14 @@
+package digital.pragmatech.testing.beans;
+
+/** Where the creation time of a bean goes when a context loads. */
+public enum BeanCategory {
+  /**
+   * External resources: data sources and embedded databases, schema migrations (Flyway, Liquibase),
+   * JPA entity manager factories, Testcontainers and {@code @ServiceConnection} connection details.
+   */
+  INFRASTRUCTURE,
+  /** Beans of the application under test. */
+  APPLICATION,
+  /** Beans of Spring and other libraries. */
+  FRAMEWORK
+}
@@ -0,0 +1,58 @@
+package digital.pragmatech.testing.beans;
+
+import java.util.List;
+
+/**
+ * Bean creation time of a context split into {@link BeanCategory categories}, showing whether a
+ * slow context is slow because of its infrastructure (consider singleton or reusable containers, or
+ * a slice test without it), its own beans or the framework.
+ *
+ * @param infrastructureTimeMs creation time of the infrastructure beans
+ * @param infrastructureBeanCount number of infrastructure beans
+ * @param applicationTimeMs creation time of the application beans
+ * @param applicationBeanCount number of application beans
+ * @param frameworkTimeMs creation time of the framework beans
+ * @param frameworkBeanCount number of framework beans
+ * @param infrastructureBeans the infrastructure beans, slowest first
+ */
+public record BeanCategoryBreakdown(
+    long infrastructureTimeMs,
+    int infrastructureBeanCount,
+    long applicationTimeMs,
+    int applicationBeanCount,
+    long frameworkTimeMs,
+    int frameworkBeanCount,
+    List<InfrastructureBean> infrastructureBeans) {
+
+  public long getTotalTimeMs() {
+    return infrastructureTimeMs + applicationTimeMs + frameworkTimeMs;
+  }
+
+  public double getInfrastructurePercentage() {
+    return percentage(infrastructureTimeMs);
+  }
+
+  public double getApplicationPercentage() {
+    return percentage(applicationTimeMs);
+  }
+
+  public double getFrameworkPercentage() {
+    return percentage(frameworkTimeMs);
+  }
+
+  private double percentage(long timeMs) {
+    long totalTimeMs = getTotalTimeMs();
+    return totalTimeMs > 0 ? timeMs * 100.0 / totalTimeMs : 0.0;
+  }
+
+  /**
+   * An infrastructure bean and its creation time.
+   *
+   * @param beanName the bean name
+   * @param className the bean type, {@code null} if unknown
+   * @param kind what kind of infrastructure the bean is, e.g. {@code DataSource}
+   * @param creationTimeMs the creation (self) time
+   */
+  public record InfrastructureBean(
+      String beanName, String className, String kind, long creationTimeMs) {}
+}
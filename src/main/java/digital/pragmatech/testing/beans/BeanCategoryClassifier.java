@@ -0,0 +1,201 @@
+package digital.pragmatech.testing.beans;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import digital.pragmatech.testing.BeanCreationProfiler;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.util.ClassUtils;
+
+/**
+ * Classifies the beans of a context into {@link BeanCategory categories} by their type and sums up
+ * their creation time. Well-known infrastructure types are matched by name across the type
+ * hierarchy, so none of these libraries needs to be on the classpath. Types of well-known library
+ * packages are framework beans, all others application beans.
+ */
+public final class BeanCategoryClassifier {
+
+  // Type name -> kind of infrastructure, matched against superclasses and interfaces
+  private static final Map<String, String> INFRASTRUCTURE_TYPES = new LinkedHashMap<>();
+
+  static {
+    INFRASTRUCTURE_TYPES.put("org.testcontainers.lifecycle.Startable", "Testcontainers");
+    INFRASTRUCTURE_TYPES.put(
+        "org.springframework.boot.autoconfigure.service.connection.ConnectionDetails",
+        "Service connection");
+    INFRASTRUCTURE_TYPES.put("org.flywaydb.core.Flyway", "Flyway");
+    INFRASTRUCTURE_TYPES.put(
+        "org.springframework.boot.flyway.autoconfigure.FlywayMigrationInitializer", "Flyway");
+    INFRASTRUCTURE_TYPES.put(
+        "org.springframework.boot.autoconfigure.flyway.FlywayMigrationInitializer", "Flyway");
+    INFRASTRUCTURE_TYPES.put("liquibase.integration.spring.SpringLiquibase", "Liquibase");
+    INFRASTRUCTURE_TYPES.put("jakarta.persistence.EntityManagerFactory", "EntityManagerFactory");
+    INFRASTRUCTURE_TYPES.put("javax.persistence.EntityManagerFactory", "EntityManagerFactory");
+    INFRASTRUCTURE_TYPES.put(
+        "org.springframework.orm.jpa.AbstractEntityManagerFactoryBean", "EntityManagerFactory");
+    INFRASTRUCTURE_TYPES.put(
+        "org.springframework.jdbc.datasource.embedded.EmbeddedDatabase", "Embedded database");
+    INFRASTRUCTURE_TYPES.put("javax.sql.DataSource", "DataSource");
+    INFRASTRUCTURE_TYPES.put("io.r2dbc.spi.ConnectionFactory", "R2DBC");
+    INFRASTRUCTURE_TYPES.put("com.mongodb.client.MongoClient", "MongoDB");
+    INFRASTRUCTURE_TYPES.put(
+        "org.springframework.data.redis.connection.RedisConnectionFactory", "Redis");
+    INFRASTRUCTURE_TYPES.put(
+        "org.springframework.amqp.rabbit.connection.ConnectionFactory", "RabbitMQ");
+    INFRASTRUCTURE_TYPES.put("org.springframework.kafka.core.ProducerFactory", "Kafka");
+    INFRASTRUCTURE_TYPES.put("org.springframework.kafka.core.ConsumerFactory", "Kafka");
+  }
+
+  private static final List<String> FRAMEWORK_PACKAGES =
+      List.of(
+          "java.",
+          "javax.",
+          "jakarta.",
+          "jdk.",
+          "sun.",
+          "kotlin.",
+          "org.springframework.",
+          "org.springdoc.",
+          "org.hibernate.",
+          "org.apache.",
+          "org.thymeleaf.",
+          "org.aspectj.",
+          "org.jboss.",
+          "org.glassfish.",
+          "org.eclipse.",
+          "org.yaml.",
+          "org.slf4j.",
+          "org.mockito.",
+          "org.junit.",
+          "org.assertj.",
+          "org.h2.",
+          "org.hsqldb.",
+          "org.postgresql.",
+          "org.mariadb.",
+          "org.flywaydb.",
+          "org.testcontainers.",
+          "com.fasterxml.",
+          "com.zaxxer.",
+          "com.google.",
+          "com.mysql.",
+          "com.mongodb.",
+          "ch.qos.",
+          "io.micrometer.",
+          "io.opentelemetry.",
+          "io.netty.",
+          "io.lettuce.",
+          "io.r2dbc.",
+          "io.swagger.",
+          "io.projectreactor.",
+          "reactor.",
+          "net.bytebuddy.",
+          "liquibase.",
+          "tools.jackson.");
+
+  private static final int MAX_INFRASTRUCTURE_BEANS = 15;
+
+  private BeanCategoryClassifier() {}
+
+  /**
+   * Sums up the self time of the beans of the given context per category, as recorded by the {@link
+   * BeanCreationProfiler} of the context.
+   *
+   * @param context the loaded context
+   * @return the breakdown, or {@code null} if no bean creation times were recorded
+   */
+  public static BeanCategoryBreakdown collect(ConfigurableApplicationContext context) {
+    ConfigurableListableBeanFactory beanFactory = context.getBeanFactory();
+    BeanCreationProfiler beanProfiler = BeanCreationProfiler.of(context);
+    Map<String, Long> creationTimeNanos =
+        beanProfiler != null ? beanProfiler.getSelfTimeNanos() : Map.of();
+    if (creationTimeNanos.isEmpty()) {
+      return null;
+    }
+
+    long[] nanos = new long[BeanCategory.values().length];
+    int[] counts = new int[BeanCategory.values().length];
+    List<BeanCategoryBreakdown.InfrastructureBean> infrastructureBeans = new ArrayList<>();
+    for (Map.Entry<String, Long> entry : creationTimeNanos.entrySet()) {
+      Class<?> beanType = resolveType(beanFactory, entry.getKey());
+      String infrastructureKind = infrastructureKind(beanType);
+      BeanCategory category = classify(beanType, infrastructureKind);
+      nanos[category.ordinal()] += entry.getValue();
+      counts[category.ordinal()]++;
+      if (category == BeanCategory.INFRASTRUCTURE) {
+        infrastructureBeans.add(
+            new BeanCategoryBreakdown.InfrastructureBean(
+                entry.getKey(),
+                beanType.getName(),
+                infrastructureKind,
+                entry.getValue() / 1_000_000));
+      }
+    }
+    infrastructureBeans.sort(
+        Comparator.comparingLong(BeanCategoryBreakdown.InfrastructureBean::creationTimeMs)
+            .reversed()
+            .thenComparing(BeanCategoryBreakdown.InfrastructureBean::beanName));
+
+    return new BeanCategoryBreakdown(
+        nanos[BeanCategory.INFRASTRUCTURE.ordinal()] / 1_000_000,
+        counts[BeanCategory.INFRASTRUCTURE.ordinal()],
+        nanos[BeanCategory.APPLICATION.ordinal()] / 1_000_000,
+        counts[BeanCategory.APPLICATION.ordinal()],
+        nanos[BeanCategory.FRAMEWORK.ordinal()] / 1_000_000,
+        counts[BeanCategory.FRAMEWORK.ordinal()],
+        List.copyOf(
+            infrastructureBeans.subList(
+                0, Math.min(MAX_INFRASTRUCTURE_BEANS, infrastructureBeans.size()))));
+  }
+
+  /** Classifies a bean by its type, beans of unknown type count as framework beans. */
+  public static BeanCategory classify(Class<?> beanType) {
+    return classify(beanType, infrastructureKind(beanType));
+  }
+
+  private static BeanCategory classify(Class<?> beanType, String infrastructureKind) {
+    if (infrastructureKind != null) {
+      return BeanCategory.INFRASTRUCTURE;
+    }
+    if (beanType == null) {
+      return BeanCategory.FRAMEWORK;
+    }
+    String className = ClassUtils.getUserClass(beanType).getName();
+    return FRAMEWORK_PACKAGES.stream().anyMatch(className::startsWith)
+        ? BeanCategory.FRAMEWORK
+        : BeanCategory.APPLICATION;
+  }
+
+  /** The kind of infrastructure the type is, {@code null} if it is none. */
+  static String infrastructureKind(Class<?> beanType) {
+    if (beanType == null) {
+      return null;
+    }
+    List<String> typeNames = new ArrayList<>();
+    for (Class<?> type = beanType; type != null && type != Object.class; ) {
+      typeNames.add(type.getName());
+      type = type.getSuperclass();
+    }
+    for (Class<?> type : ClassUtils.getAllInterfacesForClassAsSet(beanType)) {
+      typeNames.add(type.getName());
+    }
+    for (Map.Entry<String, String> infrastructureType : INFRASTRUCTURE_TYPES.entrySet()) {
+      if (typeNames.contains(infrastructureType.getKey())) {
+        return infrastructureType.getValue();
+      }
+    }
+    return beanType.getName().startsWith("org.testcontainers.") ? "Testcontainers" : null;
+  }
+
+  private static Class<?> resolveType(ConfigurableListableBeanFactory beanFactory, String name) {
+    try {
+      // Don't initialize FactoryBeans just to classify them
+      return beanFactory.getType(name, false);
+    } catch (RuntimeException e) {
+      return null;
+    }
+  }
+}
@@ -0,0 +1,151 @@
+package digital.pragmatech.testing.cds;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Writes a class list for an AppCDS archive of the test JVM, based on the classes the JVM logged
+ * while loading the contexts and executing the tests.
+ *
+ * <p>Configuration via system properties:
+ *
+ * <ul>
+ *   <li>{@code pragmatech.spring.test.insight.classlist} - write the class list (default {@code
+ *       false}). Requires the test JVM to log class loading, e.g. {@code
+ *       -Xlog:class+load=info:file=target/class-load-%p.log}
+ *   <li>{@code pragmatech.spring.test.insight.classlist.log} - the class loading log (default: the
+ *       {@code file} of the {@code -Xlog:class+load} JVM option, {@code %p} is replaced with the
+ *       process id)
+ * </ul>
+ *
+ * <p>The list is written to {@code cds/classlist} inside the report directory. Forks of the same
+ * build merge their classes into the same list (guarded by a file lock).
+ */
+public class ClassListWriter {
+
+  private static final Logger logger = LoggerFactory.getLogger(ClassListWriter.class);
+
+  private static final String PROPERTY_PREFIX = "pragmatech.spring.test.insight.classlist";
+
+  static final String CLASS_LIST_FILE_NAME = "classlist";
+
+  /** Writes the class list for the current JVM if requested via system property. */
+  public void writeIfRequested(Path reportDir) {
+    if (!Boolean.getBoolean(PROPERTY_PREFIX)) {
+      return;
+    }
+
+    Path logFile = resolveClassLoadLog();
+    if (logFile == null || !Files.isRegularFile(logFile)) {
+      logger.warn(
+          "Cannot write the AppCDS class list: no class loading log found. Run the tests with"
+              + " -Xlog:class+load=info:file=target/class-load-%p.log or set {}.log",
+          PROPERTY_PREFIX);
+      return;
+    }
+
+    try {
+      Set<String> classes = ClassLoadLogParser.parse(logFile);
+      Path classList = reportDir.resolve("cds").resolve(CLASS_LIST_FILE_NAME);
+      int total = merge(classList, classes);
+      logger.info(
+          "Wrote AppCDS class list {} ({} classes). Create the archive with 'java -Xshare:dump"
+              + " -XX:SharedClassListFile={} -XX:SharedArchiveFile=target/test-cds.jsa' and add"
+              + " '-XX:SharedArchiveFile=target/test-cds.jsa -Xshare:auto' to the argLine of"
+              + " Surefire/Failsafe (or the jvmArgs of the Gradle test task)",
+          classList.toAbsolutePath(),
+          total,
+          classList.toAbsolutePath());
+    } catch (IOException e) {
+      logger.warn("Failed to write the AppCDS class list: {}", e.getMessage());
+    }
+  }
+
+  /** Adds the classes to the class list file, keeping the classes already listed by other forks. */
+  static int merge(Path classList, Set<String> classes) throws IOException {
+    Files.createDirectories(classList.getParent());
+    try (FileChannel channel =
+            FileChannel.open(
+                classList,
+                StandardOpenOption.CREATE,
+                StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        FileLock ignored = channel.lock()) {
+      Set<String> merged = new LinkedHashSet<>(readLines(channel));
+      merged.remove("");
+      merged.addAll(classes);
+
+      ByteBuffer content =
+          ByteBuffer.wrap((String.join("\n", merged) + "\n").getBytes(StandardCharsets.UTF_8));
+      channel.truncate(0);
+      channel.position(0);
+      while (content.hasRemaining()) {
+        channel.write(content);
+      }
+      return merged.size();
+    }
+  }
+
+  private static List<String> readLines(FileChannel channel) throws IOException {
+    ByteArrayOutputStream content = new ByteArrayOutputStream();
+    ByteBuffer buffer = ByteBuffer.allocate(64 * 1024);
+    while (channel.read(buffer) > 0) {
+      content.write(buffer.array(), 0, buffer.position());
+      buffer.clear();
+    }
+    return Arrays.asList(content.toString(StandardCharsets.UTF_8).split("\n"));
+  }
+
+  private static Path resolveClassLoadLog() {
+    String configuredLog = System.getProperty(PROPERTY_PREFIX + ".log");
+    if (configuredLog != null && !configuredLog.trim().isEmpty()) {
+      return Paths.get(expandPid(configuredLog.trim()));
+    }
+    for (String argument : ManagementFactory.getRuntimeMXBean().getInputArguments()) {
+      String logFile = extractLogFile(argument);
+      if (logFile != null) {
+        return Paths.get(expandPid(logFile));
+      }
+    }
+    return null;
+  }
+
+  /** Extracts the output file of a {@code -Xlog} option that logs class loading. */
+  static String extractLogFile(String argument) {
+    if (!argument.startsWith("-Xlog:") || !argument.contains("class+load")) {
+      return null;
+    }
+    int fileIndex = argument.indexOf("file=");
+    if (fileIndex < 0) {
+      return null;
+    }
+    String file = argument.substring(fileIndex + "file=".length());
+    if (file.startsWith("\"")) {
+      int closingQuote = file.indexOf('"', 1);
+      return closingQuote > 0 ? file.substring(1, closingQuote) : file.substring(1);
+    }
+    // Options are separated by ':', except for the colon of a Windows drive letter
+    int separator = file.indexOf(':', file.length() > 1 && file.charAt(1) == ':' ? 2 : 0);
+    return separator >= 0 ? file.substring(0, separator) : file;
+  }
+
+  private static String expandPid(String path) {
+    return path.replace("%p", String.valueOf(ProcessHandle.current().pid()));
+  }
+}
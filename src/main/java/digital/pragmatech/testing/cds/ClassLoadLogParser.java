@@ -0,0 +1,73 @@
+package digital.pragmatech.testing.cds;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Extracts the classes that can be stored in a class data sharing (CDS) archive from a {@code
+ * -Xlog:class+load} log, e.g.:
+ *
+ * <pre>
+ * [0.012s][info][class,load] java.lang.Object source: shared objects file
+ * [0.350s][info][class,load] org.springframework.core.Ordered source: jar:file:/m2/spring-core.jar!/
+ * </pre>
+ *
+ * <p>Only classes loaded from the JDK runtime image, an existing archive or a JAR file are kept.
+ * Classes loaded from directories (e.g. {@code target/classes}) can't be archived, generated
+ * classes (lambdas, proxies, CGLIB subclasses) are defined at runtime.
+ */
+public final class ClassLoadLogParser {
+
+  private static final Pattern CLASS_LOAD_LINE =
+      Pattern.compile("\\[class,load\\s*\\]\\s+(\\S+)\\s+source:\\s+(.+)$");
+
+  private ClassLoadLogParser() {}
+
+  /**
+   * Parses the given log.
+   *
+   * @return the archivable classes in load order, as internal names ({@code java/lang/Object})
+   */
+  public static Set<String> parse(Path logFile) throws IOException {
+    Set<String> classes = new LinkedHashSet<>();
+    try (BufferedReader reader = Files.newBufferedReader(logFile, StandardCharsets.UTF_8)) {
+      String line;
+      while ((line = reader.readLine()) != null) {
+        String internalName = parseLine(line);
+        if (internalName != null) {
+          classes.add(internalName);
+        }
+      }
+    }
+    return classes;
+  }
+
+  /** Returns the internal name of the archivable class loaded in the given line, or null. */
+  static String parseLine(String line) {
+    Matcher matcher = CLASS_LOAD_LINE.matcher(line);
+    if (!matcher.find()) {
+      return null;
+    }
+    String className = matcher.group(1);
+    String source = matcher.group(2).trim();
+    if (className.contains("/") || className.contains("$$") || !isArchivableSource(source)) {
+      // Hidden classes are named Foo/0x..., CGLIB and lambda classes contain $$
+      return null;
+    }
+    return className.replace('.', '/');
+  }
+
+  private static boolean isArchivableSource(String source) {
+    return source.startsWith("jrt:/")
+        || source.startsWith("shared objects file")
+        || source.startsWith("jar:")
+        || (source.startsWith("file:") && source.endsWith(".jar"));
+  }
+}
@@ -0,0 +1,65 @@
+package digital.pragmatech.testing.cli;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+import digital.pragmatech.testing.util.SimpleJsonReader;
+
+/** Ranks the contexts of a (merged) report by their total load cost. */
+public class ContextRanking {
+
+  /** A context with the total time spent loading it over all reports. */
+  public record RankedContext(
+      String fingerprint,
+      String primaryAnnotationType,
+      long totalLoadTimeMs,
+      long loadCount,
+      long numberOfBeans,
+      List<String> testClasses) {}
+
+  public List<RankedContext> top(Map<String, Object> report, int limit) {
+    return SimpleJsonReader.asList(report.get("contexts")).stream()
+        .map(SimpleJsonReader::asMap)
+        .map(
+            context ->
+                new RankedContext(
+                    String.valueOf(context.get("fingerprint")),
+                    String.valueOf(context.get("primaryAnnotationType")),
+                    SimpleJsonReader.asLong(context.get("loadDuration"), 0),
+                    SimpleJsonReader.asLong(context.get("loadCount"), 1),
+                    SimpleJsonReader.asLong(context.get("numberOfBeans"), 0),
+                    SimpleJsonReader.asList(context.get("testClasses")).stream()
+                        .map(String::valueOf)
+                        .toList()))
+        .sorted(Comparator.comparingLong(RankedContext::totalLoadTimeMs).reversed())
+        .limit(limit)
+        .toList();
+  }
+
+  public String renderMarkdown(List<RankedContext> contexts) {
+    StringBuilder markdown = new StringBuilder();
+    markdown.append("| # | Context | Type | Total Load Time | Loads | Beans | Test Classes |\n");
+    markdown.append("|---|---------|------|-----------------|-------|-------|--------------|\n");
+    int rank = 1;
+    for (RankedContext context : contexts) {
+      markdown
+          .append("| ")
+          .append(rank++)
+          .append(" | `")
+          .append(context.fingerprint())
+          .append("` | ")
+          .append(context.primaryAnnotationType())
+          .append(" | ")
+          .append(context.totalLoadTimeMs())
+          .append("ms | ")
+          .append(context.loadCount())
+          .append(" | ")
+          .append(context.numberOfBeans())
+          .append(" | ")
+          .append(context.testClasses().size())
+          .append(" |\n");
+    }
+    return markdown.toString();
+  }
+}
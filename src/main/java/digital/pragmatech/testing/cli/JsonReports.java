@@ -0,0 +1,131 @@
+package digital.pragmatech.testing.cli;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import digital.pragmatech.testing.util.SimpleJsonReader;
+
+/** Finds and reads the JSON reports written by the {@code JsonReportGenerator}. */
+public final class JsonReports {
+
+  // latest.json is a copy of one of these reports and therefore skipped in directories
+  static final String REPORT_FILE_PREFIX = "spring-test-profiler-";
+
+  private JsonReports() {}
+
+  /** A report file with its parsed content. */
+  public record Report(Path file, Map<String, Object> content) {}
+
+  /**
+   * Resolves the given files and directories to report files. Directories are searched recursively,
+   * e.g. the root of a multi-module build or a directory of downloaded CI artifacts.
+   */
+  public static List<Path> find(List<Path> inputs) throws IOException {
+    List<Path> reports = new ArrayList<>();
+    for (Path input : inputs) {
+      if (Files.isDirectory(input)) {
+        try (Stream<Path> files = Files.walk(input)) {
+          files
+              .filter(Files::isRegularFile)
+              .filter(
+                  file -> {
+                    String name = file.getFileName().toString();
+                    return name.startsWith(REPORT_FILE_PREFIX) && name.endsWith(".json");
+                  })
+              .sorted()
+              .forEach(reports::add);
+        }
+      } else if (Files.isRegularFile(input)) {
+        reports.add(input);
+      } else {
+        throw new IllegalArgumentException("No such report file or directory: " + input);
+      }
+    }
+    return reports;
+  }
+
+  /**
+   * Reads the reports and drops those of older builds. Report directories are not cleaned between
+   * runs, so in each directory only the reports with the {@code buildId} of its most recent report
+   * are kept. Reports without build id, e.g. of older versions or recovered from a journal, are
+   * always kept.
+   *
+   * @param err receives a warning for every directory with reports of older builds
+   */
+  public static List<Report> readNewestBuilds(List<Path> reportFiles, PrintStream err) {
+    List<Map<String, Object>> contents = read(reportFiles);
+    Map<Path, String> newestBuildIds = new HashMap<>();
+    Map<Path, Long> newestGeneratedAt = new HashMap<>();
+    for (int i = 0; i < reportFiles.size(); i++) {
+      Object buildId = contents.get(i).get("buildId");
+      if (buildId == null) {
+        continue;
+      }
+      Path directory = directoryOf(reportFiles.get(i));
+      long generatedAt = generatedAt(contents.get(i));
+      Long newest = newestGeneratedAt.get(directory);
+      if (newest == null || generatedAt > newest) {
+        newestGeneratedAt.put(directory, generatedAt);
+        newestBuildIds.put(directory, String.valueOf(buildId));
+      }
+    }
+
+    List<Report> reports = new ArrayList<>();
+    Map<Path, Integer> skipped = new LinkedHashMap<>();
+    for (int i = 0; i < reportFiles.size(); i++) {
+      Object buildId = contents.get(i).get("buildId");
+      Path directory = directoryOf(reportFiles.get(i));
+      if (buildId != null && !newestBuildIds.get(directory).equals(String.valueOf(buildId))) {
+        skipped.merge(directory, 1, Integer::sum);
+      } else {
+        reports.add(new Report(reportFiles.get(i), contents.get(i)));
+      }
+    }
+    skipped.forEach(
+        (directory, count) ->
+            err.println(
+                "Skipping "
+                    + count
+                    + " reports of older builds in "
+                    + directory
+                    + ", clean the report directory before a run to avoid them"));
+    return reports;
+  }
+
+  /** Reads the reports in parallel, keeping their order. */
+  public static List<Map<String, Object>> read(List<Path> reportFiles) {
+    try {
+      return reportFiles.parallelStream().map(JsonReports::readReport).toList();
+    } catch (UncheckedIOException e) {
+      throw new IllegalArgumentException(e.getMessage(), e);
+    }
+  }
+
+  private static Path directoryOf(Path reportFile) {
+    Path parent = reportFile.toAbsolutePath().getParent();
+    return parent != null ? parent : reportFile.toAbsolutePath();
+  }
+
+  // Written in epoch seconds
+  private static long generatedAt(Map<String, Object> report) {
+    return SimpleJsonReader.asLong(report.get("generatedAt"), 0);
+  }
+
+  private static Map<String, Object> readReport(Path reportFile) {
+    try {
+      return SimpleJsonReader.parseObject(Files.readString(reportFile, StandardCharsets.UTF_8));
+    } catch (IOException e) {
+      throw new UncheckedIOException("Failed to read report " + reportFile, e);
+    }
+  }
+}
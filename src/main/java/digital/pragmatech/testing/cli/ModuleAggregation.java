@@ -0,0 +1,296 @@
+package digital.pragmatech.testing.cli;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import digital.pragmatech.testing.util.SimpleJsonReader;
+
+/**
+ * Aggregates the reports of the modules of a Maven reactor or the subprojects of a Gradle build:
+ * the context load time per module, context configurations that are loaded again in several modules
+ * (every module has its own test JVMs, so they cannot share the context) and the chain of modules
+ * the build waited for.
+ */
+public class ModuleAggregation {
+
+  // The JSON report has the time it was generated in seconds
+  private static final long TIMESTAMP_TOLERANCE_MS = 1000;
+
+  /** A report and the module it belongs to. */
+  public record ModuleReport(String module, Map<String, Object> report) {}
+
+  /** The reports (forks) of one module. */
+  public record ModuleSummary(
+      String module,
+      int reports,
+      long testClasses,
+      long contextsCreated,
+      long contextLoadTimeMs,
+      long wallTimeMs,
+      Instant startedAt,
+      Instant finishedAt,
+      boolean onCriticalPath) {}
+
+  /** A context configuration that was loaded in more than one module. */
+  public record RepeatedContext(
+      String fingerprint,
+      String primaryAnnotationType,
+      List<String> modules,
+      long loadCount,
+      long totalLoadTimeMs) {}
+
+  public record BuildAggregate(
+      List<ModuleSummary> modules,
+      List<RepeatedContext> repeatedContexts,
+      List<String> criticalPath,
+      long criticalPathMs,
+      long buildWallTimeMs) {}
+
+  /**
+   * The module of a report: the path of the test JVM's working directory relative to the build
+   * root, written by the profiler, or, for older reports, the directory that contains {@code
+   * target/spring-test-profiler} or {@code build/spring-test-profiler} relative to the current
+   * directory (the CLI runs in the root of the build).
+   */
+  static String moduleOf(Path reportFile, Map<String, Object> report) {
+    return moduleOf(reportFile, report, Paths.get("").toAbsolutePath());
+  }
+
+  static String moduleOf(Path reportFile, Map<String, Object> report, Path buildRoot) {
+    Object module = report.get("module");
+    if (module != null) {
+      return module.toString();
+    }
+    Path dir = reportFile.toAbsolutePath().getParent();
+    while (dir != null && dir.getFileName() != null) {
+      String name = dir.getFileName().toString();
+      if (!name.equals("spring-test-profiler") && !name.equals("target") && !name.equals("build")) {
+        // The name alone is not unique, e.g. services/core and clients/core
+        return dir.startsWith(buildRoot) && !dir.equals(buildRoot)
+            ? buildRoot.relativize(dir).toString().replace('\\', '/')
+            : name;
+      }
+      dir = dir.getParent();
+    }
+    return "unknown";
+  }
+
+  public BuildAggregate aggregate(List<ModuleReport> reports) {
+    Map<String, List<Map<String, Object>>> reportsByModule = new LinkedHashMap<>();
+    for (ModuleReport report : reports) {
+      reportsByModule
+          .computeIfAbsent(report.module(), module -> new ArrayList<>())
+          .add(report.report());
+    }
+
+    ReportMerger merger = new ReportMerger();
+    List<ModuleSummary> modules = new ArrayList<>();
+    Map<String, RepeatedContextBuilder> contexts = new LinkedHashMap<>();
+    for (Map.Entry<String, List<Map<String, Object>>> entry : reportsByModule.entrySet()) {
+      String module = entry.getKey();
+      Map<String, Object> merged = merger.merge(entry.getValue());
+      Map<String, Object> summary = SimpleJsonReader.asMap(merged.get("summary"));
+
+      Instant startedAt = null;
+      Instant finishedAt = null;
+      for (Map<String, Object> report : entry.getValue()) {
+        Instant end = Instant.ofEpochSecond(SimpleJsonReader.asLong(report.get("generatedAt"), 0));
+        Instant start =
+            end.minusMillis(
+                SimpleJsonReader.asLong(
+                    SimpleJsonReader.asMap(report.get("summary")).get("totalDurationMs"), 0));
+        startedAt = startedAt == null || start.isBefore(startedAt) ? start : startedAt;
+        finishedAt = finishedAt == null || end.isAfter(finishedAt) ? end : finishedAt;
+      }
+
+      long contextLoadTimeMs = 0;
+      for (Object element : SimpleJsonReader.asList(merged.get("contexts"))) {
+        Map<String, Object> context = SimpleJsonReader.asMap(element);
+        long loadTimeMs = SimpleJsonReader.asLong(context.get("loadDuration"), 0);
+        contextLoadTimeMs += loadTimeMs;
+        contexts
+            .computeIfAbsent(
+                String.valueOf(context.get("fingerprint")),
+                fingerprint ->
+                    new RepeatedContextBuilder(
+                        fingerprint, String.valueOf(context.get("primaryAnnotationType"))))
+            .add(module, SimpleJsonReader.asLong(context.get("loadCount"), 1), loadTimeMs);
+      }
+
+      modules.add(
+          new ModuleSummary(
+              module,
+              entry.getValue().size(),
+              SimpleJsonReader.asLong(summary.get("totalTestClasses"), 0),
+              SimpleJsonReader.asLong(summary.get("contextsCreated"), 0),
+              contextLoadTimeMs,
+              finishedAt.toEpochMilli() - startedAt.toEpochMilli(),
+              startedAt,
+              finishedAt,
+              false));
+    }
+
+    List<String> criticalPath = criticalPath(modules);
+    modules =
+        modules.stream()
+            .map(
+                module ->
+                    new ModuleSummary(
+                        module.module(),
+                        module.reports(),
+                        module.testClasses(),
+                        module.contextsCreated(),
+                        module.contextLoadTimeMs(),
+                        module.wallTimeMs(),
+                        module.startedAt(),
+                        module.finishedAt(),
+                        criticalPath.contains(module.module())))
+            .sorted(Comparator.comparingLong(ModuleSummary::contextLoadTimeMs).reversed())
+            .toList();
+
+    List<RepeatedContext> repeatedContexts =
+        contexts.values().stream()
+            .filter(context -> context.modules.size() > 1)
+            .map(RepeatedContextBuilder::build)
+            .sorted(Comparator.comparingLong(RepeatedContext::totalLoadTimeMs).reversed())
+            .toList();
+
+    long criticalPathMs =
+        modules.stream()
+            .filter(ModuleSummary::onCriticalPath)
+            .mapToLong(ModuleSummary::wallTimeMs)
+            .sum();
+    long buildWallTimeMs =
+        modules.isEmpty()
+            ? 0
+            : modules.stream()
+                    .mapToLong(module -> module.finishedAt().toEpochMilli())
+                    .max()
+                    .orElse(0)
+                - modules.stream()
+                    .mapToLong(module -> module.startedAt().toEpochMilli())
+                    .min()
+                    .orElse(0);
+    return new BuildAggregate(
+        modules, repeatedContexts, criticalPath, criticalPathMs, buildWallTimeMs);
+  }
+
+  /**
+   * The chain of modules the build waited for: starting with the module that finished last, the
+   * module that finished last before it started, and so on. In a sequential build this is every
+   * module, in a parallel build ({@code mvn -T}, {@code gradle --parallel}) the modules that
+   * determine the build time.
+   */
+  static List<String> criticalPath(List<ModuleSummary> modules) {
+    List<String> path = new ArrayList<>();
+    Set<String> remaining = new LinkedHashSet<>();
+    modules.forEach(module -> remaining.add(module.module()));
+    long cursor = Long.MAX_VALUE;
+    while (true) {
+      long limit = cursor;
+      ModuleSummary next =
+          modules.stream()
+              .filter(module -> remaining.contains(module.module()))
+              .filter(module -> module.finishedAt().toEpochMilli() <= limit)
+              .max(
+                  Comparator.comparing(ModuleSummary::finishedAt)
+                      .thenComparingLong(ModuleSummary::wallTimeMs))
+              .orElse(null);
+      if (next == null) {
+        break;
+      }
+      path.add(0, next.module());
+      remaining.remove(next.module());
+      cursor = next.startedAt().toEpochMilli() + TIMESTAMP_TOLERANCE_MS;
+    }
+    return path;
+  }
+
+  public String renderMarkdown(BuildAggregate aggregate) {
+    StringBuilder markdown = new StringBuilder();
+    markdown.append("## Modules\n\n");
+    markdown.append(
+        "| Module | Context Load Time | Contexts | Test Classes | Wall Time | Critical Path |\n");
+    markdown.append(
+        "|--------|-------------------|----------|--------------|-----------|---------------|\n");
+    for (ModuleSummary module : aggregate.modules()) {
+      markdown
+          .append("| ")
+          .append(module.module())
+          .append(" | ")
+          .append(module.contextLoadTimeMs())
+          .append("ms | ")
+          .append(module.contextsCreated())
+          .append(" | ")
+          .append(module.testClasses())
+          .append(" | ")
+          .append(module.wallTimeMs())
+          .append("ms | ")
+          .append(module.onCriticalPath() ? "yes" : "")
+          .append(" |\n");
+    }
+
+    markdown
+        .append("\nCritical path: ")
+        .append(String.join(" -> ", aggregate.criticalPath()))
+        .append(" (")
+        .append(aggregate.criticalPathMs())
+        .append("ms of ")
+        .append(aggregate.buildWallTimeMs())
+        .append("ms)\n");
+
+    if (!aggregate.repeatedContexts().isEmpty()) {
+      markdown.append("\n## Context Configurations Loaded in Several Modules\n\n");
+      markdown.append("| Context | Type | Modules | Loads | Total Load Time |\n");
+      markdown.append("|---------|------|---------|-------|-----------------|\n");
+      for (RepeatedContext context : aggregate.repeatedContexts()) {
+        markdown
+            .append("| `")
+            .append(context.fingerprint())
+            .append("` | ")
+            .append(context.primaryAnnotationType())
+            .append(" | ")
+            .append(String.join(", ", context.modules()))
+            .append(" | ")
+            .append(context.loadCount())
+            .append(" | ")
+            .append(context.totalLoadTimeMs())
+            .append("ms |\n");
+      }
+    }
+    return markdown.toString();
+  }
+
+  private static final class RepeatedContextBuilder {
+
+    private final String fingerprint;
+    private final String primaryAnnotationType;
+    private final Set<String> modules = new LinkedHashSet<>();
+    private long loadCount;
+    private long totalLoadTimeMs;
+
+    RepeatedContextBuilder(String fingerprint, String primaryAnnotationType) {
+      this.fingerprint = fingerprint;
+      this.primaryAnnotationType = primaryAnnotationType;
+    }
+
+    void add(String module, long loads, long loadTimeMs) {
+      modules.add(module);
+      loadCount += loads;
+      totalLoadTimeMs += loadTimeMs;
+    }
+
+    RepeatedContext build() {
+      return new RepeatedContext(
+          fingerprint, primaryAnnotationType, List.copyOf(modules), loadCount, totalLoadTimeMs);
+    }
+  }
+}
@@ -0,0 +1,95 @@
+package digital.pragmatech.testing.cli;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+import digital.pragmatech.testing.util.SimpleJsonReader;
+import digital.pragmatech.testing.util.VersionInfo;
+import org.thymeleaf.TemplateEngine;
+import org.thymeleaf.context.Context;
+import org.thymeleaf.templatemode.TemplateMode;
+import org.thymeleaf.templateresolver.ClassLoaderTemplateResolver;
+
+/**
+ * Renders an HTML report from a JSON report outside of the test JVM. The JSON report has no access
+ * to the {@code MergedContextConfiguration} of the contexts, so this report is limited to the
+ * summary, the contexts and the test classes.
+ */
+public class OfflineReportRenderer {
+
+  static final String REPORT_FILE = "index.html";
+
+  private final TemplateEngine templateEngine;
+
+  public OfflineReportRenderer() {
+    ClassLoaderTemplateResolver resolver = new ClassLoaderTemplateResolver();
+    resolver.setTemplateMode(TemplateMode.HTML);
+    resolver.setPrefix("/templates/");
+    resolver.setSuffix(".html");
+    resolver.setCharacterEncoding("UTF-8");
+
+    this.templateEngine = new TemplateEngine();
+    this.templateEngine.setTemplateResolver(resolver);
+  }
+
+  /** Writes {@code index.html} and its stylesheet to the output directory. */
+  public Path render(Map<String, Object> report, Path outputDir) throws IOException {
+    return render(report, null, outputDir);
+  }
+
+  /** Renders the report of a multi-module build, the modules are {@code null} for one module. */
+  public Path render(
+      Map<String, Object> report, ModuleAggregation.BuildAggregate modules, Path outputDir)
+      throws IOException {
+    List<Map<String, Object>> contexts =
+        SimpleJsonReader.asList(report.get("contexts")).stream()
+            .map(SimpleJsonReader::asMap)
+            .sorted(
+                Comparator.comparingLong(
+                        (Map<String, Object> context) ->
+                            SimpleJsonReader.asLong(context.get("loadDuration"), 0))
+                    .reversed())
+            .toList();
+
+    Context context = new Context();
+    // Merged reports are rendered before they are written, the JSON report has epoch seconds
+    Object generatedAt = report.get("generatedAt");
+    context.setVariable(
+        "generatedAt",
+        generatedAt instanceof Instant instant
+            ? instant
+            : Instant.ofEpochSecond(SimpleJsonReader.asLong(generatedAt, 0)));
+    context.setVariable("summary", SimpleJsonReader.asMap(report.get("summary")));
+    context.setVariable("contexts", contexts);
+    context.setVariable(
+        "testClasses",
+        SimpleJsonReader.asList(report.get("testClasses")).stream()
+            .map(SimpleJsonReader::asMap)
+            .toList());
+    context.setVariable("modules", modules);
+    context.setVariable("extensionVersion", VersionInfo.getVersion());
+
+    Path cssDir = outputDir.resolve("static").resolve("css");
+    Files.createDirectories(cssDir);
+    try (InputStream css =
+        getClass().getClassLoader().getResourceAsStream("static/css/spring-test-profiler.css")) {
+      if (css != null) {
+        Files.copy(
+            css, cssDir.resolve("spring-test-profiler.css"), StandardCopyOption.REPLACE_EXISTING);
+      }
+    }
+
+    Path reportFile = outputDir.resolve(REPORT_FILE);
+    Files.writeString(
+        reportFile, templateEngine.process("offline-report", context), StandardCharsets.UTF_8);
+    return reportFile;
+  }
+}
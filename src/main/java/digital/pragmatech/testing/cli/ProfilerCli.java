@@ -0,0 +1,152 @@
+package digital.pragmatech.testing.cli;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import digital.pragmatech.testing.reporting.diff.ReportDiffCommand;
+import digital.pragmatech.testing.util.SimpleJsonWriter;
+
+/**
+ * Command line tool to work with the JSON reports (see {@code spring.test.insight.json.beta})
+ * outside of the test JVM, packaged as an executable jar by {@code spring-test-profiler-cli}.
+ *
+ * <pre>
+ * java -jar spring-test-profiler-cli.jar html target/spring-test-profiler --output report
+ * java -jar spring-test-profiler-cli.jar merge module-a module-b --output merged.json
+ * java -jar spring-test-profiler-cli.jar diff base.json head.json
+ * java -jar spring-test-profiler-cli.jar csv . --output csv
+ * java -jar spring-test-profiler-cli.jar top-contexts . --limit 20
+ * java -jar spring-test-profiler-cli.jar modules . --output modules.md
+ * </pre>
+ *
+ * <p>Inputs are report files or directories, which are searched recursively for reports, e.g. the
+ * root of a multi-module build. Several reports, e.g. of forks or modules, are merged first. The
+ * HTML report of several modules additionally contains the {@link ModuleAggregation}.
+ */
+public class ProfilerCli {
+
+  static final int EXIT_OK = 0;
+  static final int EXIT_USAGE_ERROR = 2;
+
+  private static final int DEFAULT_LIMIT = 20;
+
+  private static final String USAGE =
+      """
+      Usage: spring-test-profiler-cli <command> [options]
+        html <reports...> [--output <dir>]          Render the HTML report
+        merge <reports...> [--output <file>]        Merge reports, e.g. of forks or modules
+        diff <base.json> <head.json> [options]      Compare two reports, see ReportDiffCommand
+        csv <reports...> [--output <dir>]           Export contexts and test classes as CSV
+        top-contexts <reports...> [--limit <n>]     Rank contexts by total load time
+        modules <reports...> [--output <file>]      Aggregate the reports per build module""";
+
+  public static void main(String[] args) {
+    System.exit(new ProfilerCli().run(args, System.out, System.err));
+  }
+
+  int run(String[] args, PrintStream out, PrintStream err) {
+    if (args.length == 0) {
+      err.println(USAGE);
+      return EXIT_USAGE_ERROR;
+    }
+    String command = args[0];
+    String[] commandArgs = Arrays.copyOfRange(args, 1, args.length);
+    if (command.equals("diff")) {
+      return new ReportDiffCommand().run(commandArgs, out, err);
+    }
+
+    List<Path> inputs = new ArrayList<>();
+    Path output = null;
+    int limit = DEFAULT_LIMIT;
+    try {
+      for (int i = 0; i < commandArgs.length; i++) {
+        switch (commandArgs[i]) {
+          case "--output" -> output = Paths.get(commandArgs[++i]);
+          case "--limit" -> limit = Integer.parseInt(commandArgs[++i]);
+          default -> inputs.add(Paths.get(commandArgs[i]));
+        }
+      }
+      if (inputs.isEmpty()) {
+        throw new IllegalArgumentException("At least one report file or directory is required");
+      }
+      if (!List.of("html", "merge", "csv", "top-contexts", "modules").contains(command)) {
+        throw new IllegalArgumentException("Unknown command: " + command);
+      }
+    } catch (ArrayIndexOutOfBoundsException | IllegalArgumentException e) {
+      err.println(e.getMessage() != null ? e.getMessage() : "Missing option value");
+      err.println(USAGE);
+      return EXIT_USAGE_ERROR;
+    }
+
+    try {
+      List<Path> foundFiles = JsonReports.find(inputs);
+      if (foundFiles.isEmpty()) {
+        throw new IllegalArgumentException("No reports found in " + inputs);
+      }
+      List<JsonReports.Report> newestReports = JsonReports.readNewestBuilds(foundFiles, err);
+      List<Path> reportFiles = newestReports.stream().map(JsonReports.Report::file).toList();
+      List<Map<String, Object>> reports =
+          newestReports.stream().map(JsonReports.Report::content).toList();
+      Map<String, Object> report = new ReportMerger().merge(reports);
+
+      switch (command) {
+        case "html" -> {
+          ModuleAggregation.BuildAggregate modules = aggregateModules(reportFiles, reports);
+          Path reportFile =
+              new OfflineReportRenderer()
+                  .render(
+                      report,
+                      modules.modules().size() > 1 ? modules : null,
+                      output != null ? output : Paths.get("spring-test-profiler-report"));
+          out.println("Report written to " + reportFile.toAbsolutePath());
+        }
+        case "merge" -> {
+          String json = SimpleJsonWriter.toJsonPretty(report);
+          if (output != null) {
+            Files.writeString(output, json, StandardCharsets.UTF_8);
+          } else {
+            out.println(json);
+          }
+        }
+        case "csv" ->
+            new ReportCsvExporter().export(report, output != null ? output : Paths.get("."));
+        case "modules" -> {
+          String markdown =
+              new ModuleAggregation().renderMarkdown(aggregateModules(reportFiles, reports));
+          if (output != null) {
+            Files.writeString(output, markdown, StandardCharsets.UTF_8);
+          } else {
+            out.print(markdown);
+          }
+        }
+        default -> {
+          ContextRanking ranking = new ContextRanking();
+          out.print(ranking.renderMarkdown(ranking.top(report, limit)));
+        }
+      }
+    } catch (IOException | IllegalArgumentException e) {
+      err.println("Failed to " + command + " reports: " + e.getMessage());
+      return EXIT_USAGE_ERROR;
+    }
+    return EXIT_OK;
+  }
+
+  private static ModuleAggregation.BuildAggregate aggregateModules(
+      List<Path> reportFiles, List<Map<String, Object>> reports) {
+    List<ModuleAggregation.ModuleReport> moduleReports = new ArrayList<>();
+    for (int i = 0; i < reportFiles.size(); i++) {
+      moduleReports.add(
+          new ModuleAggregation.ModuleReport(
+              ModuleAggregation.moduleOf(reportFiles.get(i), reports.get(i)), reports.get(i)));
+    }
+    return new ModuleAggregation().aggregate(moduleReports);
+  }
+}
@@ -0,0 +1,92 @@
+package digital.pragmatech.testing.cli;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import digital.pragmatech.testing.util.SimpleJsonReader;
+
+/**
+ * Exports the contexts and test classes of a report as {@code contexts.csv} and {@code
+ * test-classes.csv}, e.g. to analyze them in a spreadsheet.
+ */
+public class ReportCsvExporter {
+
+  static final String CONTEXTS_FILE = "contexts.csv";
+  static final String TEST_CLASSES_FILE = "test-classes.csv";
+
+  private static final List<String> CONTEXT_COLUMNS =
+      List.of(
+          "contextKey",
+          "fingerprint",
+          "primaryAnnotationType",
+          "loadDuration",
+          "loadCount",
+          "numberOfBeans");
+
+  private static final List<String> TEST_CLASS_COLUMNS =
+      List.of(
+          "className",
+          "contextKey",
+          "durationMs",
+          "totalMethods",
+          "passedMethods",
+          "failedMethods",
+          "gcPauseTimeMs");
+
+  public void export(Map<String, Object> report, Path outputDir) throws IOException {
+    Files.createDirectories(outputDir);
+
+    StringBuilder contexts = header(CONTEXT_COLUMNS).append(",testClasses\n");
+    for (Object element : SimpleJsonReader.asList(report.get("contexts"))) {
+      Map<String, Object> context = SimpleJsonReader.asMap(element);
+      appendValues(contexts, context, CONTEXT_COLUMNS);
+      contexts
+          .append(',')
+          .append(
+              escape(
+                  String.join(
+                      " ",
+                      SimpleJsonReader.asList(context.get("testClasses")).stream()
+                          .map(String::valueOf)
+                          .toList())))
+          .append('\n');
+    }
+    Files.writeString(outputDir.resolve(CONTEXTS_FILE), contexts, StandardCharsets.UTF_8);
+
+    StringBuilder testClasses = header(TEST_CLASS_COLUMNS).append('\n');
+    for (Object element : SimpleJsonReader.asList(report.get("testClasses"))) {
+      appendValues(testClasses, SimpleJsonReader.asMap(element), TEST_CLASS_COLUMNS);
+      testClasses.append('\n');
+    }
+    Files.writeString(outputDir.resolve(TEST_CLASSES_FILE), testClasses, StandardCharsets.UTF_8);
+  }
+
+  private static StringBuilder header(List<String> columns) {
+    return new StringBuilder(String.join(",", columns));
+  }
+
+  private static void appendValues(
+      StringBuilder csv, Map<String, Object> values, List<String> columns) {
+    for (int i = 0; i < columns.size(); i++) {
+      if (i > 0) {
+        csv.append(',');
+      }
+      Object value = values.get(columns.get(i));
+      csv.append(value != null ? escape(String.valueOf(value)) : "");
+    }
+  }
+
+  static String escape(String value) {
+    if (value.indexOf(',') < 0
+        && value.indexOf('"') < 0
+        && value.indexOf('\n') < 0
+        && value.indexOf('\r') < 0) {
+      return value;
+    }
+    return '"' + value.replace("\"", "\"\"") + '"';
+  }
+}
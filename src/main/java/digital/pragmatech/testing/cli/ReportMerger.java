@@ -0,0 +1,111 @@
+package digital.pragmatech.testing.cli;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import digital.pragmatech.testing.reporting.json.JsonReportGenerator;
+import digital.pragmatech.testing.util.SimpleJsonReader;
+
+/**
+ * Merges JSON reports, e.g. of the forks of a test run or the modules of a build, into one report
+ * with the same structure. Contexts with the same fingerprint are merged: their load durations are
+ * summed up ({@code loadCount} tells how often the context was loaded) and their test classes are
+ * combined. The context keys are only unique within a report, so they are renumbered.
+ */
+public class ReportMerger {
+
+  public Map<String, Object> merge(List<Map<String, Object>> reports) {
+    Map<String, Map<String, Object>> contexts = new LinkedHashMap<>();
+    List<Map<String, Object>> testClasses = new ArrayList<>();
+    Map<String, Long> summaryTotals = new LinkedHashMap<>();
+
+    for (Map<String, Object> report : reports) {
+      // Context key of this report -> fingerprint, to remap the keys of its test classes
+      Map<String, String> fingerprints = new HashMap<>();
+      for (Object element : SimpleJsonReader.asList(report.get("contexts"))) {
+        Map<String, Object> context = SimpleJsonReader.asMap(element);
+        String fingerprint = fingerprintOf(context);
+        fingerprints.put(String.valueOf(context.get("contextKey")), fingerprint);
+
+        Map<String, Object> merged = contexts.get(fingerprint);
+        if (merged == null) {
+          merged = new LinkedHashMap<>(context);
+          merged.put("contextKey", "context-" + contexts.size());
+          merged.put("fingerprint", fingerprint);
+          merged.put("loadCount", loadCountOf(context));
+          merged.put("testClasses", new ArrayList<>(toStrings(context.get("testClasses"))));
+          contexts.put(fingerprint, merged);
+        } else {
+          merged.put(
+              "loadDuration", asLong(merged, "loadDuration") + asLong(context, "loadDuration"));
+          merged.put("loadCount", asLong(merged, "loadCount") + loadCountOf(context));
+          merged.put(
+              "numberOfBeans",
+              Math.max(asLong(merged, "numberOfBeans"), asLong(context, "numberOfBeans")));
+          Set<String> classNames = new LinkedHashSet<>(toStrings(merged.get("testClasses")));
+          classNames.addAll(toStrings(context.get("testClasses")));
+          merged.put("testClasses", new ArrayList<>(classNames));
+        }
+      }
+
+      for (Object element : SimpleJsonReader.asList(report.get("testClasses"))) {
+        Map<String, Object> testClass = new LinkedHashMap<>(SimpleJsonReader.asMap(element));
+        String fingerprint = fingerprints.get(String.valueOf(testClass.get("contextKey")));
+        Map<String, Object> context = fingerprint != null ? contexts.get(fingerprint) : null;
+        testClass.put("contextKey", context != null ? context.get("contextKey") : null);
+        testClasses.add(testClass);
+      }
+
+      SimpleJsonReader.asMap(report.get("summary"))
+          .forEach(
+              (key, value) -> {
+                if (value instanceof Number number && !(value instanceof Double)) {
+                  summaryTotals.merge(key, number.longValue(), Long::sum);
+                }
+              });
+    }
+    testClasses.sort(Comparator.comparing(testClass -> String.valueOf(testClass.get("className"))));
+
+    // Totals are summed up over the reports, the reuse rate follows from the summed hits/misses
+    Map<String, Object> summary = new LinkedHashMap<>(summaryTotals);
+    long cacheHits = summaryTotals.getOrDefault("cacheHits", 0L);
+    long cacheMisses = summaryTotals.getOrDefault("cacheMisses", 0L);
+    summary.put(
+        "contextReuseRate",
+        cacheHits + cacheMisses > 0 ? (double) cacheHits / (cacheHits + cacheMisses) * 100.0 : 0.0);
+    summary.put("mergedReports", reports.size());
+
+    Map<String, Object> merged = new LinkedHashMap<>();
+    merged.put("schemaVersion", JsonReportGenerator.SCHEMA_VERSION);
+    merged.put("generatedAt", Instant.now());
+    merged.put("summary", summary);
+    merged.put("contexts", new ArrayList<>(contexts.values()));
+    merged.put("testClasses", testClasses);
+    return merged;
+  }
+
+  private static String fingerprintOf(Map<String, Object> context) {
+    Object fingerprint = context.get("fingerprint");
+    return fingerprint != null ? fingerprint.toString() : "key:" + context.get("contextKey");
+  }
+
+  // Reports written before the load count was recorded have one load per context
+  private static long loadCountOf(Map<String, Object> context) {
+    return Math.max(1, SimpleJsonReader.asLong(context.get("loadCount"), 1));
+  }
+
+  private static long asLong(Map<String, Object> map, String key) {
+    return SimpleJsonReader.asLong(map.get(key), 0);
+  }
+
+  private static List<String> toStrings(Object values) {
+    return SimpleJsonReader.asList(values).stream().map(String::valueOf).toList();
+  }
+}
@@ -1,5 +1,6 @@
 package digital.pragmatech.testing.diagnostic;
 
+import digital.pragmatech.testing.BeanCreationProfiler;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.boot.context.event.ApplicationReadyEvent;
@@ -19,6 +20,9 @@ public class ContextDiagnosticApplicationInitializer
   public void initialize(ConfigurableApplicationContext applicationContext) {
     ContextDiagnostic contextDiagnostic = ContextDiagnostic.started();
 
+    // Time each bean, e.g. to attribute the creation time to the auto-configuration defining it
+    BeanCreationProfiler.registerIfAbsent(applicationContext);
+
     applicationContext.addApplicationListener(
         event -> {
           if (event instanceof ApplicationReadyEvent readyEvent) {
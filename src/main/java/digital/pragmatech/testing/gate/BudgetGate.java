@@ -0,0 +1,95 @@
+package digital.pragmatech.testing.gate;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+
+import digital.pragmatech.testing.ContextCacheTracker;
+import digital.pragmatech.testing.util.SimpleJsonWriter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Opt-in gate that checks the run against the {@link ContextBudget} and writes the {@link
+ * BudgetVerdict} to the report directory. The test JVM can't fail the build itself, so {@link
+ * BudgetVerdictCheck} is bound to the build (exec-maven-plugin or a Gradle {@code JavaExec} task)
+ * to fail it based on the verdict.
+ *
+ * <p>The gate is active if {@code pragmatech.spring.test.insight.gate.enabled} is {@code true} or a
+ * budget file is configured via {@code pragmatech.spring.test.insight.gate.file}.
+ *
+ * <p>Every test JVM has a context cache of its own, so the thresholds apply per JVM. With forked
+ * test JVMs each fork writes its own {@code budget-verdict-<pid>.json} next to the others, and the
+ * check fails the build if any of them did not pass.
+ */
+public class BudgetGate {
+
+  private static final Logger logger = LoggerFactory.getLogger(BudgetGate.class);
+
+  public static final String VERDICT_FILE_PREFIX = "budget-verdict-";
+  public static final String VERDICT_FILE_SUFFIX = ".json";
+
+  public static boolean isEnabled() {
+    String file = System.getProperty(ContextBudget.PROPERTY_PREFIX + "file");
+    return Boolean.getBoolean(ContextBudget.PROPERTY_PREFIX + "enabled")
+        || (file != null && !file.trim().isEmpty());
+  }
+
+  /**
+   * Evaluates the budget and writes the verdict, if the gate is enabled.
+   *
+   * @return the verdict, or {@code null} if the gate is disabled or no budget is configured
+   */
+  public BudgetVerdict check(Path reportDir, ContextCacheTracker contextCacheTracker) {
+    if (!isEnabled() || contextCacheTracker == null) {
+      return null;
+    }
+
+    Path verdictFile = reportDir.resolve(verdictFileName(ProcessHandle.current().pid()));
+    try {
+      // A previous JVM with the same pid must not decide for this one, other forks are left alone
+      Files.deleteIfExists(verdictFile);
+
+      ContextBudget budget = ContextBudget.load();
+      if (budget.isEmpty()) {
+        logger.warn(
+            "Spring Test Profiler gate is enabled, but no budget is configured. Add {} or set"
+                + " {}* system properties.",
+            ContextBudget.DEFAULT_BUDGET_FILE,
+            ContextBudget.PROPERTY_PREFIX);
+        return null;
+      }
+
+      List<BudgetViolation> violations = budget.evaluate(contextCacheTracker);
+      BudgetVerdict verdict =
+          new BudgetVerdict(violations.isEmpty(), Instant.now(), budget, violations);
+
+      Files.writeString(
+          verdictFile, SimpleJsonWriter.toJsonPretty(verdict), StandardCharsets.UTF_8);
+
+      if (verdict.passed()) {
+        logger.info("Spring Test Profiler context budget passed: {}", verdictFile.toAbsolutePath());
+      } else {
+        for (BudgetViolation violation : violations) {
+          logger.error("Spring Test Profiler context budget exceeded: {}", violation.message());
+        }
+      }
+      return verdict;
+    } catch (IOException | IllegalArgumentException e) {
+      logger.error("Failed to check the Spring Test Profiler context budget", e);
+      return null;
+    }
+  }
+
+  static String verdictFileName(long pid) {
+    return VERDICT_FILE_PREFIX + pid + VERDICT_FILE_SUFFIX;
+  }
+
+  static boolean isVerdictFile(Path file) {
+    String name = file.getFileName().toString();
+    return name.startsWith(VERDICT_FILE_PREFIX) && name.endsWith(VERDICT_FILE_SUFFIX);
+  }
+}
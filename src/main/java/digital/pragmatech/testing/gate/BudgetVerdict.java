@@ -0,0 +1,12 @@
+package digital.pragmatech.testing.gate;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Machine-readable result of checking a run against its {@link ContextBudget}. Every test JVM
+ * writes its own {@code budget-verdict-<pid>.json} to the report directory, {@link
+ * BudgetVerdictCheck} reads all of them.
+ */
+public record BudgetVerdict(
+    boolean passed, Instant evaluatedAt, ContextBudget budget, List<BudgetViolation> violations) {}
@@ -0,0 +1,116 @@
+package digital.pragmatech.testing.gate;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import digital.pragmatech.testing.util.SimpleJsonReader;
+
+/**
+ * Build hook that fails the build if any {@link BudgetVerdict} of the last test run did not pass.
+ *
+ * <pre>
+ * java -cp ... digital.pragmatech.testing.gate.BudgetVerdictCheck target/spring-test-profiler
+ * </pre>
+ *
+ * <p>The argument is the report directory or a single verdict file. In a report directory, the
+ * verdicts of all forked test JVMs are checked. The check consumes the verdicts, so those of the
+ * next run are not mixed with stale ones. Without any verdict (gate not enabled, tests crashed
+ * before the report was written) the check fails, bind it only to builds that run the tests.
+ */
+public class BudgetVerdictCheck {
+
+  static final int EXIT_PASSED = 0;
+  static final int EXIT_FAILED = 1;
+  static final int EXIT_ERROR = 2;
+
+  public static void main(String[] args) {
+    System.exit(new BudgetVerdictCheck().run(args, System.out, System.err));
+  }
+
+  int run(String[] args, PrintStream out, PrintStream err) {
+    if (args.length != 1) {
+      err.println("Usage: BudgetVerdictCheck <report directory | verdict file>");
+      return EXIT_ERROR;
+    }
+
+    Path path = Paths.get(args[0]);
+    List<Path> verdictFiles;
+    try {
+      verdictFiles = verdictFiles(path);
+    } catch (IOException e) {
+      err.println("Failed to list budget verdicts in " + path + ": " + e.getMessage());
+      return EXIT_ERROR;
+    }
+    if (verdictFiles.isEmpty()) {
+      err.println(
+          "No Spring Test Profiler budget verdict found at "
+              + path
+              + ", enable the gate with -D"
+              + ContextBudget.PROPERTY_PREFIX
+              + "enabled=true");
+      return EXIT_FAILED;
+    }
+
+    // Read all verdicts before consuming any, a rerun after an unreadable one checks them again
+    Map<Path, Map<String, Object>> verdicts = new LinkedHashMap<>();
+    for (Path verdictFile : verdictFiles) {
+      try {
+        verdicts.put(
+            verdictFile,
+            SimpleJsonReader.parseObject(Files.readString(verdictFile, StandardCharsets.UTF_8)));
+      } catch (IOException | IllegalArgumentException e) {
+        err.println("Failed to read budget verdict " + verdictFile + ": " + e.getMessage());
+        return EXIT_ERROR;
+      }
+    }
+
+    int failed = 0;
+    for (Map.Entry<Path, Map<String, Object>> entry : verdicts.entrySet()) {
+      Path verdictFile = entry.getKey();
+      Map<String, Object> verdict = entry.getValue();
+      if (!Boolean.TRUE.equals(verdict.get("passed"))) {
+        failed++;
+        err.println("Spring Test Profiler context budget exceeded in " + verdictFile + ":");
+        for (Object violation : SimpleJsonReader.asList(verdict.get("violations"))) {
+          err.println("  - " + SimpleJsonReader.asMap(violation).get("message"));
+        }
+      }
+    }
+
+    for (Path verdictFile : verdictFiles) {
+      try {
+        Files.deleteIfExists(verdictFile);
+      } catch (IOException e) {
+        err.println("Failed to delete budget verdict " + verdictFile + ": " + e.getMessage());
+      }
+    }
+
+    if (failed > 0) {
+      err.println(failed + " of " + verdictFiles.size() + " test JVMs exceeded the budget");
+      return EXIT_FAILED;
+    }
+    out.println(
+        "Spring Test Profiler context budget passed in "
+            + verdictFiles.size()
+            + " test JVM"
+            + (verdictFiles.size() == 1 ? "" : "s"));
+    return EXIT_PASSED;
+  }
+
+  private static List<Path> verdictFiles(Path path) throws IOException {
+    if (!Files.isDirectory(path)) {
+      return Files.isRegularFile(path) ? List.of(path) : List.of();
+    }
+    try (Stream<Path> files = Files.list(path)) {
+      return files.filter(BudgetGate::isVerdictFile).sorted().toList();
+    }
+  }
+}
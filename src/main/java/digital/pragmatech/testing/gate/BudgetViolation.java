@@ -0,0 +1,11 @@
+package digital.pragmatech.testing.gate;
+
+/**
+ * A threshold of the {@link ContextBudget} that was exceeded.
+ *
+ * @param metric the budget key, e.g. {@code max.contexts}
+ * @param limit the configured threshold
+ * @param actual the value measured in this run
+ * @param message human-readable description of the violation
+ */
+public record BudgetViolation(String metric, Number limit, Number actual, String message) {}
@@ -0,0 +1,178 @@
+package digital.pragmatech.testing.gate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.function.Function;
+
+import digital.pragmatech.testing.ContextCacheEntry;
+import digital.pragmatech.testing.ContextCacheTracker;
+
+/**
+ * Thresholds for the context usage of a test run. Each threshold is optional ({@code null} means
+ * unlimited).
+ *
+ * <p>Thresholds are read from a properties file and can be overridden by system properties with the
+ * {@code pragmatech.spring.test.insight.gate.} prefix:
+ *
+ * <ul>
+ *   <li>{@code max.contexts} - maximum number of distinct contexts
+ *   <li>{@code max.total.context.load.ms} - maximum sum of all context load times
+ *   <li>{@code max.context.load.ms} - maximum load time of a single context
+ *   <li>{@code min.reuse.rate} - minimum context reuse rate in percent
+ * </ul>
+ *
+ * @param maxContexts maximum number of distinct contexts
+ * @param maxTotalContextLoadMs maximum sum of all context load times
+ * @param maxContextLoadMs maximum load time of a single context
+ * @param minReuseRate minimum context reuse rate in percent (0-100)
+ */
+public record ContextBudget(
+    Integer maxContexts, Long maxTotalContextLoadMs, Long maxContextLoadMs, Double minReuseRate) {
+
+  static final String PROPERTY_PREFIX = "pragmatech.spring.test.insight.gate.";
+
+  /** Budget file that is used when {@code pragmatech.spring.test.insight.gate.file} isn't set. */
+  static final String DEFAULT_BUDGET_FILE = "spring-test-profiler-budget.properties";
+
+  static final String MAX_CONTEXTS = "max.contexts";
+  static final String MAX_TOTAL_CONTEXT_LOAD_MS = "max.total.context.load.ms";
+  static final String MAX_CONTEXT_LOAD_MS = "max.context.load.ms";
+  static final String MIN_REUSE_RATE = "min.reuse.rate";
+
+  /**
+   * Loads the budget from the budget file (if present) and the system properties.
+   *
+   * @throws IllegalArgumentException if a threshold is not a valid number or an explicitly
+   *     configured budget file can't be read
+   */
+  public static ContextBudget load() {
+    String customFile = System.getProperty(PROPERTY_PREFIX + "file");
+    Path budgetFile =
+        customFile != null && !customFile.trim().isEmpty()
+            ? Paths.get(customFile)
+            : Paths.get(DEFAULT_BUDGET_FILE);
+
+    Properties fileProperties = new Properties();
+    if (Files.isRegularFile(budgetFile)) {
+      try (InputStream inputStream = Files.newInputStream(budgetFile)) {
+        fileProperties.load(inputStream);
+      } catch (IOException e) {
+        throw new IllegalArgumentException("Failed to read budget file " + budgetFile, e);
+      }
+    } else if (customFile != null && !customFile.trim().isEmpty()) {
+      throw new IllegalArgumentException("Budget file " + budgetFile + " does not exist");
+    }
+
+    return from(fileProperties, System.getProperties());
+  }
+
+  /** Creates a budget from file properties (short keys) and overriding system properties. */
+  static ContextBudget from(Properties fileProperties, Properties systemProperties) {
+    return new ContextBudget(
+        parse(fileProperties, systemProperties, MAX_CONTEXTS, Integer::valueOf),
+        parse(fileProperties, systemProperties, MAX_TOTAL_CONTEXT_LOAD_MS, Long::valueOf),
+        parse(fileProperties, systemProperties, MAX_CONTEXT_LOAD_MS, Long::valueOf),
+        parse(fileProperties, systemProperties, MIN_REUSE_RATE, Double::valueOf));
+  }
+
+  private static <T> T parse(
+      Properties fileProperties,
+      Properties systemProperties,
+      String key,
+      Function<String, T> parser) {
+    String value = systemProperties.getProperty(PROPERTY_PREFIX + key);
+    if (value == null) {
+      value = fileProperties.getProperty(key);
+    }
+    if (value == null || value.trim().isEmpty()) {
+      return null;
+    }
+    try {
+      return parser.apply(value.trim());
+    } catch (NumberFormatException e) {
+      throw new IllegalArgumentException("Invalid value for budget " + key + ": " + value, e);
+    }
+  }
+
+  public boolean isEmpty() {
+    return maxContexts == null
+        && maxTotalContextLoadMs == null
+        && maxContextLoadMs == null
+        && minReuseRate == null;
+  }
+
+  /** Checks the tracked contexts of the current run against this budget. */
+  public List<BudgetViolation> evaluate(ContextCacheTracker contextCacheTracker) {
+    List<BudgetViolation> violations = new ArrayList<>();
+
+    int contexts = contextCacheTracker.getTotalContextsCreated();
+    if (maxContexts != null && contexts > maxContexts) {
+      violations.add(
+          new BudgetViolation(
+              MAX_CONTEXTS,
+              maxContexts,
+              contexts,
+              String.format(
+                  "%d distinct contexts were created, the budget allows %d",
+                  contexts, maxContexts)));
+    }
+
+    long totalLoadTimeMs = 0;
+    ContextCacheEntry slowest = null;
+    for (ContextCacheEntry entry : contextCacheTracker.getAllEntries()) {
+      if (!entry.isCreated()) {
+        continue;
+      }
+      totalLoadTimeMs += entry.getContextLoadTimeMs();
+      if (slowest == null || entry.getContextLoadTimeMs() > slowest.getContextLoadTimeMs()) {
+        slowest = entry;
+      }
+    }
+
+    if (maxTotalContextLoadMs != null && totalLoadTimeMs > maxTotalContextLoadMs) {
+      violations.add(
+          new BudgetViolation(
+              MAX_TOTAL_CONTEXT_LOAD_MS,
+              maxTotalContextLoadMs,
+              totalLoadTimeMs,
+              String.format(
+                  "Contexts took %dms to load in total, the budget allows %dms",
+                  totalLoadTimeMs, maxTotalContextLoadMs)));
+    }
+
+    if (maxContextLoadMs != null
+        && slowest != null
+        && slowest.getContextLoadTimeMs() > maxContextLoadMs) {
+      violations.add(
+          new BudgetViolation(
+              MAX_CONTEXT_LOAD_MS,
+              maxContextLoadMs,
+              slowest.getContextLoadTimeMs(),
+              String.format(
+                  "Context used by %s took %dms to load, the budget allows %dms",
+                  slowest.getTestClasses().stream().sorted().findFirst().orElse("unknown"),
+                  slowest.getContextLoadTimeMs(),
+                  maxContextLoadMs)));
+    }
+
+    double reuseRate = contextCacheTracker.getContextReuseRate();
+    if (minReuseRate != null && contexts > 0 && reuseRate < minReuseRate) {
+      violations.add(
+          new BudgetViolation(
+              MIN_REUSE_RATE,
+              minReuseRate,
+              reuseRate,
+              String.format(
+                  "Context reuse rate is %.1f%%, the budget requires at least %.1f%%",
+                  reuseRate, minReuseRate)));
+    }
+
+    return violations;
+  }
+}
@@ -0,0 +1,218 @@
+package digital.pragmatech.testing.gc;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryUsage;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.LongSupplier;
+
+import javax.management.Notification;
+import javax.management.NotificationEmitter;
+import javax.management.openmbean.CompositeData;
+
+import com.sun.management.GarbageCollectionNotificationInfo;
+import com.sun.management.GcInfo;
+import digital.pragmatech.testing.ThreadAllocationCounter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.util.ClassUtils;
+
+/**
+ * Attributes garbage collections to whatever was executing when they started: a context load or a
+ * test method. Subscribes to the {@code GarbageCollectorMXBean} notifications of the JVM for the
+ * whole run. Notifications arrive asynchronously, so collections are matched against the start and
+ * end of the recent activities using the JVM uptime.
+ *
+ * <p>Activities are tracked per thread, so test classes and methods running in parallel each have
+ * their own. A pause stops all threads, so it is charged to every activity running at that moment.
+ *
+ * <p>Only stop-the-world pauses count as pause time. Concurrent cycles (e.g. of ZGC or Shenandoah)
+ * are counted for the reclaimed bytes only. Safepoints that are not caused by the GC are not
+ * reported by the JVM's management API.
+ */
+public class GcActivityTracker {
+
+  private static final Logger logger = LoggerFactory.getLogger(GcActivityTracker.class);
+
+  private static final boolean GC_NOTIFICATIONS_PRESENT =
+      ClassUtils.isPresent(
+          "com.sun.management.GarbageCollectionNotificationInfo",
+          GcActivityTracker.class.getClassLoader());
+
+  private static final int MAX_RECENT_ACTIVITIES = 256;
+
+  private final LongSupplier uptimeMs;
+  private final LongSupplier heapUsedBytes;
+  private final LongSupplier threadAllocatedBytes;
+  private final AtomicBoolean started = new AtomicBoolean(false);
+
+  private final GcPauseStats total = new GcPauseStats();
+  private final GcPauseStats unattributed = new GcPauseStats();
+
+  // Guarded by this
+  private final Map<Thread, Activity> running = new HashMap<>();
+  private final Deque<Activity> recent = new ArrayDeque<>();
+
+  public GcActivityTracker() {
+    this(
+        () -> ManagementFactory.getRuntimeMXBean().getUptime(),
+        () -> ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed(),
+        ThreadAllocationCounter::currentThread);
+  }
+
+  GcActivityTracker(
+      LongSupplier uptimeMs, LongSupplier heapUsedBytes, LongSupplier threadAllocatedBytes) {
+    this.uptimeMs = uptimeMs;
+    this.heapUsedBytes = heapUsedBytes;
+    this.threadAllocatedBytes = threadAllocatedBytes;
+  }
+
+  /** Subscribes to the GC notifications of the JVM. Calling it again has no effect. */
+  public void start() {
+    if (!GC_NOTIFICATIONS_PRESENT || !started.compareAndSet(false, true)) {
+      return;
+    }
+    for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+      if (collector instanceof NotificationEmitter emitter) {
+        emitter.addNotificationListener(
+            (notification, handback) -> handleNotification(notification), null, null);
+      }
+    }
+    logger.debug("Subscribed to garbage collection notifications");
+  }
+
+  /**
+   * Attributes the collections from now on to the given stats, until the current thread calls
+   * {@link #end()} or the next {@code begin}.
+   */
+  public synchronized void begin(GcPauseStats stats) {
+    endCurrent();
+    running.put(
+        Thread.currentThread(),
+        new Activity(
+            stats,
+            uptimeMs.getAsLong(),
+            heapUsedBytes.getAsLong(),
+            threadAllocatedBytes.getAsLong()));
+  }
+
+  /** Ends the activity of the current thread. */
+  public synchronized void end() {
+    endCurrent();
+  }
+
+  private void endCurrent() {
+    Activity activity = running.remove(Thread.currentThread());
+    if (activity == null) {
+      return;
+    }
+    activity.endUptimeMs = uptimeMs.getAsLong();
+    activity.stats.recordActivity(
+        activity.endUptimeMs - activity.startUptimeMs,
+        heapUsedBytes.getAsLong() - activity.startHeapUsedBytes,
+        ThreadAllocationCounter.between(
+            activity.startAllocatedBytes, threadAllocatedBytes.getAsLong()));
+    recent.addFirst(activity);
+    if (recent.size() > MAX_RECENT_ACTIVITIES) {
+      recent.removeLast();
+    }
+  }
+
+  /** All collections of the run. */
+  public GcPauseStats getTotal() {
+    return total;
+  }
+
+  /** Collections that happened outside of context loads and test methods. */
+  public GcPauseStats getUnattributed() {
+    return unattributed;
+  }
+
+  void recordCollection(long startUptimeMs, long durationMs, long reclaimedBytes, boolean pause) {
+    Set<GcPauseStats> targets = findActivityStats(startUptimeMs);
+    if (targets.isEmpty()) {
+      targets.add(unattributed);
+    }
+    targets.add(total);
+    for (GcPauseStats stats : targets) {
+      if (pause) {
+        stats.recordPause(durationMs);
+      }
+      stats.recordReclaimed(reclaimedBytes);
+    }
+  }
+
+  private synchronized Set<GcPauseStats> findActivityStats(long startUptimeMs) {
+    // Identity, the same stats may be the target of several activities (e.g. test methods)
+    Set<GcPauseStats> targets = Collections.newSetFromMap(new IdentityHashMap<>());
+    for (Activity activity : running.values()) {
+      if (startUptimeMs >= activity.startUptimeMs) {
+        targets.add(activity.stats);
+      }
+    }
+    for (Activity activity : recent) {
+      if (startUptimeMs >= activity.startUptimeMs && startUptimeMs <= activity.endUptimeMs) {
+        targets.add(activity.stats);
+      }
+    }
+    return targets;
+  }
+
+  private void handleNotification(Notification notification) {
+    if (!GarbageCollectionNotificationInfo.GARBAGE_COLLECTION_NOTIFICATION.equals(
+        notification.getType())) {
+      return;
+    }
+    try {
+      GarbageCollectionNotificationInfo info =
+          GarbageCollectionNotificationInfo.from((CompositeData) notification.getUserData());
+      GcInfo gcInfo = info.getGcInfo();
+
+      long reclaimedBytes = 0;
+      for (Map.Entry<String, MemoryUsage> before : gcInfo.getMemoryUsageBeforeGc().entrySet()) {
+        MemoryUsage after = gcInfo.getMemoryUsageAfterGc().get(before.getKey());
+        if (after != null) {
+          reclaimedBytes += before.getValue().getUsed() - after.getUsed();
+        }
+      }
+
+      recordCollection(
+          gcInfo.getStartTime(),
+          gcInfo.getDuration(),
+          reclaimedBytes,
+          isPause(info.getGcName(), info.getGcAction()));
+    } catch (RuntimeException e) {
+      logger.debug("Failed to process garbage collection notification: {}", e.getMessage());
+    }
+  }
+
+  /** Concurrent collectors report their cycles separately from their pauses. */
+  static boolean isPause(String gcName, String gcAction) {
+    String name = gcName.toLowerCase();
+    String action = gcAction.toLowerCase();
+    return !name.contains("cycles") && !name.contains("concurrent") && !action.contains("cycle");
+  }
+
+  private static final class Activity {
+    private final GcPauseStats stats;
+    private final long startUptimeMs;
+    private final long startHeapUsedBytes;
+    private final long startAllocatedBytes;
+    private long endUptimeMs = Long.MAX_VALUE;
+
+    private Activity(
+        GcPauseStats stats, long startUptimeMs, long startHeapUsedBytes, long startAllocatedBytes) {
+      this.stats = stats;
+      this.startUptimeMs = startUptimeMs;
+      this.startHeapUsedBytes = startHeapUsedBytes;
+      this.startAllocatedBytes = startAllocatedBytes;
+    }
+  }
+}
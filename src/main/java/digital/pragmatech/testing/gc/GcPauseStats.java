@@ -0,0 +1,92 @@
+package digital.pragmatech.testing.gc;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Garbage collections attributed to an activity, e.g. a context load or the test methods of a test
+ * class. Collections are reported asynchronously, so the values may still grow shortly after the
+ * activity ended.
+ */
+public class GcPauseStats {
+
+  private final AtomicLong pauseCount = new AtomicLong();
+  private final AtomicLong pauseTimeMs = new AtomicLong();
+  private final AtomicLong maxPauseMs = new AtomicLong();
+  private final AtomicLong reclaimedBytes = new AtomicLong();
+  private final AtomicLong activeTimeMs = new AtomicLong();
+  private final AtomicLong heapGrowthBytes = new AtomicLong();
+  private final AtomicLong allocatedBytes = new AtomicLong();
+  private final AtomicLong unmeasuredActivities = new AtomicLong();
+
+  void recordPause(long durationMs) {
+    pauseCount.incrementAndGet();
+    pauseTimeMs.addAndGet(durationMs);
+    maxPauseMs.accumulateAndGet(durationMs, Math::max);
+  }
+
+  void recordReclaimed(long bytes) {
+    reclaimedBytes.addAndGet(Math.max(0, bytes));
+  }
+
+  /**
+   * @param allocated the bytes the activity's thread allocated, {@code -1} if the JVM can't measure
+   *     them
+   */
+  void recordActivity(long durationMs, long heapGrowth, long allocated) {
+    activeTimeMs.addAndGet(durationMs);
+    heapGrowthBytes.addAndGet(heapGrowth);
+    if (allocated >= 0) {
+      allocatedBytes.addAndGet(allocated);
+    } else {
+      unmeasuredActivities.incrementAndGet();
+    }
+  }
+
+  public long getPauseCount() {
+    return pauseCount.get();
+  }
+
+  public long getPauseTimeMs() {
+    return pauseTimeMs.get();
+  }
+
+  public long getMaxPauseMs() {
+    return maxPauseMs.get();
+  }
+
+  public long getReclaimedBytes() {
+    return reclaimedBytes.get();
+  }
+
+  /** Wall time of the activity, i.e. the time the collections were attributed to it. */
+  public long getActiveTimeMs() {
+    return activeTimeMs.get();
+  }
+
+  /**
+   * Bytes allocated during the activity, read from the allocation counter of the thread running it.
+   * Only if the JVM can't measure them, they are estimated as heap growth plus the bytes reclaimed
+   * by the collections in between, which includes the allocations of other threads.
+   */
+  public long getEstimatedAllocatedBytes() {
+    if (unmeasuredActivities.get() == 0) {
+      return allocatedBytes.get();
+    }
+    return Math.max(0, heapGrowthBytes.get() + reclaimedBytes.get());
+  }
+
+  /** Estimated allocation rate in MB/s, {@code 0} if the activity took no measurable time. */
+  public double getAllocationRateMBPerSecond() {
+    long activeMs = activeTimeMs.get();
+    if (activeMs <= 0) {
+      return 0.0;
+    }
+    return getEstimatedAllocatedBytes() / (1024.0 * 1024.0) / (activeMs / 1000.0);
+  }
+
+  /** Share of the activity's wall time spent in GC pauses, in percent. */
+  public double getPauseTimePercentage() {
+    long activeMs = activeTimeMs.get();
+    return activeMs > 0 ? Math.min(100.0, pauseTimeMs.get() * 100.0 / activeMs) : 0.0;
+  }
+}
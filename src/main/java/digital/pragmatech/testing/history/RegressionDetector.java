@@ -0,0 +1,106 @@
+package digital.pragmatech.testing.history;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+
+/**
+ * Flags metrics of the current run that exceed the median of previous runs by more than a relative
+ * threshold. A minimum absolute delta avoids flagging noise on very fast contexts and classes.
+ */
+public class RegressionDetector {
+
+  private final double thresholdPercent;
+  private final long minDeltaMs;
+
+  public RegressionDetector(double thresholdPercent, long minDeltaMs) {
+    this.thresholdPercent = thresholdPercent;
+    this.minDeltaMs = minDeltaMs;
+  }
+
+  /**
+   * Compares the current run against the previous runs.
+   *
+   * @param current the snapshot of the current run
+   * @param previousRuns earlier snapshots, not including the current one
+   * @return regression flags sorted by relative change (largest first)
+   */
+  public List<RegressionFlag> detect(RunSnapshot current, List<RunSnapshot> previousRuns) {
+    List<RegressionFlag> flags = new ArrayList<>();
+    if (previousRuns.isEmpty()) {
+      return flags;
+    }
+
+    List<Long> totalLoadTimes =
+        previousRuns.stream().map(RunSnapshot::totalContextLoadTimeMs).toList();
+    check("Total context", "load time", current.totalContextLoadTimeMs(), totalLoadTimes, flags);
+
+    for (RunSnapshot.ContextSnapshot context : current.contexts()) {
+      List<Long> baseline =
+          collect(
+              previousRuns,
+              RunSnapshot::contexts,
+              RunSnapshot.ContextSnapshot::contextKey,
+              RunSnapshot.ContextSnapshot::loadTimeMs,
+              context.contextKey());
+      check("Context " + context.label(), "load time", context.loadTimeMs(), baseline, flags);
+    }
+
+    for (RunSnapshot.TestClassSnapshot testClass : current.testClasses()) {
+      List<Long> baseline =
+          collect(
+              previousRuns,
+              RunSnapshot::testClasses,
+              RunSnapshot.TestClassSnapshot::className,
+              RunSnapshot.TestClassSnapshot::durationMs,
+              testClass.className());
+      check(testClass.className(), "duration", testClass.durationMs(), baseline, flags);
+    }
+
+    flags.sort(Comparator.comparingDouble(RegressionFlag::getChangePercent).reversed());
+    return flags;
+  }
+
+  private <T> List<Long> collect(
+      List<RunSnapshot> runs,
+      Function<RunSnapshot, List<T>> elements,
+      Function<T, String> key,
+      ToLongFunction<T> value,
+      String expectedKey) {
+    List<Long> values = new ArrayList<>();
+    for (RunSnapshot run : runs) {
+      for (T element : elements.apply(run)) {
+        if (expectedKey.equals(key.apply(element))) {
+          values.add(value.applyAsLong(element));
+        }
+      }
+    }
+    return values;
+  }
+
+  private void check(
+      String subject, String metric, long current, List<Long> baseline, List<RegressionFlag> out) {
+    if (baseline.isEmpty()) {
+      return;
+    }
+    long median = median(baseline);
+    if (median <= 0 || current - median < minDeltaMs) {
+      return;
+    }
+    double changePercent = (current - median) * 100.0 / median;
+    if (changePercent > thresholdPercent) {
+      out.add(new RegressionFlag(subject, metric, current, median, baseline.size()));
+    }
+  }
+
+  static long median(List<Long> values) {
+    List<Long> sorted = values.stream().sorted().toList();
+    int middle = sorted.size() / 2;
+    if (sorted.size() % 2 == 1) {
+      return sorted.get(middle);
+    }
+    return (sorted.get(middle - 1) + sorted.get(middle)) / 2;
+  }
+}
@@ -0,0 +1,28 @@
+package digital.pragmatech.testing.history;
+
+/**
+ * A metric of the current run that is significantly slower than the median of the previous runs.
+ *
+ * @param subject the context label or test class name the metric belongs to
+ * @param metric human-readable metric name, e.g. {@code "load time"}
+ * @param currentMs the value measured in the current run
+ * @param baselineMedianMs the median of the previous runs
+ * @param baselineRuns the number of previous runs the median was calculated from
+ */
+public record RegressionFlag(
+    String subject, String metric, long currentMs, long baselineMedianMs, int baselineRuns) {
+
+  public double getChangePercent() {
+    if (baselineMedianMs <= 0) {
+      return 0.0;
+    }
+    return (currentMs - baselineMedianMs) * 100.0 / baselineMedianMs;
+  }
+
+  /** Returns a message like {@code context X load time +35% vs median of last 10 runs}. */
+  public String getMessage() {
+    return String.format(
+        "%s %s +%.0f%% vs median of last %d runs (%dms vs %dms)",
+        subject, metric, getChangePercent(), baselineRuns, currentMs, baselineMedianMs);
+  }
+}
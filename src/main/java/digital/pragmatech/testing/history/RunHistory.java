@@ -0,0 +1,22 @@
+package digital.pragmatech.testing.history;
+
+import java.util.List;
+
+/**
+ * Result of recording the current run: the recent runs (oldest first, the current run last) used
+ * for trend charts and the regressions detected for the current run.
+ */
+public record RunHistory(List<RunSnapshot> runs, List<RegressionFlag> regressions) {
+
+  public static RunHistory empty() {
+    return new RunHistory(List.of(), List.of());
+  }
+
+  public boolean hasTrend() {
+    return runs.size() > 1;
+  }
+
+  public boolean hasRegressions() {
+    return !regressions.isEmpty();
+  }
+}
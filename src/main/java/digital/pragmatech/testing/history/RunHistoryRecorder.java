@@ -0,0 +1,204 @@
+package digital.pragmatech.testing.history;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import digital.pragmatech.testing.ContextCacheTracker;
+import digital.pragmatech.testing.TestExecutionTracker;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Appends the current test JVM to the {@link RunHistoryStore} and compares its build against the
+ * previous builds. The forks of a build are merged, so the totals of a build are compared with the
+ * totals of other builds, not of single forks. While the forks of the current build are still
+ * running, its totals only cover the forks that finished so far and are therefore never flagged too
+ * early.
+ *
+ * <p>Configuration via system properties:
+ *
+ * <ul>
+ *   <li>{@code pragmatech.spring.test.insight.history.enabled} - record runs (default {@code true})
+ *   <li>{@code pragmatech.spring.test.insight.history.dir} - store directory (default {@code
+ *       history} inside the report directory). Point this outside of {@code target}/{@code build}
+ *       to keep the history across clean builds.
+ *   <li>{@code pragmatech.spring.test.insight.history.window} - number of previous builds to
+ *       compare against (default {@code 10})
+ *   <li>{@code pragmatech.spring.test.insight.history.build.id} - id shared by the forks of one
+ *       build, e.g. the CI build number. This is the reliable option, the default is derived from
+ *       the processes: the Maven JVM the test JVM was forked from, for Gradle the forks of one
+ *       daemon whose lifetimes overlap, otherwise the test JVM itself.
+ *   <li>{@code pragmatech.spring.test.insight.history.regression.threshold} - relative slowdown in
+ *       percent that is flagged (default {@code 20})
+ *   <li>{@code pragmatech.spring.test.insight.history.regression.min.delta.ms} - minimum absolute
+ *       slowdown that is flagged (default {@code 250})
+ * </ul>
+ */
+public class RunHistoryRecorder {
+
+  private static final Logger logger = LoggerFactory.getLogger(RunHistoryRecorder.class);
+
+  private static final String PROPERTY_PREFIX = "pragmatech.spring.test.insight.history.";
+
+  private static final String GRADLE_BUILD_FILE = "gradle-build-id.txt";
+
+  // Forks started by forkEvery follow the previous fork of the task after a short gap
+  private static final long GRADLE_FORK_GAP_MS = 1000;
+
+  // Surefire may start the fork through a shell, Maven can be started by a wrapper script
+  private static final int MAX_ANCESTORS = 8;
+
+  public RunHistory record(
+      Path reportDir,
+      String buildId,
+      TestExecutionTracker executionTracker,
+      ContextCacheTracker contextCacheTracker) {
+    if (!Boolean.parseBoolean(System.getProperty(PROPERTY_PREFIX + "enabled", "true"))) {
+      return RunHistory.empty();
+    }
+
+    Path historyDir = historyDir(reportDir);
+    int window = Integer.getInteger(PROPERTY_PREFIX + "window", 10);
+    double threshold =
+        Double.parseDouble(System.getProperty(PROPERTY_PREFIX + "regression.threshold", "20"));
+    long minDeltaMs = Long.getLong(PROPERTY_PREFIX + "regression.min.delta.ms", 250L);
+
+    RunHistoryStore store = new RunHistoryStore(historyDir);
+    RunSnapshot fork = RunSnapshot.capture(buildId, executionTracker, contextCacheTracker);
+
+    try {
+      List<RunSnapshot> recentForks = new ArrayList<>(store.readRecent(window + 1));
+      recentForks.add(fork);
+      List<RunSnapshot> builds = RunSnapshot.mergeByBuild(recentForks);
+      RunSnapshot current = builds.get(builds.size() - 1);
+      List<RunSnapshot> previousRuns =
+          builds.subList(Math.max(0, builds.size() - 1 - window), builds.size() - 1);
+      List<RegressionFlag> regressions =
+          new RegressionDetector(threshold, minDeltaMs).detect(current, previousRuns);
+      store.append(fork);
+
+      for (RegressionFlag regression : regressions) {
+        logger.warn("Spring Test Profiler regression: {}", regression.getMessage());
+      }
+      logger.info(
+          "Recorded test run in history {} ({} previous builds)",
+          store.getHistoryFile().toAbsolutePath(),
+          previousRuns.size());
+
+      List<RunSnapshot> runs = new ArrayList<>(previousRuns);
+      runs.add(current);
+      return new RunHistory(runs, regressions);
+    } catch (Exception e) {
+      logger.warn("Failed to record test run history in {}: {}", historyDir, e.getMessage());
+      return RunHistory.empty();
+    }
+  }
+
+  /** Id shared by the forks of the current build, to call once per test JVM. */
+  public static String currentBuildId(Path reportDir) {
+    return buildId(historyDir(reportDir));
+  }
+
+  private static Path historyDir(Path reportDir) {
+    String customDir = System.getProperty(PROPERTY_PREFIX + "dir");
+    return customDir != null && !customDir.trim().isEmpty()
+        ? Paths.get(customDir)
+        : reportDir.resolve("history");
+  }
+
+  /**
+   * Id shared by the forks of the current build. Surefire and Failsafe fork the test JVMs from the
+   * Maven JVM, possibly through a shell, so the pid and start time of the closest Maven ancestor
+   * identify the build. Gradle runs its test workers from a long-living daemon, see {@link
+   * #gradleBuildId}.
+   */
+  static String buildId(Path historyDir) {
+    String configured = System.getProperty(PROPERTY_PREFIX + "build.id");
+    if (configured != null && !configured.isBlank()) {
+      return configured.trim();
+    }
+    ProcessHandle process = ProcessHandle.current();
+    if (System.getProperty("org.gradle.test.worker") != null) {
+      Instant forkStart = process.info().startInstant().orElse(Instant.now());
+      return process
+          .parent()
+          .map(daemon -> gradleBuildId(historyDir, daemon.pid(), forkStart, Instant.now()))
+          .orElseGet(() -> processId(process));
+    }
+    Optional<ProcessHandle> ancestor = process.parent();
+    for (int i = 0; i < MAX_ANCESTORS && ancestor.isPresent(); i++) {
+      if (isMavenJvm(ancestor.get())) {
+        return processId(ancestor.get());
+      }
+      ancestor = ancestor.get().parent();
+    }
+    return processId(process);
+  }
+
+  /**
+   * The forks of a Gradle test task run while the task runs, builds on the same daemon one after
+   * the other. A fork that started before the last fork of the daemon finished belongs to the same
+   * build and takes over its id. The last id of each daemon is kept in a file of the history
+   * directory, locked while it is updated by the forks finishing at the same time.
+   */
+  static String gradleBuildId(Path historyDir, long daemonPid, Instant forkStart, Instant now) {
+    String newId = daemonPid + "@" + forkStart.toEpochMilli();
+    try {
+      Files.createDirectories(historyDir);
+      try (FileChannel channel =
+              FileChannel.open(
+                  historyDir.resolve(GRADLE_BUILD_FILE),
+                  StandardOpenOption.CREATE,
+                  StandardOpenOption.READ,
+                  StandardOpenOption.WRITE);
+          FileLock lock = channel.lock()) {
+        ByteBuffer buffer = ByteBuffer.allocate((int) channel.size());
+        while (buffer.hasRemaining() && channel.read(buffer) >= 0) {}
+        String[] last = new String(buffer.array(), StandardCharsets.UTF_8).trim().split(" ");
+
+        String buildId = newId;
+        if (last.length == 3
+            && last[0].equals(String.valueOf(daemonPid))
+            && forkStart.toEpochMilli() <= Long.parseLong(last[2]) + GRADLE_FORK_GAP_MS) {
+          buildId = last[1];
+        }
+        channel.truncate(0);
+        channel.write(
+            ByteBuffer.wrap(
+                (daemonPid + " " + buildId + " " + now.toEpochMilli())
+                    .getBytes(StandardCharsets.UTF_8)),
+            0);
+        return buildId;
+      }
+    } catch (IOException | RuntimeException e) {
+      logger.debug("Failed to share the build id of the Gradle daemon: {}", e.getMessage());
+      return newId;
+    }
+  }
+
+  private static String processId(ProcessHandle process) {
+    return process.pid()
+        + "@"
+        + process.info().startInstant().map(Instant::toEpochMilli).orElse(0L);
+  }
+
+  private static boolean isMavenJvm(ProcessHandle process) {
+    ProcessHandle.Info info = process.info();
+    return info.arguments()
+        .map(arguments -> String.join(" ", arguments))
+        .or(info::commandLine)
+        .map(commandLine -> commandLine.contains("org.codehaus.plexus.classworlds"))
+        .orElse(false);
+  }
+}
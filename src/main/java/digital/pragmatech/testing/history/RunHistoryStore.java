@@ -0,0 +1,95 @@
+package digital.pragmatech.testing.history;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import digital.pragmatech.testing.util.SimpleJsonReader;
+import digital.pragmatech.testing.util.SimpleJsonWriter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Local, append-only store of {@link RunSnapshot}s. Each test JVM is written as a single JSON line
+ * to {@code runs.jsonl} inside the configured directory. Existing lines are never rewritten, so the
+ * file can be shared between the forks of a build (appends are guarded by a file lock) and cached
+ * between CI builds. The forks of a build are separate lines with the same build id, readers merge
+ * them with {@link RunSnapshot#mergeByBuild(List)}.
+ */
+public class RunHistoryStore {
+
+  private static final Logger logger = LoggerFactory.getLogger(RunHistoryStore.class);
+
+  static final String HISTORY_FILE_NAME = "runs.jsonl";
+
+  private final Path historyFile;
+
+  public RunHistoryStore(Path directory) {
+    this.historyFile = directory.resolve(HISTORY_FILE_NAME);
+  }
+
+  /** Appends a snapshot as a new line to the history file. */
+  public void append(RunSnapshot snapshot) throws IOException {
+    Files.createDirectories(historyFile.getParent());
+    byte[] line = (SimpleJsonWriter.toJson(snapshot) + "\n").getBytes(StandardCharsets.UTF_8);
+
+    try (FileChannel channel =
+            FileChannel.open(
+                historyFile,
+                StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE,
+                StandardOpenOption.APPEND);
+        FileLock ignored = channel.lock()) {
+      ByteBuffer buffer = ByteBuffer.wrap(line);
+      while (buffer.hasRemaining()) {
+        channel.write(buffer);
+      }
+    }
+  }
+
+  /**
+   * Reads the snapshots of the most recent builds in chronological order (oldest first), all forks
+   * of each build. Lines that cannot be parsed (e.g., truncated by a killed JVM) are skipped.
+   *
+   * @param limit maximum number of builds to return
+   */
+  public List<RunSnapshot> readRecent(int limit) throws IOException {
+    if (!Files.exists(historyFile)) {
+      return List.of();
+    }
+
+    List<RunSnapshot> snapshots = new ArrayList<>();
+    for (String line : Files.readAllLines(historyFile, StandardCharsets.UTF_8)) {
+      if (line.isBlank()) {
+        continue;
+      }
+      try {
+        snapshots.add(RunSnapshot.fromJson(SimpleJsonReader.parseObject(line.trim())));
+      } catch (IllegalArgumentException e) {
+        logger.debug("Skipping unreadable history entry in {}: {}", historyFile, e.getMessage());
+      }
+    }
+
+    Set<String> recentBuilds = new HashSet<>();
+    int first = snapshots.size();
+    while (first > 0
+        && (recentBuilds.contains(snapshots.get(first - 1).buildId())
+            || recentBuilds.size() < limit)) {
+      recentBuilds.add(snapshots.get(--first).buildId());
+    }
+    return List.copyOf(snapshots.subList(first, snapshots.size()));
+  }
+
+  public Path getHistoryFile() {
+    return historyFile;
+  }
+}
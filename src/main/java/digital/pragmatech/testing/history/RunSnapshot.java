@@ -0,0 +1,199 @@
+package digital.pragmatech.testing.history;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+
+import digital.pragmatech.testing.ContextCacheEntry;
+import digital.pragmatech.testing.ContextCacheTracker;
+import digital.pragmatech.testing.TestExecutionTracker;
+import digital.pragmatech.testing.util.SimpleJsonReader;
+
+/**
+ * Condensed, serializable view of a single test JVM that is appended to the {@link
+ * RunHistoryStore}. Only the metrics needed for trend analysis are kept: per-context load times,
+ * bean counts and hit rates as well as per-class durations. The forks of one build share the same
+ * {@code buildId} and are merged with {@link #mergeByBuild(List)} before they are compared.
+ */
+public record RunSnapshot(
+    String runId,
+    String buildId,
+    Instant timestamp,
+    long totalContextLoadTimeMs,
+    double contextReuseRate,
+    List<ContextSnapshot> contexts,
+    List<TestClassSnapshot> testClasses) {
+
+  /** Metrics of a single context within a run, keyed by its context fingerprint. */
+  public record ContextSnapshot(
+      String contextKey, String label, long loadTimeMs, int beanCount, int hitCount) {
+
+    /** Hit rate of this context in percent (one miss for the initial load, then only hits). */
+    public double getHitRate() {
+      int accesses = hitCount + 1;
+      return (double) hitCount / accesses * 100.0;
+    }
+  }
+
+  /** Duration of a single test class within a run. */
+  public record TestClassSnapshot(String className, long durationMs) {}
+
+  /** Captures the current state of the trackers as a snapshot of a fork of the given build. */
+  public static RunSnapshot capture(
+      String buildId,
+      TestExecutionTracker executionTracker,
+      ContextCacheTracker contextCacheTracker) {
+    List<ContextSnapshot> contexts = new ArrayList<>();
+    long totalContextLoadTimeMs = 0;
+    double reuseRate = 0.0;
+
+    if (contextCacheTracker != null) {
+      for (ContextCacheEntry entry : contextCacheTracker.getAllEntries()) {
+        if (!entry.isCreated() || entry.getTestClasses().isEmpty()) {
+          continue;
+        }
+        String representativeClass =
+            entry.getTestClasses().stream().min(Comparator.naturalOrder()).orElseThrow();
+        contexts.add(
+            new ContextSnapshot(
+                entry.getFingerprint(),
+                representativeClass.substring(representativeClass.lastIndexOf('.') + 1),
+                entry.getContextLoadTimeMs(),
+                entry.getBeanDefinitionCount(),
+                entry.getHitCount()));
+        totalContextLoadTimeMs += entry.getContextLoadTimeMs();
+      }
+      reuseRate = contextCacheTracker.getContextReuseRate();
+    }
+    contexts.sort(Comparator.comparing(ContextSnapshot::contextKey));
+
+    List<TestClassSnapshot> testClasses = new ArrayList<>();
+    if (executionTracker != null) {
+      for (TestExecutionTracker.TestClassMetrics metrics :
+          executionTracker.getClassMetrics().values()) {
+        testClasses.add(
+            new TestClassSnapshot(metrics.getClassName(), metrics.getDuration().toMillis()));
+      }
+    }
+    testClasses.sort(Comparator.comparing(TestClassSnapshot::className));
+
+    return new RunSnapshot(
+        UUID.randomUUID().toString(),
+        buildId,
+        Instant.now(),
+        totalContextLoadTimeMs,
+        reuseRate,
+        contexts,
+        testClasses);
+  }
+
+  /** Restores a snapshot from its parsed JSON representation. */
+  static RunSnapshot fromJson(Map<String, Object> json) {
+    List<ContextSnapshot> contexts = new ArrayList<>();
+    for (Object element : SimpleJsonReader.asList(json.get("contexts"))) {
+      Map<String, Object> context = SimpleJsonReader.asMap(element);
+      contexts.add(
+          new ContextSnapshot(
+              String.valueOf(context.get("contextKey")),
+              String.valueOf(context.get("label")),
+              SimpleJsonReader.asLong(context.get("loadTimeMs"), 0),
+              (int) SimpleJsonReader.asLong(context.get("beanCount"), 0),
+              (int) SimpleJsonReader.asLong(context.get("hitCount"), 0)));
+    }
+
+    List<TestClassSnapshot> testClasses = new ArrayList<>();
+    for (Object element : SimpleJsonReader.asList(json.get("testClasses"))) {
+      Map<String, Object> testClass = SimpleJsonReader.asMap(element);
+      testClasses.add(
+          new TestClassSnapshot(
+              String.valueOf(testClass.get("className")),
+              SimpleJsonReader.asLong(testClass.get("durationMs"), 0)));
+    }
+
+    String runId = String.valueOf(json.get("runId"));
+    return new RunSnapshot(
+        runId,
+        // Snapshots written before the build id was recorded count as builds of their own
+        json.get("buildId") != null ? String.valueOf(json.get("buildId")) : runId,
+        Instant.ofEpochSecond(SimpleJsonReader.asLong(json.get("timestamp"), 0)),
+        SimpleJsonReader.asLong(json.get("totalContextLoadTimeMs"), 0),
+        SimpleJsonReader.asDouble(json.get("contextReuseRate"), 0.0),
+        contexts,
+        testClasses);
+  }
+
+  /**
+   * Merges the snapshots of the forks of each build into one snapshot per build, in the order the
+   * builds were first recorded. A context loaded in several forks keeps the mean load time of its
+   * loads, the totals are summed.
+   */
+  public static List<RunSnapshot> mergeByBuild(List<RunSnapshot> snapshots) {
+    Map<String, List<RunSnapshot>> forksByBuild = new LinkedHashMap<>();
+    for (RunSnapshot snapshot : snapshots) {
+      forksByBuild.computeIfAbsent(snapshot.buildId(), buildId -> new ArrayList<>()).add(snapshot);
+    }
+    return forksByBuild.values().stream().map(RunSnapshot::merge).toList();
+  }
+
+  static RunSnapshot merge(List<RunSnapshot> forks) {
+    if (forks.size() == 1) {
+      return forks.get(0);
+    }
+
+    Map<String, List<ContextSnapshot>> loadsByContext = new TreeMap<>();
+    Map<String, Long> durationByClass = new TreeMap<>();
+    long totalContextLoadTimeMs = 0;
+    Instant timestamp = forks.get(0).timestamp();
+    for (RunSnapshot fork : forks) {
+      totalContextLoadTimeMs += fork.totalContextLoadTimeMs();
+      timestamp = fork.timestamp().isAfter(timestamp) ? fork.timestamp() : timestamp;
+      for (ContextSnapshot context : fork.contexts()) {
+        loadsByContext.computeIfAbsent(context.contextKey(), key -> new ArrayList<>()).add(context);
+      }
+      for (TestClassSnapshot testClass : fork.testClasses()) {
+        durationByClass.merge(testClass.className(), testClass.durationMs(), Math::max);
+      }
+    }
+
+    List<ContextSnapshot> contexts = new ArrayList<>();
+    long loads = 0;
+    long hits = 0;
+    for (List<ContextSnapshot> contextLoads : loadsByContext.values()) {
+      ContextSnapshot first = contextLoads.get(0);
+      int hitCount = contextLoads.stream().mapToInt(ContextSnapshot::hitCount).sum();
+      contexts.add(
+          new ContextSnapshot(
+              first.contextKey(),
+              first.label(),
+              Math.round(
+                  contextLoads.stream().mapToLong(ContextSnapshot::loadTimeMs).average().orElse(0)),
+              contextLoads.stream().mapToInt(ContextSnapshot::beanCount).max().orElse(0),
+              hitCount));
+      loads += contextLoads.size();
+      hits += hitCount;
+    }
+
+    List<TestClassSnapshot> testClasses = new ArrayList<>();
+    durationByClass.forEach(
+        (className, durationMs) -> testClasses.add(new TestClassSnapshot(className, durationMs)));
+
+    return new RunSnapshot(
+        forks.get(0).buildId(),
+        forks.get(0).buildId(),
+        timestamp,
+        totalContextLoadTimeMs,
+        loads + hits > 0 ? (double) hits / (loads + hits) * 100.0 : 0.0,
+        contexts,
+        testClasses);
+  }
+
+  /** Sum of all test class durations in this run. */
+  public long getTotalTestClassDurationMs() {
+    return testClasses.stream().mapToLong(TestClassSnapshot::durationMs).sum();
+  }
+}
@@ -0,0 +1,267 @@
+package digital.pragmatech.testing.journal;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Compact event log of one test JVM, written through a {@link MappedByteBuffer}. Every event is a
+ * fixed-size record of {@value #RECORD_SIZE} bytes: event type and flag, the interned ids of the
+ * test class, test method (or bean) and context, the thread id, the {@link System#nanoTime()} of
+ * the event and a duration.
+ *
+ * <p>Threads reserve a slot with an atomic increment and write their record without a lock. The
+ * type is written last with release semantics, a slot with type {@code 0} is not (yet) written. The
+ * pages of the mapping belong to the operating system, so the log survives a crash or kill of the
+ * JVM. The names behind the ids are appended to a {@code .names} file next to the log when they are
+ * interned, i.e. once per name. {@link BinaryEventLogReader} rebuilds the test execution metrics
+ * from both files.
+ *
+ * <p>The log has a fixed capacity, events beyond it are dropped and counted.
+ */
+public final class BinaryEventLog {
+
+  private static final Logger logger = LoggerFactory.getLogger(BinaryEventLog.class);
+
+  public static final String EVENT_LOG_DIR_NAME = "events";
+
+  static final int MAGIC = 0x53545045;
+  static final int VERSION = 1;
+
+  // Header: magic, version, record size, capacity, pid, epoch millis and nano time at the start
+  static final int HEADER_SIZE = 40;
+
+  // Record: type | flag << 8, class id, method id, context id, thread id, nano time, duration
+  static final int RECORD_SIZE = 40;
+
+  static final String LOG_SUFFIX = ".bin";
+  static final String NAMES_SUFFIX = ".names";
+
+  private static final VarHandle TYPE_AND_FLAG =
+      MethodHandles.byteBufferViewVarHandle(int[].class, ByteOrder.LITTLE_ENDIAN);
+
+  private static final BinaryEventLog DISABLED = new BinaryEventLog();
+
+  private static volatile BinaryEventLog current = DISABLED;
+
+  /** The event types, {@link #id()} is stored in the record and must never change. */
+  public enum EventType {
+    TEST_CLASS_START(1),
+    TEST_CLASS_END(2),
+    TEST_METHOD_START(3),
+    TEST_METHOD_END(4),
+    TEST_PHASE(5),
+    TEST_METHOD_TEARDOWN_END(6),
+    CONTEXT_LOADED(7),
+    CONTEXT_HIT(8),
+    BEAN_CREATED(9);
+
+    private final int id;
+
+    EventType(int id) {
+      this.id = id;
+    }
+
+    public int id() {
+      return id;
+    }
+
+    static EventType of(int id) {
+      for (EventType type : values()) {
+        if (type.id == id) {
+          return type;
+        }
+      }
+      return null;
+    }
+  }
+
+  private final Path logFile;
+  private final MappedByteBuffer buffer;
+  private final FileChannel namesChannel;
+  private final int capacity;
+  private final AtomicInteger nextSlot = new AtomicInteger();
+  private final AtomicLong dropped = new AtomicLong();
+  private final Map<String, Integer> nameIds = new ConcurrentHashMap<>();
+  // Guarded by this
+  private int lastNameId;
+  private boolean namesFailed;
+
+  private BinaryEventLog() {
+    this.logFile = null;
+    this.buffer = null;
+    this.namesChannel = null;
+    this.capacity = 0;
+  }
+
+  private BinaryEventLog(
+      Path logFile, MappedByteBuffer buffer, FileChannel namesChannel, int capacity) {
+    this.logFile = logFile;
+    this.buffer = buffer;
+    this.namesChannel = namesChannel;
+    this.capacity = capacity;
+  }
+
+  /** The log of this JVM, a disabled log until one is {@link #start started}. */
+  public static BinaryEventLog current() {
+    return current;
+  }
+
+  /** Creates the log of this JVM with room for the given number of events and makes it current. */
+  public static synchronized BinaryEventLog start(Path eventLogDir, int capacity)
+      throws IOException {
+    if (!current.isEnabled()) {
+      current = open(eventLogDir, capacity);
+    }
+    return current;
+  }
+
+  static BinaryEventLog open(Path eventLogDir, int capacity) throws IOException {
+    Files.createDirectories(eventLogDir);
+    long pid = ProcessHandle.current().pid();
+    long startedAt = System.currentTimeMillis();
+    String name = "run-" + pid + "-" + startedAt;
+    Path logFile = eventLogDir.resolve(name + LOG_SUFFIX);
+
+    MappedByteBuffer buffer;
+    try (FileChannel channel =
+        FileChannel.open(
+            logFile,
+            StandardOpenOption.CREATE_NEW,
+            StandardOpenOption.READ,
+            StandardOpenOption.WRITE)) {
+      // The mapping stays valid after the channel is closed
+      buffer =
+          channel.map(
+              FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE + (long) capacity * RECORD_SIZE);
+    }
+    buffer.order(ByteOrder.LITTLE_ENDIAN);
+    buffer.putInt(0, MAGIC);
+    buffer.putInt(4, VERSION);
+    buffer.putInt(8, RECORD_SIZE);
+    buffer.putInt(12, capacity);
+    buffer.putLong(16, pid);
+    buffer.putLong(24, startedAt);
+    buffer.putLong(32, System.nanoTime());
+
+    FileChannel namesChannel =
+        FileChannel.open(
+            eventLogDir.resolve(name + NAMES_SUFFIX),
+            StandardOpenOption.CREATE_NEW,
+            StandardOpenOption.WRITE,
+            StandardOpenOption.APPEND);
+
+    return new BinaryEventLog(logFile, buffer, namesChannel, capacity);
+  }
+
+  public boolean isEnabled() {
+    return buffer != null;
+  }
+
+  /**
+   * Appends an event, names that are {@code null} or could not be written to the names file are
+   * stored as id {@code 0}.
+   *
+   * @param flag the ordinal of the test status or phase, if any
+   * @param memberName the test method or bean name
+   */
+  public void append(
+      EventType type,
+      int flag,
+      String className,
+      String memberName,
+      String contextId,
+      long durationNanos) {
+    if (buffer == null) {
+      return;
+    }
+    long nanoTime = System.nanoTime();
+    int slot = nextSlot.getAndIncrement();
+    if (slot >= capacity) {
+      if (dropped.getAndIncrement() == 0) {
+        logger.warn(
+            "Event log {} is full after {} events, increase its capacity with"
+                + " -Dpragmatech.spring.test.insight.eventlog.capacity",
+            logFile,
+            capacity);
+      }
+      return;
+    }
+
+    int offset = HEADER_SIZE + slot * RECORD_SIZE;
+    buffer.putInt(offset + 4, intern(className));
+    buffer.putInt(offset + 8, intern(memberName));
+    buffer.putInt(offset + 12, intern(contextId));
+    buffer.putLong(offset + 16, Thread.currentThread().getId());
+    buffer.putLong(offset + 24, nanoTime);
+    buffer.putLong(offset + 32, durationNanos);
+    TYPE_AND_FLAG.setRelease((ByteBuffer) buffer, offset, type.id() | (flag & 0xFF) << 8);
+  }
+
+  /** Writes the mapped pages to the file, e.g. before another process reads the log. */
+  public void force() {
+    if (buffer != null) {
+      buffer.force();
+    }
+  }
+
+  /** Number of events dropped because the log was full. */
+  public long getDroppedEvents() {
+    return dropped.get();
+  }
+
+  public Path getLogFile() {
+    return logFile;
+  }
+
+  private int intern(String name) {
+    if (name == null) {
+      return 0;
+    }
+    Integer id = nameIds.get(name);
+    return id != null ? id : internNew(name);
+  }
+
+  private synchronized int internNew(String name) {
+    Integer id = nameIds.get(name);
+    if (id != null) {
+      return id;
+    }
+    if (namesFailed) {
+      return 0;
+    }
+    // The line number of a name in the names file is its id, so no id is assigned after a failed
+    // write. Otherwise every later id would point to the wrong line.
+    try {
+      ByteBuffer line =
+          ByteBuffer.wrap((name.replace('\n', ' ') + "\n").getBytes(StandardCharsets.UTF_8));
+      while (line.hasRemaining()) {
+        namesChannel.write(line);
+      }
+    } catch (IOException e) {
+      namesFailed = true;
+      logger.warn(
+          "Failed to write name to the event log, later names are logged as unknown: {}",
+          e.toString());
+      return 0;
+    }
+    int newId = ++lastNameId;
+    nameIds.put(name, newId);
+    return newId;
+  }
+}
@@ -0,0 +1,206 @@
+package digital.pragmatech.testing.journal;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import digital.pragmatech.testing.TestExecutionTracker;
+import digital.pragmatech.testing.TestStatus;
+import digital.pragmatech.testing.phases.TestPhase;
+
+/**
+ * Reads a {@link BinaryEventLog}, e.g. of a test JVM that was killed, or the logs of all forks of a
+ * build to aggregate them.
+ */
+public class BinaryEventLogReader {
+
+  /** A single event of the log with its names resolved. */
+  public record Event(
+      BinaryEventLog.EventType type,
+      int flag,
+      String className,
+      String memberName,
+      String contextId,
+      long threadId,
+      long nanoTime,
+      Instant timestamp,
+      long durationNanos) {}
+
+  /** A context of the log with the test classes that used it and the beans it created. */
+  public record ContextSummary(
+      String contextId,
+      long loadTimeNanos,
+      List<String> testClasses,
+      int hitCount,
+      int beanCount,
+      long beanCreationNanos) {}
+
+  /** Reads the events of a log in the order they were appended, skipping unwritten slots. */
+  public List<Event> read(Path logFile) throws IOException {
+    List<String> names = readNames(logFile);
+    ByteBuffer buffer;
+    try (FileChannel channel = FileChannel.open(logFile, StandardOpenOption.READ)) {
+      buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+    }
+    buffer.order(ByteOrder.LITTLE_ENDIAN);
+    if (buffer.limit() < BinaryEventLog.HEADER_SIZE
+        || buffer.getInt(0) != BinaryEventLog.MAGIC
+        || buffer.getInt(4) != BinaryEventLog.VERSION) {
+      throw new IOException("Not an event log of the Spring Test Profiler: " + logFile);
+    }
+    int recordSize = buffer.getInt(8);
+    int capacity = buffer.getInt(12);
+    long startedAt = buffer.getLong(24);
+    long startNanos = buffer.getLong(32);
+
+    List<Event> events = new ArrayList<>();
+    int slots =
+        (int) Math.min(capacity, (buffer.limit() - BinaryEventLog.HEADER_SIZE) / (long) recordSize);
+    for (int slot = 0; slot < slots; slot++) {
+      int offset = BinaryEventLog.HEADER_SIZE + slot * recordSize;
+      int typeAndFlag = buffer.getInt(offset);
+      BinaryEventLog.EventType type = BinaryEventLog.EventType.of(typeAndFlag & 0xFF);
+      if (type == null) {
+        continue;
+      }
+      long nanoTime = buffer.getLong(offset + 24);
+      events.add(
+          new Event(
+              type,
+              (typeAndFlag >>> 8) & 0xFF,
+              name(names, buffer.getInt(offset + 4)),
+              name(names, buffer.getInt(offset + 8)),
+              name(names, buffer.getInt(offset + 12)),
+              buffer.getLong(offset + 16),
+              nanoTime,
+              Instant.ofEpochMilli(startedAt).plusNanos(nanoTime - startNanos),
+              buffer.getLong(offset + 32)));
+    }
+    // Slots are reserved in order, but a thread may finish its record after a later one
+    events.sort(Comparator.comparingLong(Event::nanoTime));
+    return events;
+  }
+
+  /** Replays the test class and test method events into a new tracker. */
+  public TestExecutionTracker rebuildExecutionTracker(List<Event> events) {
+    TestExecutionTracker tracker = new TestExecutionTracker();
+    TestStatus[] statuses = TestStatus.values();
+    TestPhase[] phases = TestPhase.values();
+    for (Event event : events) {
+      switch (event.type()) {
+        case TEST_CLASS_START -> tracker.recordTestClassStart(event.className(), event.timestamp());
+        case TEST_CLASS_END -> tracker.recordTestClassEnd(event.className(), event.timestamp());
+        case TEST_METHOD_START ->
+            tracker.recordTestMethodStart(
+                event.className(), event.memberName(), event.timestamp(), event.nanoTime());
+        case TEST_METHOD_END ->
+            tracker.recordTestMethodEnd(
+                event.className(),
+                event.memberName(),
+                event.flag() < statuses.length ? statuses[event.flag()] : null,
+                event.timestamp());
+        case TEST_PHASE -> {
+          if (event.flag() < phases.length) {
+            tracker.recordTestPhase(
+                event.className(), event.memberName(), phases[event.flag()], event.nanoTime());
+          }
+        }
+        case TEST_METHOD_TEARDOWN_END ->
+            tracker.recordTestMethodTeardownEnd(
+                event.className(), event.memberName(), event.nanoTime());
+        default -> {
+          // Context and bean events are summarized by summarizeContexts
+        }
+      }
+    }
+    if (!events.isEmpty()) {
+      tracker.recordTrackingInterval(
+          events.get(0).timestamp(), events.get(events.size() - 1).timestamp());
+    }
+    return tracker;
+  }
+
+  /**
+   * Summarizes the contexts of the log. The log only knows the id of a context, not its {@code
+   * MergedContextConfiguration}, so the context cache itself cannot be rebuilt.
+   */
+  public List<ContextSummary> summarizeContexts(List<Event> events) {
+    Map<String, long[]> loads = new LinkedHashMap<>();
+    Map<String, Set<String>> testClasses = new LinkedHashMap<>();
+    Map<String, int[]> hits = new LinkedHashMap<>();
+    Map<String, long[]> beans = new LinkedHashMap<>();
+    for (Event event : events) {
+      if (event.contextId() == null) {
+        continue;
+      }
+      switch (event.type()) {
+        case CONTEXT_LOADED -> {
+          loads.computeIfAbsent(event.contextId(), id -> new long[1])[0] += event.durationNanos();
+          testClasses
+              .computeIfAbsent(event.contextId(), id -> new LinkedHashSet<>())
+              .add(event.className());
+        }
+        case CONTEXT_HIT -> {
+          hits.computeIfAbsent(event.contextId(), id -> new int[1])[0]++;
+          testClasses
+              .computeIfAbsent(event.contextId(), id -> new LinkedHashSet<>())
+              .add(event.className());
+        }
+        case BEAN_CREATED -> {
+          long[] beanTotals = beans.computeIfAbsent(event.contextId(), id -> new long[2]);
+          beanTotals[0]++;
+          beanTotals[1] += event.durationNanos();
+        }
+        default -> {
+          // Test events are replayed by rebuildExecutionTracker
+        }
+      }
+    }
+
+    List<ContextSummary> contexts = new ArrayList<>();
+    for (Map.Entry<String, long[]> load : loads.entrySet()) {
+      String contextId = load.getKey();
+      long[] beanTotals = beans.getOrDefault(contextId, new long[2]);
+      contexts.add(
+          new ContextSummary(
+              contextId,
+              load.getValue()[0],
+              List.copyOf(testClasses.getOrDefault(contextId, Set.of())),
+              hits.getOrDefault(contextId, new int[1])[0],
+              (int) beanTotals[0],
+              beanTotals[1]));
+    }
+    return contexts;
+  }
+
+  private static List<String> readNames(Path logFile) throws IOException {
+    String fileName = logFile.getFileName().toString();
+    Path namesFile =
+        logFile.resolveSibling(
+            fileName.substring(0, fileName.length() - BinaryEventLog.LOG_SUFFIX.length())
+                + BinaryEventLog.NAMES_SUFFIX);
+    return Files.exists(namesFile)
+        ? Files.readAllLines(namesFile, StandardCharsets.UTF_8)
+        : List.of();
+  }
+
+  private static String name(List<String> names, int id) {
+    if (id == 0) {
+      return null;
+    }
+    return id <= names.size() ? names.get(id - 1) : "unknown-" + id;
+  }
+}
@@ -0,0 +1,176 @@
+package digital.pragmatech.testing.journal;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+
+import digital.pragmatech.testing.ContextCacheEntry;
+import digital.pragmatech.testing.TestExecutionTracker;
+import digital.pragmatech.testing.reporting.TemplateHelpers;
+import digital.pragmatech.testing.reporting.json.JsonReportGenerator;
+import digital.pragmatech.testing.util.SimpleJsonWriter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.test.context.MergedContextConfiguration;
+
+/**
+ * Append-only journal of the contexts loaded and the test classes completed by one test JVM. Each
+ * event is written as a single JSON line to {@code journal/run-<pid>-<start>.jsonl} inside the
+ * report directory by a background thread, so the tests only pay for building the event.
+ *
+ * <p>The journal is deleted once the report of the JVM has been written. If the JVM is killed
+ * before (e.g., by a fork timeout of Surefire), the {@link RunJournalRecovery} of a later run
+ * rebuilds a JSON report from it.
+ */
+public class RunJournal {
+
+  private static final Logger logger = LoggerFactory.getLogger(RunJournal.class);
+
+  public static final String JOURNAL_DIR_NAME = "journal";
+
+  static final String TYPE_RUN = "run";
+  static final String TYPE_CONTEXT = "context";
+  static final String TYPE_TEST_CLASS = "testClass";
+
+  private static final long CLOSE_TIMEOUT_MS = 5_000;
+
+  // Compared by identity to stop the writer thread
+  private static final Map<String, Object> END_OF_JOURNAL = new HashMap<>();
+
+  private static final RunJournal DISABLED = new RunJournal(null);
+
+  private final Path journalFile;
+  private final BlockingQueue<Map<String, Object>> events = new LinkedBlockingQueue<>();
+  private volatile Thread writer;
+  private volatile boolean closed;
+
+  RunJournal(Path journalFile) {
+    this.journalFile = journalFile;
+  }
+
+  /** A journal that ignores all events, e.g. when the journal is disabled. */
+  public static RunJournal disabled() {
+    return DISABLED;
+  }
+
+  /** Creates the journal file of this JVM and starts its background writer. */
+  public static RunJournal start(Path journalDir) throws IOException {
+    Files.createDirectories(journalDir);
+    long pid = ProcessHandle.current().pid();
+    long startedAt = System.currentTimeMillis();
+    RunJournal journal =
+        new RunJournal(journalDir.resolve("run-" + pid + "-" + startedAt + ".jsonl"));
+
+    Map<String, Object> run = new LinkedHashMap<>();
+    run.put("pid", pid);
+    run.put("startedAt", startedAt);
+    journal.append(TYPE_RUN, run);
+    journal.startWriter();
+    return journal;
+  }
+
+  /** Appends a context right after it has been loaded. */
+  public void recordContextLoaded(ContextCacheEntry entry) {
+    if (isEnabled()) {
+      append(TYPE_CONTEXT, new TemplateHelpers.JsonHelper().contextStatistics(entry));
+    }
+  }
+
+  /** Appends a test class after all of its test methods have completed. */
+  public void recordTestClassCompleted(
+      TestExecutionTracker.TestClassMetrics metrics,
+      Optional<MergedContextConfiguration> configuration) {
+    if (isEnabled()) {
+      append(TYPE_TEST_CLASS, JsonReportGenerator.mapTestClass(metrics, configuration));
+    }
+  }
+
+  /** Writes the pending events and stops the writer. The journal file is kept. */
+  public void close() {
+    if (!isEnabled() || closed) {
+      return;
+    }
+    closed = true;
+    events.add(END_OF_JOURNAL);
+    try {
+      writer.join(CLOSE_TIMEOUT_MS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  /** Closes the journal and deletes it, called once the report of this JVM has been written. */
+  public void delete() {
+    close();
+    if (isEnabled()) {
+      try {
+        Files.deleteIfExists(journalFile);
+      } catch (IOException e) {
+        logger.debug("Failed to delete journal {}: {}", journalFile, e.getMessage());
+      }
+    }
+  }
+
+  public boolean isEnabled() {
+    return journalFile != null;
+  }
+
+  public Path getJournalFile() {
+    return journalFile;
+  }
+
+  void append(String type, Map<String, Object> data) {
+    if (closed) {
+      return;
+    }
+    Map<String, Object> event = new LinkedHashMap<>();
+    event.put("type", type);
+    event.put("timeMs", System.currentTimeMillis());
+    event.put("data", data);
+    events.add(event);
+  }
+
+  private void startWriter() {
+    Thread thread = new Thread(this::writeEvents, "SpringTestProfilerJournalWriter");
+    thread.setDaemon(true);
+    writer = thread;
+    thread.start();
+  }
+
+  private void writeEvents() {
+    try (BufferedWriter out = Files.newBufferedWriter(journalFile, StandardCharsets.UTF_8)) {
+      List<Map<String, Object>> batch = new ArrayList<>();
+      while (true) {
+        batch.add(events.take());
+        events.drainTo(batch);
+        for (Map<String, Object> event : batch) {
+          if (event == END_OF_JOURNAL) {
+            out.flush();
+            return;
+          }
+          out.write(SimpleJsonWriter.toJson(event));
+          out.newLine();
+        }
+        // Flush per batch, a killed JVM loses at most the events of the current batch
+        out.flush();
+        batch.clear();
+      }
+    } catch (IOException e) {
+      closed = true;
+      events.clear();
+      logger.warn("Failed to write journal {}: {}", journalFile, e.getMessage());
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
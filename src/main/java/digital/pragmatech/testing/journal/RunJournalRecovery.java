@@ -0,0 +1,228 @@
+package digital.pragmatech.testing.journal;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import digital.pragmatech.testing.reporting.json.JsonReportGenerator;
+import digital.pragmatech.testing.util.SimpleJsonReader;
+import digital.pragmatech.testing.util.SimpleJsonWriter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Rebuilds the reports of test JVMs that died before writing them. A {@link RunJournal} that is
+ * still present after its JVM exited belongs to such a JVM; it is replayed into a JSON report with
+ * the structure of the {@link JsonReportGenerator} and deleted afterwards. Every test JVM looks for
+ * abandoned journals when it finishes, so a journal is claimed by renaming it atomically first and
+ * only the JVM that succeeded recovers it.
+ */
+public class RunJournalRecovery {
+
+  private static final Logger logger = LoggerFactory.getLogger(RunJournalRecovery.class);
+
+  static final String RECOVERED_REPORT_PREFIX = "spring-test-profiler-recovered-";
+
+  private static final String CLAIMED_SUFFIX = ".claimed";
+
+  /**
+   * Replays the journals of JVMs that are no longer running.
+   *
+   * @return the recovered JSON reports
+   */
+  public List<Path> recoverAbandoned(Path reportDir) {
+    Path journalDir = reportDir.resolve(RunJournal.JOURNAL_DIR_NAME);
+    if (!Files.isDirectory(journalDir)) {
+      return List.of();
+    }
+
+    List<Path> journals;
+    try (Stream<Path> files = Files.list(journalDir)) {
+      journals = files.filter(file -> file.toString().endsWith(".jsonl")).sorted().toList();
+    } catch (IOException e) {
+      logger.debug("Failed to list journals in {}: {}", journalDir, e.getMessage());
+      return List.of();
+    }
+
+    List<Path> recovered = new ArrayList<>();
+    for (Path journal : journals) {
+      Path claimed = journal.resolveSibling(journal.getFileName() + CLAIMED_SUFFIX);
+      try {
+        List<Map<String, Object>> events = readEvents(journal);
+        if (!isAbandoned(events)) {
+          continue;
+        }
+        // Forks finishing at the same time all see the journal, only the one renaming it recovers
+        Files.move(journal, claimed, StandardCopyOption.ATOMIC_MOVE);
+      } catch (NoSuchFileException e) {
+        logger.debug("Journal {} is recovered by another test JVM", journal);
+        continue;
+      } catch (IOException e) {
+        logger.warn("Failed to recover journal {}: {}", journal, e.getMessage());
+        continue;
+      }
+
+      try {
+        List<Map<String, Object>> events = readEvents(claimed);
+        String name = journal.getFileName().toString().replace(".jsonl", ".json");
+        Path report = reportDir.resolve(RECOVERED_REPORT_PREFIX + name);
+        Files.writeString(
+            report,
+            SimpleJsonWriter.toJsonPretty(replay(events, journal.getFileName().toString())),
+            StandardCharsets.UTF_8);
+        Files.deleteIfExists(claimed);
+        recovered.add(report);
+        logger.warn(
+            "Recovered the report of a test JVM that exited before writing it: {}",
+            report.toAbsolutePath());
+      } catch (IOException e) {
+        logger.warn("Failed to recover journal {}: {}", journal, e.getMessage());
+        releaseClaim(claimed, journal);
+      }
+    }
+    return recovered;
+  }
+
+  /** Hands the journal back, so that the next test JVM retries the recovery. */
+  private static void releaseClaim(Path claimed, Path journal) {
+    try {
+      Files.move(claimed, journal, StandardCopyOption.ATOMIC_MOVE);
+    } catch (IOException e) {
+      logger.debug("Failed to release journal {}: {}", claimed, e.getMessage());
+    }
+  }
+
+  /** Reads the events of a journal, skipping lines that cannot be parsed (e.g., truncated). */
+  static List<Map<String, Object>> readEvents(Path journal) throws IOException {
+    List<Map<String, Object>> events = new ArrayList<>();
+    for (String line : Files.readAllLines(journal, StandardCharsets.UTF_8)) {
+      if (line.isBlank()) {
+        continue;
+      }
+      try {
+        events.add(SimpleJsonReader.parseObject(line));
+      } catch (IllegalArgumentException e) {
+        logger.debug("Skipping unreadable journal entry in {}: {}", journal, e.getMessage());
+      }
+    }
+    return events;
+  }
+
+  /**
+   * A journal is abandoned once the JVM that wrote it is gone. Pids are reused, a running process
+   * with the pid of the journal only wrote it if it started before the journal.
+   */
+  static boolean isAbandoned(List<Map<String, Object>> events) {
+    if (events.isEmpty() || !RunJournal.TYPE_RUN.equals(events.get(0).get("type"))) {
+      // Not written yet by the background writer of a running JVM
+      return false;
+    }
+    Map<String, Object> run = SimpleJsonReader.asMap(events.get(0).get("data"));
+    long pid = SimpleJsonReader.asLong(run.get("pid"), -1);
+    long startedAt = SimpleJsonReader.asLong(run.get("startedAt"), -1);
+    return ProcessHandle.of(pid)
+        .map(process -> !process.isAlive() || startedAfter(process, startedAt))
+        .orElse(true);
+  }
+
+  private static boolean startedAfter(ProcessHandle process, long startedAt) {
+    if (startedAt < 0) {
+      return false;
+    }
+    return process
+        .info()
+        .startInstant()
+        .map(startInstant -> startInstant.isAfter(Instant.ofEpochMilli(startedAt)))
+        .orElse(false);
+  }
+
+  /** Replays the events into the structure of a JSON report. */
+  static Map<String, Object> replay(List<Map<String, Object>> events, String journalName) {
+    Map<String, Map<String, Object>> contexts = new LinkedHashMap<>();
+    List<Map<String, Object>> testClasses = new ArrayList<>();
+    long startedAt = -1;
+    long lastEventAt = -1;
+
+    for (Map<String, Object> event : events) {
+      Map<String, Object> data = SimpleJsonReader.asMap(event.get("data"));
+      lastEventAt = Math.max(lastEventAt, SimpleJsonReader.asLong(event.get("timeMs"), -1));
+      switch (String.valueOf(event.get("type"))) {
+        case RunJournal.TYPE_RUN -> startedAt = SimpleJsonReader.asLong(data.get("startedAt"), -1);
+        case RunJournal.TYPE_CONTEXT -> contexts.put(String.valueOf(data.get("contextKey")), data);
+        case RunJournal.TYPE_TEST_CLASS -> testClasses.add(data);
+        default -> logger.debug("Skipping unknown journal event {}", event.get("type"));
+      }
+    }
+
+    // The journal only holds the first test class of a context, the others follow from the classes
+    Map<String, Set<String>> contextTestClasses = new LinkedHashMap<>();
+    for (Map.Entry<String, Map<String, Object>> context : contexts.entrySet()) {
+      Set<String> classNames = new LinkedHashSet<>();
+      SimpleJsonReader.asList(context.getValue().get("testClasses"))
+          .forEach(className -> classNames.add(String.valueOf(className)));
+      contextTestClasses.put(context.getKey(), classNames);
+    }
+    for (Map<String, Object> testClass : testClasses) {
+      Set<String> classNames = contextTestClasses.get(String.valueOf(testClass.get("contextKey")));
+      if (classNames != null) {
+        classNames.add(String.valueOf(testClass.get("className")));
+      }
+    }
+    contexts.forEach(
+        (contextKey, context) ->
+            context.put("testClasses", new ArrayList<>(contextTestClasses.get(contextKey))));
+
+    int cacheMisses = contexts.size();
+    int cacheHits =
+        Math.max(
+            0, contextTestClasses.values().stream().mapToInt(Set::size).sum() - contexts.size());
+
+    Map<String, Object> summary = new LinkedHashMap<>();
+    summary.put("totalTestClasses", testClasses.size());
+    summary.put(
+        "totalTestMethods",
+        testClasses.stream()
+            .mapToLong(testClass -> SimpleJsonReader.asLong(testClass.get("totalMethods"), 0))
+            .sum());
+    summary.put("totalDurationMs", startedAt >= 0 ? Math.max(0, lastEventAt - startedAt) : 0);
+    summary.put("contextsCreated", contexts.size());
+    summary.put("cacheHits", cacheHits);
+    summary.put("cacheMisses", cacheMisses);
+    summary.put(
+        "contextReuseRate",
+        cacheHits + cacheMisses > 0 ? (double) cacheHits / (cacheHits + cacheMisses) * 100.0 : 0.0);
+    summary.put(
+        "totalContextLoadTimeMs",
+        contexts.values().stream()
+            .mapToLong(context -> SimpleJsonReader.asLong(context.get("loadDuration"), 0))
+            .sum());
+    summary.put(
+        "gcPauseTimeMs",
+        testClasses.stream()
+            .mapToLong(testClass -> SimpleJsonReader.asLong(testClass.get("gcPauseTimeMs"), 0))
+            .sum());
+
+    testClasses.sort(Comparator.comparing(testClass -> String.valueOf(testClass.get("className"))));
+
+    Map<String, Object> report = new LinkedHashMap<>();
+    report.put("schemaVersion", JsonReportGenerator.SCHEMA_VERSION);
+    report.put("generatedAt", Instant.now());
+    report.put("recoveredFrom", journalName);
+    report.put("summary", summary);
+    report.put("contexts", new ArrayList<>(contexts.values()));
+    report.put("testClasses", testClasses);
+    return report;
+  }
+}
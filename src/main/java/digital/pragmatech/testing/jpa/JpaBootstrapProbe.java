@@ -0,0 +1,230 @@
+package digital.pragmatech.testing.jpa;
+
+import java.lang.reflect.Method;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.config.InstantiationAwareBeanPostProcessor;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ReflectionUtils;
+
+/**
+ * Breaks the bootstrap of Spring's JPA entity manager factory beans with Hibernate down into entity
+ * scanning, building the metamodel, schema management ({@code hbm2ddl}) and the second-level cache,
+ * so the report can show e.g. that most of a context's load time is spent creating the schema.
+ *
+ * <ul>
+ *   <li>Entity scanning is the creation time of the {@code PersistenceManagedTypes} bean Spring
+ *       Boot scans the entity packages with.
+ *   <li>Schema management is measured by registering a timing proxy around Hibernate's {@code
+ *       SchemaManagementTool} via the {@code hibernate.schema_management_tool} property, unless the
+ *       application configured its own tool.
+ *   <li>The second-level cache is measured by a timing proxy around the configured {@code
+ *       RegionFactory}.
+ *   <li>The metamodel time is the remaining time of the entity manager factory's initialization.
+ * </ul>
+ *
+ * <p>Everything Hibernate- and JPA-specific is accessed reflectively, the probe has no effect if
+ * Hibernate is not used.
+ */
+public class JpaBootstrapProbe implements InstantiationAwareBeanPostProcessor {
+
+  private static final Logger logger = LoggerFactory.getLogger(JpaBootstrapProbe.class);
+
+  private static final String ENTITY_MANAGER_FACTORY_BEAN =
+      "org.springframework.orm.jpa.AbstractEntityManagerFactoryBean";
+  private static final String PERSISTENCE_MANAGED_TYPES =
+      "org.springframework.orm.jpa.persistenceunit.PersistenceManagedTypes";
+  private static final String SCHEMA_MANAGEMENT_TOOL =
+      "org.hibernate.tool.schema.internal.HibernateSchemaManagementTool";
+
+  static final String SCHEMA_MANAGEMENT_TOOL_PROPERTY = "hibernate.schema_management_tool";
+  static final String REGION_FACTORY_PROPERTY = "hibernate.cache.region.factory_class";
+
+  // Short names Hibernate resolves to region factory implementations
+  private static final Map<String, String> REGION_FACTORY_SHORT_NAMES =
+      Map.of(
+          "jcache", "org.hibernate.cache.jcache.internal.JCacheRegionFactory",
+          "ehcache", "org.hibernate.cache.ehcache.internal.EhcacheRegionFactory");
+
+  private final Consumer<JpaBootstrapProfile> profileConsumer;
+  private final String entityManagerFactoryBeanType;
+  private final String schemaManagementToolType;
+
+  private final Map<String, Long> scanStartNanos = new ConcurrentHashMap<>();
+  private final AtomicLong entityScanNanos = new AtomicLong();
+  private final Map<String, Bootstrap> bootstraps = new ConcurrentHashMap<>();
+
+  public JpaBootstrapProbe(Consumer<JpaBootstrapProfile> profileConsumer) {
+    this(profileConsumer, ENTITY_MANAGER_FACTORY_BEAN, SCHEMA_MANAGEMENT_TOOL);
+  }
+
+  // Visible for tests, which run without Spring's JPA support and Hibernate on the classpath
+  JpaBootstrapProbe(
+      Consumer<JpaBootstrapProfile> profileConsumer,
+      String entityManagerFactoryBeanType,
+      String schemaManagementToolType) {
+    this.profileConsumer = profileConsumer;
+    this.entityManagerFactoryBeanType = entityManagerFactoryBeanType;
+    this.schemaManagementToolType = schemaManagementToolType;
+  }
+
+  /** Whether Spring's JPA support and Hibernate are on the classpath. */
+  public static boolean isApplicable(ClassLoader classLoader) {
+    return ClassUtils.isPresent(ENTITY_MANAGER_FACTORY_BEAN, classLoader)
+        && ClassUtils.isPresent("org.hibernate.SessionFactory", classLoader);
+  }
+
+  @Override
+  public Object postProcessBeforeInstantiation(Class<?> beanClass, String beanName)
+      throws BeansException {
+    if (isAssignable(beanClass, PERSISTENCE_MANAGED_TYPES)) {
+      scanStartNanos.put(beanName, System.nanoTime());
+    }
+    return null;
+  }
+
+  @Override
+  public Object postProcessBeforeInitialization(Object bean, String beanName)
+      throws BeansException {
+    if (isAssignable(bean.getClass(), entityManagerFactoryBeanType)) {
+      // The entity manager factory is built in afterPropertiesSet(), right after this callback
+      bootstraps.put(beanName, prepare(bean));
+    }
+    return bean;
+  }
+
+  @Override
+  public Object postProcessAfterInitialization(Object bean, String beanName) throws BeansException {
+    Long scanStart = scanStartNanos.remove(beanName);
+    if (scanStart != null) {
+      entityScanNanos.addAndGet(System.nanoTime() - scanStart);
+    }
+
+    Bootstrap bootstrap = bootstraps.remove(beanName);
+    if (bootstrap != null) {
+      long entityManagerFactoryNanos = System.nanoTime() - bootstrap.startNanos;
+      profileConsumer.accept(
+          new JpaBootstrapProfile(
+              beanName,
+              entityScanNanos.getAndSet(0) / 1_000_000,
+              bootstrap.background ? -1 : entityManagerFactoryNanos / 1_000_000,
+              bootstrap.schemaManagementNanos != null
+                  ? bootstrap.schemaManagementNanos.get() / 1_000_000
+                  : -1,
+              bootstrap.secondLevelCacheNanos != null
+                  ? bootstrap.secondLevelCacheNanos.get() / 1_000_000
+                  : -1,
+              bootstrap.background ? -1 : countEntities(bean)));
+    }
+    return bean;
+  }
+
+  private Bootstrap prepare(Object entityManagerFactoryBean) {
+    Bootstrap bootstrap = new Bootstrap();
+    try {
+      bootstrap.background = invoke(entityManagerFactoryBean, "getBootstrapExecutor") != null;
+
+      @SuppressWarnings("unchecked")
+      Map<String, Object> jpaProperties =
+          (Map<String, Object>) invoke(entityManagerFactoryBean, "getJpaPropertyMap");
+      if (jpaProperties == null) {
+        return bootstrap;
+      }
+
+      if (!jpaProperties.containsKey(SCHEMA_MANAGEMENT_TOOL_PROPERTY)) {
+        Object tool = instantiate(schemaManagementToolType, entityManagerFactoryBean);
+        if (tool != null) {
+          bootstrap.schemaManagementNanos = new AtomicLong();
+          jpaProperties.put(
+              SCHEMA_MANAGEMENT_TOOL_PROPERTY,
+              TimingProxies.timeSchemaTools(tool, bootstrap.schemaManagementNanos));
+        }
+      }
+
+      Object regionFactory =
+          resolveRegionFactory(
+              jpaProperties.get(REGION_FACTORY_PROPERTY), entityManagerFactoryBean);
+      if (regionFactory != null) {
+        bootstrap.secondLevelCacheNanos = new AtomicLong();
+        jpaProperties.put(
+            REGION_FACTORY_PROPERTY,
+            TimingProxies.timeAllMethods(regionFactory, bootstrap.secondLevelCacheNanos));
+      }
+    } catch (RuntimeException e) {
+      logger.debug("Failed to prepare JPA bootstrap profiling: {}", e.getMessage());
+    }
+    return bootstrap;
+  }
+
+  /** Instantiates the configured region factory, so it can be wrapped in a timing proxy. */
+  private static Object resolveRegionFactory(Object setting, Object entityManagerFactoryBean) {
+    if (setting == null) {
+      return null;
+    }
+    if (setting instanceof Class<?> regionFactoryClass) {
+      return instantiate(regionFactoryClass.getName(), entityManagerFactoryBean);
+    }
+    if (setting instanceof String name) {
+      String className = REGION_FACTORY_SHORT_NAMES.getOrDefault(name.trim(), name.trim());
+      return className.contains(".") ? instantiate(className, entityManagerFactoryBean) : null;
+    }
+    // A configured instance
+    return setting;
+  }
+
+  private static int countEntities(Object entityManagerFactoryBean) {
+    try {
+      Object entityManagerFactory =
+          invoke(entityManagerFactoryBean, "getNativeEntityManagerFactory");
+      Object metamodel =
+          entityManagerFactory != null ? invoke(entityManagerFactory, "getMetamodel") : null;
+      Object entities = metamodel != null ? invoke(metamodel, "getEntities") : null;
+      return entities instanceof Collection<?> collection ? collection.size() : -1;
+    } catch (RuntimeException e) {
+      return -1;
+    }
+  }
+
+  private static Object instantiate(String className, Object context) {
+    try {
+      Class<?> type = ClassUtils.forName(className, context.getClass().getClassLoader());
+      return type.getDeclaredConstructor().newInstance();
+    } catch (ReflectiveOperationException | LinkageError e) {
+      logger.debug("Failed to instantiate {}: {}", className, e.getMessage());
+      return null;
+    }
+  }
+
+  private static Object invoke(Object target, String methodName) {
+    Method method = ReflectionUtils.findMethod(target.getClass(), methodName);
+    if (method == null) {
+      return null;
+    }
+    ReflectionUtils.makeAccessible(method);
+    return ReflectionUtils.invokeMethod(method, target);
+  }
+
+  private static boolean isAssignable(Class<?> type, String typeName) {
+    for (Class<?> candidate = type; candidate != null; candidate = candidate.getSuperclass()) {
+      if (candidate.getName().equals(typeName)) {
+        return true;
+      }
+    }
+    return ClassUtils.getAllInterfacesForClassAsSet(type).stream()
+        .anyMatch(candidate -> candidate.getName().equals(typeName));
+  }
+
+  private static final class Bootstrap {
+    private final long startNanos = System.nanoTime();
+    private boolean background;
+    private AtomicLong schemaManagementNanos;
+    private AtomicLong secondLevelCacheNanos;
+  }
+}
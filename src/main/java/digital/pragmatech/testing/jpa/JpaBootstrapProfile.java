@@ -0,0 +1,43 @@
+package digital.pragmatech.testing.jpa;
+
+/**
+ * Breakdown of the bootstrap of one JPA {@code EntityManagerFactory}.
+ *
+ * @param beanName name of the entity manager factory bean
+ * @param entityScanTimeMs time spent scanning for entity classes ({@code PersistenceManagedTypes})
+ * @param entityManagerFactoryTimeMs time spent building the entity manager factory, {@code -1} if
+ *     it was bootstrapped in the background
+ * @param schemaManagementTimeMs time spent creating, dropping, migrating or validating the schema
+ *     ({@code hbm2ddl}), {@code -1} if not measured
+ * @param secondLevelCacheTimeMs time spent starting the second-level cache and building its
+ *     regions, {@code -1} if no cache is configured or it could not be measured
+ * @param entityCount number of entities of the metamodel, {@code -1} if unknown
+ */
+public record JpaBootstrapProfile(
+    String beanName,
+    long entityScanTimeMs,
+    long entityManagerFactoryTimeMs,
+    long schemaManagementTimeMs,
+    long secondLevelCacheTimeMs,
+    int entityCount) {
+
+  /** Entity scanning plus building the entity manager factory. */
+  public long getTotalTimeMs() {
+    return entityScanTimeMs + Math.max(0, entityManagerFactoryTimeMs);
+  }
+
+  /**
+   * Time spent building the mapping metadata and the metamodel: the entity manager factory time
+   * without schema management and second-level cache.
+   */
+  public long getMetamodelTimeMs() {
+    if (entityManagerFactoryTimeMs < 0) {
+      return -1;
+    }
+    return Math.max(
+        0,
+        entityManagerFactoryTimeMs
+            - Math.max(0, schemaManagementTimeMs)
+            - Math.max(0, secondLevelCacheTimeMs));
+  }
+}
@@ -0,0 +1,69 @@
+package digital.pragmatech.testing.jpa;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+
+import org.springframework.util.ClassUtils;
+
+/**
+ * JDK proxies that measure the time spent in the methods of Hibernate services without compiling
+ * against Hibernate. The proxies implement all interfaces of the delegate, so Hibernate's service
+ * registry still sees e.g. {@code ServiceRegistryAwareService}.
+ */
+final class TimingProxies {
+
+  private TimingProxies() {}
+
+  /** Adds the time spent in every method of the returned proxy to the given counter. */
+  static Object timeAllMethods(Object delegate, AtomicLong nanos) {
+    return proxy(delegate, method -> true, nanos, false);
+  }
+
+  /**
+   * Wraps the objects returned by the {@code getSchema*} methods of a {@code SchemaManagementTool}
+   * (creator, dropper, migrator, validator, ...) and adds the time spent in them to the given
+   * counter.
+   */
+  static Object timeSchemaTools(Object schemaManagementTool, AtomicLong nanos) {
+    return proxy(
+        schemaManagementTool, method -> method.getName().startsWith("getSchema"), nanos, true);
+  }
+
+  private static Object proxy(
+      Object delegate, Predicate<Method> selected, AtomicLong nanos, boolean wrapResult) {
+    Class<?>[] interfaces =
+        ClassUtils.getAllInterfacesForClass(
+            delegate.getClass(), delegate.getClass().getClassLoader());
+    InvocationHandler handler =
+        (proxy, method, args) -> {
+          if (!selected.test(method)) {
+            return invoke(delegate, method, args);
+          }
+          if (wrapResult) {
+            Object result = invoke(delegate, method, args);
+            return result != null && method.getReturnType().isInterface()
+                ? timeAllMethods(result, nanos)
+                : result;
+          }
+          long start = System.nanoTime();
+          try {
+            return invoke(delegate, method, args);
+          } finally {
+            nanos.addAndGet(System.nanoTime() - start);
+          }
+        };
+    return Proxy.newProxyInstance(delegate.getClass().getClassLoader(), interfaces, handler);
+  }
+
+  private static Object invoke(Object delegate, Method method, Object[] args) throws Throwable {
+    try {
+      return method.invoke(delegate, args);
+    } catch (InvocationTargetException e) {
+      throw e.getTargetException();
+    }
+  }
+}
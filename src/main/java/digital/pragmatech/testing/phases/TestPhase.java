@@ -0,0 +1,27 @@
+package digital.pragmatech.testing.phases;
+
+/** Where the time of a test method goes, from the first before callback to the last after one. */
+public enum TestPhase {
+  /** Before callbacks of other listeners and {@code @BeforeEach} methods. */
+  SETUP("Setup"),
+  /** Begin and rollback (or commit) of the test-managed transaction. */
+  TRANSACTION("Transaction"),
+  /** {@code @Sql} scripts executed before and after the test method. */
+  SQL_SCRIPTS("@Sql Scripts"),
+  /** Reset of Mockito mocks and spies in the context. */
+  MOCK_RESET("Mock Reset"),
+  /** The test method itself. */
+  EXECUTION("Execution"),
+  /** {@code @AfterEach} methods and after callbacks of other listeners. */
+  TEARDOWN("Teardown");
+
+  private final String displayName;
+
+  TestPhase(String displayName) {
+    this.displayName = displayName;
+  }
+
+  public String getDisplayName() {
+    return displayName;
+  }
+}
@@ -0,0 +1,65 @@
+package digital.pragmatech.testing.phases;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/** Time spent per {@link TestPhase}, e.g. for a test method or all methods of a test class. */
+public class TestPhaseDurations {
+
+  private final AtomicLongArray nanos = new AtomicLongArray(TestPhase.values().length);
+
+  public void add(TestPhase phase, long durationNanos) {
+    nanos.addAndGet(phase.ordinal(), Math.max(0, durationNanos));
+  }
+
+  public void addAll(TestPhaseDurations other) {
+    for (TestPhase phase : TestPhase.values()) {
+      add(phase, other.nanos.get(phase.ordinal()));
+    }
+  }
+
+  public long getNanos(TestPhase phase) {
+    return nanos.get(phase.ordinal());
+  }
+
+  public long getMs(TestPhase phase) {
+    return getNanos(phase) / 1_000_000;
+  }
+
+  public long getTotalMs() {
+    return getTotalNanos() / 1_000_000;
+  }
+
+  public double getPercentage(TestPhase phase) {
+    long total = getTotalNanos();
+    return total > 0 ? getNanos(phase) * 100.0 / total : 0.0;
+  }
+
+  /**
+   * Whether the transaction, {@code @Sql} and mock reset phases were told apart, i.e. the {@link
+   * TestPhaseListener}s are registered and at least one of these phases took measurable time.
+   */
+  public boolean isSplitRecorded() {
+    return getNanos(TestPhase.TRANSACTION) > 0
+        || getNanos(TestPhase.SQL_SCRIPTS) > 0
+        || getNanos(TestPhase.MOCK_RESET) > 0;
+  }
+
+  private long getTotalNanos() {
+    long total = 0;
+    for (TestPhase phase : TestPhase.values()) {
+      total += getNanos(phase);
+    }
+    return total;
+  }
+
+  /** Milliseconds per phase, keyed by the phase name. */
+  public Map<String, Long> toMillisMap() {
+    Map<String, Long> map = new LinkedHashMap<>();
+    for (TestPhase phase : TestPhase.values()) {
+      map.put(phase.name(), getMs(phase));
+    }
+    return map;
+  }
+}
@@ -0,0 +1,94 @@
+package digital.pragmatech.testing.phases;
+
+import digital.pragmatech.testing.SpringTestProfilerListener;
+import org.springframework.core.Ordered;
+import org.springframework.lang.NonNull;
+import org.springframework.test.context.TestContext;
+import org.springframework.test.context.support.AbstractTestExecutionListener;
+
+/**
+ * Marks the boundaries of Spring's own test execution listeners, so the time of a test method can
+ * be split into transaction handling, {@code @Sql} scripts and mock resets. Each probe is ordered
+ * right before or after one of Spring's listeners: before callbacks run in ascending order, after
+ * callbacks in descending order. Each probe starts the phase of the listener that runs next, i.e.
+ * the one after it in {@code beforeTestMethod} and the one before it in {@code afterTestMethod}.
+ *
+ * <p>The probes only record data while the {@link SpringTestProfilerListener} is active. Without
+ * them, the time between the callbacks of the profiler is only split into setup, execution and
+ * teardown.
+ */
+public abstract class TestPhaseListener extends AbstractTestExecutionListener {
+
+  // Orders of Spring's listeners (no public constants before Spring Framework 6.1)
+  private static final int TRANSACTIONAL_LISTENER_ORDER = 4000;
+  private static final int SQL_SCRIPTS_LISTENER_ORDER = 5000;
+  private static final int MOCKITO_RESET_LISTENER_ORDER = Ordered.LOWEST_PRECEDENCE - 100;
+
+  private final int order;
+  private final TestPhase beforePhase;
+  private final TestPhase afterPhase;
+
+  protected TestPhaseListener(int order, TestPhase beforePhase, TestPhase afterPhase) {
+    this.order = order;
+    this.beforePhase = beforePhase;
+    this.afterPhase = afterPhase;
+  }
+
+  @Override
+  public final int getOrder() {
+    return order;
+  }
+
+  TestPhase getBeforePhase() {
+    return beforePhase;
+  }
+
+  TestPhase getAfterPhase() {
+    return afterPhase;
+  }
+
+  @Override
+  public void beforeTestMethod(@NonNull TestContext testContext) {
+    SpringTestProfilerListener.recordTestPhase(testContext, beforePhase);
+  }
+
+  @Override
+  public void afterTestMethod(@NonNull TestContext testContext) {
+    SpringTestProfilerListener.recordTestPhase(testContext, afterPhase);
+  }
+
+  /** Runs right before the transaction begins and right after it is rolled back. */
+  public static class BeforeTransaction extends TestPhaseListener {
+    public BeforeTransaction() {
+      super(TRANSACTIONAL_LISTENER_ORDER - 1, TestPhase.TRANSACTION, TestPhase.TEARDOWN);
+    }
+  }
+
+  /** Runs between the transaction and the {@code @Sql} scripts. */
+  public static class BeforeSqlScripts extends TestPhaseListener {
+    public BeforeSqlScripts() {
+      super(TRANSACTIONAL_LISTENER_ORDER + 1, TestPhase.SQL_SCRIPTS, TestPhase.TRANSACTION);
+    }
+  }
+
+  /** Runs right after the {@code @Sql} scripts before the test method and before those after it. */
+  public static class AfterSqlScripts extends TestPhaseListener {
+    public AfterSqlScripts() {
+      super(SQL_SCRIPTS_LISTENER_ORDER + 1, TestPhase.SETUP, TestPhase.SQL_SCRIPTS);
+    }
+  }
+
+  /** Runs right before the mocks are reset before the test method and after the reset after it. */
+  public static class BeforeMockReset extends TestPhaseListener {
+    public BeforeMockReset() {
+      super(MOCKITO_RESET_LISTENER_ORDER - 1, TestPhase.MOCK_RESET, TestPhase.TEARDOWN);
+    }
+  }
+
+  /** Runs right after the mocks are reset before the test method and before the reset after it. */
+  public static class AfterMockReset extends TestPhaseListener {
+    public AfterMockReset() {
+      super(MOCKITO_RESET_LISTENER_ORDER + 1, TestPhase.SETUP, TestPhase.MOCK_RESET);
+    }
+  }
+}
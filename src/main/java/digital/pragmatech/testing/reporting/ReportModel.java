@@ -0,0 +1,198 @@
+package digital.pragmatech.testing.reporting;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.ToLongFunction;
+
+import digital.pragmatech.testing.ContextCacheEntry;
+import digital.pragmatech.testing.ContextCacheTracker;
+import digital.pragmatech.testing.ContextIdGenerator;
+import digital.pragmatech.testing.OptimizationStatistics;
+import digital.pragmatech.testing.TestExecutionTracker;
+import digital.pragmatech.testing.TestStatus;
+import digital.pragmatech.testing.TimelineData;
+import digital.pragmatech.testing.reporting.json.JsonReportGenerator;
+
+/**
+ * Everything the HTML and JSON report derive from the trackers, computed once per report. The
+ * independent parts are computed as fork/join tasks: the statistics of the contexts and the test
+ * classes are mapped in parallel, and a single parallel pass over the test classes collects the
+ * classes shown in the GC and phase sections. The status counts are kept by the tracker.
+ */
+public record ReportModel(
+    List<Map<String, Object>> contextStatistics,
+    List<Map<String, Object>> testClassStatistics,
+    OptimizationStatistics optimizationStatistics,
+    TimelineData timelineData,
+    List<ContextCacheEntry> autoConfiguredContexts,
+    List<ContextCacheEntry> gcPausedContexts,
+    List<TestExecutionTracker.TestClassMetrics> gcPausedTestClasses,
+    List<TestExecutionTracker.TestClassMetrics> phaseProfiledTestClasses,
+    Map<TestStatus, Long> testCountsByStatus,
+    Integer availableProcessors) {
+
+  public static ReportModel empty() {
+    return build(new TestExecutionTracker(), new ContextCacheTracker());
+  }
+
+  public static ReportModel build(
+      TestExecutionTracker executionTracker, ContextCacheTracker contextCacheTracker) {
+    return ForkJoinPool.commonPool().invoke(new BuildTask(executionTracker, contextCacheTracker));
+  }
+
+  /** Number of test methods with the given status. */
+  public long getTestCount(TestStatus status) {
+    return testCountsByStatus.getOrDefault(status, 0L);
+  }
+
+  private static final class BuildTask extends RecursiveTask<ReportModel> {
+
+    private final TestExecutionTracker executionTracker;
+    private final ContextCacheTracker contextCacheTracker;
+
+    BuildTask(TestExecutionTracker executionTracker, ContextCacheTracker contextCacheTracker) {
+      this.executionTracker = executionTracker;
+      this.contextCacheTracker = contextCacheTracker;
+    }
+
+    private Map<TestStatus, Long> testCountsByStatus() {
+      Map<TestStatus, Long> counts = new EnumMap<>(TestStatus.class);
+      if (executionTracker != null) {
+        for (TestStatus status : TestStatus.values()) {
+          counts.put(status, executionTracker.getTestMethodCount(status));
+        }
+      }
+      return Collections.unmodifiableMap(counts);
+    }
+
+    @Override
+    protected ReportModel compute() {
+      List<ContextCacheEntry> createdContexts =
+          contextCacheTracker != null
+              ? contextCacheTracker.getAllEntries().stream()
+                  .filter(ContextCacheEntry::isCreated)
+                  .toList()
+              : List.of();
+      List<TestExecutionTracker.TestClassMetrics> classMetrics =
+          executionTracker != null
+              ? List.copyOf(executionTracker.getClassMetrics().values())
+              : List.of();
+
+      // Context IDs are assigned on first use, assign them in cache order before going parallel
+      createdContexts.forEach(entry -> ContextIdGenerator.getContextId(entry.getConfiguration()));
+
+      TemplateHelpers.JsonHelper jsonHelper = new TemplateHelpers.JsonHelper();
+      ForkJoinTask<List<Map<String, Object>>> contextStatistics =
+          ForkJoinTask.adapt(
+                  () ->
+                      createdContexts.parallelStream().map(jsonHelper::contextStatistics).toList())
+              .fork();
+      ForkJoinTask<List<Map<String, Object>>> testClassStatistics =
+          ForkJoinTask.adapt(
+                  () ->
+                      classMetrics.parallelStream()
+                          .sorted(
+                              Comparator.comparing(
+                                  TestExecutionTracker.TestClassMetrics::getClassName))
+                          .map(
+                              metrics ->
+                                  JsonReportGenerator.mapTestClass(
+                                      metrics,
+                                      contextCacheTracker != null
+                                          ? contextCacheTracker.getContextForTestClass(
+                                              metrics.getClassName())
+                                          : Optional.empty()))
+                          .toList())
+              .fork();
+      ForkJoinTask<OptimizationStatistics> optimizationStatistics =
+          contextCacheTracker != null
+              ? ForkJoinTask.adapt(contextCacheTracker::calculateOptimizationStatistics).fork()
+              : null;
+      ForkJoinTask<TimelineData> timelineData =
+          contextCacheTracker != null
+              ? ForkJoinTask.adapt(contextCacheTracker::getTimelineData).fork()
+              : null;
+
+      ClassPass classPass =
+          classMetrics.parallelStream().collect(ClassPass::new, ClassPass::add, ClassPass::combine);
+
+      List<ContextCacheEntry> autoConfiguredContexts = new ArrayList<>();
+      List<ContextCacheEntry> gcPausedContexts = new ArrayList<>();
+      Integer availableProcessors = null;
+      for (ContextCacheEntry entry : createdContexts) {
+        if (entry.getAutoConfigurationReport() != null) {
+          autoConfiguredContexts.add(entry);
+        }
+        if (entry.getGcPauses() != null && entry.getGcPauses().getPauseCount() > 0) {
+          gcPausedContexts.add(entry);
+        }
+        if (availableProcessors == null && entry.getAvailableProcessors() > 0) {
+          availableProcessors = entry.getAvailableProcessors();
+        }
+      }
+      autoConfiguredContexts.sort(
+          Comparator.comparingLong(
+                  (ContextCacheEntry entry) ->
+                      entry.getAutoConfigurationReport().getTotalBeanCreationTimeMs())
+              .reversed());
+      gcPausedContexts.sort(
+          Comparator.comparingLong(
+                  (ContextCacheEntry entry) -> entry.getGcPauses().getPauseTimeMs())
+              .reversed());
+
+      return new ReportModel(
+          contextStatistics.join(),
+          testClassStatistics.join(),
+          optimizationStatistics != null ? optimizationStatistics.join() : null,
+          timelineData != null ? timelineData.join() : null,
+          List.copyOf(autoConfiguredContexts),
+          List.copyOf(gcPausedContexts),
+          longestFirst(classPass.gcPaused, metrics -> metrics.getGcPauses().getPauseTimeMs()),
+          longestFirst(
+              classPass.phaseProfiled, metrics -> metrics.getPhaseDurations().getTotalMs()),
+          testCountsByStatus(),
+          availableProcessors);
+    }
+  }
+
+  /** Accumulates everything the report needs per test class in one pass. */
+  private static final class ClassPass {
+
+    private final List<TestExecutionTracker.TestClassMetrics> gcPaused = new ArrayList<>();
+    private final List<TestExecutionTracker.TestClassMetrics> phaseProfiled = new ArrayList<>();
+
+    void add(TestExecutionTracker.TestClassMetrics metrics) {
+      if (metrics.getGcPauses().getPauseCount() > 0) {
+        gcPaused.add(metrics);
+      }
+      if (metrics.getPhaseDurations().getTotalMs() > 0) {
+        phaseProfiled.add(metrics);
+      }
+    }
+
+    void combine(ClassPass other) {
+      gcPaused.addAll(other.gcPaused);
+      phaseProfiled.addAll(other.phaseProfiled);
+    }
+  }
+
+  /** Longest first, the parallel pass collects the classes in no particular order. */
+  private static List<TestExecutionTracker.TestClassMetrics> longestFirst(
+      List<TestExecutionTracker.TestClassMetrics> metrics,
+      ToLongFunction<TestExecutionTracker.TestClassMetrics> key) {
+    return metrics.stream()
+        .sorted(
+            Comparator.comparingLong(key)
+                .reversed()
+                .thenComparing(TestExecutionTracker.TestClassMetrics::getClassName))
+        .toList();
+  }
+}
@@ -10,13 +10,21 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
+import digital.pragmatech.testing.ConfigurationClassProfile;
 import digital.pragmatech.testing.ContextCacheEntry;
 import digital.pragmatech.testing.ContextCacheTracker;
+import digital.pragmatech.testing.ContextFingerprint;
 import digital.pragmatech.testing.ContextIdGenerator;
-import digital.pragmatech.testing.SpringContextStatistics;
+import digital.pragmatech.testing.ContextLifecycle;
+import digital.pragmatech.testing.JvmActivity;
 import digital.pragmatech.testing.TestExecutionTracker;
 import digital.pragmatech.testing.TestStatus;
 import digital.pragmatech.testing.TimelineData;
+import digital.pragmatech.testing.TimelineEntry;
+import digital.pragmatech.testing.gc.GcPauseStats;
+import digital.pragmatech.testing.history.RunHistory;
+import digital.pragmatech.testing.history.RunSnapshot;
+import digital.pragmatech.testing.phases.TestPhase;
 import digital.pragmatech.testing.util.SimpleJsonWriter;
 
 /** Helper classes for Thymeleaf templates to format data and provide utility methods. */
@@ -27,9 +35,8 @@ public class TemplateHelpers {
       Map<String, TestExecutionTracker.TestClassMetrics> classMetrics, String statusName) {
     TestStatus status = TestStatus.valueOf(statusName);
     return classMetrics.values().stream()
-        .flatMap(classMetric -> classMetric.getMethodMetrics().values().stream())
-        .filter(methodMetric -> methodMetric.getStatus() == status)
-        .count();
+        .mapToLong(classMetric -> classMetric.getMethodCount(status))
+        .sum();
   }
 
   /** Instance helper class for counting test statuses (to be used in templates). */
@@ -229,57 +236,6 @@ public class TemplateHelpers {
     }
   }
 
-  public static class CacheKeyProcessor {
-    public Map<String, Set<String>> aggregateCacheKeys(List<TestClassExecutionData> testClassData) {
-      Map<String, Set<String>> allCacheKeys = new HashMap<>();
-
-      for (TestClassExecutionData classData : testClassData) {
-        SpringContextStatistics stats = classData.contextStatistics();
-        if (stats != null) {
-          Map<String, Set<String>> classCacheKeys = stats.getCacheKeyToTestClasses();
-          for (Map.Entry<String, Set<String>> entry : classCacheKeys.entrySet()) {
-            String cacheKey = entry.getKey();
-            allCacheKeys.computeIfAbsent(cacheKey, k -> new HashSet<>()).add(classData.className());
-          }
-        }
-      }
-
-      return allCacheKeys;
-    }
-
-    public Map<String, SpringContextStatistics.CacheKeyInfo> aggregateCacheKeyInfo(
-        List<TestClassExecutionData> testClassData) {
-      Map<String, SpringContextStatistics.CacheKeyInfo> allCacheKeyInfo = new HashMap<>();
-
-      for (TestClassExecutionData classData : testClassData) {
-        SpringContextStatistics stats = classData.contextStatistics();
-        if (stats != null) {
-          Map<String, SpringContextStatistics.CacheKeyInfo> classCacheKeyInfo =
-              stats.getCacheKeyInfoMap();
-          for (Map.Entry<String, SpringContextStatistics.CacheKeyInfo> entry :
-              classCacheKeyInfo.entrySet()) {
-            String cacheKey = entry.getKey();
-            SpringContextStatistics.CacheKeyInfo info = entry.getValue();
-            SpringContextStatistics.CacheKeyInfo existing = allCacheKeyInfo.get(cacheKey);
-            if (existing == null) {
-              allCacheKeyInfo.put(cacheKey, new SpringContextStatistics.CacheKeyInfo(cacheKey));
-              existing = allCacheKeyInfo.get(cacheKey);
-            }
-            // Aggregate the statistics
-            for (int i = 0; i < info.getHits(); i++) {
-              existing.incrementHits();
-            }
-            for (int i = 0; i < info.getMisses(); i++) {
-              existing.incrementMisses();
-            }
-          }
-        }
-      }
-
-      return allCacheKeyInfo;
-    }
-  }
-
   public static class JsonHelper {
     public String toJson(Object object) {
       try {
@@ -289,11 +245,45 @@ public class TemplateHelpers {
       }
     }
 
-    public String timelineEventsToJson(TimelineData timelineData) {
-      if (timelineData == null || timelineData.events() == null) {
+    /** The lifecycles of the contexts for the Gantt chart of the timeline section. */
+    public String timelineToJson(TimelineData timelineData) {
+      if (timelineData == null) {
         return "[]";
       }
-      return toJson(timelineData.events());
+
+      List<Map<String, Object>> contexts = new ArrayList<>();
+      for (ContextLifecycle lifecycle : timelineData.contexts()) {
+        Map<String, Object> context = new HashMap<>();
+        context.put("contextKey", lifecycle.contextKey());
+        context.put("label", lifecycle.label());
+        context.put("color", lifecycle.color());
+        context.put("loadStartMs", lifecycle.loadStartMs());
+        context.put("endMs", lifecycle.endMs());
+        context.put("closed", lifecycle.closed());
+        context.put("closeMs", lifecycle.closeMs());
+        context.put("loadCount", lifecycle.loadCount());
+        context.put("loadMs", lifecycle.getLoadMs());
+        context.put("activeMs", lifecycle.getActiveMs());
+        context.put("idleMs", lifecycle.getIdleMs());
+        context.put(
+            "allocatedMB", lifecycle.hasAllocatedBytes() ? lifecycle.getAllocatedMB() : null);
+        context.put("idleMegabyteSeconds", lifecycle.getIdleMegabyteSeconds());
+        context.put("testClassCount", lifecycle.testClassCount());
+        context.put("beanCount", lifecycle.beanCount());
+
+        List<Map<String, Object>> intervals = new ArrayList<>();
+        for (TimelineEntry entry : lifecycle.intervals()) {
+          Map<String, Object> interval = new HashMap<>();
+          interval.put("phase", entry.phase());
+          interval.put("startMs", entry.startMs());
+          interval.put("endMs", entry.endMs());
+          interval.put("tooltip", entry.tooltip());
+          intervals.add(interval);
+        }
+        context.put("intervals", intervals);
+        contexts.add(context);
+      }
+      return toJson(contexts);
     }
 
     public String contextStatisticsToJson(ContextCacheTracker contextCacheTracker) {
@@ -301,24 +291,31 @@ public class TemplateHelpers {
         return "[]";
       }
 
-      List<Map<String, Object>> contextStatistics =
-          contextCacheTracker.getAllEntries().stream()
-              .filter(ContextCacheEntry::isCreated)
-              .map(this::mapContextEntryToStatistics)
-              .toList();
+      return toJson(contextStatistics(contextCacheTracker));
+    }
 
-      return toJson(contextStatistics);
+    /** Maps all created contexts to the statistics structure shared by the HTML and JSON report. */
+    public List<Map<String, Object>> contextStatistics(ContextCacheTracker contextCacheTracker) {
+      return contextCacheTracker.getAllEntries().stream()
+          .filter(ContextCacheEntry::isCreated)
+          .map(this::contextStatistics)
+          .toList();
     }
 
-    private Map<String, Object> mapContextEntryToStatistics(ContextCacheEntry entry) {
+    /** Maps a single created context to the statistics structure of the reports. */
+    public Map<String, Object> contextStatistics(ContextCacheEntry entry) {
       Map<String, Object> statistics = new HashMap<>();
 
       // Generate unique context key using incrementing counter
       String contextKey = ContextIdGenerator.getContextId(entry.getConfiguration());
       statistics.put("contextKey", contextKey);
 
-      // Load duration in milliseconds
+      // Stable, content-based fingerprint to match contexts across runs
+      statistics.put("fingerprint", entry.getFingerprint());
+
+      // Load duration in milliseconds, of all loads if the context was reloaded after a close
       statistics.put("loadDuration", entry.getContextLoadTimeMs());
+      statistics.put("loadCount", entry.getLoadCount());
 
       // Unix UTC timestamps (convert Instant to epoch seconds)
       statistics.put(
@@ -344,9 +341,143 @@ public class TemplateHelpers {
       statistics.put("testAnnotationTypes", new ArrayList<>(entry.getTestAnnotationTypes()));
       statistics.put("primaryAnnotationType", entry.getPrimaryAnnotationType());
 
+      // Applied, excluded and not applied auto-configurations (Spring Boot contexts only)
+      statistics.put("autoConfiguration", entry.getAutoConfigurationReport());
+
+      // GC pauses and allocations during the load
+      statistics.put("gcPauses", mapGcPauses(entry.getGcPauses()));
+
+      // Bytes allocated by the loading thread (TimingTracking initializer only)
+      statistics.put("allocatedBytes", entry.getAllocatedBytes());
+      statistics.put(
+          "topAllocatingBeans",
+          entry.getTopAllocatingBeans().stream()
+              .map(
+                  metric -> {
+                    Map<String, Object> bean = new HashMap<>();
+                    bean.put("beanName", metric.getBeanName());
+                    bean.put("beanClass", metric.getBeanClass());
+                    bean.put("allocatedBytes", metric.getAllocatedBytes());
+                    return bean;
+                  })
+              .toList());
+
+      // Entity scanning, metamodel, schema management and cache of JPA (TimingTracking only)
+      statistics.put("jpaBootstrap", entry.getJpaBootstrapProfiles());
+
+      // Bean creation time per category: infrastructure, application, framework
+      statistics.put("beanCategories", entry.getBeanCategories());
+
+      // Threads started during the load and their CPU time afterwards
+      statistics.put("backgroundThreadsCpuTimeMs", entry.getBackgroundThreadsCpuTimeMs());
+      statistics.put(
+          "backgroundThreads",
+          entry.getBackgroundThreads().stream()
+              .map(
+                  thread -> {
+                    Map<String, Object> backgroundThread = new HashMap<>();
+                    backgroundThread.put("name", thread.getName());
+                    backgroundThread.put("threadGroup", thread.getThreadGroup());
+                    backgroundThread.put("daemon", thread.isDaemon());
+                    backgroundThread.put("alive", thread.isAlive());
+                    backgroundThread.put("cpuTimeMs", thread.getCpuTimeMs());
+                    backgroundThread.put("stack", thread.getStack());
+                    return backgroundThread;
+                  })
+              .toList());
+
+      // Class loading, JIT and GC during the load (TimingTracking initializer only)
+      statistics.put("jvmActivity", mapJvmActivity(entry));
+
+      // Component scanning and configuration class parsing (TimingTracking initializer only)
+      statistics.put(
+          "configurationClasses",
+          mapConfigurationClassProfile(entry.getConfigurationClassProfile()));
+
       return statistics;
     }
 
+    /** Condenses the run history to the data points needed by the trend chart. */
+    public String runHistoryToJson(RunHistory runHistory) {
+      if (runHistory == null) {
+        return "[]";
+      }
+
+      List<Map<String, Object>> points = new ArrayList<>();
+      for (RunSnapshot run : runHistory.runs()) {
+        Map<String, Object> point = new HashMap<>();
+        point.put("runId", run.runId());
+        point.put("timestamp", run.timestamp().getEpochSecond());
+        point.put("totalContextLoadTimeMs", run.totalContextLoadTimeMs());
+        point.put("totalTestClassDurationMs", run.getTotalTestClassDurationMs());
+        point.put("contextReuseRate", run.contextReuseRate());
+
+        List<Map<String, Object>> contexts = new ArrayList<>();
+        for (RunSnapshot.ContextSnapshot context : run.contexts()) {
+          Map<String, Object> contextPoint = new HashMap<>();
+          contextPoint.put("contextKey", context.contextKey());
+          contextPoint.put("label", context.label());
+          contextPoint.put("loadTimeMs", context.loadTimeMs());
+          contexts.add(contextPoint);
+        }
+        point.put("contexts", contexts);
+        points.add(point);
+      }
+      return toJson(points);
+    }
+
+    private Map<String, Object> mapGcPauses(GcPauseStats gcPauses) {
+      if (gcPauses == null) {
+        return null;
+      }
+      Map<String, Object> pauses = new HashMap<>();
+      pauses.put("pauseCount", gcPauses.getPauseCount());
+      pauses.put("pauseTimeMs", gcPauses.getPauseTimeMs());
+      pauses.put("maxPauseMs", gcPauses.getMaxPauseMs());
+      pauses.put("estimatedAllocatedBytes", gcPauses.getEstimatedAllocatedBytes());
+      pauses.put("allocationRateMBPerSecond", gcPauses.getAllocationRateMBPerSecond());
+      return pauses;
+    }
+
+    private Map<String, Object> mapJvmActivity(ContextCacheEntry entry) {
+      JvmActivity jvmActivity = entry.getJvmActivity();
+      if (jvmActivity == null) {
+        return null;
+      }
+      Map<String, Object> activity = new HashMap<>();
+      activity.put("loadedClassCount", jvmActivity.loadedClassCount());
+      activity.put("compilationTimeMs", jvmActivity.compilationTimeMs());
+      activity.put("gcTimeMs", jvmActivity.gcTimeMs());
+      activity.put("gcCount", jvmActivity.gcCount());
+      activity.put("firstContextInJvm", entry.isFirstContextInJvm());
+      return activity;
+    }
+
+    private Map<String, Object> mapConfigurationClassProfile(ConfigurationClassProfile profile) {
+      if (profile == null) {
+        return null;
+      }
+      Map<String, Object> configurationClasses = new HashMap<>();
+      configurationClasses.put("processingTimeMs", profile.getProcessingTimeMs());
+      configurationClasses.put("enhancementTimeMs", profile.getEnhancementTimeMs());
+      configurationClasses.put("configurationClassCount", profile.getConfigurationClassCount());
+      configurationClasses.put("maxImportDepth", profile.getMaxImportDepth());
+      configurationClasses.put("deepestImportChain", profile.getDeepestImportChain());
+      configurationClasses.put("scanTimeMs", profile.getScanTimeMs());
+      configurationClasses.put("candidateClassCount", profile.getCandidateClassCount());
+
+      List<Map<String, Object>> packageScans = new ArrayList<>();
+      for (ConfigurationClassProfile.PackageScan scan : profile.getPackageScans()) {
+        Map<String, Object> packageScan = new HashMap<>();
+        packageScan.put("basePackage", scan.basePackage());
+        packageScan.put("candidateClasses", scan.candidateClasses());
+        packageScan.put("durationMs", scan.getDurationMs());
+        packageScans.add(packageScan);
+      }
+      configurationClasses.put("packageScans", packageScans);
+      return configurationClasses;
+    }
+
     private List<String> getTestMethodsForContext(ContextCacheEntry entry) {
       return new ArrayList<>(entry.getTestMethods());
     }
@@ -399,12 +530,13 @@ public class TemplateHelpers {
                 ? mergedConfig.getContextLoader().getClass().getName()
                 : null);
 
-        // Parent context key if any
+        // Parent context key and fingerprint if any
         config.put(
             "parent",
             mergedConfig.getParent() != null
                 ? ContextIdGenerator.getContextId(mergedConfig.getParent())
                 : null);
+        config.put("parentFingerprint", ContextFingerprint.of(mergedConfig.getParent()));
       }
 
       return config;
@@ -419,4 +551,13 @@ public class TemplateHelpers {
     }
     return "context-unknown";
   }
+
+  public List<TestPhase> getTestPhases() {
+    return List.of(TestPhase.values());
+  }
+
+  /** Formats a byte count as MB with one decimal. */
+  public String formatMegabytes(long bytes) {
+    return String.format("%.1fMB", bytes / (1024.0 * 1024.0));
+  }
 }
@@ -0,0 +1,118 @@
+package digital.pragmatech.testing.reporting.diff;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import digital.pragmatech.testing.util.SimpleJsonReader;
+import digital.pragmatech.testing.util.SimpleJsonWriter;
+
+/**
+ * A context as read from a JSON report, reduced to what is needed for the diff.
+ *
+ * @param contextKey the run-specific key, e.g. {@code context-3}
+ * @param signature identifies the context configuration across runs
+ * @param mockFreeSignature like {@code signature}, but ignoring mock customizers
+ * @param hasMocks whether the configuration contains a mock customizer
+ */
+record ReportContext(
+    String contextKey,
+    String label,
+    String signature,
+    String mockFreeSignature,
+    boolean hasMocks,
+    long loadTimeMs,
+    int beanCount,
+    List<String> testClasses) {
+
+  /** Configuration entries that differ between runs without changing the context itself. */
+  private static final Set<String> RUN_SPECIFIC_CONFIGURATION_KEYS =
+      Set.of("testClass", "parent", "parentFingerprint");
+
+  /** Customizers contributing {@code @MockBean}, {@code @MockitoBean} and similar overrides. */
+  private static final Set<String> MOCK_CUSTOMIZERS =
+      Set.of(
+          "org.springframework.boot.test.mock.mockito.MockitoContextCustomizer",
+          "org.springframework.test.context.bean.override.BeanOverrideContextCustomizer");
+
+  static List<ReportContext> fromReport(Map<String, Object> report) {
+    List<ReportContext> contexts = new ArrayList<>();
+    for (Object element : SimpleJsonReader.asList(report.get("contexts"))) {
+      contexts.add(fromJson(SimpleJsonReader.asMap(element)));
+    }
+    return contexts;
+  }
+
+  static ReportContext fromJson(Map<String, Object> context) {
+    List<String> testClasses =
+        SimpleJsonReader.asList(context.get("testClasses")).stream()
+            .map(String::valueOf)
+            .sorted()
+            .toList();
+
+    Map<String, Object> configuration = new TreeMap<>();
+    SimpleJsonReader.asMap(context.get("contextConfiguration"))
+        .forEach(
+            (key, value) -> {
+              if (!RUN_SPECIFIC_CONFIGURATION_KEYS.contains(key)) {
+                configuration.put(key, value);
+              }
+            });
+
+    List<String> customizers =
+        SimpleJsonReader.asList(configuration.get("contextCustomizers")).stream()
+            .map(String::valueOf)
+            .sorted()
+            .toList();
+    configuration.put("contextCustomizers", customizers);
+    // Prefer the fingerprint, as it also covers the state of the context customizers
+    Object fingerprint = context.get("fingerprint");
+    String signature =
+        fingerprint != null
+            ? String.valueOf(fingerprint)
+            : hash(SimpleJsonWriter.toJson(configuration));
+
+    List<String> nonMockCustomizers =
+        customizers.stream().filter(name -> !MOCK_CUSTOMIZERS.contains(name)).toList();
+    configuration.put("contextCustomizers", nonMockCustomizers);
+    String mockFreeSignature = hash(SimpleJsonWriter.toJson(configuration));
+
+    return new ReportContext(
+        String.valueOf(context.get("contextKey")),
+        label(testClasses),
+        signature,
+        mockFreeSignature,
+        nonMockCustomizers.size() < customizers.size(),
+        SimpleJsonReader.asLong(context.get("loadDuration"), 0),
+        (int) SimpleJsonReader.asLong(context.get("numberOfBeans"), 0),
+        testClasses);
+  }
+
+  /** Names a context after its first test class, as context keys are not stable across runs. */
+  static String label(List<String> testClasses) {
+    if (testClasses.isEmpty()) {
+      return "(no test classes)";
+    }
+    String first = testClasses.get(0);
+    String simpleName = first.substring(first.lastIndexOf('.') + 1);
+    return testClasses.size() > 1
+        ? simpleName + " (+" + (testClasses.size() - 1) + ")"
+        : simpleName;
+  }
+
+  private static String hash(String value) {
+    try {
+      MessageDigest digest = MessageDigest.getInstance("SHA-256");
+      byte[] bytes = digest.digest(value.getBytes(StandardCharsets.UTF_8));
+      return HexFormat.of().formatHex(bytes, 0, 8);
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 not available", e);
+    }
+  }
+}
@@ -0,0 +1,75 @@
+package digital.pragmatech.testing.reporting.diff;
+
+import java.util.List;
+
+/**
+ * Differences between a base report (e.g. of the main branch) and a head report (e.g. of a pull
+ * request). Contexts are matched by their configuration rather than by their run-specific context
+ * key.
+ */
+public record ReportDiff(
+    Summary summary,
+    List<ContextSummary> addedContexts,
+    List<ContextSummary> removedContexts,
+    List<ContextDelta> changedContexts,
+    List<MockFragmentation> mockFragmentation,
+    List<MovedTestClass> movedTestClasses) {
+
+  /** Overall numbers of both reports. */
+  public record Summary(
+      int baseContextCount,
+      int headContextCount,
+      long baseTotalLoadTimeMs,
+      long headTotalLoadTimeMs) {
+
+    public long getLoadTimeDeltaMs() {
+      return headTotalLoadTimeMs - baseTotalLoadTimeMs;
+    }
+  }
+
+  /** A context that only exists in one of the two reports. */
+  public record ContextSummary(
+      String label, String signature, long loadTimeMs, int beanCount, List<String> testClasses) {}
+
+  /** A context that exists in both reports. */
+  public record ContextDelta(
+      String label,
+      String signature,
+      long baseLoadTimeMs,
+      long headLoadTimeMs,
+      int baseBeanCount,
+      int headBeanCount) {
+
+    public long getLoadTimeDeltaMs() {
+      return headLoadTimeMs - baseLoadTimeMs;
+    }
+
+    public int getBeanCountDelta() {
+      return headBeanCount - baseBeanCount;
+    }
+  }
+
+  /**
+   * A group of contexts that share the same configuration apart from their mocked beans
+   * ({@code @MockBean}, {@code @MockitoBean}, ...) and grew in the head report. Every additional
+   * context in such a group is a full context load that could be avoided by aligning the mocks;
+   * {@code avoidableLoadTimeMs} is the load time of all but the slowest context of the group.
+   */
+  public record MockFragmentation(
+      String label,
+      int baseContextCount,
+      int headContextCount,
+      long avoidableLoadTimeMs,
+      List<String> testClasses) {}
+
+  /** A test class that uses a different context in the head report than in the base report. */
+  public record MovedTestClass(String className, String fromContext, String toContext) {}
+
+  public boolean hasChanges() {
+    return !addedContexts.isEmpty()
+        || !removedContexts.isEmpty()
+        || !mockFragmentation.isEmpty()
+        || !movedTestClasses.isEmpty()
+        || changedContexts.stream().anyMatch(delta -> delta.getBeanCountDelta() != 0);
+  }
+}
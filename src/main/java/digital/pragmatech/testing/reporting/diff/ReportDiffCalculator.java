@@ -0,0 +1,203 @@
+package digital.pragmatech.testing.reporting.diff;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Calculates the {@link ReportDiff} between two parsed JSON reports.
+ *
+ * <p>Contexts are matched by their configuration signature. When several contexts share a signature
+ * (e.g. because they only differ in details the report does not capture), they are paired by the
+ * overlap of their test classes.
+ */
+public class ReportDiffCalculator {
+
+  public ReportDiff calculate(Map<String, Object> baseReport, Map<String, Object> headReport) {
+    return calculate(ReportContext.fromReport(baseReport), ReportContext.fromReport(headReport));
+  }
+
+  ReportDiff calculate(List<ReportContext> base, List<ReportContext> head) {
+    Map<ReportContext, ReportContext> headToBase = match(base, head);
+    Set<ReportContext> matchedBase = Collections.newSetFromMap(new IdentityHashMap<>());
+    matchedBase.addAll(headToBase.values());
+
+    List<ReportDiff.ContextSummary> added =
+        head.stream()
+            .filter(context -> !headToBase.containsKey(context))
+            .map(this::summarize)
+            .sorted(Comparator.comparingLong(ReportDiff.ContextSummary::loadTimeMs).reversed())
+            .toList();
+    List<ReportDiff.ContextSummary> removed =
+        base.stream()
+            .filter(context -> !matchedBase.contains(context))
+            .map(this::summarize)
+            .sorted(Comparator.comparingLong(ReportDiff.ContextSummary::loadTimeMs).reversed())
+            .toList();
+
+    List<ReportDiff.ContextDelta> changed = new ArrayList<>();
+    headToBase.forEach(
+        (headContext, baseContext) -> {
+          if (headContext.loadTimeMs() != baseContext.loadTimeMs()
+              || headContext.beanCount() != baseContext.beanCount()) {
+            changed.add(
+                new ReportDiff.ContextDelta(
+                    headContext.label(),
+                    headContext.signature(),
+                    baseContext.loadTimeMs(),
+                    headContext.loadTimeMs(),
+                    baseContext.beanCount(),
+                    headContext.beanCount()));
+          }
+        });
+    changed.sort(
+        Comparator.comparingLong((ReportDiff.ContextDelta delta) -> delta.getLoadTimeDeltaMs())
+            .reversed());
+
+    return new ReportDiff(
+        new ReportDiff.Summary(base.size(), head.size(), totalLoadTime(base), totalLoadTime(head)),
+        added,
+        removed,
+        changed,
+        detectMockFragmentation(base, head),
+        detectMovedTestClasses(base, head, headToBase));
+  }
+
+  /** Pairs head contexts with base contexts, returning an identity map from head to base. */
+  private Map<ReportContext, ReportContext> match(
+      List<ReportContext> base, List<ReportContext> head) {
+    Map<String, List<ReportContext>> baseBySignature = groupBy(base, ReportContext::signature);
+    Map<String, List<ReportContext>> headBySignature = groupBy(head, ReportContext::signature);
+
+    Map<ReportContext, ReportContext> headToBase = new IdentityHashMap<>();
+    headBySignature.forEach(
+        (signature, headCandidates) -> {
+          List<ReportContext> baseCandidates =
+              new ArrayList<>(baseBySignature.getOrDefault(signature, List.of()));
+          List<ReportContext> remainingHead = new ArrayList<>(headCandidates);
+
+          while (!baseCandidates.isEmpty() && !remainingHead.isEmpty()) {
+            ReportContext bestHead = null;
+            ReportContext bestBase = null;
+            int bestOverlap = -1;
+            for (ReportContext headContext : remainingHead) {
+              for (ReportContext baseContext : baseCandidates) {
+                int overlap = overlap(headContext.testClasses(), baseContext.testClasses());
+                if (overlap > bestOverlap) {
+                  bestOverlap = overlap;
+                  bestHead = headContext;
+                  bestBase = baseContext;
+                }
+              }
+            }
+            headToBase.put(bestHead, bestBase);
+            remainingHead.remove(bestHead);
+            baseCandidates.remove(bestBase);
+          }
+        });
+    return headToBase;
+  }
+
+  private List<ReportDiff.MockFragmentation> detectMockFragmentation(
+      List<ReportContext> base, List<ReportContext> head) {
+    Map<String, List<ReportContext>> baseGroups = groupBy(base, ReportContext::mockFreeSignature);
+    Map<String, List<ReportContext>> headGroups = groupBy(head, ReportContext::mockFreeSignature);
+
+    List<ReportDiff.MockFragmentation> fragmentation = new ArrayList<>();
+    headGroups.forEach(
+        (signature, group) -> {
+          int baseCount = baseGroups.getOrDefault(signature, List.of()).size();
+          if (group.size() <= 1
+              || group.size() <= baseCount
+              || group.stream().noneMatch(ReportContext::hasMocks)) {
+            return;
+          }
+          long totalLoadTime = totalLoadTime(group);
+          long slowest = group.stream().mapToLong(ReportContext::loadTimeMs).max().orElse(0);
+          List<String> testClasses =
+              group.stream()
+                  .flatMap(context -> context.testClasses().stream())
+                  .collect(Collectors.toCollection(TreeSet::new))
+                  .stream()
+                  .toList();
+          fragmentation.add(
+              new ReportDiff.MockFragmentation(
+                  ReportContext.label(testClasses),
+                  baseCount,
+                  group.size(),
+                  totalLoadTime - slowest,
+                  testClasses));
+        });
+    fragmentation.sort(
+        Comparator.comparingLong(ReportDiff.MockFragmentation::avoidableLoadTimeMs).reversed());
+    return fragmentation;
+  }
+
+  private List<ReportDiff.MovedTestClass> detectMovedTestClasses(
+      List<ReportContext> base,
+      List<ReportContext> head,
+      Map<ReportContext, ReportContext> headToBase) {
+    Map<String, ReportContext> baseContextByClass = contextByTestClass(base);
+
+    List<ReportDiff.MovedTestClass> moved = new ArrayList<>();
+    contextByTestClass(head)
+        .forEach(
+            (className, headContext) -> {
+              ReportContext baseContext = baseContextByClass.get(className);
+              if (baseContext != null && headToBase.get(headContext) != baseContext) {
+                moved.add(
+                    new ReportDiff.MovedTestClass(
+                        className, baseContext.label(), headContext.label()));
+              }
+            });
+    moved.sort(Comparator.comparing(ReportDiff.MovedTestClass::className));
+    return moved;
+  }
+
+  private ReportDiff.ContextSummary summarize(ReportContext context) {
+    return new ReportDiff.ContextSummary(
+        context.label(),
+        context.signature(),
+        context.loadTimeMs(),
+        context.beanCount(),
+        context.testClasses());
+  }
+
+  private static Map<String, ReportContext> contextByTestClass(List<ReportContext> contexts) {
+    Map<String, ReportContext> result = new LinkedHashMap<>();
+    for (ReportContext context : contexts) {
+      for (String testClass : context.testClasses()) {
+        result.put(testClass, context);
+      }
+    }
+    return result;
+  }
+
+  private static Map<String, List<ReportContext>> groupBy(
+      List<ReportContext> contexts, Function<ReportContext, String> key) {
+    Map<String, List<ReportContext>> groups = new LinkedHashMap<>();
+    for (ReportContext context : contexts) {
+      groups.computeIfAbsent(key.apply(context), k -> new ArrayList<>()).add(context);
+    }
+    return groups;
+  }
+
+  private static int overlap(List<String> first, List<String> second) {
+    Set<String> common = new HashSet<>(first);
+    common.retainAll(second);
+    return common.size();
+  }
+
+  private static long totalLoadTime(List<ReportContext> contexts) {
+    return contexts.stream().mapToLong(ReportContext::loadTimeMs).sum();
+  }
+}
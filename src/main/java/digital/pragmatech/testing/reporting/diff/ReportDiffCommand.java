@@ -0,0 +1,108 @@
+package digital.pragmatech.testing.reporting.diff;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Map;
+
+import digital.pragmatech.testing.util.SimpleJsonReader;
+import digital.pragmatech.testing.util.SimpleJsonWriter;
+
+/**
+ * Command line entry point to compare two JSON reports (see {@code spring.test.insight.json.beta}).
+ *
+ * <pre>
+ * java -cp spring-test-profiler.jar digital.pragmatech.testing.reporting.diff.ReportDiffCommand \
+ *     base.json head.json [--markdown diff.md] [--json diff.json] [--max-load-increase-ms 30000]
+ * </pre>
+ *
+ * <p>Without {@code --markdown}, the Markdown diff is printed to standard out. With {@code
+ * --max-load-increase-ms}, the command exits with {@code 1} if a new context or the load time
+ * increase of an existing context reaches the given value, so CI can reject the change.
+ */
+public class ReportDiffCommand {
+
+  static final int EXIT_OK = 0;
+  static final int EXIT_LIMIT_EXCEEDED = 1;
+  static final int EXIT_USAGE_ERROR = 2;
+
+  private static final String USAGE =
+      "Usage: ReportDiffCommand <base.json> <head.json> [--markdown <file>] [--json <file>]"
+          + " [--max-load-increase-ms <ms>]";
+
+  public static void main(String[] args) {
+    System.exit(new ReportDiffCommand().run(args, System.out, System.err));
+  }
+
+  public int run(String[] args, PrintStream out, PrintStream err) {
+    Path markdownFile = null;
+    Path jsonFile = null;
+    long maxLoadIncreaseMs = -1;
+    Path baseFile = null;
+    Path headFile = null;
+
+    try {
+      for (int i = 0; i < args.length; i++) {
+        switch (args[i]) {
+          case "--markdown" -> markdownFile = Paths.get(args[++i]);
+          case "--json" -> jsonFile = Paths.get(args[++i]);
+          case "--max-load-increase-ms" -> maxLoadIncreaseMs = Long.parseLong(args[++i]);
+          default -> {
+            if (baseFile == null) {
+              baseFile = Paths.get(args[i]);
+            } else if (headFile == null) {
+              headFile = Paths.get(args[i]);
+            } else {
+              throw new IllegalArgumentException("Unexpected argument: " + args[i]);
+            }
+          }
+        }
+      }
+      if (baseFile == null || headFile == null) {
+        throw new IllegalArgumentException("Base and head report are required");
+      }
+    } catch (ArrayIndexOutOfBoundsException | IllegalArgumentException e) {
+      err.println(e.getMessage() != null ? e.getMessage() : "Missing option value");
+      err.println(USAGE);
+      return EXIT_USAGE_ERROR;
+    }
+
+    ReportDiff diff;
+    try {
+      diff = new ReportDiffCalculator().calculate(readReport(baseFile), readReport(headFile));
+
+      String markdown = new ReportDiffMarkdownRenderer().render(diff);
+      if (markdownFile != null) {
+        Files.writeString(markdownFile, markdown, StandardCharsets.UTF_8);
+      } else {
+        out.print(markdown);
+      }
+      if (jsonFile != null) {
+        Files.writeString(jsonFile, SimpleJsonWriter.toJsonPretty(diff), StandardCharsets.UTF_8);
+      }
+    } catch (IOException | IllegalArgumentException e) {
+      err.println("Failed to diff reports: " + e.getMessage());
+      return EXIT_USAGE_ERROR;
+    }
+
+    if (maxLoadIncreaseMs >= 0 && exceedsLoadIncrease(diff, maxLoadIncreaseMs)) {
+      err.println("Context load time increase of at least " + maxLoadIncreaseMs + "ms detected");
+      return EXIT_LIMIT_EXCEEDED;
+    }
+    return EXIT_OK;
+  }
+
+  static boolean exceedsLoadIncrease(ReportDiff diff, long maxLoadIncreaseMs) {
+    return diff.addedContexts().stream()
+            .anyMatch(context -> context.loadTimeMs() >= maxLoadIncreaseMs)
+        || diff.changedContexts().stream()
+            .anyMatch(delta -> delta.getLoadTimeDeltaMs() >= maxLoadIncreaseMs);
+  }
+
+  private static Map<String, Object> readReport(Path file) throws IOException {
+    return SimpleJsonReader.parseObject(Files.readString(file, StandardCharsets.UTF_8));
+  }
+}
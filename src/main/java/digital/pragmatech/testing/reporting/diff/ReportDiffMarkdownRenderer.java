@@ -0,0 +1,170 @@
+package digital.pragmatech.testing.reporting.diff;
+
+import java.util.List;
+
+import digital.pragmatech.testing.reporting.TemplateHelpers;
+
+/** Renders a {@link ReportDiff} as Markdown, e.g. for a pull request comment. */
+public class ReportDiffMarkdownRenderer {
+
+  /** Load time changes of matched contexts below this value are considered noise. */
+  static final long MIN_REPORTED_LOAD_DELTA_MS = 100;
+
+  private static final int MAX_LISTED_TEST_CLASSES = 5;
+
+  private final TemplateHelpers.DurationFormatter durationFormatter =
+      new TemplateHelpers.DurationFormatter();
+
+  public String render(ReportDiff diff) {
+    StringBuilder sb = new StringBuilder();
+    sb.append("## Spring Test Profiler: Context Diff\n\n");
+
+    ReportDiff.Summary summary = diff.summary();
+    sb.append("| | Base | Head | Change |\n");
+    sb.append("|---|---:|---:|---:|\n");
+    sb.append("| Contexts | ")
+        .append(summary.baseContextCount())
+        .append(" | ")
+        .append(summary.headContextCount())
+        .append(" | ")
+        .append(signed(summary.headContextCount() - summary.baseContextCount()))
+        .append(" |\n");
+    sb.append("| Total context load time | ")
+        .append(durationFormatter.format(summary.baseTotalLoadTimeMs()))
+        .append(" | ")
+        .append(durationFormatter.format(summary.headTotalLoadTimeMs()))
+        .append(" | ")
+        .append(signedDuration(summary.getLoadTimeDeltaMs()))
+        .append(" |\n\n");
+
+    if (!diff.hasChanges() && reportedDeltas(diff).isEmpty()) {
+      sb.append("No context changes.\n");
+      return sb.toString();
+    }
+
+    if (!diff.addedContexts().isEmpty()) {
+      sb.append("### New Contexts (").append(diff.addedContexts().size()).append(")\n\n");
+      appendContextTable(sb, diff.addedContexts());
+    }
+
+    if (!diff.removedContexts().isEmpty()) {
+      sb.append("### Removed Contexts (").append(diff.removedContexts().size()).append(")\n\n");
+      appendContextTable(sb, diff.removedContexts());
+    }
+
+    List<ReportDiff.ContextDelta> deltas = reportedDeltas(diff);
+    if (!deltas.isEmpty()) {
+      sb.append("### Changed Contexts\n\n");
+      sb.append("| Context | Load time | Change | Beans | Change |\n");
+      sb.append("|---|---:|---:|---:|---:|\n");
+      for (ReportDiff.ContextDelta delta : deltas) {
+        sb.append("| ")
+            .append(delta.label())
+            .append(" | ")
+            .append(durationFormatter.format(delta.headLoadTimeMs()))
+            .append(" | ")
+            .append(signedDuration(delta.getLoadTimeDeltaMs()))
+            .append(" | ")
+            .append(delta.headBeanCount())
+            .append(" | ")
+            .append(signed(delta.getBeanCountDelta()))
+            .append(" |\n");
+      }
+      sb.append('\n');
+    }
+
+    if (!diff.mockFragmentation().isEmpty()) {
+      sb.append("### New Mock Fragmentation\n\n");
+      sb.append(
+          "These contexts only differ in their mocked beans. Aligning the mocks (e.g. in a shared"
+              + " base class) avoids the additional context loads.\n\n");
+      sb.append("| Contexts | Base | Head | Avoidable load time | Test classes |\n");
+      sb.append("|---|---:|---:|---:|---|\n");
+      for (ReportDiff.MockFragmentation fragmentation : diff.mockFragmentation()) {
+        sb.append("| ")
+            .append(fragmentation.label())
+            .append(" | ")
+            .append(fragmentation.baseContextCount())
+            .append(" | ")
+            .append(fragmentation.headContextCount())
+            .append(" | ")
+            .append(durationFormatter.format(fragmentation.avoidableLoadTimeMs()))
+            .append(" | ")
+            .append(testClassList(fragmentation.testClasses()))
+            .append(" |\n");
+      }
+      sb.append('\n');
+    }
+
+    if (!diff.movedTestClasses().isEmpty()) {
+      sb.append("### Test Classes That Moved to a Different Context\n\n");
+      sb.append("| Test class | From | To |\n");
+      sb.append("|---|---|---|\n");
+      for (ReportDiff.MovedTestClass moved : diff.movedTestClasses()) {
+        sb.append("| `")
+            .append(moved.className())
+            .append("` | ")
+            .append(moved.fromContext())
+            .append(" | ")
+            .append(moved.toContext())
+            .append(" |\n");
+      }
+      sb.append('\n');
+    }
+
+    return sb.toString();
+  }
+
+  private List<ReportDiff.ContextDelta> reportedDeltas(ReportDiff diff) {
+    return diff.changedContexts().stream()
+        .filter(
+            delta ->
+                delta.getBeanCountDelta() != 0
+                    || Math.abs(delta.getLoadTimeDeltaMs()) >= MIN_REPORTED_LOAD_DELTA_MS)
+        .toList();
+  }
+
+  private void appendContextTable(StringBuilder sb, List<ReportDiff.ContextSummary> contexts) {
+    sb.append("| Context | Load time | Beans | Test classes |\n");
+    sb.append("|---|---:|---:|---|\n");
+    for (ReportDiff.ContextSummary context : contexts) {
+      sb.append("| ")
+          .append(context.label())
+          .append(" | ")
+          .append(durationFormatter.format(context.loadTimeMs()))
+          .append(" | ")
+          .append(context.beanCount())
+          .append(" | ")
+          .append(testClassList(context.testClasses()))
+          .append(" |\n");
+    }
+    sb.append('\n');
+  }
+
+  private String testClassList(List<String> testClasses) {
+    StringBuilder sb = new StringBuilder();
+    for (int i = 0; i < Math.min(MAX_LISTED_TEST_CLASSES, testClasses.size()); i++) {
+      if (i > 0) {
+        sb.append(", ");
+      }
+      String className = testClasses.get(i);
+      sb.append('`').append(className.substring(className.lastIndexOf('.') + 1)).append('`');
+    }
+    if (testClasses.size() > MAX_LISTED_TEST_CLASSES) {
+      sb.append(" and ").append(testClasses.size() - MAX_LISTED_TEST_CLASSES).append(" more");
+    }
+    return sb.toString();
+  }
+
+  private String signed(long value) {
+    return value > 0 ? "+" + value : String.valueOf(value);
+  }
+
+  private String signedDuration(long deltaMs) {
+    String formatted = durationFormatter.format(Math.abs(deltaMs));
+    if (deltaMs > 0) {
+      return "+" + formatted;
+    }
+    return deltaMs < 0 ? "-" + formatted : formatted;
+  }
+}
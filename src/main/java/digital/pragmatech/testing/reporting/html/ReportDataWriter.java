@@ -0,0 +1,206 @@
+package digital.pragmatech.testing.reporting.html;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.zip.GZIPOutputStream;
+
+import digital.pragmatech.testing.ContextCacheTracker;
+import digital.pragmatech.testing.ContextIdGenerator;
+import digital.pragmatech.testing.TestExecutionTracker;
+import digital.pragmatech.testing.reporting.ReportModel;
+import digital.pragmatech.testing.reporting.TemplateHelpers;
+import digital.pragmatech.testing.util.SimpleJsonWriter;
+
+/**
+ * Writes the data behind the HTML report as gzip-compressed JSON chunks next to the report: one
+ * chunk per context and one per package of test classes. The report only inlines a small index and
+ * {@code report.js} loads a chunk once its section is expanded, so the report of a large test suite
+ * opens without parsing all data upfront.
+ *
+ * <p>Browsers block {@code fetch} for reports opened from {@code file://}, so every chunk is also
+ * written as a script that hands the data to {@code springTestProfilerChunkLoaded}.
+ */
+public class ReportDataWriter {
+
+  public static final String DATA_DIR_NAME = "data";
+
+  static final String CHUNK_CALLBACK = "springTestProfilerChunkLoaded";
+
+  private static final String DEFAULT_PACKAGE = "(default)";
+
+  /** The inlined part of the report: what is needed to render the page and find the chunks. */
+  public record ReportIndex(
+      String basePath, List<Map<String, Object>> contexts, List<Map<String, Object>> packages) {
+
+    public static ReportIndex empty() {
+      return new ReportIndex(DATA_DIR_NAME + "/", List.of(), List.of());
+    }
+  }
+
+  /**
+   * Writes the chunks of one report to {@code data/<reportName>} inside the report directory.
+   *
+   * @return the index to inline into the report
+   */
+  public ReportIndex write(
+      Path reportDir,
+      String reportName,
+      TestExecutionTracker executionTracker,
+      ContextCacheTracker contextCacheTracker)
+      throws IOException {
+    return write(
+        reportDir,
+        reportName,
+        executionTracker,
+        contextCacheTracker,
+        ReportModel.build(executionTracker, contextCacheTracker));
+  }
+
+  /** Writes the chunks with the context statistics already computed for the report. */
+  public ReportIndex write(
+      Path reportDir,
+      String reportName,
+      TestExecutionTracker executionTracker,
+      ContextCacheTracker contextCacheTracker,
+      ReportModel reportModel)
+      throws IOException {
+    Path dataDir = reportDir.resolve(DATA_DIR_NAME).resolve(reportName);
+    Files.createDirectories(dataDir);
+
+    List<Map<String, Object>> contexts = new ArrayList<>();
+    for (Map<String, Object> statistics : reportModel.contextStatistics()) {
+      String chunk = "contexts/" + statistics.get("contextKey");
+      writeChunk(dataDir, chunk, statistics);
+      contexts.add(indexContext(statistics, chunk));
+    }
+
+    List<Map<String, Object>> packages = new ArrayList<>();
+    for (Map.Entry<String, List<Map<String, Object>>> entry :
+        groupTestClassesByPackage(executionTracker, contextCacheTracker).entrySet()) {
+      String packageName = entry.getKey();
+      List<Map<String, Object>> testClasses = entry.getValue();
+      String chunk = "packages/" + packageName;
+
+      Map<String, Object> packageData = new LinkedHashMap<>();
+      packageData.put("packageName", packageName);
+      packageData.put("testClasses", testClasses);
+      writeChunk(dataDir, chunk, packageData);
+
+      Map<String, Object> packageIndex = new LinkedHashMap<>();
+      packageIndex.put("packageName", packageName);
+      packageIndex.put("testClassCount", testClasses.size());
+      packageIndex.put(
+          "testMethodCount",
+          testClasses.stream()
+              .mapToInt(testClass -> (Integer) testClass.get("totalMethods"))
+              .sum());
+      packageIndex.put(
+          "durationMs",
+          testClasses.stream().mapToLong(testClass -> (Long) testClass.get("durationMs")).sum());
+      packageIndex.put("chunk", chunk);
+      packages.add(packageIndex);
+    }
+
+    return new ReportIndex(DATA_DIR_NAME + "/" + reportName + "/", contexts, packages);
+  }
+
+  /** The context fields needed by the search, the annotation filter and the context dropdowns. */
+  private Map<String, Object> indexContext(Map<String, Object> statistics, String chunk) {
+    Map<String, Object> index = new LinkedHashMap<>();
+    for (String key :
+        List.of(
+            "contextKey",
+            "fingerprint",
+            "loadDuration",
+            "numberOfBeans",
+            "testClasses",
+            "testAnnotationTypes",
+            "primaryAnnotationType")) {
+      index.put(key, statistics.get(key));
+    }
+    index.put("chunk", chunk);
+    return index;
+  }
+
+  private Map<String, List<Map<String, Object>>> groupTestClassesByPackage(
+      TestExecutionTracker executionTracker, ContextCacheTracker contextCacheTracker) {
+    Map<String, List<Map<String, Object>>> packages = new TreeMap<>();
+    if (executionTracker == null) {
+      return packages;
+    }
+
+    TemplateHelpers.ClassNameHelper classNameHelper = new TemplateHelpers.ClassNameHelper();
+    for (TestExecutionTracker.TestClassMetrics metrics :
+        executionTracker.getClassMetrics().values()) {
+      String className = metrics.getClassName();
+      String packageName = classNameHelper.getPackageName(className);
+
+      Map<String, Object> testClass = new LinkedHashMap<>();
+      testClass.put("className", className);
+      testClass.put("simpleClassName", classNameHelper.getSimpleClassName(className));
+      testClass.put("durationMs", metrics.getDuration().toMillis());
+      testClass.put("totalMethods", metrics.getTotalMethods());
+      testClass.put("passedMethods", metrics.getPassedMethods());
+      testClass.put("failedMethods", metrics.getFailedMethods());
+      testClass.put(
+          "contextKey",
+          contextCacheTracker != null
+              ? contextCacheTracker
+                  .getContextForTestClass(className)
+                  .map(ContextIdGenerator::getContextId)
+                  .orElse(null)
+              : null);
+      testClass.put("methods", mapTestMethods(metrics));
+
+      packages
+          .computeIfAbsent(
+              packageName.isEmpty() ? DEFAULT_PACKAGE : packageName, k -> new ArrayList<>())
+          .add(testClass);
+    }
+    packages
+        .values()
+        .forEach(
+            testClasses ->
+                testClasses.sort(
+                    Comparator.comparing(testClass -> (String) testClass.get("className"))));
+    return packages;
+  }
+
+  private List<Map<String, Object>> mapTestMethods(TestExecutionTracker.TestClassMetrics metrics) {
+    return metrics.getMethodMetrics().values().stream()
+        .sorted(Comparator.comparing(TestExecutionTracker.TestMethodMetrics::getMethodName))
+        .map(
+            method -> {
+              Map<String, Object> testMethod = new LinkedHashMap<>();
+              testMethod.put("methodName", method.getMethodName());
+              testMethod.put("durationMs", method.getDuration().toMillis());
+              testMethod.put(
+                  "status", method.getStatus() != null ? method.getStatus().name() : null);
+              testMethod.put("phaseDurationsMs", method.getPhaseDurations().toMillisMap());
+              return testMethod;
+            })
+        .toList();
+  }
+
+  private void writeChunk(Path dataDir, String chunk, Object data) throws IOException {
+    String json = SimpleJsonWriter.toJson(data);
+    Path jsonFile = dataDir.resolve(chunk + ".json.gz");
+    Files.createDirectories(jsonFile.getParent());
+    try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(jsonFile))) {
+      out.write(json.getBytes(StandardCharsets.UTF_8));
+    }
+    Files.writeString(
+        dataDir.resolve(chunk + ".js"),
+        CHUNK_CALLBACK + "(" + SimpleJsonWriter.toJson(chunk) + ", " + json + ");\n",
+        StandardCharsets.UTF_8);
+  }
+}
@@ -0,0 +1,105 @@
+package digital.pragmatech.testing.reporting.html;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import digital.pragmatech.testing.TestExecutionTracker;
+import digital.pragmatech.testing.gc.GcPauseStats;
+import digital.pragmatech.testing.phases.TestPhase;
+import digital.pragmatech.testing.phases.TestPhaseDurations;
+import digital.pragmatech.testing.reporting.TemplateHelpers;
+import org.unbescape.html.HtmlEscape;
+
+/**
+ * Writes the rows of the report sections that grow with the number of test classes directly as
+ * HTML. Thymeleaf evaluates every expression of a {@code th:each} row on its own, which dominates
+ * the report generation for suites with thousands of test classes. The templates insert the rows
+ * with {@code th:utext}; all values are escaped here.
+ */
+public class ReportRowWriter {
+
+  private final TemplateHelpers.ClassNameHelper classNameHelper =
+      new TemplateHelpers.ClassNameHelper();
+  private final TemplateHelpers.DurationFormatter durationFormatter =
+      new TemplateHelpers.DurationFormatter();
+
+  /** Rows of the test method phases table: class, methods, a stacked bar and the time per phase. */
+  public String testPhaseRows(List<TestExecutionTracker.TestClassMetrics> testClasses) {
+    StringBuilder html = new StringBuilder(testClasses.size() * 1024);
+    for (TestExecutionTracker.TestClassMetrics metrics : testClasses) {
+      TestPhaseDurations phases = metrics.getPhaseDurations();
+      html.append("<tr><td title=\"")
+          .append(escape(metrics.getClassName()))
+          .append("\"><span>")
+          .append(escape(classNameHelper.getSimpleClassName(metrics.getClassName())))
+          .append("</span><div class=\"bean-category-bar\">");
+      for (TestPhase phase : TestPhase.values()) {
+        html.append("<span class=\"test-phase-")
+            .append(phase.name().toLowerCase(Locale.ROOT))
+            .append("\" style=\"width: ")
+            .append(formatPercentage(phases.getPercentage(phase)))
+            .append("%\" title=\"")
+            .append(escape(phase.getDisplayName()))
+            .append(": ")
+            .append(phases.getMs(phase))
+            .append("ms\"></span>");
+      }
+      html.append("</div></td><td>").append(metrics.getTotalMethods()).append("</td>");
+      for (TestPhase phase : TestPhase.values()) {
+        html.append("<td>").append(phases.getMs(phase)).append("ms</td>");
+      }
+      html.append("</tr>\n");
+    }
+    return html.toString();
+  }
+
+  /** Rows of the GC pauses table of the test classes. */
+  public String gcTestClassRows(List<TestExecutionTracker.TestClassMetrics> testClasses) {
+    StringBuilder html = new StringBuilder(testClasses.size() * 256);
+    for (TestExecutionTracker.TestClassMetrics metrics : testClasses) {
+      GcPauseStats pauses = metrics.getGcPauses();
+      html.append("<tr><td title=\"")
+          .append(escape(metrics.getClassName()))
+          .append("\">")
+          .append(escape(classNameHelper.getSimpleClassName(metrics.getClassName())))
+          .append("</td><td>")
+          .append(pauses.getPauseCount())
+          .append("</td><td>")
+          .append(pauses.getPauseTimeMs())
+          .append("ms (")
+          .append(formatPercentage(pauses.getPauseTimePercentage()))
+          .append("%)</td><td>")
+          .append(pauses.getMaxPauseMs())
+          .append("ms</td></tr>\n");
+    }
+    return html.toString();
+  }
+
+  /** Collapsed packages of the test classes section, their content is loaded by report.js. */
+  public String testPackageItems(List<Map<String, Object>> testPackages) {
+    StringBuilder html = new StringBuilder(testPackages.size() * 384);
+    for (Map<String, Object> testPackage : testPackages) {
+      html.append("<details class=\"test-package\" data-chunk=\"")
+          .append(escape(String.valueOf(testPackage.get("chunk"))))
+          .append("\"><summary><span class=\"test-package-name\">")
+          .append(escape(String.valueOf(testPackage.get("packageName"))))
+          .append("</span><span class=\"test-package-stats\">")
+          .append(testPackage.get("testClassCount"))
+          .append(" classes, ")
+          .append(testPackage.get("testMethodCount"))
+          .append(" methods, ")
+          .append(durationFormatter.format((Long) testPackage.get("durationMs")))
+          .append("</span></summary><div class=\"test-package-content\"></div></details>\n");
+    }
+    return html.toString();
+  }
+
+  private static String formatPercentage(double percentage) {
+    return String.format(Locale.ROOT, "%.1f", percentage);
+  }
+
+  private static String escape(String value) {
+    return HtmlEscape.escapeHtml5(value);
+  }
+}
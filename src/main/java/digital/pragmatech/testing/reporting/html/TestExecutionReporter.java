@@ -9,12 +9,19 @@ import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
 
 import digital.pragmatech.testing.ContextCacheTracker;
-import digital.pragmatech.testing.OptimizationStatistics;
 import digital.pragmatech.testing.SpringContextCacheAccessor;
 import digital.pragmatech.testing.TestExecutionTracker;
-import digital.pragmatech.testing.TimelineData;
+import digital.pragmatech.testing.cds.ClassListWriter;
+import digital.pragmatech.testing.gate.BudgetGate;
+import digital.pragmatech.testing.history.RunHistory;
+import digital.pragmatech.testing.history.RunHistoryRecorder;
+import digital.pragmatech.testing.journal.BinaryEventLog;
+import digital.pragmatech.testing.journal.RunJournal;
+import digital.pragmatech.testing.journal.RunJournalRecovery;
+import digital.pragmatech.testing.reporting.ReportModel;
 import digital.pragmatech.testing.reporting.TemplateHelpers;
 import digital.pragmatech.testing.reporting.json.JsonReportGenerator;
+import digital.pragmatech.testing.sharding.ShardPlanWriter;
 import digital.pragmatech.testing.util.BuildToolDetection;
 import digital.pragmatech.testing.util.VersionInfo;
 import org.slf4j.Logger;
@@ -32,13 +39,108 @@ public class TestExecutionReporter {
       DateTimeFormatter.ofPattern("yyyy-MM-dd_HH-mm-ss");
   private static final String TARGET_DIRECTORY = "target";
   private static final String BUILD_DIRECTORY = "build";
+  private static final String PREWARM_PROPERTY = "pragmatech.spring.test.insight.report.prewarm";
+  private static final String JOURNAL_PROPERTY = "pragmatech.spring.test.insight.journal";
+  private static final String EVENT_LOG_PROPERTY = "pragmatech.spring.test.insight.eventlog";
+  private static final String EVENT_LOG_CAPACITY_PROPERTY =
+      "pragmatech.spring.test.insight.eventlog.capacity";
+  private static final int DEFAULT_EVENT_LOG_CAPACITY = 1 << 18;
 
   private final TemplateEngine templateEngine;
   private final JsonReportGenerator jsonReportGenerator;
+  private final RunHistoryRecorder runHistoryRecorder;
+  private final BudgetGate budgetGate;
+  private final ShardPlanWriter shardPlanWriter;
+  private final ClassListWriter classListWriter;
+  private final ReportDataWriter reportDataWriter;
+  private final ReportRowWriter reportRowWriter;
+  private final RunJournalRecovery journalRecovery;
+  private volatile RunJournal journal = RunJournal.disabled();
 
   public TestExecutionReporter() {
     this.templateEngine = createTemplateEngine();
     this.jsonReportGenerator = new JsonReportGenerator();
+    this.runHistoryRecorder = new RunHistoryRecorder();
+    this.budgetGate = new BudgetGate();
+    this.shardPlanWriter = new ShardPlanWriter();
+    this.classListWriter = new ClassListWriter();
+    this.reportDataWriter = new ReportDataWriter();
+    this.reportRowWriter = new ReportRowWriter();
+    this.journalRecovery = new RunJournalRecovery();
+  }
+
+  /**
+   * Starts the journal of this JVM in the report directory. Disabled with {@code
+   * -Dpragmatech.spring.test.insight.journal=false}.
+   */
+  public RunJournal startJournal() {
+    if (Boolean.parseBoolean(System.getProperty(JOURNAL_PROPERTY, "true"))) {
+      Path journalDir =
+          determineReportDirectory(BuildToolDetection.getDetectedBuildTool())
+              .resolve(RunJournal.JOURNAL_DIR_NAME);
+      try {
+        journal = RunJournal.start(journalDir);
+      } catch (IOException e) {
+        logger.warn("Failed to start the journal in {}: {}", journalDir, e.getMessage());
+      }
+    }
+    return journal;
+  }
+
+  /**
+   * Opt-in: starts the binary event log of this JVM in the report directory with {@code
+   * -Dpragmatech.spring.test.insight.eventlog=true}.
+   */
+  public BinaryEventLog startEventLog() {
+    if (Boolean.parseBoolean(System.getProperty(EVENT_LOG_PROPERTY, "false"))) {
+      Path eventLogDir =
+          determineReportDirectory(BuildToolDetection.getDetectedBuildTool())
+              .resolve(BinaryEventLog.EVENT_LOG_DIR_NAME);
+      try {
+        return BinaryEventLog.start(
+            eventLogDir,
+            Integer.getInteger(EVENT_LOG_CAPACITY_PROPERTY, DEFAULT_EVENT_LOG_CAPACITY));
+      } catch (IOException e) {
+        logger.warn("Failed to start the event log in {}: {}", eventLogDir, e.getMessage());
+      }
+    }
+    return BinaryEventLog.current();
+  }
+
+  /**
+   * Parses the report templates on a background thread, so the shutdown hook, which delays the exit
+   * of the test JVM, only has to render them. Skipped for the JSON report and with {@code
+   * -Dpragmatech.spring.test.insight.report.prewarm=false}.
+   */
+  public void prewarmAsync() {
+    if (Boolean.parseBoolean(System.getProperty("spring.test.insight.json.beta", "false"))
+        || !Boolean.parseBoolean(System.getProperty(PREWARM_PROPERTY, "true"))) {
+      return;
+    }
+    Thread thread = new Thread(this::prewarm, "SpringTestProfilerTemplatePrewarm");
+    thread.setDaemon(true);
+    thread.start();
+  }
+
+  /** Renders the report without data once to fill the template and expression caches. */
+  public void prewarm() {
+    try {
+      long start = System.nanoTime();
+      templateEngine.process(
+          "report",
+          createTemplateContext(
+              BuildToolDetection.BuildTool.UNKNOWN.name(),
+              new TestExecutionTracker(),
+              null,
+              new ContextCacheTracker(),
+              RunHistory.empty(),
+              ReportDataWriter.ReportIndex.empty(),
+              ReportModel.empty()));
+      logger.debug(
+          "Pre-warmed the report templates in {}ms", (System.nanoTime() - start) / 1_000_000);
+    } catch (Exception e) {
+      logger.debug("Failed to pre-warm the report templates", e);
+    }
   }
 
   public void generateReport(
@@ -55,26 +157,58 @@ public class TestExecutionReporter {
       Path reportDir = determineReportDirectory(buildTool);
       Files.createDirectories(reportDir);
 
+      // Rebuild the reports of test JVMs that were killed before writing them
+      journalRecovery.recoverAbandoned(reportDir);
+
+      // Append this run to the local run history and compare it with previous runs
+      String buildId = RunHistoryRecorder.currentBuildId(reportDir);
+      RunHistory runHistory =
+          runHistoryRecorder.record(reportDir, buildId, executionTracker, contextCacheTracker);
+
+      // Opt-in: check the context budget and write the verdict for the build hook
+      budgetGate.check(reportDir, contextCacheTracker);
+
+      // Opt-in: partition the test classes of all forks of this build into CI shards
+      shardPlanWriter.writeIfRequested(reportDir, buildId, executionTracker, contextCacheTracker);
+
+      // Opt-in: write the classes loaded by this JVM as class list for an AppCDS archive
+      classListWriter.writeIfRequested(reportDir);
+
+      long start = System.nanoTime();
+      // Computed once and shared by the writers of the report
+      ReportModel reportModel = ReportModel.build(executionTracker, contextCacheTracker);
       if (jsonReportingEnabled) {
         jsonReportGenerator.generateJsonReport(
-            reportDir, executionTracker, cacheStats, contextCacheTracker);
+            reportDir, buildId, executionTracker, cacheStats, contextCacheTracker, reportModel);
       } else {
         // Copy static assets before generating HTML
         copyStaticAssets(reportDir);
 
         // Original HTML reporting logic
         String timestamp = LocalDateTime.now().format(TIMESTAMP_FORMATTER);
-        String reportFileName = "test-profiler-report-" + timestamp + ".html";
-        Path reportFile = reportDir.resolve(reportFileName);
+        String reportName = "test-profiler-report-" + timestamp;
+        Path reportFile = reportDir.resolve(reportName + ".html");
+
+        // Compressed data chunks, loaded by the report when a section is expanded
+        ReportDataWriter.ReportIndex reportIndex =
+            writeReportData(
+                reportDir, reportName, executionTracker, contextCacheTracker, reportModel);
 
         String htmlContent =
             generateHtmlWithThymeleaf(
-                buildTool.name(), executionTracker, cacheStats, contextCacheTracker);
+                buildTool.name(),
+                executionTracker,
+                cacheStats,
+                contextCacheTracker,
+                runHistory,
+                reportIndex,
+                reportModel);
         Files.write(reportFile, htmlContent.getBytes());
 
         logger.info(
-            "Spring Test Profiler report generated for {} build tool: {}",
+            "Spring Test Profiler report generated for {} build tool in {}ms: {}",
             buildTool.name(),
+            (System.nanoTime() - start) / 1_000_000,
             reportFile.toAbsolutePath());
 
         // Also create a latest.html symlink for easy access
@@ -83,11 +217,31 @@ public class TestExecutionReporter {
         Files.write(latestLink, htmlContent.getBytes());
       }
 
+      // The report is written, the journal is only needed to recover a report
+      journal.delete();
+      // The event log is kept, e.g. to aggregate the logs of all forks
+      BinaryEventLog.current().force();
     } catch (Exception e) {
+      journal.close();
       logger.error("Failed to generate Spring Test Profiler report", e);
     }
   }
 
+  private ReportDataWriter.ReportIndex writeReportData(
+      Path reportDir,
+      String reportName,
+      TestExecutionTracker executionTracker,
+      ContextCacheTracker contextCacheTracker,
+      ReportModel reportModel) {
+    try {
+      return reportDataWriter.write(
+          reportDir, reportName, executionTracker, contextCacheTracker, reportModel);
+    } catch (IOException e) {
+      logger.error("Failed to write the data of the report to {}", reportDir, e);
+      return ReportDataWriter.ReportIndex.empty();
+    }
+  }
+
   /**
    * Determines the report directory based on the build tool and system properties. Supports custom
    * directory via system property, or defaults to build tool conventions.
@@ -126,7 +280,8 @@ public class TestExecutionReporter {
     resolver.setTemplateMode(TemplateMode.HTML);
     resolver.setPrefix("/templates/");
     resolver.setSuffix(".html");
-    resolver.setCacheable(false); // For development; set to true in production
+    // Parsed once, by prewarm() or the first report, and reused for every later report
+    resolver.setCacheable(true);
     resolver.setCharacterEncoding("UTF-8");
 
     engine.setTemplateResolver(resolver);
@@ -137,71 +292,20 @@ public class TestExecutionReporter {
       String buildTool,
       TestExecutionTracker executionTracker,
       SpringContextCacheAccessor.CacheStatistics cacheStats,
-      ContextCacheTracker contextCacheTracker) {
+      ContextCacheTracker contextCacheTracker,
+      RunHistory runHistory,
+      ReportDataWriter.ReportIndex reportIndex,
+      ReportModel reportModel) {
     try {
-      Context context = new Context();
-
-      // Basic template variables
-      context.setVariable("phase", buildTool);
-      context.setVariable(
-          "generatedAt",
-          LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss")));
-      context.setVariable("executionTracker", executionTracker);
-      context.setVariable("cacheStats", cacheStats);
-      context.setVariable("contextCacheTracker", contextCacheTracker);
-
-      // Execution environment info
-      context.setVariable("executionEnvironment", "maven");
-      context.setVariable("executionTimestamp", LocalDateTime.now());
-      context.setVariable("timeZone", ZoneId.systemDefault().getId());
-
-      // Extension version info
-      context.setVariable("extensionVersion", VersionInfo.getVersion());
-      String extensionVersion = VersionInfo.getVersion();
-      context.setVariable("extensionVersion", extensionVersion);
-      // UTM parameters for tracking
-      String utmParameters =
-          "?utm_source=spring-test-profiler&utm_medium=report&utm_campaign=spring-test-profiler-v"
-              + extensionVersion;
-      context.setVariable("utmParameters", utmParameters);
-
-      // Extract available processors from any context entry (they're all the same)
-      Integer availableProcessors = null;
-      if (contextCacheTracker != null) {
-        availableProcessors =
-            contextCacheTracker.getAllEntries().stream()
-                .filter(entry -> entry.getAvailableProcessors() > 0)
-                .map(entry -> entry.getAvailableProcessors())
-                .findFirst()
-                .orElse(null);
-      }
-      context.setVariable("availableProcessors", availableProcessors);
-
-      // Calculate and add optimization statistics
-      if (contextCacheTracker != null) {
-        OptimizationStatistics optimizationStats =
-            contextCacheTracker.calculateOptimizationStatistics();
-        context.setVariable("optimizationStats", optimizationStats);
-
-        // Add timeline data for visualization
-        TimelineData timelineData = contextCacheTracker.getTimelineData();
-        context.setVariable("timelineData", timelineData);
-      }
-
-      // Static assets are now copied in generateReport method
-
-      // Register helper beans for templates
-      registerHelperBeans(context, contextCacheTracker);
-
-      // Add context statistics JSON for JavaScript consumption
-      if (contextCacheTracker != null) {
-        TemplateHelpers.JsonHelper jsonHelper = new TemplateHelpers.JsonHelper();
-        String contextStatisticsJson = jsonHelper.contextStatisticsToJson(contextCacheTracker);
-        context.setVariable("contextStatisticsJson", contextStatisticsJson);
-      } else {
-        context.setVariable("contextStatisticsJson", "[]");
-      }
-
+      Context context =
+          createTemplateContext(
+              buildTool,
+              executionTracker,
+              cacheStats,
+              contextCacheTracker,
+              runHistory,
+              reportIndex,
+              reportModel);
       String result = templateEngine.process("report", context);
       logger.info("Successfully generated HTML with Thymeleaf templates");
       return result;
@@ -211,6 +315,69 @@ public class TestExecutionReporter {
     }
   }
 
+  private Context createTemplateContext(
+      String buildTool,
+      TestExecutionTracker executionTracker,
+      SpringContextCacheAccessor.CacheStatistics cacheStats,
+      ContextCacheTracker contextCacheTracker,
+      RunHistory runHistory,
+      ReportDataWriter.ReportIndex reportIndex,
+      ReportModel reportModel) {
+    Context context = new Context();
+
+    // Basic template variables
+    context.setVariable("phase", buildTool);
+    context.setVariable(
+        "generatedAt",
+        LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss")));
+    context.setVariable("executionTracker", executionTracker);
+    context.setVariable("cacheStats", cacheStats);
+    context.setVariable("contextCacheTracker", contextCacheTracker);
+
+    // Execution environment info
+    context.setVariable("executionEnvironment", "maven");
+    context.setVariable("executionTimestamp", LocalDateTime.now());
+    context.setVariable("timeZone", ZoneId.systemDefault().getId());
+
+    // Extension version info
+    context.setVariable("extensionVersion", VersionInfo.getVersion());
+    String extensionVersion = VersionInfo.getVersion();
+    context.setVariable("extensionVersion", extensionVersion);
+    // UTM parameters for tracking
+    String utmParameters =
+        "?utm_source=spring-test-profiler&utm_medium=report&utm_campaign=spring-test-profiler-v"
+            + extensionVersion;
+    context.setVariable("utmParameters", utmParameters);
+
+    context.setVariable("reportModel", reportModel);
+    context.setVariable("availableProcessors", reportModel.availableProcessors());
+    if (contextCacheTracker != null) {
+      context.setVariable("optimizationStats", reportModel.optimizationStatistics());
+      context.setVariable("timelineData", reportModel.timelineData());
+      context.setVariable(
+          "contextLifecycleJson",
+          new TemplateHelpers.JsonHelper().timelineToJson(reportModel.timelineData()));
+    }
+
+    // Static assets are now copied in generateReport method
+
+    // Register helper beans for templates
+    registerHelperBeans(context, contextCacheTracker);
+
+    // Only the index of the contexts is inlined, report.js loads their data chunk on demand
+    TemplateHelpers.JsonHelper jsonHelper = new TemplateHelpers.JsonHelper();
+    context.setVariable("contextStatisticsJson", jsonHelper.toJson(reportIndex.contexts()));
+    context.setVariable("reportDataPath", reportIndex.basePath());
+    context.setVariable("testPackages", reportIndex.packages());
+
+    // Run history for trend charts and regression flags
+    context.setVariable("runHistory", runHistory);
+    context.setVariable(
+        "runHistoryJson", new TemplateHelpers.JsonHelper().runHistoryToJson(runHistory));
+
+    return context;
+  }
+
   private void registerHelperBeans(Context context, ContextCacheTracker contextCacheTracker) {
     // Register all helper beans that templates can use
     context.setVariable("durationFormatter", new TemplateHelpers.DurationFormatter());
@@ -221,13 +388,13 @@ public class TestExecutionReporter {
     context.setVariable("testMethodSorter", new TemplateHelpers.TestMethodSorter());
     context.setVariable("testClassSorter", new TemplateHelpers.TestClassSorter());
     context.setVariable("classNameComparator", new TemplateHelpers.ClassNameComparator());
-    context.setVariable("cacheKeyProcessor", new TemplateHelpers.CacheKeyProcessor());
     context.setVariable("summaryCalculator", new TemplateHelpers.SummaryCalculator());
     context.setVariable(
         "configurationHelper", new TemplateHelpers.ConfigurationHelper(contextCacheTracker));
     context.setVariable("testStatusCounter", new TemplateHelpers.TestStatusCounter());
     context.setVariable("jsonHelper", new TemplateHelpers.JsonHelper());
     context.setVariable("helpers", new TemplateHelpers());
+    context.setVariable("rowWriter", reportRowWriter);
   }
 
   private void copyStaticAssets(Path reportDir) {
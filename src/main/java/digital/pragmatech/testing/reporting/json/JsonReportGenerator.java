@@ -4,24 +4,46 @@ import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.UUID;
 
 import digital.pragmatech.testing.ContextCacheTracker;
+import digital.pragmatech.testing.ContextFingerprint;
+import digital.pragmatech.testing.ContextIdGenerator;
 import digital.pragmatech.testing.SpringContextCacheAccessor;
 import digital.pragmatech.testing.TestExecutionTracker;
+import digital.pragmatech.testing.reporting.ReportModel;
 import digital.pragmatech.testing.util.SimpleJsonWriter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.test.context.MergedContextConfiguration;
 
+/**
+ * Writes the collected data as a machine-readable JSON report. Next to the uniquely named report, a
+ * {@code latest.json} copy is written so CI jobs can pick up the report of the current run (e.g. to
+ * diff it against the report of the base branch).
+ */
 public class JsonReportGenerator {
 
   private static final Logger logger = LoggerFactory.getLogger(JsonReportGenerator.class);
 
+  /** Incremented whenever the structure of the report changes incompatibly. */
+  public static final int SCHEMA_VERSION = 1;
+
+  public static final String LATEST_REPORT_FILE_NAME = "latest.json";
+
   public void generateJsonReport(
       Path reportDir,
+      String buildId,
       TestExecutionTracker executionTracker,
       SpringContextCacheAccessor.CacheStatistics cacheStats,
-      ContextCacheTracker contextCacheTracker) {
+      ContextCacheTracker contextCacheTracker,
+      ReportModel reportModel) {
     try {
       Files.createDirectories(reportDir);
 
@@ -29,10 +51,12 @@ public class JsonReportGenerator {
       String jsonFileName = String.format("spring-test-profiler-%s.json", uniqueId);
       Path jsonFile = reportDir.resolve(jsonFileName);
 
-      ReportData reportData = new ReportData(executionTracker, cacheStats, contextCacheTracker);
+      ReportData reportData =
+          createReportData(buildId, executionTracker, cacheStats, contextCacheTracker, reportModel);
 
       String json = SimpleJsonWriter.toJsonPretty(reportData);
       Files.writeString(jsonFile, json, StandardCharsets.UTF_8);
+      Files.writeString(reportDir.resolve(LATEST_REPORT_FILE_NAME), json, StandardCharsets.UTF_8);
 
       logger.info("Successfully generated JSON report: {}", jsonFile.toAbsolutePath());
 
@@ -41,8 +65,111 @@ public class JsonReportGenerator {
     }
   }
 
-  private record ReportData(
+  ReportData createReportData(
+      String buildId,
       TestExecutionTracker executionTracker,
       SpringContextCacheAccessor.CacheStatistics cacheStats,
-      ContextCacheTracker contextCacheTracker) {}
+      ContextCacheTracker contextCacheTracker,
+      ReportModel reportModel) {
+    List<Map<String, Object>> contexts = reportModel.contextStatistics();
+
+    Map<String, Object> summary = new LinkedHashMap<>();
+    summary.put(
+        "totalTestClasses", executionTracker != null ? executionTracker.getTotalTestClasses() : 0);
+    summary.put(
+        "totalTestMethods", executionTracker != null ? executionTracker.getTotalTestMethods() : 0);
+    summary.put(
+        "totalDurationMs",
+        executionTracker != null ? executionTracker.getOverallDuration().toMillis() : 0);
+    if (contextCacheTracker != null) {
+      summary.put("contextsCreated", contextCacheTracker.getTotalContextsCreated());
+      summary.put("cacheHits", contextCacheTracker.getCacheHits());
+      summary.put("cacheMisses", contextCacheTracker.getCacheMisses());
+      summary.put("contextReuseRate", contextCacheTracker.getContextReuseRate());
+    }
+    summary.put(
+        "totalContextLoadTimeMs",
+        contexts.stream().mapToLong(context -> (Long) context.get("loadDuration")).sum());
+    if (executionTracker != null) {
+      summary.put(
+          "gcPauseTimeMs", executionTracker.getGcActivityTracker().getTotal().getPauseTimeMs());
+      summary.put(
+          "unattributedGcPauseTimeMs",
+          executionTracker.getGcActivityTracker().getUnattributed().getPauseTimeMs());
+    }
+    summary.put("cacheStatistics", cacheStats);
+
+    return new ReportData(
+        SCHEMA_VERSION,
+        Instant.now(),
+        buildId,
+        moduleName(),
+        summary,
+        contexts,
+        reportModel.testClassStatistics());
+  }
+
+  /** Maps a completed test class to the structure of the {@code testClasses} of the report. */
+  public static Map<String, Object> mapTestClass(
+      TestExecutionTracker.TestClassMetrics metrics,
+      Optional<MergedContextConfiguration> configuration) {
+    Map<String, Object> testClass = new LinkedHashMap<>();
+    testClass.put("className", metrics.getClassName());
+    testClass.put("durationMs", metrics.getDuration().toMillis());
+    testClass.put("totalMethods", metrics.getTotalMethods());
+    testClass.put("passedMethods", metrics.getPassedMethods());
+    testClass.put("failedMethods", metrics.getFailedMethods());
+    testClass.put("gcPauseTimeMs", metrics.getGcPauses().getPauseTimeMs());
+    testClass.put("gcPauseCount", metrics.getGcPauses().getPauseCount());
+    testClass.put("phaseDurationsMs", metrics.getPhaseDurations().toMillisMap());
+    testClass.put("fingerprint", configuration.map(ContextFingerprint::of).orElse(null));
+    testClass.put("contextKey", configuration.map(ContextIdGenerator::getContextId).orElse(null));
+    return testClass;
+  }
+
+  /**
+   * Surefire, Failsafe and Gradle run the tests in the directory of the module (subproject). Its
+   * path relative to the root of the build identifies the report when the reports of a multi-module
+   * build are aggregated, the directory name alone is not unique (e.g. {@code services/core} and
+   * {@code clients/core}).
+   */
+  static String moduleName() {
+    return moduleName(Paths.get("").toAbsolutePath());
+  }
+
+  static String moduleName(Path moduleDir) {
+    Path root = buildRoot(moduleDir);
+    if (root.equals(moduleDir)) {
+      // Single-module build
+      return moduleDir.getFileName() != null ? moduleDir.getFileName().toString() : null;
+    }
+    return root.relativize(moduleDir).toString().replace('\\', '/');
+  }
+
+  /**
+   * The directory of the Gradle settings file or, for Maven, the topmost directory of the parent
+   * directories that all have a {@code pom.xml}.
+   */
+  private static Path buildRoot(Path moduleDir) {
+    for (Path dir = moduleDir; dir != null; dir = dir.getParent()) {
+      if (Files.isRegularFile(dir.resolve("settings.gradle"))
+          || Files.isRegularFile(dir.resolve("settings.gradle.kts"))) {
+        return dir;
+      }
+    }
+    Path root = moduleDir;
+    while (root.getParent() != null && Files.isRegularFile(root.getParent().resolve("pom.xml"))) {
+      root = root.getParent();
+    }
+    return root;
+  }
+
+  record ReportData(
+      int schemaVersion,
+      Instant generatedAt,
+      String buildId,
+      String module,
+      Map<String, Object> summary,
+      List<Map<String, Object>> contexts,
+      List<Map<String, Object>> testClasses) {}
 }
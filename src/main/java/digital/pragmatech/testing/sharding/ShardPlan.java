@@ -0,0 +1,33 @@
+package digital.pragmatech.testing.sharding;
+
+import java.util.List;
+
+/**
+ * Assignment of test classes to CI shards.
+ *
+ * @param shards the shards, numbered from 1
+ * @param distinctContexts number of distinct contexts of the whole test suite
+ */
+public record ShardPlan(List<Shard> shards, int distinctContexts) {
+
+  /**
+   * A single shard.
+   *
+   * @param index the shard number, starting at 1
+   * @param testClasses top-level test classes to run on this shard
+   * @param estimatedDurationMs estimated wall time of the shard (test time plus context loads)
+   * @param contextLoads number of contexts this shard needs to load
+   */
+  public record Shard(
+      int index, List<String> testClasses, long estimatedDurationMs, int contextLoads) {}
+
+  /** Estimated wall time of the slowest shard. */
+  public long getMakespanMs() {
+    return shards.stream().mapToLong(Shard::estimatedDurationMs).max().orElse(0);
+  }
+
+  /** Context loads that happen on more than one shard. */
+  public int getDuplicatedContextLoads() {
+    return shards.stream().mapToInt(Shard::contextLoads).sum() - distinctContexts;
+  }
+}
@@ -0,0 +1,91 @@
+package digital.pragmatech.testing.sharding;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import digital.pragmatech.testing.cli.JsonReports;
+import digital.pragmatech.testing.cli.ReportMerger;
+
+/**
+ * Command line entry point to plan shards from the JSON reports of a previous run.
+ *
+ * <pre>
+ * java -cp spring-test-profiler.jar digital.pragmatech.testing.sharding.ShardPlanCommand \
+ *     target/spring-test-profiler --shards 8 [--output-dir shards]
+ * </pre>
+ *
+ * <p>Every forked test JVM writes a report of its own test classes. Pass all of them, or the
+ * directories containing them, and they are merged like the CLI's {@code merge} command before the
+ * shards are planned.
+ */
+public class ShardPlanCommand {
+
+  static final int EXIT_OK = 0;
+  static final int EXIT_USAGE_ERROR = 2;
+
+  private static final String USAGE =
+      "Usage: ShardPlanCommand <reports...> --shards <count> [--output-dir <dir>]";
+
+  public static void main(String[] args) {
+    System.exit(new ShardPlanCommand().run(args, System.out, System.err));
+  }
+
+  int run(String[] args, PrintStream out, PrintStream err) {
+    List<Path> inputs = new ArrayList<>();
+    Path outputDir = Paths.get("shards");
+    int shardCount = -1;
+
+    try {
+      for (int i = 0; i < args.length; i++) {
+        switch (args[i]) {
+          case "--shards" -> shardCount = Integer.parseInt(args[++i]);
+          case "--output-dir" -> outputDir = Paths.get(args[++i]);
+          default -> inputs.add(Paths.get(args[i]));
+        }
+      }
+      if (inputs.isEmpty() || shardCount < 1) {
+        throw new IllegalArgumentException("Reports and a positive shard count are required");
+      }
+    } catch (ArrayIndexOutOfBoundsException | IllegalArgumentException e) {
+      err.println(e.getMessage() != null ? e.getMessage() : "Missing option value");
+      err.println(USAGE);
+      return EXIT_USAGE_ERROR;
+    }
+
+    try {
+      List<Path> reportFiles = JsonReports.find(inputs);
+      if (reportFiles.isEmpty()) {
+        throw new IllegalArgumentException("No reports found in " + inputs);
+      }
+      List<Map<String, Object>> reports =
+          JsonReports.readNewestBuilds(reportFiles, err).stream()
+              .map(JsonReports.Report::content)
+              .toList();
+      Map<String, Object> report =
+          reports.size() == 1 ? reports.get(0) : new ReportMerger().merge(reports);
+      ShardPlan plan = new ShardPlanner(shardCount).plan(TestClassCost.fromReport(report));
+      new ShardPlanWriter().write(plan, outputDir);
+
+      for (ShardPlan.Shard shard : plan.shards()) {
+        out.printf(
+            "Shard %d: %d test classes, ~%dms, %d context loads%n",
+            shard.index(),
+            shard.testClasses().size(),
+            shard.estimatedDurationMs(),
+            shard.contextLoads());
+      }
+      out.printf(
+          "Wrote %d shards planned from %d reports to %s (%d duplicated context loads)%n",
+          shardCount, reports.size(), outputDir.toAbsolutePath(), plan.getDuplicatedContextLoads());
+      return EXIT_OK;
+    } catch (IOException | IllegalArgumentException e) {
+      err.println("Failed to plan shards: " + e.getMessage());
+      return EXIT_USAGE_ERROR;
+    }
+  }
+}
@@ -0,0 +1,172 @@
+package digital.pragmatech.testing.sharding;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import digital.pragmatech.testing.ContextCacheTracker;
+import digital.pragmatech.testing.TestExecutionTracker;
+import digital.pragmatech.testing.util.SimpleJsonReader;
+import digital.pragmatech.testing.util.SimpleJsonWriter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Writes a {@link ShardPlan} as include files, one fully qualified test class name per line:
+ *
+ * <ul>
+ *   <li>{@code shard-N.txt} for each shard, usable as Surefire/Failsafe {@code includesFile} or
+ *       with Gradle's {@code filter.includeTestsMatching}
+ *   <li>{@code shard-1-excludes.txt} with the classes of all other shards. Running shard 1 with it
+ *       as {@code excludesFile} also covers test classes that are newer than the plan.
+ *   <li>{@code shard-plan.json} with the estimated duration and context loads per shard
+ * </ul>
+ *
+ * <p>Set {@code pragmatech.spring.test.insight.shards} to the number of shards to write a plan
+ * based on the current run to {@code shards} inside the report directory. A forked test JVM only
+ * knows its own test classes, so the forks of a build collect their test class costs in {@code
+ * test-class-costs.json} (guarded by a file lock) and each fork plans from the classes of all forks
+ * that finished so far. The plan of the last fork covers the whole build. Costs of previous builds
+ * are dropped. To plan from the reports of another run use {@link ShardPlanCommand}.
+ */
+public class ShardPlanWriter {
+
+  private static final Logger logger = LoggerFactory.getLogger(ShardPlanWriter.class);
+
+  static final String SHARDS_PROPERTY = "pragmatech.spring.test.insight.shards";
+
+  static final String COSTS_FILE_NAME = "test-class-costs.json";
+
+  /**
+   * Plans and writes the shards for the test classes of all forks of the current build if requested
+   * via system property.
+   */
+  public void writeIfRequested(
+      Path reportDir,
+      String buildId,
+      TestExecutionTracker executionTracker,
+      ContextCacheTracker contextCacheTracker) {
+    Integer shardCount = Integer.getInteger(SHARDS_PROPERTY);
+    if (shardCount == null || executionTracker == null || contextCacheTracker == null) {
+      return;
+    }
+
+    try {
+      Path shardDir = reportDir.resolve("shards");
+      ShardPlan plan =
+          planWithOtherForks(
+              shardDir,
+              buildId,
+              TestClassCost.fromTrackers(executionTracker, contextCacheTracker),
+              new ShardPlanner(shardCount));
+      logger.info(
+          "Wrote {} test shards to {} (slowest shard ~{}ms, {} duplicated context loads)",
+          shardCount,
+          shardDir.toAbsolutePath(),
+          plan.getMakespanMs(),
+          plan.getDuplicatedContextLoads());
+    } catch (IOException | IllegalArgumentException e) {
+      logger.warn("Failed to write test shards: {}", e.getMessage());
+    }
+  }
+
+  /**
+   * Adds the costs of this fork to those of the other forks of the build and writes the plan for
+   * all of them. The lock is held until the plan is written, so forks finishing at the same time
+   * don't overwrite each other's shard files.
+   */
+  ShardPlan planWithOtherForks(
+      Path shardDir, String buildId, List<TestClassCost> costs, ShardPlanner planner)
+      throws IOException {
+    Files.createDirectories(shardDir);
+    try (FileChannel channel =
+            FileChannel.open(
+                shardDir.resolve(COSTS_FILE_NAME),
+                StandardOpenOption.CREATE,
+                StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        FileLock ignored = channel.lock()) {
+      Map<String, TestClassCost> buildCosts = new LinkedHashMap<>();
+      Map<String, Object> previous = readCosts(channel);
+      if (buildId != null && buildId.equals(previous.get("buildId"))) {
+        for (Object element : SimpleJsonReader.asList(previous.get("testClasses"))) {
+          Map<String, Object> cost = SimpleJsonReader.asMap(element);
+          String className = String.valueOf(cost.get("className"));
+          buildCosts.put(
+              className,
+              new TestClassCost(
+                  className,
+                  SimpleJsonReader.asLong(cost.get("durationMs"), 0),
+                  cost.get("contextKey") != null ? String.valueOf(cost.get("contextKey")) : null,
+                  SimpleJsonReader.asLong(cost.get("contextLoadMs"), 0)));
+        }
+      }
+      costs.forEach(cost -> buildCosts.put(cost.className(), cost));
+
+      Map<String, Object> content = new LinkedHashMap<>();
+      content.put("buildId", buildId);
+      content.put("testClasses", new ArrayList<>(buildCosts.values()));
+      ByteBuffer buffer =
+          ByteBuffer.wrap(SimpleJsonWriter.toJsonPretty(content).getBytes(StandardCharsets.UTF_8));
+      channel.truncate(0);
+      channel.position(0);
+      while (buffer.hasRemaining()) {
+        channel.write(buffer);
+      }
+
+      ShardPlan plan = planner.plan(new ArrayList<>(buildCosts.values()));
+      write(plan, shardDir);
+      return plan;
+    }
+  }
+
+  private static Map<String, Object> readCosts(FileChannel channel) throws IOException {
+    ByteArrayOutputStream content = new ByteArrayOutputStream();
+    ByteBuffer buffer = ByteBuffer.allocate(64 * 1024);
+    while (channel.read(buffer) > 0) {
+      content.write(buffer.array(), 0, buffer.position());
+      buffer.clear();
+    }
+    String json = content.toString(StandardCharsets.UTF_8);
+    if (json.isBlank()) {
+      return Map.of();
+    }
+    try {
+      return SimpleJsonReader.parseObject(json);
+    } catch (IllegalArgumentException e) {
+      logger.debug("Ignoring unreadable test class costs: {}", e.getMessage());
+      return Map.of();
+    }
+  }
+
+  public void write(ShardPlan plan, Path directory) throws IOException {
+    Files.createDirectories(directory);
+
+    List<String> otherShardClasses = new ArrayList<>();
+    for (ShardPlan.Shard shard : plan.shards()) {
+      Files.write(
+          directory.resolve("shard-" + shard.index() + ".txt"),
+          shard.testClasses(),
+          StandardCharsets.UTF_8);
+      if (shard.index() != 1) {
+        otherShardClasses.addAll(shard.testClasses());
+      }
+    }
+    Files.write(
+        directory.resolve("shard-1-excludes.txt"), otherShardClasses, StandardCharsets.UTF_8);
+    Files.writeString(
+        directory.resolve("shard-plan.json"),
+        SimpleJsonWriter.toJsonPretty(plan),
+        StandardCharsets.UTF_8);
+  }
+}
@@ -0,0 +1,266 @@
+package digital.pragmatech.testing.sharding;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Partitions test classes into shards with balanced wall time while keeping test classes that share
+ * a context on the same shard, so each context is loaded as few times as possible.
+ *
+ * <p>The cost of a shard is the net test time of its classes plus the load time of every distinct
+ * context it needs. The planner
+ *
+ * <ol>
+ *   <li>groups classes by context (nested classes stay with their top-level class),
+ *   <li>splits groups that are larger than the ideal shard size, paying an extra context load per
+ *       split,
+ *   <li>assigns the groups longest-first to the shard with the lowest resulting cost, which
+ *       accounts for contexts the shard already loads, and
+ *   <li>moves single classes off the slowest shard while that shortens it.
+ * </ol>
+ */
+public class ShardPlanner {
+
+  private static final int MAX_IMPROVEMENT_ROUNDS = 1000;
+
+  private final int shardCount;
+
+  public ShardPlanner(int shardCount) {
+    if (shardCount < 1) {
+      throw new IllegalArgumentException("Shard count must be at least 1, was " + shardCount);
+    }
+    this.shardCount = shardCount;
+  }
+
+  public ShardPlan plan(List<TestClassCost> costs) {
+    Map<String, Long> loadTimes = new HashMap<>();
+    for (TestClassCost cost : costs) {
+      if (cost.contextKey() != null) {
+        loadTimes.merge(cost.contextKey(), cost.contextLoadMs(), Math::max);
+      }
+    }
+
+    List<Unit> units = createUnits(costs, loadTimes);
+    long total =
+        units.stream().mapToLong(unit -> unit.netMs).sum()
+            + loadTimes.values().stream().mapToLong(Long::longValue).sum();
+    long idealShardMs = Math.max(1, total / shardCount);
+
+    List<ShardState> items = new ArrayList<>();
+    for (List<Unit> cluster : clusterByPrimaryContext(units)) {
+      items.addAll(split(cluster, loadTimes, idealShardMs));
+    }
+    items.sort(Comparator.comparingLong(ShardState::cost).reversed());
+
+    List<ShardState> shards = new ArrayList<>();
+    for (int i = 0; i < shardCount; i++) {
+      shards.add(new ShardState(loadTimes));
+    }
+    for (ShardState item : items) {
+      ShardState target =
+          shards.stream()
+              .min(Comparator.comparingLong(shard -> shard.cost() + shard.marginalCost(item.units)))
+              .orElseThrow();
+      item.units.forEach(target::add);
+    }
+
+    improve(shards);
+
+    List<ShardPlan.Shard> result = new ArrayList<>();
+    for (int i = 0; i < shards.size(); i++) {
+      ShardState shard = shards.get(i);
+      result.add(
+          new ShardPlan.Shard(
+              i + 1,
+              shard.units.stream().map(unit -> unit.className).sorted().toList(),
+              shard.cost(),
+              shard.contextUsages.size()));
+    }
+    return new ShardPlan(result, loadTimes.size());
+  }
+
+  /**
+   * Merges nested classes into their top-level class and removes the context load from the measured
+   * durations (the class that triggered the load includes it in its duration).
+   */
+  private List<Unit> createUnits(List<TestClassCost> costs, Map<String, Long> loadTimes) {
+    Map<String, Long> durationByContext = new HashMap<>();
+    for (TestClassCost cost : costs) {
+      if (cost.contextKey() != null) {
+        durationByContext.merge(cost.contextKey(), cost.durationMs(), Long::sum);
+      }
+    }
+
+    Map<String, Unit> units = new TreeMap<>();
+    for (TestClassCost cost : costs) {
+      String topLevelClass = topLevelClassName(cost.className());
+      Unit unit = units.computeIfAbsent(topLevelClass, Unit::new);
+
+      long netMs = cost.durationMs();
+      if (cost.contextKey() != null) {
+        long contextDuration = durationByContext.get(cost.contextKey());
+        long contextNet = Math.max(0, contextDuration - loadTimes.get(cost.contextKey()));
+        netMs = contextDuration > 0 ? cost.durationMs() * contextNet / contextDuration : 0;
+        unit.netByContext.merge(cost.contextKey(), netMs, Long::sum);
+      }
+      unit.netMs += netMs;
+    }
+    return new ArrayList<>(units.values());
+  }
+
+  /** Groups units by the context they spend the most time in. */
+  private List<List<Unit>> clusterByPrimaryContext(List<Unit> units) {
+    Map<String, List<Unit>> clusters = new LinkedHashMap<>();
+    for (Unit unit : units) {
+      String key =
+          unit.netByContext.entrySet().stream()
+              .max(
+                  Map.Entry.<String, Long>comparingByValue()
+                      .thenComparing(Map.Entry.comparingByKey()))
+              .map(Map.Entry::getKey)
+              .orElse("class:" + unit.className);
+      clusters.computeIfAbsent(key, k -> new ArrayList<>()).add(unit);
+    }
+    return new ArrayList<>(clusters.values());
+  }
+
+  /** Splits a cluster that is larger than the ideal shard into roughly equal chunks. */
+  private List<ShardState> split(
+      List<Unit> cluster, Map<String, Long> loadTimes, long idealShardMs) {
+    ShardState whole = new ShardState(loadTimes);
+    cluster.forEach(whole::add);
+    if (whole.cost() <= idealShardMs || cluster.size() == 1) {
+      return List.of(whole);
+    }
+
+    int chunkCount =
+        (int) Math.min(cluster.size(), (whole.cost() + idealShardMs - 1) / idealShardMs);
+    List<ShardState> chunks = new ArrayList<>();
+    for (int i = 0; i < chunkCount; i++) {
+      chunks.add(new ShardState(loadTimes));
+    }
+    List<Unit> sorted = new ArrayList<>(cluster);
+    sorted.sort(Comparator.comparingLong((Unit unit) -> unit.netMs).reversed());
+    for (Unit unit : sorted) {
+      chunks.stream().min(Comparator.comparingLong(ShardState::cost)).orElseThrow().add(unit);
+    }
+    return chunks;
+  }
+
+  /** Moves single units off the slowest shard as long as that shortens it. */
+  private void improve(List<ShardState> shards) {
+    for (int round = 0; round < MAX_IMPROVEMENT_ROUNDS; round++) {
+      ShardState slowest =
+          shards.stream().max(Comparator.comparingLong(ShardState::cost)).orElseThrow();
+
+      Unit bestUnit = null;
+      ShardState bestTarget = null;
+      long bestMakespan = slowest.cost();
+      for (Unit unit : slowest.units) {
+        long remaining = slowest.cost() - slowest.removalSaving(unit);
+        for (ShardState target : shards) {
+          if (target == slowest) {
+            continue;
+          }
+          long makespan = Math.max(remaining, target.cost() + target.marginalCost(List.of(unit)));
+          if (makespan < bestMakespan) {
+            bestMakespan = makespan;
+            bestUnit = unit;
+            bestTarget = target;
+          }
+        }
+      }
+
+      if (bestUnit == null) {
+        return;
+      }
+      slowest.remove(bestUnit);
+      bestTarget.add(bestUnit);
+    }
+  }
+
+  static String topLevelClassName(String className) {
+    int nestedIndex = className.indexOf('$');
+    return nestedIndex >= 0 ? className.substring(0, nestedIndex) : className;
+  }
+
+  /** A top-level test class with its nested classes. */
+  private static final class Unit {
+    private final String className;
+    private final Map<String, Long> netByContext = new TreeMap<>();
+    private long netMs;
+
+    private Unit(String className) {
+      this.className = className;
+    }
+  }
+
+  /** Mutable assignment of units used while planning. */
+  private static final class ShardState {
+    private final Map<String, Long> loadTimes;
+    private final List<Unit> units = new ArrayList<>();
+    private final Map<String, Integer> contextUsages = new HashMap<>();
+    private long netMs;
+    private long loadMs;
+
+    private ShardState(Map<String, Long> loadTimes) {
+      this.loadTimes = loadTimes;
+    }
+
+    long cost() {
+      return netMs + loadMs;
+    }
+
+    void add(Unit unit) {
+      units.add(unit);
+      netMs += unit.netMs;
+      for (String context : unit.netByContext.keySet()) {
+        if (contextUsages.merge(context, 1, Integer::sum) == 1) {
+          loadMs += loadTimes.get(context);
+        }
+      }
+    }
+
+    void remove(Unit unit) {
+      units.remove(unit);
+      netMs -= unit.netMs;
+      for (String context : unit.netByContext.keySet()) {
+        if (contextUsages.merge(context, -1, Integer::sum) == 0) {
+          contextUsages.remove(context);
+          loadMs -= loadTimes.get(context);
+        }
+      }
+    }
+
+    /** Additional cost of adding the units, including contexts not yet loaded on this shard. */
+    long marginalCost(List<Unit> candidates) {
+      long cost = 0;
+      Map<String, Boolean> newContexts = new HashMap<>();
+      for (Unit unit : candidates) {
+        cost += unit.netMs;
+        for (String context : unit.netByContext.keySet()) {
+          if (!contextUsages.containsKey(context) && newContexts.put(context, true) == null) {
+            cost += loadTimes.get(context);
+          }
+        }
+      }
+      return cost;
+    }
+
+    /** Cost saved by removing the unit, including contexts only this unit needs. */
+    long removalSaving(Unit unit) {
+      long saving = unit.netMs;
+      for (String context : unit.netByContext.keySet()) {
+        if (contextUsages.get(context) == 1) {
+          saving += loadTimes.get(context);
+        }
+      }
+      return saving;
+    }
+  }
+}
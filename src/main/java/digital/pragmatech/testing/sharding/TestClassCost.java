@@ -0,0 +1,84 @@
+package digital.pragmatech.testing.sharding;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import digital.pragmatech.testing.ContextCacheEntry;
+import digital.pragmatech.testing.ContextCacheTracker;
+import digital.pragmatech.testing.ContextFingerprint;
+import digital.pragmatech.testing.TestExecutionTracker;
+import digital.pragmatech.testing.util.SimpleJsonReader;
+import org.springframework.test.context.MergedContextConfiguration;
+
+/**
+ * Measured cost of a test class as input for the {@link ShardPlanner}.
+ *
+ * @param className the fully qualified class name (may be a nested class)
+ * @param durationMs the measured duration of the class, including a context load if the class
+ *     triggered one
+ * @param contextKey the fingerprint of the context the class uses, or {@code null} for classes
+ *     without a Spring context
+ * @param contextLoadMs the load time of that context
+ */
+public record TestClassCost(
+    String className, long durationMs, String contextKey, long contextLoadMs) {
+
+  /** Collects the costs of the current run from the trackers. */
+  public static List<TestClassCost> fromTrackers(
+      TestExecutionTracker executionTracker, ContextCacheTracker contextCacheTracker) {
+    List<TestClassCost> costs = new ArrayList<>();
+    for (TestExecutionTracker.TestClassMetrics metrics :
+        executionTracker.getClassMetrics().values()) {
+      Optional<MergedContextConfiguration> configuration =
+          contextCacheTracker.getContextForTestClass(metrics.getClassName());
+      Optional<ContextCacheEntry> entry = configuration.flatMap(contextCacheTracker::getCacheEntry);
+      costs.add(
+          new TestClassCost(
+              metrics.getClassName(),
+              metrics.getDuration().toMillis(),
+              configuration.map(ContextFingerprint::of).orElse(null),
+              entry.map(TestClassCost::loadTimeOfOneLoad).orElse(0L)));
+    }
+    return costs;
+  }
+
+  /**
+   * Collects the costs from a parsed JSON report (see {@code JsonReportGenerator}). In merged
+   * reports the load durations of a context are summed up over its {@code loadCount} loads, the
+   * cost is the load time of one of them.
+   */
+  public static List<TestClassCost> fromReport(Map<String, Object> report) {
+    Map<String, Long> loadTimeByFingerprint = new HashMap<>();
+    for (Object element : SimpleJsonReader.asList(report.get("contexts"))) {
+      Map<String, Object> context = SimpleJsonReader.asMap(element);
+      if (context.get("fingerprint") != null) {
+        long loadCount = Math.max(1, SimpleJsonReader.asLong(context.get("loadCount"), 1));
+        loadTimeByFingerprint.put(
+            String.valueOf(context.get("fingerprint")),
+            SimpleJsonReader.asLong(context.get("loadDuration"), 0) / loadCount);
+      }
+    }
+
+    List<TestClassCost> costs = new ArrayList<>();
+    for (Object element : SimpleJsonReader.asList(report.get("testClasses"))) {
+      Map<String, Object> testClass = SimpleJsonReader.asMap(element);
+      Object fingerprint = testClass.get("fingerprint");
+      String contextKey = fingerprint != null ? String.valueOf(fingerprint) : null;
+      costs.add(
+          new TestClassCost(
+              String.valueOf(testClass.get("className")),
+              SimpleJsonReader.asLong(testClass.get("durationMs"), 0),
+              contextKey,
+              contextKey != null ? loadTimeByFingerprint.getOrDefault(contextKey, 0L) : 0L));
+    }
+    return costs;
+  }
+
+  // A context reloaded after a close costs one load to the test class using it
+  private static long loadTimeOfOneLoad(ContextCacheEntry entry) {
+    return entry.getContextLoadTimeMs() / Math.max(1, entry.getLoadCount());
+  }
+}
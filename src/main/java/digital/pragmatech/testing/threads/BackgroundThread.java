@@ -0,0 +1,84 @@
+package digital.pragmatech.testing.threads;
+
+import java.util.List;
+
+/**
+ * A thread that was started while a context loaded and is therefore attributed to it, e.g. the
+ * worker of a task scheduler or an executor. The CPU time is counted from the end of the context
+ * load, i.e. it is the background work the cached context adds while other tests run.
+ */
+public class BackgroundThread {
+
+  private final long threadId;
+  private final String name;
+  private final String threadGroup;
+  private final boolean daemon;
+  private final List<String> stack;
+  private final long startCpuTimeNanos;
+
+  // Updated by BackgroundThreads.updateCpuTime
+  private volatile long lastCpuTimeNanos;
+  private volatile boolean alive = true;
+
+  BackgroundThread(
+      long threadId,
+      String name,
+      String threadGroup,
+      boolean daemon,
+      List<String> stack,
+      long startCpuTimeNanos) {
+    this.threadId = threadId;
+    this.name = name;
+    this.threadGroup = threadGroup;
+    this.daemon = daemon;
+    this.stack = List.copyOf(stack);
+    this.startCpuTimeNanos = startCpuTimeNanos;
+    this.lastCpuTimeNanos = startCpuTimeNanos;
+  }
+
+  /** Records the current CPU time, a negative value marks the thread as terminated. */
+  void update(long cpuTimeNanos) {
+    if (cpuTimeNanos < 0) {
+      alive = false;
+    } else {
+      lastCpuTimeNanos = cpuTimeNanos;
+    }
+  }
+
+  public long getThreadId() {
+    return threadId;
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  public String getThreadGroup() {
+    return threadGroup;
+  }
+
+  public boolean isDaemon() {
+    return daemon;
+  }
+
+  /**
+   * The top frames of the thread right after the context load. The JVM does not record where a
+   * thread was started, but the frames show what it runs (e.g. a scheduled executor's work queue).
+   */
+  public List<String> getStack() {
+    return stack;
+  }
+
+  /** Whether the thread was still alive at the last update. */
+  public boolean isAlive() {
+    return alive;
+  }
+
+  /** CPU time consumed since the context was loaded, {@code -1} if not supported by the JVM. */
+  public long getCpuTimeMs() {
+    if (startCpuTimeNanos < 0) {
+      return -1;
+    }
+    return (lastCpuTimeNanos - startCpuTimeNanos) / 1_000_000;
+  }
+}
@@ -0,0 +1,92 @@
+package digital.pragmatech.testing.threads;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Detects threads started while a context loads by comparing the live threads before and after the
+ * load, and tracks the CPU time they consume afterwards via {@link ThreadMXBean#getThreadCpuTime}.
+ * Thread pools and {@code @Scheduled} tasks of cached contexts keep running while the remaining
+ * tests of the fork execute.
+ *
+ * <p>Threads started by other tests running in parallel would be attributed to the context, and
+ * threads an executor only starts on demand later on are not detected.
+ */
+public final class BackgroundThreads {
+
+  private static final int MAX_STACK_DEPTH = 12;
+
+  private static final ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+  private static final boolean CPU_TIME_SUPPORTED = enableCpuTime();
+
+  private BackgroundThreads() {}
+
+  /** IDs of the currently live threads. */
+  public static Set<Long> liveThreadIds() {
+    return Arrays.stream(threadMXBean.getAllThreadIds()).boxed().collect(Collectors.toSet());
+  }
+
+  /** Threads that are alive now but were not part of the given snapshot. */
+  public static List<BackgroundThread> startedSince(Set<Long> threadIdsBefore) {
+    List<BackgroundThread> started = new ArrayList<>();
+    for (Map.Entry<Thread, StackTraceElement[]> entry : Thread.getAllStackTraces().entrySet()) {
+      Thread thread = entry.getKey();
+      long threadId = thread.getId();
+      if (threadIdsBefore.contains(threadId) || thread == Thread.currentThread()) {
+        continue;
+      }
+      ThreadGroup group = thread.getThreadGroup();
+      started.add(
+          new BackgroundThread(
+              threadId,
+              thread.getName(),
+              group != null ? group.getName() : null,
+              thread.isDaemon(),
+              Arrays.stream(entry.getValue())
+                  .limit(MAX_STACK_DEPTH)
+                  .map(StackTraceElement::toString)
+                  .toList(),
+              cpuTimeNanos(threadId)));
+    }
+    return started;
+  }
+
+  /** Reads the current CPU time of the given threads, remembering which of them terminated. */
+  public static void updateCpuTime(Collection<BackgroundThread> threads) {
+    if (!CPU_TIME_SUPPORTED) {
+      return;
+    }
+    for (BackgroundThread thread : threads) {
+      if (thread.isAlive()) {
+        thread.update(cpuTimeNanos(thread.getThreadId()));
+      }
+    }
+  }
+
+  /** {@code -1} if the thread is no longer alive. */
+  private static long cpuTimeNanos(long threadId) {
+    return CPU_TIME_SUPPORTED ? threadMXBean.getThreadCpuTime(threadId) : -1;
+  }
+
+  private static boolean enableCpuTime() {
+    try {
+      if (!threadMXBean.isThreadCpuTimeSupported()) {
+        return false;
+      }
+      if (!threadMXBean.isThreadCpuTimeEnabled()) {
+        threadMXBean.setThreadCpuTimeEnabled(true);
+      }
+      return true;
+    } catch (RuntimeException e) {
+      // Not permitted to enable the measurement
+      return false;
+    }
+  }
+}
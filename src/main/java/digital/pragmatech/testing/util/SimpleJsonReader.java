@@ -0,0 +1,249 @@
+package digital.pragmatech.testing.util;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Lightweight JSON parser with zero external dependencies, the reading counterpart of {@link
+ * SimpleJsonWriter}. Objects are parsed into {@link LinkedHashMap}s, arrays into {@link
+ * ArrayList}s, integral numbers into {@link Long}s and all other numbers into {@link Double}s.
+ */
+public final class SimpleJsonReader {
+
+  private final String json;
+  private int position;
+
+  private SimpleJsonReader(String json) {
+    this.json = json;
+  }
+
+  /**
+   * Parses a JSON document.
+   *
+   * @param json the JSON text to parse
+   * @return the parsed value ({@code Map}, {@code List}, {@code String}, {@code Long}, {@code
+   *     Double}, {@code Boolean} or {@code null})
+   * @throws IllegalArgumentException if the input is not valid JSON
+   */
+  public static Object parse(String json) {
+    if (json == null) {
+      throw new IllegalArgumentException("JSON input must not be null");
+    }
+    SimpleJsonReader reader = new SimpleJsonReader(json);
+    reader.skipWhitespace();
+    Object value = reader.readValue();
+    reader.skipWhitespace();
+    if (reader.position < json.length()) {
+      throw reader.error("Unexpected trailing content");
+    }
+    return value;
+  }
+
+  /**
+   * Parses a JSON document that is expected to contain an object at its root.
+   *
+   * @param json the JSON text to parse
+   * @return the parsed object
+   * @throws IllegalArgumentException if the input is not a valid JSON object
+   */
+  @SuppressWarnings("unchecked")
+  public static Map<String, Object> parseObject(String json) {
+    Object value = parse(json);
+    if (!(value instanceof Map)) {
+      throw new IllegalArgumentException("Expected a JSON object but got: " + typeOf(value));
+    }
+    return (Map<String, Object>) value;
+  }
+
+  private Object readValue() {
+    if (position >= json.length()) {
+      throw error("Unexpected end of input");
+    }
+    char c = json.charAt(position);
+    return switch (c) {
+      case '{' -> readObject();
+      case '[' -> readArray();
+      case '"' -> readString();
+      case 't' -> readLiteral("true", Boolean.TRUE);
+      case 'f' -> readLiteral("false", Boolean.FALSE);
+      case 'n' -> readLiteral("null", null);
+      default -> {
+        if (c == '-' || (c >= '0' && c <= '9')) {
+          yield readNumber();
+        }
+        throw error("Unexpected character '" + c + "'");
+      }
+    };
+  }
+
+  private Map<String, Object> readObject() {
+    Map<String, Object> result = new LinkedHashMap<>();
+    position++; // consume '{'
+    skipWhitespace();
+    if (peek() == '}') {
+      position++;
+      return result;
+    }
+    while (true) {
+      skipWhitespace();
+      if (peek() != '"') {
+        throw error("Expected object key");
+      }
+      String key = readString();
+      skipWhitespace();
+      expect(':');
+      skipWhitespace();
+      result.put(key, readValue());
+      skipWhitespace();
+      char next = peek();
+      position++;
+      if (next == '}') {
+        return result;
+      }
+      if (next != ',') {
+        throw error("Expected ',' or '}'");
+      }
+    }
+  }
+
+  private List<Object> readArray() {
+    List<Object> result = new ArrayList<>();
+    position++; // consume '['
+    skipWhitespace();
+    if (peek() == ']') {
+      position++;
+      return result;
+    }
+    while (true) {
+      skipWhitespace();
+      result.add(readValue());
+      skipWhitespace();
+      char next = peek();
+      position++;
+      if (next == ']') {
+        return result;
+      }
+      if (next != ',') {
+        throw error("Expected ',' or ']'");
+      }
+    }
+  }
+
+  private String readString() {
+    position++; // consume opening quote
+    StringBuilder sb = new StringBuilder();
+    while (position < json.length()) {
+      char c = json.charAt(position++);
+      if (c == '"') {
+        return sb.toString();
+      }
+      if (c != '\\') {
+        sb.append(c);
+        continue;
+      }
+      if (position >= json.length()) {
+        break;
+      }
+      char escaped = json.charAt(position++);
+      switch (escaped) {
+        case '"' -> sb.append('"');
+        case '\\' -> sb.append('\\');
+        case '/' -> sb.append('/');
+        case 'b' -> sb.append('\b');
+        case 'f' -> sb.append('\f');
+        case 'n' -> sb.append('\n');
+        case 'r' -> sb.append('\r');
+        case 't' -> sb.append('\t');
+        case 'u' -> {
+          if (position + 4 > json.length()) {
+            throw error("Incomplete unicode escape");
+          }
+          sb.append((char) Integer.parseInt(json.substring(position, position + 4), 16));
+          position += 4;
+        }
+        default -> throw error("Invalid escape sequence '\\" + escaped + "'");
+      }
+    }
+    throw error("Unterminated string");
+  }
+
+  private Object readNumber() {
+    int start = position;
+    boolean decimal = false;
+    while (position < json.length()) {
+      char c = json.charAt(position);
+      if (c == '.' || c == 'e' || c == 'E') {
+        decimal = true;
+      } else if (!(c == '-' || c == '+' || (c >= '0' && c <= '9'))) {
+        break;
+      }
+      position++;
+    }
+    String number = json.substring(start, position);
+    try {
+      return decimal ? (Object) Double.parseDouble(number) : (Object) Long.parseLong(number);
+    } catch (NumberFormatException e) {
+      throw error("Invalid number '" + number + "'");
+    }
+  }
+
+  private Object readLiteral(String literal, Object value) {
+    if (!json.startsWith(literal, position)) {
+      throw error("Expected '" + literal + "'");
+    }
+    position += literal.length();
+    return value;
+  }
+
+  private void expect(char expected) {
+    if (peek() != expected) {
+      throw error("Expected '" + expected + "'");
+    }
+    position++;
+  }
+
+  private char peek() {
+    if (position >= json.length()) {
+      throw error("Unexpected end of input");
+    }
+    return json.charAt(position);
+  }
+
+  private void skipWhitespace() {
+    while (position < json.length() && Character.isWhitespace(json.charAt(position))) {
+      position++;
+    }
+  }
+
+  private IllegalArgumentException error(String message) {
+    return new IllegalArgumentException(message + " at position " + position);
+  }
+
+  private static String typeOf(Object value) {
+    return value == null ? "null" : value.getClass().getSimpleName();
+  }
+
+  /** Reads a numeric JSON value as a {@code long}, returning the fallback for absent values. */
+  public static long asLong(Object value, long fallback) {
+    return value instanceof Number number ? number.longValue() : fallback;
+  }
+
+  /** Reads a numeric JSON value as a {@code double}, returning the fallback for absent values. */
+  public static double asDouble(Object value, double fallback) {
+    return value instanceof Number number ? number.doubleValue() : fallback;
+  }
+
+  /** Reads a JSON array value as a list, returning an empty list for absent values. */
+  @SuppressWarnings("unchecked")
+  public static List<Object> asList(Object value) {
+    return value instanceof List<?> list ? (List<Object>) list : List.of();
+  }
+
+  /** Reads a JSON object value as a map, returning an empty map for absent values. */
+  @SuppressWarnings("unchecked")
+  public static Map<String, Object> asMap(Object value) {
+    return value instanceof Map<?, ?> map ? (Map<String, Object>) map : Map.of();
+  }
+}
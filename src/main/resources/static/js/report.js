@@ -15,34 +15,317 @@ function toggleClass(element) {
 }
 
 /**
- * Sort context cache entries by load time, number of tests, or default order
+ * Filters and sorts rows of a table, returns the indices of the matching rows in display order.
+ * Runs in a Web Worker (see RowProcessor), so it must not use anything outside of this function.
+ * @param {Object[]} rows - Rows of the table
+ * @param {Object} query - filterText, filterFields, sortKey and descending
+ */
+function processRows(rows, query) {
+  const filterText = (query.filterText || '').toLowerCase();
+  const filterFields = query.filterFields || [];
+  const indices = [];
+  for (let i = 0; i < rows.length; i++) {
+    if (!filterText || filterFields.some(field =>
+      String(rows[i][field] === undefined || rows[i][field] === null ? '' : rows[i][field])
+        .toLowerCase()
+        .includes(filterText))) {
+      indices.push(i);
+    }
+  }
+
+  if (query.sortKey) {
+    const direction = query.descending ? -1 : 1;
+    indices.sort((a, b) => {
+      const valueA = rows[a][query.sortKey];
+      const valueB = rows[b][query.sortKey];
+      if (valueA === valueB) return a - b;
+      if (valueA === undefined || valueA === null) return 1;
+      if (valueB === undefined || valueB === null) return -1;
+      return (valueA < valueB ? -1 : 1) * direction;
+    });
+  }
+  return indices;
+}
+
+/**
+ * Runs processRows in a Web Worker, so sorting and filtering large tables doesn't block the page.
+ * The worker is created from a Blob, which also works for reports opened from file://. Without
+ * Web Worker support, the rows are processed on the main thread.
+ */
+class RowProcessor {
+  constructor() {
+    this.worker = null;
+    this.requests = new Map();
+    this.nextRequestId = 0;
+    try {
+      if (typeof Worker === 'function' && typeof Blob === 'function' && typeof URL.createObjectURL === 'function') {
+        const source = `${processRows.toString()}
+self.onmessage = event => self.postMessage({
+  requestId: event.data.requestId,
+  indices: processRows(event.data.rows, event.data.query)
+});`;
+        this.worker = new Worker(URL.createObjectURL(new Blob([source], { type: 'text/javascript' })));
+        this.worker.onmessage = event => {
+          const resolve = this.requests.get(event.data.requestId);
+          this.requests.delete(event.data.requestId);
+          if (resolve) resolve(event.data.indices);
+        };
+      }
+    } catch (e) {
+      // E.g. blocked by a Content Security Policy
+      this.worker = null;
+    }
+  }
+
+  process(rows, query) {
+    if (!this.worker) {
+      return Promise.resolve(processRows(rows, query));
+    }
+    const requestId = this.nextRequestId++;
+    return new Promise(resolve => {
+      this.requests.set(requestId, resolve);
+      this.worker.postMessage({ requestId, rows, query });
+    });
+  }
+}
+
+function getRowProcessor() {
+  if (!window.rowProcessor) {
+    window.rowProcessor = new RowProcessor();
+  }
+  return window.rowProcessor;
+}
+
+/**
+ * Sort context cache entries by load time, number of tests, or default order. The entries keep
+ * their place in the DOM, only their CSS order changes.
  * @param {string} criteria - Sort criteria: 'default', 'time', or 'tests'
  */
 function sortCacheEntries(criteria) {
   const entries = Array.from(document.querySelectorAll('.cache-entry'));
   if (entries.length === 0) return;
 
-  const parent = entries[0].parentNode;
+  const rows = entries.map(el => ({
+    loadTimeMs: parseInt(el.dataset.loadTimeMs, 10) || 0,
+    testCount: parseInt(el.dataset.testCount, 10) || 0
+  }));
+  const sortKey = criteria === 'time' ? 'loadTimeMs' : criteria === 'tests' ? 'testCount' : null;
+
+  getRowProcessor().process(rows, { sortKey, descending: true }).then(indices => {
+    indices.forEach((entryIndex, position) => {
+      entries[entryIndex].style.order = position;
+    });
+  });
 
-  if (!window.cacheEntryOriginalOrder) {
-    window.cacheEntryOriginalOrder = entries.map(el => el);
+  document.querySelectorAll('.sort-btn').forEach(btn => btn.classList.remove('active'));
+  const clickedBtn = document.querySelector(`.sort-btn[onclick="sortCacheEntries('${criteria}')"]`);
+  if (clickedBtn) clickedBtn.classList.add('active');
+}
+
+/**
+ * Table that only renders the rows in view. All rows have the same height, the rows above and
+ * below the view are replaced by the height of a spacer.
+ */
+class VirtualTable {
+  /**
+   * @param {HTMLElement} container - Element to render the table into
+   * @param {Object} options - columns ({key, label, numeric}), rows, filterFields (default: all
+   *   columns), rowHeight, viewportHeight and onRowClick
+   */
+  constructor(container, options) {
+    this.container = container;
+    this.columns = options.columns;
+    this.rows = options.rows;
+    this.filterFields = options.filterFields || options.columns.map(column => column.key);
+    this.rowHeight = options.rowHeight || 36;
+    this.viewportHeight = options.viewportHeight || 400;
+    this.onRowClick = options.onRowClick;
+    this.indices = this.rows.map((row, index) => index);
+    this.query = { filterText: '', filterFields: this.filterFields, sortKey: null, descending: false };
+    this.latestRequest = 0;
+    this.build();
+    this.render();
   }
 
-  if (criteria === 'default') {
-    window.cacheEntryOriginalOrder.forEach(el => parent.appendChild(el));
-  } else {
-    entries.sort((a, b) => {
-      if (criteria === 'time') {
-        return (parseInt(b.dataset.loadTimeMs, 10) || 0) - (parseInt(a.dataset.loadTimeMs, 10) || 0);
+  build() {
+    this.container.innerHTML = '';
+
+    this.header = document.createElement('div');
+    this.header.className = 'virtual-table-row virtual-table-header';
+    this.columns.forEach(column => {
+      const cell = document.createElement('button');
+      cell.className = 'virtual-table-cell' + (column.numeric ? ' numeric' : '');
+      cell.textContent = column.label;
+      cell.addEventListener('click', () => this.sortBy(column.key));
+      column.headerCell = cell;
+      this.header.appendChild(cell);
+    });
+    this.container.appendChild(this.header);
+
+    this.viewport = document.createElement('div');
+    this.viewport.className = 'virtual-table-viewport';
+    this.viewport.style.height = `${this.viewportHeight}px`;
+    this.spacer = document.createElement('div');
+    this.spacer.className = 'virtual-table-spacer';
+    this.body = document.createElement('div');
+    this.body.className = 'virtual-table-body';
+    this.spacer.appendChild(this.body);
+    this.viewport.appendChild(this.spacer);
+    this.viewport.addEventListener('scroll', () => this.render());
+    this.container.appendChild(this.viewport);
+
+    this.summary = document.createElement('div');
+    this.summary.className = 'virtual-table-summary';
+    this.container.appendChild(this.summary);
+  }
+
+  /** Indices of the rows to render for the current scroll position, with a few rows of overscan */
+  visibleRange() {
+    const overscan = 5;
+    const first = Math.max(0, Math.floor(this.viewport.scrollTop / this.rowHeight) - overscan);
+    const count = Math.ceil(this.viewportHeight / this.rowHeight) + 2 * overscan;
+    return { first, last: Math.min(this.indices.length, first + count) };
+  }
+
+  render() {
+    this.spacer.style.height = `${this.indices.length * this.rowHeight}px`;
+    const { first, last } = this.visibleRange();
+    this.body.style.transform = `translateY(${first * this.rowHeight}px)`;
+
+    const fragment = document.createDocumentFragment();
+    for (let position = first; position < last; position++) {
+      fragment.appendChild(this.renderRow(this.rows[this.indices[position]]));
+    }
+    this.body.innerHTML = '';
+    this.body.appendChild(fragment);
+
+    this.summary.textContent = this.indices.length === this.rows.length
+      ? `${this.rows.length} rows`
+      : `${this.indices.length} of ${this.rows.length} rows`;
+  }
+
+  renderRow(row) {
+    const rowElement = document.createElement('div');
+    rowElement.className = 'virtual-table-row';
+    rowElement.style.height = `${this.rowHeight}px`;
+    this.columns.forEach(column => {
+      const cell = document.createElement('div');
+      cell.className = 'virtual-table-cell' + (column.numeric ? ' numeric' : '');
+      const value = row[column.key];
+      cell.textContent = value === undefined || value === null ? '' : value;
+      cell.title = cell.textContent;
+      rowElement.appendChild(cell);
+    });
+    if (this.onRowClick) {
+      rowElement.addEventListener('click', () => this.onRowClick(row));
+    }
+    return rowElement;
+  }
+
+  filter(text) {
+    this.query.filterText = text;
+    this.update();
+  }
+
+  sortBy(key) {
+    this.query.descending = this.query.sortKey === key ? !this.query.descending : false;
+    this.query.sortKey = key;
+    this.columns.forEach(column => {
+      column.headerCell.classList.toggle('sorted', column.key === key);
+      column.headerCell.classList.toggle('descending', column.key === key && this.query.descending);
+    });
+    this.update();
+  }
+
+  update() {
+    const request = ++this.latestRequest;
+    getRowProcessor().process(this.rows, this.query).then(indices => {
+      // Ignore results of a query that was already replaced by a newer one
+      if (request === this.latestRequest) {
+        this.indices = indices;
+        this.viewport.scrollTop = 0;
+        this.render();
       }
-      return (parseInt(b.dataset.testCount, 10) || 0) - (parseInt(a.dataset.testCount, 10) || 0);
     });
-    entries.forEach(el => parent.appendChild(el));
   }
+}
 
-  document.querySelectorAll('.sort-btn').forEach(btn => btn.classList.remove('active'));
-  const clickedBtn = document.querySelector(`.sort-btn[onclick="sortCacheEntries('${criteria}')"]`);
-  if (clickedBtn) clickedBtn.classList.add('active');
+/**
+ * Table of all context configurations, the configuration of a context is loaded when it is clicked
+ */
+class ConfigurationTable {
+  constructor(contexts, loader) {
+    this.loader = loader;
+    this.container = document.getElementById('configurations-table');
+    this.details = document.getElementById('configuration-details');
+    if (!this.container) return;
+
+    const rows = contexts.map(context => ({
+      contextKey: context.contextKey,
+      primaryAnnotationType: context.primaryAnnotationType,
+      testClassCount: (context.testClasses || []).length,
+      numberOfBeans: context.numberOfBeans,
+      loadDuration: context.loadDuration,
+      testClasses: (context.testClasses || []).join(', '),
+      chunk: context.chunk
+    }));
+
+    this.table = new VirtualTable(this.container, {
+      columns: [
+        { key: 'contextKey', label: 'Context' },
+        { key: 'primaryAnnotationType', label: 'Annotation' },
+        { key: 'testClassCount', label: 'Test Classes', numeric: true },
+        { key: 'numberOfBeans', label: 'Beans', numeric: true },
+        { key: 'loadDuration', label: 'Load Time (ms)', numeric: true },
+        { key: 'testClasses', label: 'Used by' }
+      ],
+      rows,
+      filterFields: ['contextKey', 'primaryAnnotationType', 'testClasses'],
+      onRowClick: row => this.showDetails(row)
+    });
+
+    const filterInput = document.getElementById('configuration-filter');
+    if (filterInput) {
+      filterInput.addEventListener('input', e => this.table.filter(e.target.value.trim()));
+    }
+  }
+
+  showDetails(row) {
+    if (!this.details) return;
+    const contextPromise = row.chunk && this.loader ? this.loader.load(row.chunk) : Promise.resolve(null);
+    contextPromise.then(context => {
+      this.details.innerHTML = '';
+
+      const header = document.createElement('div');
+      header.className = 'context-config-header';
+      header.textContent = `🔧 ${row.contextKey}`;
+      this.details.appendChild(header);
+
+      const configDetails = document.createElement('div');
+      configDetails.className = 'config-details';
+      Object.entries((context && context.contextConfiguration) || {}).forEach(([key, value]) => {
+        const item = document.createElement('div');
+        item.className = 'config-detail-item';
+        const keyElement = document.createElement('div');
+        keyElement.className = 'config-detail-key';
+        keyElement.textContent = `${key}:`;
+        const valueElement = document.createElement('div');
+        valueElement.className = 'config-detail-value';
+        valueElement.textContent = Array.isArray(value) ? value.join(', ') : String(value);
+        item.appendChild(keyElement);
+        item.appendChild(valueElement);
+        configDetails.appendChild(item);
+      });
+      this.details.appendChild(configDetails);
+
+      const testClasses = document.createElement('div');
+      testClasses.className = 'context-test-classes';
+      testClasses.textContent = `Test classes using this configuration: ${row.testClasses}`;
+      this.details.appendChild(testClasses);
+
+      this.details.style.display = 'block';
+    }).catch(e => console.error(`Failed to load context ${row.contextKey}:`, e));
+  }
 }
 
 /**
@@ -70,6 +353,178 @@ function toggleTheorySection() {
   }
 }
 
+/**
+ * Loads the data chunks written next to the report (one per context and per package of test
+ * classes). Chunks are fetched as gzip-compressed JSON and decompressed with DecompressionStream.
+ * Browsers block fetch for reports opened from file://, there the script variant of the chunk is
+ * loaded instead, which hands its data to springTestProfilerChunkLoaded.
+ */
+class ReportDataLoader {
+  constructor(basePath) {
+    this.basePath = basePath || '';
+    this.chunks = new Map();
+  }
+
+  load(chunk) {
+    if (!this.chunks.has(chunk)) {
+      const promise = this.canFetch()
+        ? this.fetchChunk(chunk).catch(() => this.loadScript(chunk))
+        : this.loadScript(chunk);
+      // Allow a retry, e.g. after the report directory was copied completely
+      promise.catch(() => this.chunks.delete(chunk));
+      this.chunks.set(chunk, promise);
+    }
+    return this.chunks.get(chunk);
+  }
+
+  canFetch() {
+    return typeof fetch === 'function' &&
+      typeof DecompressionStream === 'function' &&
+      !(window.location && window.location.protocol === 'file:');
+  }
+
+  async fetchChunk(chunk) {
+    const response = await fetch(`${this.basePath}${chunk}.json.gz`);
+    if (!response.ok) {
+      throw new Error(`Failed to load ${chunk}: HTTP ${response.status}`);
+    }
+    const bytes = new Uint8Array(await response.arrayBuffer());
+    // Servers that send .gz files with Content-Encoding: gzip have decompressed them already
+    if (bytes.length < 2 || bytes[0] !== 0x1f || bytes[1] !== 0x8b) {
+      return JSON.parse(new TextDecoder().decode(bytes));
+    }
+    const stream = new Blob([bytes]).stream().pipeThrough(new DecompressionStream('gzip'));
+    return new Response(stream).json();
+  }
+
+  loadScript(chunk) {
+    return new Promise((resolve, reject) => {
+      pendingChunkScripts.set(chunk, resolve);
+      const script = document.createElement('script');
+      script.src = `${this.basePath}${chunk}.js`;
+      script.onerror = () => {
+        pendingChunkScripts.delete(chunk);
+        reject(new Error(`Failed to load ${chunk}`));
+      };
+      document.body.appendChild(script);
+    });
+  }
+}
+
+const pendingChunkScripts = new Map();
+
+/**
+ * Called by the script variant of a data chunk
+ * @param {string} chunk - Name of the chunk, e.g. 'contexts/context-0'
+ * @param {Object} data - Data of the chunk
+ */
+function springTestProfilerChunkLoaded(chunk, data) {
+  const resolve = pendingChunkScripts.get(chunk);
+  if (resolve) {
+    pendingChunkScripts.delete(chunk);
+    resolve(data);
+  }
+}
+
+window.springTestProfilerChunkLoaded = springTestProfilerChunkLoaded;
+
+/**
+ * Renders the test classes of a package once it is expanded
+ */
+class PackageBrowser {
+  constructor(loader) {
+    this.loader = loader;
+    this.init();
+  }
+
+  init() {
+    if (typeof document.querySelectorAll !== 'function') return;
+
+    document.querySelectorAll('.test-package[data-chunk]').forEach(element => {
+      element.addEventListener('toggle', () => {
+        if (element.open && !element.dataset.loaded) {
+          element.dataset.loaded = 'true';
+          this.loadPackage(element);
+        }
+      });
+    });
+  }
+
+  loadPackage(element) {
+    const content = element.querySelector('.test-package-content');
+    content.innerHTML = '<div class="test-package-loading">Loading test classes...</div>';
+
+    this.loader.load(element.dataset.chunk)
+      .then(packageData => {
+        content.innerHTML = '';
+        packageData.testClasses.forEach(testClass => content.appendChild(this.renderTestClass(testClass)));
+      })
+      .catch(e => {
+        console.error('Failed to load test classes:', e);
+        delete element.dataset.loaded;
+        content.innerHTML = '<div class="test-package-error">Failed to load the test classes of this package.</div>';
+      });
+  }
+
+  renderTestClass(testClass) {
+    const classElement = document.createElement('div');
+    classElement.className = 'test-class';
+
+    const header = document.createElement('div');
+    header.className = 'test-class-header';
+    header.style.borderLeft = `4px solid ${testClass.failedMethods > 0 ? '#e74c3c' : '#27ae60'}`;
+    header.addEventListener('click', () => toggleClass(header));
+
+    const name = document.createElement('div');
+    name.className = 'test-class-name';
+    name.title = testClass.className;
+    name.textContent = testClass.simpleClassName;
+    header.appendChild(name);
+
+    const stats = document.createElement('div');
+    stats.className = 'test-class-stats';
+    stats.textContent = `⏱️ ${testClass.durationMs}ms  📊 ${testClass.totalMethods} tests` +
+      (testClass.failedMethods > 0 ? `  ❌ ${testClass.failedMethods}` : '') +
+      (testClass.contextKey ? `  ${testClass.contextKey}` : '');
+    header.appendChild(stats);
+    classElement.appendChild(header);
+
+    const methods = document.createElement('div');
+    methods.className = 'test-methods';
+    testClass.methods.forEach(method => {
+      const status = (method.status || 'unknown').toLowerCase();
+      const methodElement = document.createElement('div');
+      methodElement.className = `test-method ${status}`;
+
+      const methodHeader = document.createElement('div');
+      methodHeader.className = 'test-method-header';
+
+      const methodName = document.createElement('span');
+      methodName.className = 'test-method-name';
+      methodName.textContent = method.methodName;
+      methodHeader.appendChild(methodName);
+
+      const info = document.createElement('div');
+      info.className = 'test-method-info';
+      const duration = document.createElement('span');
+      duration.className = 'test-duration';
+      duration.textContent = `${method.durationMs}ms`;
+      const statusElement = document.createElement('span');
+      statusElement.className = 'test-status';
+      statusElement.textContent = method.status || 'UNKNOWN';
+      info.appendChild(duration);
+      info.appendChild(statusElement);
+      methodHeader.appendChild(info);
+
+      methodElement.appendChild(methodHeader);
+      methods.appendChild(methodElement);
+    });
+    classElement.appendChild(methods);
+
+    return classElement;
+  }
+}
+
 /**
  * Test Class Search functionality
  */
@@ -428,17 +883,21 @@ class ContextComparator {
       const contextBSelect = document.getElementById('context-b-select');
 
       if (contextASelect && contextBSelect) {
-        // Select first context for A
+        // Select the first context for A and the second one for B
         contextASelect.value = this.contextData[0].contextKey;
-        this.selectedContextA = this.contextData[0];
-
-        // Select second context for B
         contextBSelect.value = this.contextData[1].contextKey;
-        this.selectedContextB = this.contextData[1];
 
-        // Update compare button state and trigger comparison
-        this.updateCompareButton();
-        this.compareContexts();
+        Promise.all([
+          this.loadContext(this.contextData[0].contextKey),
+          this.loadContext(this.contextData[1].contextKey)
+        ]).then(([contextA, contextB]) => {
+          this.selectedContextA = contextA;
+          this.selectedContextB = contextB;
+
+          // Update compare button state and trigger comparison
+          this.updateCompareButton();
+          this.compareContexts();
+        });
       }
     }
   }
@@ -451,21 +910,24 @@ class ContextComparator {
     if (!contextASelect || !contextBSelect || !compareBtn) return;
 
     contextASelect.addEventListener('change', (e) => {
-      if (e.target.value) {
-        this.selectedContextA = this.contextData.find(ctx => ctx.contextKey === e.target.value);
-      } else {
-        this.selectedContextA = null;
-      }
-      this.updateCompareButton();
+      const contextKey = e.target.value;
+      this.loadContext(contextKey).then(context => {
+        // Ignore a chunk that arrives after another context was selected
+        if (contextASelect.value === contextKey) {
+          this.selectedContextA = context;
+          this.updateCompareButton();
+        }
+      });
     });
 
     contextBSelect.addEventListener('change', (e) => {
-      if (e.target.value) {
-        this.selectedContextB = this.contextData.find(ctx => ctx.contextKey === e.target.value);
-      } else {
-        this.selectedContextB = null;
-      }
-      this.updateCompareButton();
+      const contextKey = e.target.value;
+      this.loadContext(contextKey).then(context => {
+        if (contextBSelect.value === contextKey) {
+          this.selectedContextB = context;
+          this.updateCompareButton();
+        }
+      });
     });
 
     compareBtn.addEventListener('click', (e) => {
@@ -476,6 +938,24 @@ class ContextComparator {
     });
   }
 
+  /**
+   * Resolves the full data of a context, the inlined index only holds what the dropdowns need
+   * @param {string} contextKey - Key of the context, e.g. 'context-0'
+   */
+  loadContext(contextKey) {
+    const entry = this.contextData.find(ctx => ctx.contextKey === contextKey);
+    if (!entry) {
+      return Promise.resolve(null);
+    }
+    if (!entry.chunk || !window.reportDataLoader) {
+      return Promise.resolve(entry);
+    }
+    return window.reportDataLoader.load(entry.chunk).catch(e => {
+      console.error(`Failed to load context ${contextKey}:`, e);
+      return null;
+    });
+  }
+
   updateCompareButton() {
     const compareBtn = document.getElementById('compare-contexts-btn');
     if (!compareBtn) return;
@@ -985,13 +1465,287 @@ class ContextComparator {
   }
 }
 
+/**
+ * Trend chart for the local run history
+ */
+class HistoryTrendChart {
+  constructor(points) {
+    this.points = points || [];
+    this.container = document.getElementById('history-trend-chart');
+    this.metricSelect = document.getElementById('history-metric-select');
+    this.init();
+  }
+
+  init() {
+    if (!this.container || this.points.length < 2) {
+      return;
+    }
+    if (this.metricSelect) {
+      this.metricSelect.addEventListener('change', () => this.render());
+    }
+    this.render();
+  }
+
+  /**
+   * Build the series to plot for the selected metric.
+   * @param {string} metric - Selected metric
+   * @returns {Array<{name: string, values: Array<number|null>}>}
+   */
+  buildSeries(metric) {
+    if (metric !== 'slowestContexts') {
+      return [{ name: metric, values: this.points.map(point => point[metric] ?? null) }];
+    }
+
+    // Plot the five slowest contexts of the latest run
+    const latest = this.points[this.points.length - 1];
+    const slowest = [...(latest.contexts || [])]
+      .sort((a, b) => b.loadTimeMs - a.loadTimeMs)
+      .slice(0, 5);
+
+    return slowest.map(context => ({
+      name: context.label,
+      values: this.points.map(point => {
+        const match = (point.contexts || []).find(c => c.contextKey === context.contextKey);
+        return match ? match.loadTimeMs : null;
+      })
+    }));
+  }
+
+  render() {
+    if (typeof d3 === 'undefined') {
+      this.container.textContent = 'Trend chart requires D3.js to be available.';
+      return;
+    }
+
+    const metric = this.metricSelect ? this.metricSelect.value : 'totalContextLoadTimeMs';
+    const series = this.buildSeries(metric);
+    const width = this.container.clientWidth || 800;
+    const height = 260;
+    const margin = { top: 20, right: 160, bottom: 40, left: 70 };
+
+    this.container.innerHTML = '';
+    const svg = d3.select(this.container).append('svg')
+      .attr('width', width)
+      .attr('height', height);
+
+    const x = d3.scalePoint()
+      .domain(this.points.map((_, index) => index))
+      .range([margin.left, width - margin.right]);
+    const maxValue = d3.max(series, s => d3.max(s.values)) || 1;
+    const y = d3.scaleLinear()
+      .domain([0, maxValue * 1.1])
+      .range([height - margin.bottom, margin.top]);
+
+    svg.append('g')
+      .attr('transform', `translate(0,${height - margin.bottom})`)
+      .call(d3.axisBottom(x).tickFormat(index => {
+        const timestamp = this.points[index].timestamp;
+        return timestamp ? new Date(timestamp * 1000).toLocaleDateString() : `#${index + 1}`;
+      }));
+    svg.append('g')
+      .attr('transform', `translate(${margin.left},0)`)
+      .call(d3.axisLeft(y).tickFormat(value => metric === 'contextReuseRate' ? `${value}%` : `${value}ms`));
+
+    const color = d3.scaleOrdinal(d3.schemeCategory10);
+    const line = d3.line()
+      .defined(value => value !== null)
+      .x((_, index) => x(index))
+      .y(value => y(value));
+
+    series.forEach((s, seriesIndex) => {
+      svg.append('path')
+        .datum(s.values)
+        .attr('fill', 'none')
+        .attr('stroke', color(seriesIndex))
+        .attr('stroke-width', 2)
+        .attr('d', line);
+
+      svg.selectAll(null)
+        .data(s.values.map((value, index) => ({ value, index })).filter(d => d.value !== null))
+        .enter()
+        .append('circle')
+        .attr('cx', d => x(d.index))
+        .attr('cy', d => y(d.value))
+        .attr('r', 3)
+        .attr('fill', color(seriesIndex))
+        .append('title')
+        .text(d => `${s.name}: ${Math.round(d.value)}`);
+
+      if (series.length > 1) {
+        svg.append('text')
+          .attr('x', width - margin.right + 10)
+          .attr('y', margin.top + seriesIndex * 18)
+          .attr('fill', color(seriesIndex))
+          .attr('font-size', '12px')
+          .text(s.name);
+      }
+    });
+  }
+}
+
+/**
+ * Gantt chart of the context lifecycles: load, uses by test classes and idle time in the cache
+ */
+class ContextLifecycleChart {
+  constructor(contexts) {
+    this.contexts = contexts || [];
+    this.container = document.getElementById('context-lifecycle-chart');
+    this.sortSelect = document.getElementById('timeline-sort-select');
+    this.resetButton = document.getElementById('timeline-reset-zoom');
+    this.phaseColors = { Load: '#e74c3c', Use: '#27ae60', Idle: '#bdc3c7' };
+    this.init();
+  }
+
+  init() {
+    if (!this.container || this.contexts.length === 0) {
+      return;
+    }
+    if (this.sortSelect) {
+      this.sortSelect.addEventListener('change', () => this.render());
+    }
+    if (this.resetButton) {
+      this.resetButton.addEventListener('click', () => this.render());
+    }
+    this.render();
+  }
+
+  /**
+   * Order the rows of the chart.
+   * @param {string} criteria - 'start', 'idle' or 'idleMemory'
+   * @returns {Array<Object>} Sorted copy of the contexts
+   */
+  sortContexts(criteria) {
+    const contexts = [...this.contexts];
+    if (criteria === 'idle') {
+      return contexts.sort((a, b) => b.idleMs - a.idleMs);
+    }
+    if (criteria === 'idleMemory') {
+      return contexts.sort((a, b) => b.idleMegabyteSeconds - a.idleMegabyteSeconds || b.idleMs - a.idleMs);
+    }
+    return contexts.sort((a, b) => a.loadStartMs - b.loadStartMs);
+  }
+
+  /**
+   * Tooltip of a bar of the chart.
+   * @param {Object} context - Lifecycle of the context
+   * @param {Object} interval - Load, use or idle interval of the context
+   * @returns {string} Tooltip text
+   */
+  describeInterval(context, interval) {
+    const duration = interval.endMs - interval.startMs;
+    const lines = [
+      `${context.label} (${context.contextKey})`,
+      `${interval.phase}: ${interval.startMs}ms - ${interval.endMs}ms (${duration}ms)`
+    ];
+    if (interval.tooltip) {
+      lines.push(interval.tooltip);
+    }
+    return lines.join('\n');
+  }
+
+  render() {
+    if (typeof d3 === 'undefined') {
+      this.container.textContent = 'Timeline chart requires D3.js to be available.';
+      return;
+    }
+
+    const contexts = this.sortContexts(this.sortSelect ? this.sortSelect.value : 'start');
+    const rowHeight = 24;
+    const margin = { top: 10, right: 20, bottom: 40, left: 220 };
+    const width = this.container.clientWidth || 900;
+    const height = margin.top + margin.bottom + contexts.length * rowHeight;
+    const endMs = d3.max(contexts, context => context.endMs) || 1;
+
+    this.container.innerHTML = '';
+    const svg = d3.select(this.container).append('svg')
+      .attr('width', width)
+      .attr('height', height);
+
+    const x = d3.scaleLinear()
+      .domain([0, endMs])
+      .range([margin.left, width - margin.right]);
+    const y = d3.scaleBand()
+      .domain(contexts.map(context => context.contextKey))
+      .range([margin.top, height - margin.bottom])
+      .padding(0.2);
+
+    svg.append('defs').append('clipPath')
+      .attr('id', 'context-lifecycle-clip')
+      .append('rect')
+      .attr('x', margin.left)
+      .attr('y', 0)
+      .attr('width', width - margin.left - margin.right)
+      .attr('height', height);
+
+    const xAxis = svg.append('g')
+      .attr('transform', `translate(0,${height - margin.bottom})`);
+    const drawXAxis = scale => xAxis.call(d3.axisBottom(scale).ticks(8).tickFormat(value => `${value}ms`));
+    drawXAxis(x);
+
+    svg.append('g')
+      .attr('transform', `translate(${margin.left},0)`)
+      .call(d3.axisLeft(y).tickFormat(contextKey => {
+        const context = contexts.find(c => c.contextKey === contextKey);
+        return context ? `${context.label} (${contextKey})` : contextKey;
+      }));
+
+    const bars = svg.append('g').attr('clip-path', 'url(#context-lifecycle-clip)');
+    const rows = bars.selectAll('g.lifecycle-row')
+      .data(contexts)
+      .enter()
+      .append('g')
+      .attr('class', 'lifecycle-row');
+
+    const intervals = rows.selectAll('rect')
+      .data(context => context.intervals.map(interval => ({ context, interval })))
+      .enter()
+      .append('rect')
+      .attr('y', d => y(d.context.contextKey))
+      .attr('height', y.bandwidth())
+      .attr('fill', d => this.phaseColors[d.interval.phase] || d.context.color);
+    intervals.append('title').text(d => this.describeInterval(d.context, d.interval));
+
+    // One marker per close, a context reloaded after a close can be closed again
+    const closeMarkers = rows.selectAll('rect.close-marker')
+      .data(context => (context.closeMs || []).map(closeMs => ({ context, closeMs })))
+      .enter()
+      .append('rect')
+      .attr('class', 'close-marker')
+      .attr('y', d => y(d.context.contextKey))
+      .attr('width', 3)
+      .attr('height', y.bandwidth())
+      .attr('fill', '#2c3e50');
+    closeMarkers.append('title').text(d => `${d.context.label} closed at ${d.closeMs}ms`);
+
+    const drawBars = scale => {
+      intervals
+        .attr('x', d => scale(d.interval.startMs))
+        .attr('width', d => Math.max(1, scale(d.interval.endMs) - scale(d.interval.startMs)));
+      closeMarkers.attr('x', d => scale(d.closeMs) - 1);
+    };
+    drawBars(x);
+
+    // Scroll to zoom into the time axis, drag to pan
+    const zoom = d3.zoom()
+      .scaleExtent([1, 1000])
+      .translateExtent([[margin.left, 0], [width - margin.right, height]])
+      .extent([[margin.left, 0], [width - margin.right, height]])
+      .on('zoom', event => {
+        const zoomed = event.transform.rescaleX(x);
+        drawXAxis(zoomed);
+        drawBars(zoomed);
+      });
+    svg.call(zoom);
+  }
+}
+
 /**
  * Initialize the report functionality when DOM is loaded
  */
 function initializeReport() {
-  // Ensure JSON is parsed first
+  // Ensure JSON is parsed first, it only holds the index of the contexts
+  const jsonScript = document.getElementById('context-statistics-json');
   try {
-    const jsonScript = document.getElementById('context-statistics-json');
     if (jsonScript) {
       window.contextStatistics = JSON.parse(jsonScript.textContent || '[]');
     }
@@ -1000,12 +1754,44 @@ function initializeReport() {
     window.contextStatistics = [];
   }
 
+  // Data chunks of the contexts and packages are loaded on demand
+  const reportDataPath = jsonScript && jsonScript.dataset ? jsonScript.dataset.reportDataPath : '';
+  window.reportDataLoader = new ReportDataLoader(reportDataPath);
+  new PackageBrowser(window.reportDataLoader);
+  new ConfigurationTable(window.contextStatistics || [], window.reportDataLoader);
+
   // Initialize test class searcher, annotation filter, and context comparator
   if (window.contextStatistics && window.contextStatistics.length > 0) {
     window.testClassSearcher = new TestClassSearcher();
     new AnnotationFilter();
     new ContextComparator();
   }
+
+  // Initialize the run history trend chart
+  try {
+    const historyScript = document.getElementById('run-history-json');
+    if (historyScript) {
+      const historyPoints = JSON.parse(historyScript.textContent || '[]');
+      if (historyPoints.length > 1) {
+        new HistoryTrendChart(historyPoints);
+      }
+    }
+  } catch (e) {
+    console.error('Failed to parse run history JSON:', e);
+  }
+
+  // Initialize the context lifecycle timeline
+  try {
+    const lifecycleScript = document.getElementById('context-lifecycle-json');
+    if (lifecycleScript) {
+      const contexts = JSON.parse(lifecycleScript.textContent || '[]');
+      if (contexts.length > 0) {
+        new ContextLifecycleChart(contexts);
+      }
+    }
+  } catch (e) {
+    console.error('Failed to parse context lifecycle JSON:', e);
+  }
 }
 
 // Initialize when DOM is loaded
@@ -1019,6 +1805,16 @@ if (typeof module !== 'undefined' && module.exports) {
     TestClassSearcher,
     AnnotationFilter,
     ContextComparator,
+    HistoryTrendChart,
+    ContextLifecycleChart,
+    ReportDataLoader,
+    PackageBrowser,
+    processRows,
+    RowProcessor,
+    VirtualTable,
+    ConfigurationTable,
+    sortCacheEntries,
+    springTestProfilerChunkLoaded,
     initializeReport
   };
 }
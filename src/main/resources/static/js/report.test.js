@@ -5,7 +5,17 @@
 
 // Import the module
 const reportModule = require('./report.js');
-const { toggleClass, toggleTheorySection, ContextComparator, initializeReport } = reportModule;
+const {
+  toggleClass,
+  toggleTheorySection,
+  ContextComparator,
+  ContextLifecycleChart,
+  ReportDataLoader,
+  processRows,
+  VirtualTable,
+  springTestProfilerChunkLoaded,
+  initializeReport
+} = reportModule;
 
 describe('Report Unit Tests', () => {
   beforeEach(() => {
@@ -182,6 +192,85 @@ describe('Report Unit Tests', () => {
     });
   });
 
+  describe('ReportDataLoader', () => {
+    test('should load chunk script when fetch is not available', async () => {
+      const loader = new ReportDataLoader('data/report-1/');
+      const promise = loader.load('contexts/context-0');
+
+      const script = document.body.querySelector('script');
+      expect(script.getAttribute('src')).toBe('data/report-1/contexts/context-0.js');
+
+      springTestProfilerChunkLoaded('contexts/context-0', { contextKey: 'context-0' });
+
+      await expect(promise).resolves.toEqual({ contextKey: 'context-0' });
+      expect(loader.load('contexts/context-0')).toBe(promise);
+    });
+
+    test('should ignore chunks that were not requested', () => {
+      expect(() => springTestProfilerChunkLoaded('packages/com.example', {})).not.toThrow();
+    });
+  });
+
+  describe('processRows', () => {
+    const rows = [
+      { contextKey: 'context-0', loadDuration: 300, testClasses: 'OrderIT' },
+      { contextKey: 'context-1', loadDuration: 900, testClasses: 'UserIT, OrderControllerTest' },
+      { contextKey: 'context-2', loadDuration: null, testClasses: 'PaymentIT' }
+    ];
+
+    test('should filter rows case-insensitively on the given fields', () => {
+      expect(processRows(rows, { filterText: 'order', filterFields: ['testClasses'] })).toEqual([0, 1]);
+      expect(processRows(rows, { filterText: 'order', filterFields: ['contextKey'] })).toEqual([]);
+    });
+
+    test('should sort rows and keep missing values last', () => {
+      expect(processRows(rows, { sortKey: 'loadDuration' })).toEqual([0, 1, 2]);
+      expect(processRows(rows, { sortKey: 'loadDuration', descending: true })).toEqual([1, 0, 2]);
+    });
+  });
+
+  describe('VirtualTable', () => {
+    test('should only render the rows in view', () => {
+      const container = document.createElement('div');
+      const rows = Array.from({ length: 10000 }, (value, index) => ({ name: `row-${index}` }));
+
+      new VirtualTable(container, {
+        columns: [{ key: 'name', label: 'Name' }],
+        rows,
+        rowHeight: 40,
+        viewportHeight: 400
+      });
+
+      const renderedRows = container.querySelectorAll('.virtual-table-body .virtual-table-row');
+      expect(renderedRows.length).toBe(20);
+      expect(renderedRows[0].textContent).toBe('row-0');
+      expect(container.querySelector('.virtual-table-spacer').style.height).toBe('400000px');
+    });
+  });
+
+  describe('ContextLifecycleChart', () => {
+    const contexts = [
+      { contextKey: 'context-0', label: 'OrderIT', loadStartMs: 0, idleMs: 100, idleMegabyteSeconds: 50 },
+      { contextKey: 'context-1', label: 'UserIT', loadStartMs: 500, idleMs: 9000, idleMegabyteSeconds: 10 },
+      { contextKey: 'context-2', label: 'PaymentIT', loadStartMs: 200, idleMs: 0, idleMegabyteSeconds: 0 }
+    ];
+
+    test('should sort contexts by load order, idle time and idle memory', () => {
+      const chart = new ContextLifecycleChart(contexts);
+
+      expect(chart.sortContexts('start').map(c => c.contextKey)).toEqual(['context-0', 'context-2', 'context-1']);
+      expect(chart.sortContexts('idle').map(c => c.contextKey)).toEqual(['context-1', 'context-0', 'context-2']);
+      expect(chart.sortContexts('idleMemory').map(c => c.contextKey)).toEqual(['context-0', 'context-1', 'context-2']);
+    });
+
+    test('should describe an interval with its duration', () => {
+      const chart = new ContextLifecycleChart(contexts);
+
+      expect(chart.describeInterval(contexts[1], { phase: 'Idle', startMs: 1000, endMs: 10000, tooltip: 'Idle in the cache' }))
+        .toBe('UserIT (context-1)\nIdle: 1000ms - 10000ms (9000ms)\nIdle in the cache');
+    });
+  });
+
   describe('initializeReport', () => {
     beforeEach(() => {
       document.body.innerHTML = `
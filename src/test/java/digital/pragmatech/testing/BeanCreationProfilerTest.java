@@ -0,0 +1,131 @@
+package digital.pragmatech.testing;
+
+import digital.pragmatech.testing.diagnostic.ContextDiagnosticApplicationInitializer;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BeanCreationProfilerTest {
+
+  private static final int CACHE_SIZE_BYTES = 8 * 1024 * 1024;
+
+  static class AllocatingCache implements InitializingBean {
+    private byte[] entries;
+
+    @Override
+    public void afterPropertiesSet() {
+      entries = new byte[CACHE_SIZE_BYTES];
+    }
+  }
+
+  static class SmallService {}
+
+  @Configuration
+  static class AllocatingConfig {
+    @Bean
+    AllocatingCache allocatingCache() {
+      return new AllocatingCache();
+    }
+
+    @Bean
+    SmallService smallService() {
+      return new SmallService();
+    }
+  }
+
+  @Test
+  void shouldRankBeansByAllocatedBytes() {
+    BeanCreationProfiler profiler = new BeanCreationProfiler("test");
+    try (AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext()) {
+      context.getBeanFactory().addBeanPostProcessor(profiler);
+      context.register(AllocatingConfig.class);
+      context.refresh();
+    }
+
+    BeanCreationProfiler.BeanCreationMetric topBean = profiler.getTopAllocatingBeans(1).get(0);
+    assertThat(topBean.getBeanName()).isEqualTo("allocatingCache");
+    assertThat(topBean.getAllocatedBytes()).isGreaterThanOrEqualTo(CACHE_SIZE_BYTES);
+    assertThat(profiler.getMetrics().getTotalAllocatedBytes())
+        .isGreaterThanOrEqualTo(CACHE_SIZE_BYTES);
+  }
+
+  static class PreloadedCache {
+    private final byte[] entries = new byte[CACHE_SIZE_BYTES];
+  }
+
+  static class CacheClient {
+    private final PreloadedCache cache;
+
+    CacheClient(PreloadedCache cache) {
+      this.cache = cache;
+    }
+  }
+
+  @Configuration
+  static class NestedConfig {
+    // Declared first, so the cache is created while the client is being created
+    @Bean
+    CacheClient cacheClient(PreloadedCache preloadedCache) {
+      return new CacheClient(preloadedCache);
+    }
+
+    @Bean
+    PreloadedCache preloadedCache() {
+      return new PreloadedCache();
+    }
+  }
+
+  @Test
+  void shouldChargeInstantiationToBeanButNotToItsDependents() {
+    BeanCreationProfiler profiler = new BeanCreationProfiler("test");
+    try (AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext()) {
+      context.getBeanFactory().addBeanPostProcessor(profiler);
+      context.register(NestedConfig.class);
+      context.refresh();
+    }
+
+    assertThat(profiler.getBeanMetric("preloadedCache").getAllocatedBytes())
+        .isGreaterThanOrEqualTo(CACHE_SIZE_BYTES);
+    assertThat(profiler.getBeanMetric("cacheClient").getAllocatedBytes())
+        .isLessThan(CACHE_SIZE_BYTES);
+  }
+
+  @Test
+  void shouldRecordBytesAllocatedWhileContextLoads() {
+    try (AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext()) {
+      context.register(AllocatingConfig.class);
+      new TimingTrackingApplicationContextInitializer().initialize(context);
+      context.refresh();
+
+      ContextProfileData profileData =
+          TimingTrackingApplicationContextInitializer.getContextProfileData(context);
+      assertThat(profileData.getAllocatedBytes()).isGreaterThanOrEqualTo(CACHE_SIZE_BYTES);
+    }
+  }
+
+  @Test
+  void shouldMeasureEachBeanOnceWithBothInitializers() {
+    try (AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext()) {
+      context.register(AllocatingConfig.class);
+      new ContextDiagnosticApplicationInitializer().initialize(context);
+      new TimingTrackingApplicationContextInitializer().initialize(context);
+      context.refresh();
+
+      BeanCreationProfiler profiler = BeanCreationProfiler.of(context);
+      assertThat(context.getDefaultListableBeanFactory().getBeanPostProcessors())
+          .filteredOn(BeanCreationProfiler.class::isInstance)
+          .containsExactly(profiler);
+      assertThat(
+              TimingTrackingApplicationContextInitializer.getContextProfileData(context)
+                  .getBeanCreationMetrics()
+                  .getAllBeans())
+          .extracting(BeanCreationProfiler.BeanCreationMetric::getBeanName)
+          .contains("allocatingCache", "smallService");
+      assertThat(profiler.getSelfTimeNanos()).containsKeys("allocatingCache", "smallService");
+    }
+  }
+}
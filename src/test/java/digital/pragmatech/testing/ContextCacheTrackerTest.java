@@ -1,10 +1,15 @@
 package digital.pragmatech.testing;
 
+import java.time.Instant;
+import java.util.List;
+
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.test.context.MergedContextConfiguration;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class ContextCacheTrackerTest {
 
@@ -95,6 +100,97 @@ class ContextCacheTrackerTest {
     assertEquals(0.0, tracker.getContextReuseRate());
   }
 
+  @Test
+  void shouldBuildLifecycleWithUsesIdleGapsAndClose() {
+    MergedContextConfiguration orderConfig = createConfig(Object.class);
+    MergedContextConfiguration paymentConfig = createConfig(String.class);
+
+    tracker.recordTestClassForContext(orderConfig, "com.example.OrderIT");
+    tracker.recordContextCreation(orderConfig, 500);
+    ContextCacheEntry order = tracker.getCacheEntry(orderConfig).orElseThrow();
+    Instant loaded = order.getCreationTime();
+    order.recordTestClassStart("com.example.OrderIT", loaded.minusMillis(500));
+    order.recordTestClassEnd("com.example.OrderIT", loaded.plusMillis(1000));
+    order.recordTestClassStart("com.example.UserIT", loaded.plusMillis(5000));
+    order.recordTestClassEnd("com.example.UserIT", loaded.plusMillis(6000));
+    order.recordClose(loaded.plusMillis(8000));
+
+    tracker.recordTestClassForContext(paymentConfig, "com.example.PaymentIT");
+    tracker.recordContextCreation(paymentConfig, 0);
+    ContextCacheEntry payment = tracker.getCacheEntry(paymentConfig).orElseThrow();
+    payment.recordTestClassStart("com.example.PaymentIT", payment.getCreationTime());
+    payment.recordTestClassEnd("com.example.PaymentIT", loaded.plusMillis(10000));
+
+    TimelineData timeline = tracker.getTimelineData();
+
+    assertEquals(10500, timeline.getTotalDurationMs());
+    ContextLifecycle lifecycle = timeline.contexts().get(0);
+    assertEquals("OrderIT", lifecycle.label());
+    assertEquals(
+        List.of("Load", "Use", "Idle", "Use", "Idle"),
+        lifecycle.intervals().stream().map(TimelineEntry::phase).toList());
+    assertEquals(0, lifecycle.loadStartMs());
+    assertEquals(500, lifecycle.getLoadMs());
+    assertEquals(2000, lifecycle.getActiveMs());
+    assertEquals(6000, lifecycle.getIdleMs());
+    assertEquals(8500, lifecycle.endMs());
+    assertTrue(lifecycle.closed());
+    assertFalse(timeline.contexts().get(1).closed());
+    assertEquals(10500, timeline.contexts().get(1).endMs());
+  }
+
+  @Test
+  void shouldRecordReloadAfterCloseAsMissWithItsOwnLoad() {
+    MergedContextConfiguration config = createConfig(Object.class);
+    tracker.recordTestClassForContext(config, "com.example.DirtyIT");
+    tracker.recordContextCreation(config, 300);
+    ContextCacheEntry entry = tracker.getCacheEntry(config).orElseThrow();
+    entry.recordClose(entry.getCreationTime());
+
+    assertFalse(entry.isLoaded());
+    tracker.recordTestClassForContext(config, "com.example.OrderIT");
+    tracker.recordContextCreation(config, 200);
+
+    assertTrue(entry.isLoaded());
+    assertEquals(2, tracker.getCacheMisses());
+    assertEquals(0, tracker.getCacheHits());
+    assertEquals(1, tracker.getTotalContextsCreated());
+    assertEquals(2, entry.getLoadCount());
+    assertEquals(500, entry.getContextLoadTimeMs());
+  }
+
+  @Test
+  void shouldBuildLifecycleWithEveryLoadAndClose() {
+    ContextCacheEntry entry = new ContextCacheEntry(createConfig(Object.class));
+    Instant start = Instant.parse("2026-01-01T10:00:00Z");
+    entry.recordCreation(500, start.plusMillis(500));
+    entry.recordTestClassStart("com.example.DirtyIT", start);
+    entry.recordTestClassEnd("com.example.DirtyIT", start.plusMillis(1500));
+    entry.recordClose(start.plusMillis(1500));
+    entry.recordCreation(300, start.plusMillis(3300));
+    entry.recordTestClassStart("com.example.OrderIT", start.plusMillis(3000));
+    entry.recordTestClassEnd("com.example.OrderIT", start.plusMillis(4000));
+    entry.recordClose(start.plusMillis(5000));
+
+    ContextLifecycle lifecycle =
+        ContextLifecycle.of(
+            entry, "context-0", "DirtyIT", "#e74c3c", start, start.plusMillis(6000));
+
+    assertEquals(
+        List.of("Load", "Use", "Load", "Use", "Idle"),
+        lifecycle.intervals().stream().map(TimelineEntry::phase).toList());
+    TimelineEntry reload = lifecycle.intervals().get(2);
+    assertEquals(3000, reload.startMs());
+    assertEquals(3300, reload.endMs());
+    assertEquals(800, lifecycle.getLoadMs());
+    assertEquals(2, lifecycle.loadCount());
+    assertEquals(List.of(1500L, 5000L), lifecycle.closeMs());
+    assertEquals(1000, lifecycle.getIdleMs());
+    assertEquals(2700, lifecycle.heldMs());
+    assertEquals(5000, lifecycle.endMs());
+    assertTrue(lifecycle.closed());
+  }
+
   private MergedContextConfiguration createConfig(Class<?>... classes) {
     return new MergedContextConfiguration(
         classes[0],
@@ -0,0 +1,233 @@
+package digital.pragmatech.testing;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.test.context.ContextCustomizer;
+import org.springframework.test.context.MergedContextConfiguration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ContextFingerprintTest {
+
+  @BeforeEach
+  void setUp() {
+    ContextFingerprint.reset();
+  }
+
+  @Test
+  void shouldReturnSameFingerprintForEqualConfigurationsOfDifferentTestClasses() {
+    MergedContextConfiguration first =
+        createConfig(String.class, new String[] {"dev"}, Set.of(), null);
+    MergedContextConfiguration second =
+        createConfig(Integer.class, new String[] {"dev"}, Set.of(), null);
+
+    assertThat(ContextFingerprint.of(first))
+        .isEqualTo(ContextFingerprint.of(second))
+        .hasSize(64)
+        .matches("[0-9a-f]+");
+  }
+
+  @Test
+  void shouldBeIndependentOfRegistryState() {
+    MergedContextConfiguration config =
+        createConfig(String.class, new String[] {"dev"}, Set.of(new TestCustomizer("a")), null);
+
+    String fingerprint = ContextFingerprint.of(config);
+    ContextFingerprint.reset();
+
+    assertThat(ContextFingerprint.of(config)).isEqualTo(fingerprint);
+  }
+
+  @Test
+  void shouldDifferForDifferentProfiles() {
+    MergedContextConfiguration dev =
+        createConfig(String.class, new String[] {"dev"}, Set.of(), null);
+    MergedContextConfiguration prod =
+        createConfig(String.class, new String[] {"prod"}, Set.of(), null);
+
+    assertThat(ContextFingerprint.of(dev)).isNotEqualTo(ContextFingerprint.of(prod));
+  }
+
+  @Test
+  void shouldIncludeCustomizerStateButIgnoreTestClass() {
+    MergedContextConfiguration mockA =
+        createConfig(String.class, new String[0], Set.of(new TestCustomizer("a")), null);
+    MergedContextConfiguration mockB =
+        createConfig(String.class, new String[0], Set.of(new TestCustomizer("b")), null);
+
+    assertThat(ContextFingerprint.of(mockA)).isNotEqualTo(ContextFingerprint.of(mockB));
+    assertThat(ContextFingerprint.describe(mockA))
+        .contains("mockedBean=\"a\"")
+        .doesNotContain("testClass=");
+  }
+
+  @Test
+  void shouldIncludeParentFingerprint() {
+    MergedContextConfiguration parentA =
+        createConfig(String.class, new String[] {"a"}, Set.of(), null);
+    MergedContextConfiguration parentB =
+        createConfig(String.class, new String[] {"b"}, Set.of(), null);
+
+    MergedContextConfiguration childA =
+        createConfig(String.class, new String[0], Set.of(), parentA);
+    MergedContextConfiguration childB =
+        createConfig(String.class, new String[0], Set.of(), parentB);
+
+    assertThat(ContextFingerprint.describe(childA))
+        .contains("parent=" + ContextFingerprint.of(parentA));
+    assertThat(ContextFingerprint.of(childA)).isNotEqualTo(ContextFingerprint.of(childB));
+  }
+
+  @Test
+  void shouldDescribeCustomizerGraphBeyondFewLevels() {
+    MergedContextConfiguration shallow =
+        createConfig(
+            String.class,
+            new String[0],
+            Set.of(new NestingCustomizer(List.of(List.of(List.of(List.of(List.of("a"))))))),
+            null);
+    MergedContextConfiguration deep =
+        createConfig(
+            String.class,
+            new String[0],
+            Set.of(new NestingCustomizer(List.of(List.of(List.of(List.of(List.of("b"))))))),
+            null);
+
+    assertThat(ContextFingerprint.of(shallow)).isNotEqualTo(ContextFingerprint.of(deep));
+  }
+
+  @Test
+  void shouldDescribeSharedObjectsOnce() {
+    // Without remembering visited objects, the walk would take 2^64 steps
+    Object shared = "leaf";
+    for (int i = 0; i < 64; i++) {
+      shared = new Object[] {shared, shared};
+    }
+    MergedContextConfiguration config =
+        createConfig(String.class, new String[0], Set.of(new NestingCustomizer(shared)), null);
+
+    assertThat(ContextFingerprint.describe(config)).contains("<ref:[Ljava.lang.Object;>");
+  }
+
+  @Test
+  void shouldIgnoreRuntimeStateOfCustomizers() {
+    MergedContextConfiguration first =
+        createConfig(
+            String.class,
+            new String[0],
+            Set.of(new NestingCustomizer(List.of(Instant.now(), new Container(5432)))),
+            null);
+    MergedContextConfiguration second =
+        createConfig(
+            String.class,
+            new String[0],
+            Set.of(new NestingCustomizer(List.of(Instant.EPOCH, new Container(6543)))),
+            null);
+
+    assertThat(ContextFingerprint.describe(first)).isEqualTo(ContextFingerprint.describe(second));
+  }
+
+  @Test
+  void shouldNotFailForCollectionsThatCannotBeIterated() {
+    List<String> modified =
+        new ArrayList<>(List.of("a")) {
+          @Override
+          public Iterator<String> iterator() {
+            throw new ConcurrentModificationException();
+          }
+        };
+    MergedContextConfiguration config =
+        createConfig(String.class, new String[0], Set.of(new NestingCustomizer(modified)), null);
+
+    assertThat(ContextFingerprint.of(config)).hasSize(64);
+  }
+
+  @Test
+  void shouldTellApartConfigurationsThatAreNotEqualButSerializeTheSame() {
+    MergedContextConfiguration first =
+        createConfig(
+            String.class, new String[0], Set.of(new NestingCustomizer(new Object[0])), null);
+    MergedContextConfiguration second =
+        createConfig(
+            String.class, new String[0], Set.of(new NestingCustomizer(new Object[0])), null);
+
+    String fingerprint = ContextFingerprint.of(first);
+
+    assertThat(ContextFingerprint.of(second)).isEqualTo(fingerprint + "-2");
+    assertThat(ContextFingerprint.of(first)).isEqualTo(fingerprint);
+  }
+
+  @Test
+  void shouldReturnNullForNullConfiguration() {
+    assertThat(ContextFingerprint.of(null)).isNull();
+  }
+
+  private MergedContextConfiguration createConfig(
+      Class<?> testClass,
+      String[] profiles,
+      Set<ContextCustomizer> customizers,
+      MergedContextConfiguration parent) {
+    return new MergedContextConfiguration(
+        testClass,
+        new String[0],
+        new Class<?>[] {Object.class},
+        null,
+        profiles,
+        new String[0],
+        new String[0],
+        customizers,
+        null,
+        null,
+        parent);
+  }
+
+  /** Customizer compared by identity of its state, like customizers holding lambdas. */
+  private record NestingCustomizer(Object state) implements ContextCustomizer {
+
+    @Override
+    public void customizeContext(
+        ConfigurableApplicationContext context, MergedContextConfiguration mergedConfig) {}
+  }
+
+  /** Resource holding runtime state, like a Testcontainers container with its mapped port. */
+  private record Container(int mappedPort) implements AutoCloseable {
+
+    @Override
+    public void close() {}
+  }
+
+  /** Mimics Spring Boot customizers that keep the test class but exclude it from equality. */
+  private static class TestCustomizer implements ContextCustomizer {
+
+    private final Class<?> testClass = ContextFingerprintTest.class;
+    private final String mockedBean;
+
+    TestCustomizer(String mockedBean) {
+      this.mockedBean = mockedBean;
+    }
+
+    @Override
+    public void customizeContext(
+        ConfigurableApplicationContext context, MergedContextConfiguration mergedConfig) {}
+
+    @Override
+    public boolean equals(Object other) {
+      return other instanceof TestCustomizer customizer
+          && Objects.equals(mockedBean, customizer.mockedBean);
+    }
+
+    @Override
+    public int hashCode() {
+      return mockedBean.hashCode();
+    }
+  }
+}
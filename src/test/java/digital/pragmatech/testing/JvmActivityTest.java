@@ -0,0 +1,46 @@
+package digital.pragmatech.testing;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Configuration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JvmActivityTest {
+
+  @Configuration
+  static class EmptyConfig {}
+
+  @Test
+  void shouldCalculateActivityBetweenTwoSamples() {
+    JvmActivity start = new JvmActivity(1000, 200, 50, 3);
+    JvmActivity end = new JvmActivity(1800, 450, 80, 5);
+
+    assertThat(end.since(start)).isEqualTo(new JvmActivity(800, 250, 30, 2));
+  }
+
+  @Test
+  void shouldKeepUnsupportedCompilationTimeUnknown() {
+    JvmActivity start = new JvmActivity(1000, -1, 50, 3);
+    JvmActivity end = new JvmActivity(1800, -1, 80, 5);
+
+    assertThat(end.since(start).compilationTimeMs()).isEqualTo(-1);
+  }
+
+  @Test
+  void shouldRecordJvmActivityWhileContextLoads() {
+    try (AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext()) {
+      context.register(EmptyConfig.class);
+      new TimingTrackingApplicationContextInitializer().initialize(context);
+      context.refresh();
+
+      JvmActivity jvmActivity =
+          TimingTrackingApplicationContextInitializer.getContextProfileData(context)
+              .getJvmActivity();
+
+      assertThat(jvmActivity).isNotNull();
+      assertThat(jvmActivity.loadedClassCount()).isGreaterThanOrEqualTo(0);
+      assertThat(jvmActivity.gcTimeMs()).isGreaterThanOrEqualTo(0);
+    }
+  }
+}
@@ -0,0 +1,110 @@
+package digital.pragmatech.testing;
+
+import digital.pragmatech.testing.phases.TestPhase;
+import digital.pragmatech.testing.phases.TestPhaseDurations;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TestExecutionTrackerTest {
+
+  private static final long MS = 1_000_000;
+
+  @Test
+  void shouldSplitMethodTimeIntoPhases() {
+    TestExecutionTracker.TestMethodMetrics method =
+        new TestExecutionTracker.TestMethodMetrics("shouldFindOrders");
+    method.recordStart();
+    long start = System.nanoTime();
+
+    method.recordPhase(TestPhase.TRANSACTION, start + 5 * MS);
+    method.recordPhase(TestPhase.SQL_SCRIPTS, start + 15 * MS);
+    method.recordPhase(TestPhase.EXECUTION, start + 215 * MS);
+    method.recordPhase(TestPhase.TEARDOWN, start + 265 * MS);
+    method.recordPhase(TestPhase.TRANSACTION, start + 270 * MS);
+    method.recordPhase(TestPhase.TEARDOWN, start + 300 * MS);
+    method.recordTeardownEnd(start + 301 * MS);
+
+    TestPhaseDurations phases = method.getPhaseDurations();
+    assertThat(phases.getMs(TestPhase.SETUP)).isGreaterThanOrEqualTo(5);
+    assertThat(phases.getMs(TestPhase.TRANSACTION)).isEqualTo(40);
+    assertThat(phases.getMs(TestPhase.SQL_SCRIPTS)).isEqualTo(200);
+    assertThat(phases.getMs(TestPhase.EXECUTION)).isEqualTo(50);
+    assertThat(phases.getMs(TestPhase.TEARDOWN)).isEqualTo(6);
+  }
+
+  @Test
+  void shouldIgnorePhasesOutsideOfRunningMethod() {
+    TestExecutionTracker.TestMethodMetrics method =
+        new TestExecutionTracker.TestMethodMetrics("shouldFindOrders");
+    method.recordPhase(TestPhase.EXECUTION, 10 * MS);
+
+    method.recordStart();
+    long start = System.nanoTime();
+    method.recordTeardownEnd(start + 10 * MS);
+    method.recordPhase(TestPhase.TEARDOWN, start + 20 * MS);
+    method.recordTeardownEnd(start + 30 * MS);
+
+    assertThat(method.getPhaseDurations().getMs(TestPhase.SETUP)).isGreaterThanOrEqualTo(10);
+    assertThat(method.getPhaseDurations().getMs(TestPhase.EXECUTION)).isZero();
+    assertThat(method.getPhaseDurations().getMs(TestPhase.TEARDOWN)).isZero();
+  }
+
+  @Test
+  void shouldSumUpPhasesOfAllMethodsOfTestClass() {
+    TestExecutionTracker tracker = new TestExecutionTracker();
+    tracker.recordTestClassStart("com.example.OrderRepositoryTest");
+
+    for (String methodName : new String[] {"shouldSaveOrder", "shouldFindOrders"}) {
+      tracker.recordTestMethodStart("com.example.OrderRepositoryTest", methodName);
+      tracker.recordTestPhase("com.example.OrderRepositoryTest", methodName, TestPhase.EXECUTION);
+      tracker.recordTestMethodEnd("com.example.OrderRepositoryTest", methodName, TestStatus.PASSED);
+      tracker.recordTestPhase("com.example.OrderRepositoryTest", methodName, TestPhase.TEARDOWN);
+      tracker.recordTestMethodTeardownEnd("com.example.OrderRepositoryTest", methodName);
+    }
+
+    TestExecutionTracker.TestClassMetrics metrics =
+        tracker.getClassMetrics().get("com.example.OrderRepositoryTest");
+    assertThat(metrics.getMethodMetrics()).hasSize(2);
+    TestPhaseDurations phases = metrics.getPhaseDurations();
+    assertThat(
+            phases.getNanos(TestPhase.SETUP)
+                + phases.getNanos(TestPhase.EXECUTION)
+                + phases.getNanos(TestPhase.TEARDOWN))
+        .isPositive();
+    assertThat(phases.isSplitRecorded()).isFalse();
+  }
+
+  @Test
+  void shouldCountMethodsByStatusWhenTheyEnd() {
+    TestExecutionTracker tracker = new TestExecutionTracker();
+    tracker.recordTestClassStart("com.example.OrderRepositoryTest");
+    tracker.recordTestClassStart("com.example.UserRepositoryTest");
+
+    tracker.recordTestMethodStart("com.example.OrderRepositoryTest", "shouldSaveOrder");
+    tracker.recordTestMethodEnd(
+        "com.example.OrderRepositoryTest", "shouldSaveOrder", TestStatus.PASSED);
+    tracker.recordTestMethodStart("com.example.OrderRepositoryTest", "shouldFindOrders");
+    tracker.recordTestMethodEnd(
+        "com.example.OrderRepositoryTest", "shouldFindOrders", TestStatus.FAILED);
+    tracker.recordTestMethodStart("com.example.UserRepositoryTest", "shouldSaveUser");
+    tracker.recordTestMethodEnd(
+        "com.example.UserRepositoryTest", "shouldSaveUser", TestStatus.FAILED);
+    // A repeated or retried method ends again under the same name
+    tracker.recordTestMethodStart("com.example.UserRepositoryTest", "shouldSaveUser");
+    tracker.recordTestMethodEnd(
+        "com.example.UserRepositoryTest", "shouldSaveUser", TestStatus.PASSED);
+
+    TestExecutionTracker.TestClassMetrics orders =
+        tracker.getClassMetrics().get("com.example.OrderRepositoryTest");
+    TestExecutionTracker.TestClassMetrics users =
+        tracker.getClassMetrics().get("com.example.UserRepositoryTest");
+    assertThat(orders.getPassedMethods()).isEqualTo(1);
+    assertThat(orders.getFailedMethods()).isEqualTo(1);
+    assertThat(users.getPassedMethods()).isEqualTo(1);
+    assertThat(users.getFailedMethods()).isZero();
+    assertThat(tracker.getTestMethodCount(TestStatus.PASSED)).isEqualTo(2);
+    assertThat(tracker.getTestMethodCount(TestStatus.FAILED)).isEqualTo(1);
+    assertThat(tracker.getTestMethodCount(TestStatus.DISABLED)).isZero();
+  }
+}
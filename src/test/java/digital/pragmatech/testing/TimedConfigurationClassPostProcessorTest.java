@@ -0,0 +1,64 @@
+package digital.pragmatech.testing;
+
+import digital.pragmatech.testing.fixture.scan.FirstScannedComponent;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TimedConfigurationClassPostProcessorTest {
+
+  @Configuration
+  @ComponentScan(basePackageClasses = FirstScannedComponent.class)
+  @Import(ImportedConfig.class)
+  static class RootConfig {}
+
+  @Configuration
+  @Import(NestedImportedConfig.class)
+  static class ImportedConfig {}
+
+  @Configuration
+  static class NestedImportedConfig {}
+
+  @Test
+  void shouldProfileComponentScanAndConfigurationClasses() {
+    try (AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext()) {
+      context.register(RootConfig.class);
+      new TimingTrackingApplicationContextInitializer().initialize(context);
+      context.refresh();
+
+      assertThat(context.getBean(FirstScannedComponent.class)).isNotNull();
+
+      ConfigurationClassProfile profile =
+          TimingTrackingApplicationContextInitializer.getContextProfileData(context)
+              .getConfigurationClassProfile();
+
+      assertThat(profile.isRecorded()).isTrue();
+      assertThat(profile.getEnhancementTimeMs()).isGreaterThanOrEqualTo(0);
+      assertThat(profile.getConfigurationClassCount()).isEqualTo(3);
+      assertThat(profile.getMaxImportDepth()).isEqualTo(2);
+      assertThat(profile.getDeepestImportChain())
+          .containsExactly(
+              RootConfig.class.getName(),
+              ImportedConfig.class.getName(),
+              NestedImportedConfig.class.getName());
+      assertThat(profile.getPackageScans())
+          .singleElement()
+          .satisfies(
+              scan -> {
+                assertThat(scan.basePackage()).isEqualTo("digital.pragmatech.testing.fixture.scan");
+                assertThat(scan.candidateClasses()).isEqualTo(2);
+              });
+      assertThat(profile.getCandidateClassCount()).isEqualTo(2);
+    }
+  }
+
+  @Test
+  void shouldDeriveBasePackageFromScanPattern() {
+    assertThat(ScanTimingResourceLoader.toBasePackage("classpath*:com/example/app/**/*.class"))
+        .isEqualTo("com.example.app");
+  }
+}
@@ -0,0 +1,97 @@
+package digital.pragmatech.testing.autoconfigure;
+
+import java.util.List;
+
+import digital.pragmatech.testing.diagnostic.ContextDiagnosticApplicationInitializer;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.RootBeanDefinition;
+import org.springframework.boot.autoconfigure.condition.ConditionEvaluationReport;
+import org.springframework.boot.autoconfigure.condition.ConditionOutcome;
+import org.springframework.context.annotation.Condition;
+import org.springframework.context.support.GenericApplicationContext;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AutoConfigurationReportCollectorTest {
+
+  private static final String SLOW_AUTO_CONFIGURATION = "com.example.SlowAutoConfiguration";
+  private static final String FAST_AUTO_CONFIGURATION = "com.example.FastAutoConfiguration";
+  private static final String MISSING_AUTO_CONFIGURATION = "com.example.MissingAutoConfiguration";
+  private static final String EXCLUDED_AUTO_CONFIGURATION = "com.example.ExcludedAutoConfiguration";
+
+  private static final Condition CONDITION = (context, metadata) -> true;
+
+  public static class SlowConfiguration {
+    public Object slowBean() throws InterruptedException {
+      Thread.sleep(50);
+      return new Object();
+    }
+  }
+
+  @Test
+  void shouldReportAppliedExcludedAndNotAppliedAutoConfigurations() {
+    try (GenericApplicationContext context = new GenericApplicationContext()) {
+      new ContextDiagnosticApplicationInitializer().initialize(context);
+
+      ConditionEvaluationReport report = ConditionEvaluationReport.get(context.getBeanFactory());
+      report.recordEvaluationCandidates(
+          List.of(SLOW_AUTO_CONFIGURATION, FAST_AUTO_CONFIGURATION, MISSING_AUTO_CONFIGURATION));
+      report.recordExclusions(List.of(EXCLUDED_AUTO_CONFIGURATION));
+      report.recordConditionEvaluation(
+          SLOW_AUTO_CONFIGURATION, CONDITION, ConditionOutcome.match("matched"));
+      report.recordConditionEvaluation(
+          SLOW_AUTO_CONFIGURATION + "$NestedConfiguration",
+          CONDITION,
+          ConditionOutcome.noMatch("nested did not match"));
+      report.recordConditionEvaluation(
+          MISSING_AUTO_CONFIGURATION,
+          CONDITION,
+          ConditionOutcome.noMatch("did not find required class 'com.example.Missing'"));
+
+      context.registerBeanDefinition(
+          SLOW_AUTO_CONFIGURATION, new RootBeanDefinition(SlowConfiguration.class));
+      RootBeanDefinition slowBean = new RootBeanDefinition();
+      slowBean.setFactoryBeanName(SLOW_AUTO_CONFIGURATION);
+      slowBean.setFactoryMethodName("slowBean");
+      context.registerBeanDefinition("slowBean", slowBean);
+      context.registerBeanDefinition(FAST_AUTO_CONFIGURATION, new RootBeanDefinition(Object.class));
+      context.registerBeanDefinition("userBean", new RootBeanDefinition(Object.class));
+      context.refresh();
+
+      AutoConfigurationReport autoConfigurationReport =
+          AutoConfigurationReportCollector.collect(context);
+
+      assertThat(autoConfigurationReport).isNotNull();
+      assertThat(autoConfigurationReport.beanTimingAvailable()).isTrue();
+      assertThat(autoConfigurationReport.applied())
+          .extracting(AutoConfigurationReport.AppliedAutoConfiguration::className)
+          .containsExactly(SLOW_AUTO_CONFIGURATION, FAST_AUTO_CONFIGURATION);
+
+      AutoConfigurationReport.AppliedAutoConfiguration slow =
+          autoConfigurationReport.applied().get(0);
+      assertThat(slow.beanCount()).isEqualTo(2);
+      assertThat(slow.beanCreationTimeMs()).isGreaterThanOrEqualTo(40);
+      assertThat(slow.getSimpleName()).isEqualTo("SlowAutoConfiguration");
+      assertThat(autoConfigurationReport.applied().get(1).beanCount()).isEqualTo(1);
+
+      assertThat(autoConfigurationReport.excluded()).containsExactly(EXCLUDED_AUTO_CONFIGURATION);
+      assertThat(autoConfigurationReport.notApplied())
+          .singleElement()
+          .satisfies(
+              notApplied -> {
+                assertThat(notApplied.className()).isEqualTo(MISSING_AUTO_CONFIGURATION);
+                assertThat(notApplied.reason()).contains("com.example.Missing");
+              });
+    }
+  }
+
+  @Test
+  void shouldReturnNullForContextsWithoutConditionEvaluationReport() {
+    try (GenericApplicationContext context = new GenericApplicationContext()) {
+      context.refresh();
+
+      assertThat(AutoConfigurationReportCollector.collect(context)).isNull();
+      assertThat(context.getBeanFactory().containsSingleton("autoConfigurationReport")).isFalse();
+    }
+  }
+}
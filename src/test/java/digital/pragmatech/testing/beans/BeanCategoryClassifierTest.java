@@ -0,0 +1,132 @@
+package digital.pragmatech.testing.beans;
+
+import java.io.PrintWriter;
+import java.sql.Connection;
+import java.util.logging.Logger;
+
+import javax.sql.DataSource;
+
+import digital.pragmatech.testing.diagnostic.ContextDiagnosticApplicationInitializer;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.StandardEnvironment;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BeanCategoryClassifierTest {
+
+  static class SlowDataSource implements DataSource {
+    SlowDataSource() throws InterruptedException {
+      Thread.sleep(50);
+    }
+
+    @Override
+    public Connection getConnection() {
+      return null;
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) {
+      return null;
+    }
+
+    @Override
+    public PrintWriter getLogWriter() {
+      return null;
+    }
+
+    @Override
+    public void setLogWriter(PrintWriter out) {}
+
+    @Override
+    public void setLoginTimeout(int seconds) {}
+
+    @Override
+    public int getLoginTimeout() {
+      return 0;
+    }
+
+    @Override
+    public Logger getParentLogger() {
+      return null;
+    }
+
+    @Override
+    public <T> T unwrap(Class<T> iface) {
+      return null;
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> iface) {
+      return false;
+    }
+  }
+
+  static class OrderService {}
+
+  @Configuration
+  static class InfrastructureConfig {
+    @Bean
+    SlowDataSource dataSource() throws InterruptedException {
+      return new SlowDataSource();
+    }
+
+    @Bean
+    OrderService orderService() {
+      return new OrderService();
+    }
+
+    @Bean
+    StandardEnvironment frameworkBean() {
+      return new StandardEnvironment();
+    }
+  }
+
+  @Test
+  void shouldClassifyBeansByType() {
+    assertThat(BeanCategoryClassifier.classify(SlowDataSource.class))
+        .isEqualTo(BeanCategory.INFRASTRUCTURE);
+    assertThat(BeanCategoryClassifier.infrastructureKind(SlowDataSource.class))
+        .isEqualTo("DataSource");
+    assertThat(BeanCategoryClassifier.classify(OrderService.class))
+        .isEqualTo(BeanCategory.APPLICATION);
+    assertThat(BeanCategoryClassifier.classify(StandardEnvironment.class))
+        .isEqualTo(BeanCategory.FRAMEWORK);
+    assertThat(BeanCategoryClassifier.classify(null)).isEqualTo(BeanCategory.FRAMEWORK);
+  }
+
+  @Test
+  void shouldSumUpCreationTimePerCategory() {
+    try (AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext()) {
+      context.register(InfrastructureConfig.class);
+      new ContextDiagnosticApplicationInitializer().initialize(context);
+      context.refresh();
+
+      BeanCategoryBreakdown breakdown = BeanCategoryClassifier.collect(context);
+
+      assertThat(breakdown).isNotNull();
+      assertThat(breakdown.infrastructureBeanCount()).isEqualTo(1);
+      assertThat(breakdown.infrastructureTimeMs()).isGreaterThanOrEqualTo(50);
+      assertThat(breakdown.infrastructureBeans())
+          .singleElement()
+          .satisfies(
+              bean -> {
+                assertThat(bean.beanName()).isEqualTo("dataSource");
+                assertThat(bean.kind()).isEqualTo("DataSource");
+              });
+      assertThat(breakdown.applicationBeanCount()).isGreaterThanOrEqualTo(1);
+      assertThat(breakdown.frameworkBeanCount()).isGreaterThanOrEqualTo(1);
+      assertThat(breakdown.getInfrastructurePercentage()).isGreaterThan(50.0);
+    }
+  }
+
+  @Test
+  void shouldReturnNullWithoutBeanCreationTimes() {
+    try (AnnotationConfigApplicationContext context =
+        new AnnotationConfigApplicationContext(InfrastructureConfig.class)) {
+      assertThat(BeanCategoryClassifier.collect(context)).isNull();
+    }
+  }
+}
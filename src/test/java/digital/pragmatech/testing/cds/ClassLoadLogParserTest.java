@@ -0,0 +1,71 @@
+package digital.pragmatech.testing.cds;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ClassLoadLogParserTest {
+
+  @TempDir Path tempDir;
+
+  @Test
+  void shouldKeepOnlyArchivableClasses() throws Exception {
+    Path log = tempDir.resolve("class-load.log");
+    Files.write(
+        log,
+        List.of(
+            "[0.010s][info][class,load] java.lang.Object source: shared objects file",
+            "[0.020s][info ][class,load ] java.util.ArrayList source: jrt:/java.base",
+            "[0.300s][info][class,load] org.springframework.core.Ordered source:"
+                + " jar:file:/m2/spring-core-7.0.3.jar!/",
+            "[0.310s][info][class,load] org.slf4j.Logger source: file:/m2/slf4j-api-2.0.17.jar",
+            "[0.400s][info][class,load] com.example.OrderService source:"
+                + " file:/project/target/classes/",
+            "[0.410s][info][class,load] java.lang.invoke.LambdaForm$MH/0x0000000801001000 source:"
+                + " __JVM_LookupDefineClass__",
+            "[0.420s][info][class,load] com.example.Config$$SpringCGLIB$$0 source:"
+                + " __JVM_DefineClass__",
+            "[0.430s][info][class,load] java.lang.Object source: shared objects file",
+            "[0.440s][info][gc] Using G1"));
+
+    Set<String> classes = ClassLoadLogParser.parse(log);
+
+    assertThat(classes)
+        .containsExactly(
+            "java/lang/Object",
+            "java/util/ArrayList",
+            "org/springframework/core/Ordered",
+            "org/slf4j/Logger");
+  }
+
+  @Test
+  void shouldMergeClassListsOfForks() throws Exception {
+    Path classList = tempDir.resolve("cds").resolve(ClassListWriter.CLASS_LIST_FILE_NAME);
+
+    ClassListWriter.merge(classList, Set.of("java/lang/Object"));
+    int total = ClassListWriter.merge(classList, Set.of("java/lang/Object", "java/util/List"));
+
+    assertThat(total).isEqualTo(2);
+    assertThat(Files.readAllLines(classList)).containsExactly("java/lang/Object", "java/util/List");
+  }
+
+  @Test
+  void shouldExtractLogFileFromXlogOption() {
+    assertThat(ClassListWriter.extractLogFile("-Xlog:class+load=info:file=target/cl-%p.log"))
+        .isEqualTo("target/cl-%p.log");
+    assertThat(
+            ClassListWriter.extractLogFile(
+                "-Xlog:class+load:file=\"C:\\build\\cl.log\":uptime,level"))
+        .isEqualTo("C:\\build\\cl.log");
+    assertThat(ClassListWriter.extractLogFile("-Xlog:class+load:file=C:\\cl.log:uptime"))
+        .isEqualTo("C:\\cl.log");
+    assertThat(ClassListWriter.extractLogFile("-Xlog:gc:file=gc.log")).isNull();
+    assertThat(ClassListWriter.extractLogFile("-Xmx1g")).isNull();
+  }
+}
@@ -0,0 +1,259 @@
+package digital.pragmatech.testing.cli;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import digital.pragmatech.testing.util.SimpleJsonReader;
+import digital.pragmatech.testing.util.SimpleJsonWriter;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProfilerCliTest {
+
+  @TempDir Path reportDir;
+
+  private final ByteArrayOutputStream out = new ByteArrayOutputStream();
+  private final ByteArrayOutputStream err = new ByteArrayOutputStream();
+
+  @Test
+  void shouldMergeContextsWithSameFingerprintAcrossModules() throws IOException {
+    writeReports();
+    Path merged = reportDir.resolve("merged.json");
+
+    int exitCode = run("merge", reportDir.toString(), "--output", merged.toString());
+
+    assertThat(exitCode).isEqualTo(ProfilerCli.EXIT_OK);
+    Map<String, Object> report =
+        SimpleJsonReader.parseObject(Files.readString(merged, StandardCharsets.UTF_8));
+    List<Map<String, Object>> contexts =
+        SimpleJsonReader.asList(report.get("contexts")).stream()
+            .map(SimpleJsonReader::asMap)
+            .toList();
+    assertThat(contexts).hasSize(2);
+    Map<String, Object> shared = contexts.get(0);
+    assertThat(shared.get("fingerprint")).isEqualTo("shared");
+    assertThat(SimpleJsonReader.asLong(shared.get("loadDuration"), 0)).isEqualTo(3000);
+    assertThat(SimpleJsonReader.asLong(shared.get("loadCount"), 0)).isEqualTo(2);
+    assertThat(SimpleJsonReader.asList(shared.get("testClasses")))
+        .containsExactly("com.example.a.OrderTest", "com.example.b.UserTest");
+
+    Map<String, Object> summary = SimpleJsonReader.asMap(report.get("summary"));
+    assertThat(SimpleJsonReader.asLong(summary.get("totalTestClasses"), 0)).isEqualTo(3);
+    assertThat(SimpleJsonReader.asLong(summary.get("mergedReports"), 0)).isEqualTo(2);
+    assertThat(SimpleJsonReader.asList(report.get("testClasses")))
+        .extracting(testClass -> SimpleJsonReader.asMap(testClass).get("contextKey"))
+        .containsExactly("context-0", "context-1", "context-0");
+  }
+
+  @Test
+  void shouldRankContextsByTotalLoadTime() throws IOException {
+    writeReports();
+
+    int exitCode = run("top-contexts", reportDir.toString(), "--limit", "1");
+
+    assertThat(exitCode).isEqualTo(ProfilerCli.EXIT_OK);
+    String markdown = out.toString(StandardCharsets.UTF_8);
+    assertThat(markdown).contains("| 1 | `shared` | SpringBootTest | 3000ms | 2 |");
+    assertThat(markdown).doesNotContain("module-b-only");
+  }
+
+  @Test
+  void shouldAggregateReportsPerModule() throws IOException {
+    writeReports();
+
+    int exitCode = run("modules", reportDir.toString());
+
+    assertThat(exitCode).isEqualTo(ProfilerCli.EXIT_OK);
+    String markdown = out.toString(StandardCharsets.UTF_8);
+    assertThat(markdown)
+        .contains("| module-b | 2500ms | 2 | 2 | 150000ms | yes |")
+        .contains("| module-a | 1000ms | 1 | 1 | 100000ms |  |")
+        // module-a ran in parallel to module-b and finished first
+        .contains("Critical path: module-b (150000ms of 200000ms)")
+        .contains("| `shared` | SpringBootTest | module-a, module-b | 2 | 3000ms |")
+        .doesNotContain("`module-b-only`");
+  }
+
+  @Test
+  void shouldPutModulesOnCriticalPathInBuildOrder() {
+    Instant start = Instant.ofEpochSecond(1_000);
+    List<ModuleAggregation.ModuleSummary> modules =
+        List.of(
+            module("core", start, start.plusSeconds(60)),
+            module("web", start.plusSeconds(60), start.plusSeconds(120)),
+            module("batch", start.plusSeconds(60), start.plusSeconds(90)));
+
+    assertThat(ModuleAggregation.criticalPath(modules)).containsExactly("core", "web");
+    assertThat(ModuleAggregation.moduleOf(Path.of("x.json"), Map.of("module", "orders")))
+        .isEqualTo("orders");
+    Path buildRoot = reportDir.toAbsolutePath();
+    assertThat(
+            ModuleAggregation.moduleOf(
+                buildRoot.resolve("services/orders/build/spring-test-profiler/x.json"),
+                Map.of(),
+                buildRoot))
+        .isEqualTo("services/orders");
+    assertThat(
+            ModuleAggregation.moduleOf(
+                buildRoot.resolve("clients/orders/target/spring-test-profiler/x.json"),
+                Map.of(),
+                buildRoot))
+        .isEqualTo("clients/orders");
+  }
+
+  @Test
+  void shouldExportCsvAndRenderHtml() throws IOException {
+    writeReports();
+    Path outputDir = reportDir.resolve("out");
+
+    assertThat(run("csv", reportDir.toString(), "--output", outputDir.toString()))
+        .isEqualTo(ProfilerCli.EXIT_OK);
+    assertThat(run("html", reportDir.toString(), "--output", outputDir.toString()))
+        .isEqualTo(ProfilerCli.EXIT_OK);
+
+    assertThat(Files.readAllLines(outputDir.resolve(ReportCsvExporter.CONTEXTS_FILE)))
+        .hasSize(3)
+        .element(1)
+        .asString()
+        .startsWith("context-0,shared,SpringBootTest,3000,2,")
+        .endsWith(",com.example.a.OrderTest com.example.b.UserTest");
+    assertThat(ReportCsvExporter.escape("a,\"b\"")).isEqualTo("\"a,\"\"b\"\"\"");
+    assertThat(Files.readString(outputDir.resolve(OfflineReportRenderer.REPORT_FILE)))
+        .contains("com.example.b.UserTest")
+        .contains("Critical path: module-b")
+        .contains("3000ms");
+    assertThat(outputDir.resolve("static/css/spring-test-profiler.css")).exists();
+  }
+
+  @Test
+  void shouldSkipReportsOfOlderBuildsInTheSameDirectory() throws IOException {
+    Map<String, Object> olderBuild =
+        report(
+            1_000,
+            100_000,
+            List.of(context("context-0", "stale", 9000, "com.example.OldTest")),
+            List.of(testClass("com.example.OldTest", "context-0")));
+    olderBuild.put("buildId", "build-1");
+    write("target/spring-test-profiler/spring-test-profiler-old.json", olderBuild);
+    for (String fork : List.of("1", "2")) {
+      Map<String, Object> newestBuild =
+          report(
+              2_000,
+              100_000,
+              List.of(context("context-0", "shared", 1000, "com.example.Fork" + fork + "Test")),
+              List.of(testClass("com.example.Fork" + fork + "Test", "context-0")));
+      newestBuild.put("buildId", "build-2");
+      write("target/spring-test-profiler/spring-test-profiler-fork-" + fork + ".json", newestBuild);
+    }
+
+    int exitCode = run("top-contexts", reportDir.toString());
+
+    assertThat(exitCode).isEqualTo(ProfilerCli.EXIT_OK);
+    assertThat(out.toString(StandardCharsets.UTF_8))
+        .contains("| 1 | `shared` | SpringBootTest | 2000ms | 2 |")
+        .doesNotContain("stale");
+    assertThat(err.toString(StandardCharsets.UTF_8)).contains("Skipping 1 reports of older builds");
+  }
+
+  @Test
+  void shouldRejectUnknownCommandAndMissingReports() {
+    assertThat(run("render", reportDir.toString())).isEqualTo(ProfilerCli.EXIT_USAGE_ERROR);
+    assertThat(run("merge", reportDir.resolve("missing").toString()))
+        .isEqualTo(ProfilerCli.EXIT_USAGE_ERROR);
+    assertThat(err.toString(StandardCharsets.UTF_8)).contains("Unknown command: render");
+  }
+
+  private static ModuleAggregation.ModuleSummary module(String name, Instant start, Instant end) {
+    return new ModuleAggregation.ModuleSummary(
+        name, 1, 1, 1, 0, end.toEpochMilli() - start.toEpochMilli(), start, end, false);
+  }
+
+  private int run(String... args) {
+    return new ProfilerCli()
+        .run(
+            args,
+            new PrintStream(out, true, StandardCharsets.UTF_8),
+            new PrintStream(err, true, StandardCharsets.UTF_8));
+  }
+
+  private void writeReports() throws IOException {
+    write(
+        "module-a/target/spring-test-profiler/spring-test-profiler-a.json",
+        report(
+            1_000,
+            100_000,
+            List.of(context("context-0", "shared", 1000, "com.example.a.OrderTest")),
+            List.of(testClass("com.example.a.OrderTest", "context-0"))));
+    write(
+        "module-b/target/spring-test-profiler/spring-test-profiler-b.json",
+        report(
+            1_100,
+            150_000,
+            List.of(
+                context("context-0", "module-b-only", 500, "com.example.b.AuditTest"),
+                context("context-1", "shared", 2000, "com.example.b.UserTest")),
+            List.of(
+                testClass("com.example.b.AuditTest", "context-0"),
+                testClass("com.example.b.UserTest", "context-1"))));
+  }
+
+  private void write(String file, Map<String, Object> report) throws IOException {
+    Path reportFile = reportDir.resolve(file);
+    Files.createDirectories(reportFile.getParent());
+    Files.writeString(reportFile, SimpleJsonWriter.toJson(report), StandardCharsets.UTF_8);
+  }
+
+  private static Map<String, Object> report(
+      long generatedAt,
+      long totalDurationMs,
+      List<Map<String, Object>> contexts,
+      List<Map<String, Object>> testClasses) {
+    Map<String, Object> summary = new LinkedHashMap<>();
+    summary.put("totalTestClasses", testClasses.size());
+    summary.put("totalDurationMs", totalDurationMs);
+    summary.put("contextsCreated", contexts.size());
+    summary.put("cacheHits", 0);
+    summary.put("cacheMisses", contexts.size());
+    summary.put("contextReuseRate", 0.0);
+
+    Map<String, Object> report = new LinkedHashMap<>();
+    report.put("schemaVersion", 1);
+    report.put("generatedAt", generatedAt);
+    report.put("summary", summary);
+    report.put("contexts", contexts);
+    report.put("testClasses", testClasses);
+    return report;
+  }
+
+  private static Map<String, Object> context(
+      String contextKey, String fingerprint, long loadDuration, String testClass) {
+    Map<String, Object> context = new LinkedHashMap<>();
+    context.put("contextKey", contextKey);
+    context.put("fingerprint", fingerprint);
+    context.put("primaryAnnotationType", "SpringBootTest");
+    context.put("loadDuration", loadDuration);
+    context.put("numberOfBeans", 100);
+    context.put("testClasses", List.of(testClass));
+    return context;
+  }
+
+  private static Map<String, Object> testClass(String className, String contextKey) {
+    Map<String, Object> testClass = new LinkedHashMap<>();
+    testClass.put("className", className);
+    testClass.put("contextKey", contextKey);
+    testClass.put("durationMs", 200);
+    testClass.put("totalMethods", 2);
+    testClass.put("failedMethods", 0);
+    return testClass;
+  }
+}
@@ -0,0 +1,6 @@
+package digital.pragmatech.testing.fixture.scan;
+
+import org.springframework.stereotype.Component;
+
+@Component
+public class SecondScannedComponent {}
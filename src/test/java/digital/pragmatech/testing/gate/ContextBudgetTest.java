@@ -0,0 +1,181 @@
+package digital.pragmatech.testing.gate;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+import java.util.Properties;
+
+import digital.pragmatech.testing.ContextCacheTracker;
+import digital.pragmatech.testing.util.SimpleJsonWriter;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.context.MergedContextConfiguration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ContextBudgetTest {
+
+  @TempDir Path reportDir;
+
+  @Test
+  void shouldPreferSystemPropertiesOverBudgetFile() {
+    Properties file = new Properties();
+    file.setProperty("max.contexts", "5");
+    file.setProperty("max.context.load.ms", "10000");
+    Properties system = new Properties();
+    system.setProperty("pragmatech.spring.test.insight.gate.max.contexts", "3");
+
+    ContextBudget budget = ContextBudget.from(file, system);
+
+    assertThat(budget.maxContexts()).isEqualTo(3);
+    assertThat(budget.maxContextLoadMs()).isEqualTo(10000L);
+    assertThat(budget.maxTotalContextLoadMs()).isNull();
+    assertThat(budget.minReuseRate()).isNull();
+  }
+
+  @Test
+  void shouldRejectInvalidThresholds() {
+    Properties file = new Properties();
+    file.setProperty("min.reuse.rate", "high");
+
+    assertThatThrownBy(() -> ContextBudget.from(file, new Properties()))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessageContaining("min.reuse.rate");
+  }
+
+  @Test
+  void shouldReportAllExceededThresholds() {
+    ContextCacheTracker tracker = new ContextCacheTracker();
+    track(tracker, createConfig(String.class), "com.example.FastIT", 800);
+    track(tracker, createConfig(Integer.class), "com.example.SlowIT", 31000);
+
+    List<BudgetViolation> violations = new ContextBudget(1, 30000L, 30000L, 50.0).evaluate(tracker);
+
+    assertThat(violations)
+        .extracting(BudgetViolation::metric)
+        .containsExactly(
+            "max.contexts", "max.total.context.load.ms", "max.context.load.ms", "min.reuse.rate");
+    assertThat(violations.get(2).message()).contains("com.example.SlowIT", "31000ms");
+  }
+
+  @Test
+  void shouldPassWithinBudget() {
+    ContextCacheTracker tracker = new ContextCacheTracker();
+    MergedContextConfiguration config = createConfig(String.class);
+    track(tracker, config, "com.example.FirstIT", 800);
+    tracker.recordTestClassForContext(config, "com.example.SecondIT");
+    tracker.recordContextCacheHit(config);
+
+    assertThat(new ContextBudget(1, 1000L, 1000L, 50.0).evaluate(tracker)).isEmpty();
+  }
+
+  @Test
+  void shouldFailVerdictCheckIfAnyForkFailed() throws Exception {
+    writeVerdict(1, new BudgetVerdict(true, Instant.now(), budget(), List.of()));
+    writeVerdict(
+        2,
+        new BudgetVerdict(
+            false,
+            Instant.now(),
+            budget(),
+            List.of(
+                new BudgetViolation("max.contexts", 1, 2, "2 distinct contexts were created"))));
+    writeVerdict(3, new BudgetVerdict(true, Instant.now(), budget(), List.of()));
+    ByteArrayOutputStream err = new ByteArrayOutputStream();
+
+    int exitCode =
+        new BudgetVerdictCheck()
+            .run(
+                new String[] {reportDir.toString()},
+                new PrintStream(new ByteArrayOutputStream()),
+                new PrintStream(err, true, StandardCharsets.UTF_8));
+
+    assertThat(exitCode).isEqualTo(BudgetVerdictCheck.EXIT_FAILED);
+    assertThat(err.toString(StandardCharsets.UTF_8))
+        .contains("2 distinct contexts were created")
+        .contains("1 of 3 test JVMs");
+    assertThat(reportDir).isEmptyDirectory();
+  }
+
+  @Test
+  void shouldPassVerdictCheckIfAllForksPassed() throws Exception {
+    writeVerdict(1, new BudgetVerdict(true, Instant.now(), budget(), List.of()));
+    writeVerdict(2, new BudgetVerdict(true, Instant.now(), budget(), List.of()));
+
+    int exitCode =
+        new BudgetVerdictCheck()
+            .run(
+                new String[] {reportDir.toString()},
+                new PrintStream(new ByteArrayOutputStream()),
+                new PrintStream(new ByteArrayOutputStream()));
+
+    assertThat(exitCode).isEqualTo(BudgetVerdictCheck.EXIT_PASSED);
+  }
+
+  @Test
+  void shouldKeepAllVerdictsIfOneIsUnreadable() throws Exception {
+    writeVerdict(1, new BudgetVerdict(true, Instant.now(), budget(), List.of()));
+    Files.writeString(reportDir.resolve(BudgetGate.verdictFileName(2)), "{\"passed\": ");
+
+    int exitCode =
+        new BudgetVerdictCheck()
+            .run(
+                new String[] {reportDir.toString()},
+                new PrintStream(new ByteArrayOutputStream()),
+                new PrintStream(new ByteArrayOutputStream()));
+
+    assertThat(exitCode).isEqualTo(BudgetVerdictCheck.EXIT_ERROR);
+    assertThat(reportDir.resolve(BudgetGate.verdictFileName(1))).exists();
+    assertThat(reportDir.resolve(BudgetGate.verdictFileName(2))).exists();
+  }
+
+  @Test
+  void shouldFailVerdictCheckWithoutVerdict() {
+    int exitCode =
+        new BudgetVerdictCheck()
+            .run(
+                new String[] {reportDir.toString()},
+                new PrintStream(new ByteArrayOutputStream()),
+                new PrintStream(new ByteArrayOutputStream()));
+
+    assertThat(exitCode).isEqualTo(BudgetVerdictCheck.EXIT_FAILED);
+  }
+
+  private void writeVerdict(long pid, BudgetVerdict verdict) throws Exception {
+    Files.writeString(
+        reportDir.resolve(BudgetGate.verdictFileName(pid)), SimpleJsonWriter.toJsonPretty(verdict));
+  }
+
+  private ContextBudget budget() {
+    return new ContextBudget(1, null, null, null);
+  }
+
+  private void track(
+      ContextCacheTracker tracker,
+      MergedContextConfiguration config,
+      String testClass,
+      long loadTimeMs) {
+    tracker.recordTestClassForContext(config, testClass);
+    tracker.recordContextCreation(config, loadTimeMs);
+  }
+
+  private MergedContextConfiguration createConfig(Class<?> configurationClass) {
+    return new MergedContextConfiguration(
+        configurationClass,
+        null,
+        new Class<?>[] {configurationClass},
+        null,
+        new String[0],
+        new String[0],
+        null,
+        null,
+        null,
+        null,
+        null);
+  }
+}
@@ -0,0 +1,145 @@
+package digital.pragmatech.testing.gc;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GcActivityTrackerTest {
+
+  private final AtomicLong uptimeMs = new AtomicLong();
+  private final AtomicLong heapUsedBytes = new AtomicLong();
+  private final AtomicLong threadAllocatedBytes = new AtomicLong(-1);
+
+  private final GcActivityTracker tracker =
+      new GcActivityTracker(uptimeMs::get, heapUsedBytes::get, threadAllocatedBytes::get);
+
+  @Test
+  void shouldAttributePauseToCurrentActivity() {
+    GcPauseStats contextLoad = new GcPauseStats();
+    uptimeMs.set(1_000);
+    tracker.begin(contextLoad);
+
+    tracker.recordCollection(1_200, 15, 0, true);
+    tracker.recordCollection(1_300, 25, 0, true);
+
+    assertThat(contextLoad.getPauseCount()).isEqualTo(2);
+    assertThat(contextLoad.getPauseTimeMs()).isEqualTo(40);
+    assertThat(contextLoad.getMaxPauseMs()).isEqualTo(25);
+    assertThat(tracker.getTotal().getPauseTimeMs()).isEqualTo(40);
+    assertThat(tracker.getUnattributed().getPauseCount()).isZero();
+  }
+
+  @Test
+  void shouldAttributeLateNotificationToEndedActivity() {
+    GcPauseStats contextLoad = new GcPauseStats();
+    GcPauseStats testMethods = new GcPauseStats();
+    uptimeMs.set(1_000);
+    tracker.begin(contextLoad);
+    uptimeMs.set(2_000);
+    tracker.begin(testMethods);
+    uptimeMs.set(2_500);
+    tracker.end();
+
+    // Notification for a pause that started during the context load arrives later
+    tracker.recordCollection(1_500, 30, 0, true);
+
+    assertThat(contextLoad.getPauseTimeMs()).isEqualTo(30);
+    assertThat(testMethods.getPauseCount()).isZero();
+  }
+
+  @Test
+  void shouldCountPausesOutsideOfActivitiesAsUnattributed() {
+    GcPauseStats testMethods = new GcPauseStats();
+    uptimeMs.set(1_000);
+    tracker.begin(testMethods);
+    uptimeMs.set(1_100);
+    tracker.end();
+
+    tracker.recordCollection(5_000, 10, 0, true);
+
+    assertThat(testMethods.getPauseCount()).isZero();
+    assertThat(tracker.getUnattributed().getPauseTimeMs()).isEqualTo(10);
+    assertThat(tracker.getTotal().getPauseTimeMs()).isEqualTo(10);
+  }
+
+  @Test
+  void shouldChargePauseToActivitiesOfAllThreads() throws Exception {
+    GcPauseStats firstClass = new GcPauseStats();
+    GcPauseStats secondClass = new GcPauseStats();
+    uptimeMs.set(1_000);
+    tracker.begin(firstClass);
+    Thread parallel = new Thread(() -> tracker.begin(secondClass));
+    parallel.start();
+    parallel.join();
+
+    tracker.recordCollection(1_200, 15, 0, true);
+    uptimeMs.set(1_300);
+    // Ends the activity of this thread only
+    tracker.end();
+    tracker.recordCollection(1_400, 5, 0, true);
+
+    assertThat(firstClass.getPauseTimeMs()).isEqualTo(15);
+    assertThat(secondClass.getPauseTimeMs()).isEqualTo(20);
+    assertThat(tracker.getTotal().getPauseTimeMs()).isEqualTo(20);
+    assertThat(tracker.getUnattributed().getPauseCount()).isZero();
+  }
+
+  @Test
+  void shouldNotCountConcurrentCyclesAsPauseTime() {
+    GcPauseStats contextLoad = new GcPauseStats();
+    tracker.begin(contextLoad);
+
+    tracker.recordCollection(0, 400, 64 * 1024 * 1024, false);
+
+    assertThat(contextLoad.getPauseCount()).isZero();
+    assertThat(contextLoad.getReclaimedBytes()).isEqualTo(64 * 1024 * 1024);
+  }
+
+  @Test
+  void shouldEstimateAllocationRateFromHeapGrowthWithoutAllocationCounter() {
+    GcPauseStats contextLoad = new GcPauseStats();
+    uptimeMs.set(1_000);
+    heapUsedBytes.set(100L * 1024 * 1024);
+    tracker.begin(contextLoad);
+
+    tracker.recordCollection(1_200, 20, 150L * 1024 * 1024, true);
+    uptimeMs.set(1_500);
+    heapUsedBytes.set(150L * 1024 * 1024);
+    tracker.end();
+
+    assertThat(contextLoad.getEstimatedAllocatedBytes()).isEqualTo(200L * 1024 * 1024);
+    assertThat(contextLoad.getAllocationRateMBPerSecond()).isEqualTo(400.0);
+    assertThat(contextLoad.getPauseTimePercentage()).isEqualTo(4.0);
+  }
+
+  @Test
+  void shouldPreferBytesAllocatedByActivityThreadOverHeapGrowth() {
+    GcPauseStats testMethods = new GcPauseStats();
+    uptimeMs.set(1_000);
+    heapUsedBytes.set(100L * 1024 * 1024);
+    threadAllocatedBytes.set(10L * 1024 * 1024);
+    tracker.begin(testMethods);
+
+    // Other threads allocated as well, the heap grew more than this thread allocated
+    tracker.recordCollection(1_200, 20, 150L * 1024 * 1024, true);
+    uptimeMs.set(2_000);
+    heapUsedBytes.set(150L * 1024 * 1024);
+    threadAllocatedBytes.set(60L * 1024 * 1024);
+    tracker.end();
+
+    assertThat(testMethods.getEstimatedAllocatedBytes()).isEqualTo(50L * 1024 * 1024);
+    assertThat(testMethods.getAllocationRateMBPerSecond()).isEqualTo(50.0);
+  }
+
+  @Test
+  void shouldDetectPausesOfCommonCollectors() {
+    assertThat(GcActivityTracker.isPause("G1 Young Generation", "end of minor GC")).isTrue();
+    assertThat(GcActivityTracker.isPause("G1 Concurrent GC", "end of concurrent GC pause"))
+        .isFalse();
+    assertThat(GcActivityTracker.isPause("ZGC Pauses", "end of GC pause")).isTrue();
+    assertThat(GcActivityTracker.isPause("ZGC Cycles", "end of GC cycle")).isFalse();
+    assertThat(GcActivityTracker.isPause("Shenandoah Cycles", "end of GC cycle")).isFalse();
+  }
+}
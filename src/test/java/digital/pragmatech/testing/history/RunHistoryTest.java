@@ -0,0 +1,150 @@
+package digital.pragmatech.testing.history;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RunHistoryTest {
+
+  @TempDir Path historyDir;
+
+  @Test
+  void shouldAppendAndReadSnapshotsInOrder() throws Exception {
+    RunHistoryStore store = new RunHistoryStore(historyDir);
+
+    store.append(snapshot("run-1", 1000));
+    store.append(snapshot("run-2", 1100));
+    store.append(snapshot("run-3", 1200));
+
+    List<RunSnapshot> recent = store.readRecent(2);
+
+    assertThat(recent).extracting(RunSnapshot::runId).containsExactly("run-2", "run-3");
+    assertThat(recent.get(1).contexts().get(0).loadTimeMs()).isEqualTo(1200);
+    assertThat(recent.get(1).testClasses().get(0).durationMs()).isEqualTo(1500);
+  }
+
+  @Test
+  void shouldSkipTruncatedLines() throws Exception {
+    RunHistoryStore store = new RunHistoryStore(historyDir);
+    store.append(snapshot("run-1", 1000));
+    Files.writeString(
+        store.getHistoryFile(), "{\"runId\": \"broken", java.nio.file.StandardOpenOption.APPEND);
+
+    assertThat(store.readRecent(10)).extracting(RunSnapshot::runId).containsExactly("run-1");
+  }
+
+  @Test
+  void shouldFlagContextLoadTimeAboveMedian() {
+    List<RunSnapshot> previous =
+        List.of(snapshot("a", 1000), snapshot("b", 900), snapshot("c", 1100));
+
+    List<RegressionFlag> flags =
+        new RegressionDetector(20, 100).detect(snapshot("current", 1350), previous);
+
+    assertThat(flags)
+        .extracting(RegressionFlag::subject)
+        .contains("Context UserIT", "Total context");
+    RegressionFlag contextFlag =
+        flags.stream().filter(f -> f.subject().equals("Context UserIT")).findFirst().orElseThrow();
+    assertThat(contextFlag.baselineMedianMs()).isEqualTo(1000);
+    assertThat(contextFlag.getChangePercent()).isEqualTo(35.0);
+    assertThat(contextFlag.getMessage()).startsWith("Context UserIT load time +35% vs median");
+  }
+
+  @Test
+  void shouldIgnoreSlowdownsBelowThresholdOrMinimumDelta() {
+    List<RunSnapshot> previous = List.of(snapshot("a", 1000), snapshot("b", 1000));
+
+    assertThat(new RegressionDetector(20, 100).detect(snapshot("current", 1150), previous))
+        .isEmpty();
+    assertThat(new RegressionDetector(20, 500).detect(snapshot("current", 1400), previous))
+        .isEmpty();
+  }
+
+  @Test
+  void shouldCalculateMedian() {
+    assertThat(RegressionDetector.median(List.of(5L, 1L, 3L))).isEqualTo(3);
+    assertThat(RegressionDetector.median(List.of(4L, 1L, 3L, 2L))).isEqualTo(2);
+  }
+
+  @Test
+  void shouldShareBuildIdBetweenOverlappingGradleForksOfOneDaemon() {
+    Instant buildStart = Instant.parse("2026-01-01T10:00:00Z");
+
+    String first =
+        RunHistoryRecorder.gradleBuildId(historyDir, 42, buildStart, buildStart.plusSeconds(30));
+    String second =
+        RunHistoryRecorder.gradleBuildId(
+            historyDir, 42, buildStart.plusMillis(200), buildStart.plusSeconds(45));
+    String nextBuild =
+        RunHistoryRecorder.gradleBuildId(
+            historyDir, 42, buildStart.plusSeconds(120), buildStart.plusSeconds(150));
+    String otherDaemon =
+        RunHistoryRecorder.gradleBuildId(
+            historyDir, 7, buildStart.plusSeconds(130), buildStart.plusSeconds(160));
+
+    assertThat(second).isEqualTo(first);
+    assertThat(nextBuild).isNotEqualTo(first);
+    assertThat(otherDaemon).isNotIn(first, nextBuild);
+  }
+
+  @Test
+  void shouldMergeForksOfBuildBeforeComparing() throws Exception {
+    RunHistoryStore store = new RunHistoryStore(historyDir);
+    for (String build : List.of("build-1", "build-2", "build-3")) {
+      store.append(fork(build, "com.example.UserIT", 1000));
+      store.append(fork(build, "com.example.OrderIT", 1000));
+    }
+
+    List<RunSnapshot> recent = store.readRecent(2);
+    assertThat(recent).extracting(RunSnapshot::buildId).containsOnly("build-2", "build-3");
+
+    List<RunSnapshot> builds = RunSnapshot.mergeByBuild(recent);
+    assertThat(builds).extracting(RunSnapshot::buildId).containsExactly("build-2", "build-3");
+    assertThat(builds.get(0).totalContextLoadTimeMs()).isEqualTo(2000);
+    assertThat(builds.get(0).testClasses())
+        .extracting(RunSnapshot.TestClassSnapshot::className)
+        .containsExactly("com.example.OrderIT", "com.example.UserIT");
+    assertThat(builds.get(0).contexts()).hasSize(1);
+    assertThat(builds.get(0).contexts().get(0).loadTimeMs()).isEqualTo(1000);
+    assertThat(builds.get(0).contexts().get(0).hitCount()).isEqualTo(6);
+
+    // The first fork of the next build only has half of the total, which is no regression
+    assertThat(
+            new RegressionDetector(20, 100)
+                .detect(fork("build-4", "com.example.UserIT", 1000), builds))
+        .isEmpty();
+  }
+
+  private RunSnapshot fork(String buildId, String testClass, long contextLoadTimeMs) {
+    return new RunSnapshot(
+        buildId + "-" + testClass,
+        buildId,
+        Instant.ofEpochSecond(1700000000),
+        contextLoadTimeMs,
+        75.0,
+        List.of(
+            new RunSnapshot.ContextSnapshot(
+                "shared-context", "SharedContext", contextLoadTimeMs, 120, 3)),
+        List.of(new RunSnapshot.TestClassSnapshot(testClass, 1500)));
+  }
+
+  private RunSnapshot snapshot(String runId, long contextLoadTimeMs) {
+    return new RunSnapshot(
+        runId,
+        runId,
+        Instant.ofEpochSecond(1700000000),
+        contextLoadTimeMs,
+        50.0,
+        List.of(
+            new RunSnapshot.ContextSnapshot(
+                "com.example.UserIT", "UserIT", contextLoadTimeMs, 120, 3)),
+        List.of(new RunSnapshot.TestClassSnapshot("com.example.UserIT", 1500)));
+  }
+}
@@ -0,0 +1,128 @@
+package digital.pragmatech.testing.journal;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import digital.pragmatech.testing.TestExecutionTracker;
+import digital.pragmatech.testing.TestStatus;
+import digital.pragmatech.testing.phases.TestPhase;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static digital.pragmatech.testing.journal.BinaryEventLog.EventType.BEAN_CREATED;
+import static digital.pragmatech.testing.journal.BinaryEventLog.EventType.CONTEXT_HIT;
+import static digital.pragmatech.testing.journal.BinaryEventLog.EventType.CONTEXT_LOADED;
+import static digital.pragmatech.testing.journal.BinaryEventLog.EventType.TEST_CLASS_END;
+import static digital.pragmatech.testing.journal.BinaryEventLog.EventType.TEST_CLASS_START;
+import static digital.pragmatech.testing.journal.BinaryEventLog.EventType.TEST_METHOD_END;
+import static digital.pragmatech.testing.journal.BinaryEventLog.EventType.TEST_METHOD_START;
+import static digital.pragmatech.testing.journal.BinaryEventLog.EventType.TEST_METHOD_TEARDOWN_END;
+import static digital.pragmatech.testing.journal.BinaryEventLog.EventType.TEST_PHASE;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BinaryEventLogTest {
+
+  private static final String ORDER_TEST = "com.example.OrderControllerTest";
+  private static final String USER_TEST = "com.example.UserControllerTest";
+
+  @TempDir Path eventLogDir;
+
+  private final BinaryEventLogReader reader = new BinaryEventLogReader();
+
+  @Test
+  void shouldRebuildExecutionTrackerFromLog() throws IOException {
+    BinaryEventLog log = BinaryEventLog.open(eventLogDir, 64);
+    log.append(TEST_CLASS_START, 0, ORDER_TEST, null, null, 0);
+    log.append(CONTEXT_LOADED, 0, ORDER_TEST, null, "context-0", 1_500_000_000L);
+    log.append(TEST_METHOD_START, 0, ORDER_TEST, "shouldCreateOrder", null, 0);
+    log.append(TEST_PHASE, TestPhase.EXECUTION.ordinal(), ORDER_TEST, "shouldCreateOrder", null, 0);
+    log.append(
+        TEST_METHOD_END, TestStatus.FAILED.ordinal(), ORDER_TEST, "shouldCreateOrder", null, 0);
+    log.append(TEST_PHASE, TestPhase.TEARDOWN.ordinal(), ORDER_TEST, "shouldCreateOrder", null, 0);
+    log.append(TEST_METHOD_TEARDOWN_END, 0, ORDER_TEST, "shouldCreateOrder", null, 0);
+    log.append(TEST_CLASS_END, 0, ORDER_TEST, null, null, 0);
+
+    List<BinaryEventLogReader.Event> events = reader.read(log.getLogFile());
+    TestExecutionTracker tracker = reader.rebuildExecutionTracker(events);
+
+    assertThat(events).hasSize(8);
+    assertThat(tracker.getTotalTestClasses()).isEqualTo(1);
+    TestExecutionTracker.TestClassMetrics metrics = tracker.getClassMetrics().get(ORDER_TEST);
+    assertThat(metrics.getTotalMethods()).isEqualTo(1);
+    assertThat(metrics.getFailedMethods()).isEqualTo(1);
+    long phaseNanos = 0;
+    for (TestPhase phase : TestPhase.values()) {
+      phaseNanos += metrics.getPhaseDurations().getNanos(phase);
+    }
+    assertThat(phaseNanos).isPositive();
+    assertThat(tracker.getOverallDuration()).isPositive();
+  }
+
+  @Test
+  void shouldSummarizeContextsFromConcurrentWriters() throws Exception {
+    BinaryEventLog log = BinaryEventLog.open(eventLogDir, 1024);
+    log.append(CONTEXT_LOADED, 0, ORDER_TEST, null, "context-0", 2_000_000L);
+    log.append(CONTEXT_HIT, 0, USER_TEST, null, "context-0", 0);
+
+    List<Thread> threads = new ArrayList<>();
+    for (int i = 0; i < 4; i++) {
+      int thread = i;
+      threads.add(
+          new Thread(
+              () -> {
+                for (int bean = 0; bean < 100; bean++) {
+                  log.append(BEAN_CREATED, 0, null, "bean-" + thread + "-" + bean, "context-0", 10);
+                }
+              }));
+    }
+    threads.forEach(Thread::start);
+    for (Thread thread : threads) {
+      thread.join();
+    }
+
+    List<BinaryEventLogReader.ContextSummary> contexts =
+        reader.summarizeContexts(reader.read(log.getLogFile()));
+
+    assertThat(contexts)
+        .singleElement()
+        .satisfies(
+            context -> {
+              assertThat(context.contextId()).isEqualTo("context-0");
+              assertThat(context.loadTimeNanos()).isEqualTo(2_000_000L);
+              assertThat(context.testClasses()).containsExactly(ORDER_TEST, USER_TEST);
+              assertThat(context.hitCount()).isEqualTo(1);
+              assertThat(context.beanCount()).isEqualTo(400);
+              assertThat(context.beanCreationNanos()).isEqualTo(4_000);
+            });
+  }
+
+  @Test
+  void shouldDropEventsBeyondCapacity() throws IOException {
+    BinaryEventLog log = BinaryEventLog.open(eventLogDir, 2);
+    for (int i = 0; i < 5; i++) {
+      log.append(TEST_CLASS_START, 0, ORDER_TEST + i, null, null, 0);
+    }
+
+    assertThat(reader.read(log.getLogFile()))
+        .extracting(BinaryEventLogReader.Event::className)
+        .containsExactly(ORDER_TEST + 0, ORDER_TEST + 1);
+    assertThat(log.getDroppedEvents()).isEqualTo(3);
+  }
+
+  @Test
+  void shouldStopAssigningNameIdsAfterFailedWrite() throws IOException {
+    BinaryEventLog log = BinaryEventLog.open(eventLogDir, 8);
+    log.append(TEST_CLASS_START, 0, ORDER_TEST, null, null, 0);
+    ((FileChannel) ReflectionTestUtils.getField(log, "namesChannel")).close();
+    log.append(TEST_CLASS_START, 0, ORDER_TEST + "Failed", null, null, 0);
+    log.append(TEST_CLASS_START, 0, ORDER_TEST, null, null, 0);
+
+    assertThat(reader.read(log.getLogFile()))
+        .extracting(BinaryEventLogReader.Event::className)
+        .containsExactly(ORDER_TEST, null, ORDER_TEST);
+  }
+}
@@ -0,0 +1,144 @@
+package digital.pragmatech.testing.journal;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import digital.pragmatech.testing.TestExecutionTracker;
+import digital.pragmatech.testing.TestStatus;
+import digital.pragmatech.testing.util.SimpleJsonReader;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RunJournalTest {
+
+  @TempDir Path reportDir;
+
+  @Test
+  void shouldAppendCompletedTestClassesAsJsonLines() throws IOException {
+    RunJournal journal = RunJournal.start(reportDir.resolve(RunJournal.JOURNAL_DIR_NAME));
+    journal.recordTestClassCompleted(
+        completedTestClass("com.example.OrderControllerTest"), Optional.empty());
+    journal.close();
+
+    List<Map<String, Object>> events = RunJournalRecovery.readEvents(journal.getJournalFile());
+
+    assertThat(events).extracting(event -> event.get("type")).containsExactly("run", "testClass");
+    assertThat(SimpleJsonReader.asMap(events.get(1).get("data")))
+        .containsEntry("className", "com.example.OrderControllerTest")
+        .containsEntry("totalMethods", 1L);
+  }
+
+  @Test
+  void shouldNotRecoverJournalOfRunningJvm() throws IOException {
+    RunJournal journal = RunJournal.start(reportDir.resolve(RunJournal.JOURNAL_DIR_NAME));
+    journal.close();
+
+    assertThat(new RunJournalRecovery().recoverAbandoned(reportDir)).isEmpty();
+    assertThat(journal.getJournalFile()).exists();
+  }
+
+  @Test
+  void shouldRecoverJournalOfKilledJvm() throws IOException {
+    Path journalFile = reportDir.resolve(RunJournal.JOURNAL_DIR_NAME).resolve("run-1-2.jsonl");
+    Files.createDirectories(journalFile.getParent());
+    Files.writeString(
+        journalFile,
+        String.join(
+            "\n",
+            "{\"type\":\"run\",\"timeMs\":1000,\"data\":{\"pid\":"
+                + Long.MAX_VALUE
+                + ",\"startedAt\":1000}}",
+            "{\"type\":\"context\",\"timeMs\":3000,\"data\":{\"contextKey\":\"context-0\","
+                + "\"loadDuration\":1800,\"testClasses\":[\"com.example.ATest\"]}}",
+            "{\"type\":\"testClass\",\"timeMs\":4000,\"data\":{\"className\":\"com.example.ATest\","
+                + "\"totalMethods\":2,\"contextKey\":\"context-0\"}}",
+            "{\"type\":\"testClass\",\"timeMs\":5000,\"data\":{\"className\":\"com.example.BTest\","
+                + "\"totalMethods\":3,\"contextKey\":\"context-0\"}}",
+            // Truncated by the killed JVM
+            "{\"type\":\"testClass\",\"timeMs\":6000,\"data\":{\"className\":\"com.exa"),
+        StandardCharsets.UTF_8);
+
+    List<Path> recovered = new RunJournalRecovery().recoverAbandoned(reportDir);
+
+    assertThat(recovered)
+        .containsExactly(reportDir.resolve("spring-test-profiler-recovered-run-1-2.json"));
+    assertThat(journalFile).doesNotExist();
+
+    Map<String, Object> report =
+        SimpleJsonReader.parseObject(Files.readString(recovered.get(0), StandardCharsets.UTF_8));
+    assertThat(SimpleJsonReader.asMap(report.get("summary")))
+        .containsEntry("totalTestClasses", 2L)
+        .containsEntry("totalTestMethods", 5L)
+        .containsEntry("totalDurationMs", 4000L)
+        .containsEntry("cacheHits", 1L)
+        .containsEntry("cacheMisses", 1L)
+        .containsEntry("totalContextLoadTimeMs", 1800L);
+    assertThat(SimpleJsonReader.asMap(SimpleJsonReader.asList(report.get("contexts")).get(0)))
+        .containsEntry("testClasses", List.of("com.example.ATest", "com.example.BTest"));
+  }
+
+  @Test
+  void shouldRecoverJournalOfKilledJvmWhosePidIsReused() throws IOException {
+    // The current JVM got the pid of a JVM that started the journal before it
+    Path journalFile = reportDir.resolve(RunJournal.JOURNAL_DIR_NAME).resolve("run-1-2.jsonl");
+    Files.createDirectories(journalFile.getParent());
+    Files.writeString(
+        journalFile,
+        "{\"type\":\"run\",\"timeMs\":1000,\"data\":{\"pid\":"
+            + ProcessHandle.current().pid()
+            + ",\"startedAt\":1000}}",
+        StandardCharsets.UTF_8);
+
+    assertThat(new RunJournalRecovery().recoverAbandoned(reportDir)).hasSize(1);
+    assertThat(journalFile).doesNotExist();
+  }
+
+  @Test
+  void shouldRecoverAbandonedJournalOnlyOnceWhenForksFinishTogether() throws Exception {
+    Path journalFile = reportDir.resolve(RunJournal.JOURNAL_DIR_NAME).resolve("run-1-2.jsonl");
+    Files.createDirectories(journalFile.getParent());
+    Files.writeString(
+        journalFile,
+        "{\"type\":\"run\",\"timeMs\":1000,\"data\":{\"pid\":"
+            + Long.MAX_VALUE
+            + ",\"startedAt\":1000}}",
+        StandardCharsets.UTF_8);
+
+    ExecutorService forks = Executors.newFixedThreadPool(4);
+    try {
+      List<Future<List<Path>>> results = new ArrayList<>();
+      for (int i = 0; i < 4; i++) {
+        results.add(forks.submit(() -> new RunJournalRecovery().recoverAbandoned(reportDir)));
+      }
+      int recoveredReports = 0;
+      for (Future<List<Path>> result : results) {
+        recoveredReports += result.get().size();
+      }
+
+      assertThat(recoveredReports).isEqualTo(1);
+      assertThat(journalFile.getParent()).isEmptyDirectory();
+    } finally {
+      forks.shutdownNow();
+    }
+  }
+
+  private static TestExecutionTracker.TestClassMetrics completedTestClass(String className) {
+    TestExecutionTracker tracker = new TestExecutionTracker();
+    tracker.recordTestClassStart(className);
+    tracker.recordTestMethodStart(className, "shouldWork");
+    tracker.recordTestMethodEnd(className, "shouldWork", TestStatus.PASSED);
+    tracker.recordTestClassEnd(className);
+    return tracker.getClassMetrics().get(className);
+  }
+}
@@ -0,0 +1,193 @@
+package digital.pragmatech.testing.jpa;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executor;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JpaBootstrapProbeTest {
+
+  interface SchemaCreator {
+    void doCreation() throws InterruptedException;
+  }
+
+  interface SchemaManagementTool {
+    SchemaCreator getSchemaCreator();
+  }
+
+  interface RegionFactory {
+    void start() throws InterruptedException;
+  }
+
+  public static class StubSchemaManagementTool implements SchemaManagementTool {
+    @Override
+    public SchemaCreator getSchemaCreator() {
+      return () -> Thread.sleep(30);
+    }
+  }
+
+  public static class StubRegionFactory implements RegionFactory {
+    @Override
+    public void start() throws InterruptedException {
+      Thread.sleep(20);
+    }
+  }
+
+  public static class StubMetamodel {
+    public Set<String> getEntities() {
+      return Set.of("Book", "Author");
+    }
+  }
+
+  public static class StubEntityManagerFactory {
+    public StubMetamodel getMetamodel() {
+      return new StubMetamodel();
+    }
+  }
+
+  /** Exposes the methods of Spring's {@code AbstractEntityManagerFactoryBean} the probe uses. */
+  public static class StubEntityManagerFactoryBean {
+    private final Map<String, Object> jpaPropertyMap = new HashMap<>();
+    private Executor bootstrapExecutor;
+
+    public Map<String, Object> getJpaPropertyMap() {
+      return jpaPropertyMap;
+    }
+
+    public Executor getBootstrapExecutor() {
+      return bootstrapExecutor;
+    }
+
+    public StubEntityManagerFactory getNativeEntityManagerFactory() {
+      return new StubEntityManagerFactory();
+    }
+
+    /** Uses the tools from the JPA properties, as Hibernate does while building the factory. */
+    void afterPropertiesSet() throws InterruptedException {
+      ((SchemaManagementTool) jpaPropertyMap.get(JpaBootstrapProbe.SCHEMA_MANAGEMENT_TOOL_PROPERTY))
+          .getSchemaCreator()
+          .doCreation();
+      Object regionFactory = jpaPropertyMap.get(JpaBootstrapProbe.REGION_FACTORY_PROPERTY);
+      if (regionFactory instanceof RegionFactory factory) {
+        factory.start();
+      }
+    }
+  }
+
+  private final List<JpaBootstrapProfile> profiles = new ArrayList<>();
+
+  private final JpaBootstrapProbe probe =
+      new JpaBootstrapProbe(
+          profiles::add,
+          StubEntityManagerFactoryBean.class.getName(),
+          StubSchemaManagementTool.class.getName());
+
+  @Test
+  void shouldInsertTimingSchemaManagementTool() throws Exception {
+    StubEntityManagerFactoryBean factoryBean = new StubEntityManagerFactoryBean();
+
+    probe.postProcessBeforeInitialization(factoryBean, "entityManagerFactory");
+    Object tool =
+        factoryBean.getJpaPropertyMap().get(JpaBootstrapProbe.SCHEMA_MANAGEMENT_TOOL_PROPERTY);
+    factoryBean.afterPropertiesSet();
+    probe.postProcessAfterInitialization(factoryBean, "entityManagerFactory");
+
+    assertThat(tool)
+        .isInstanceOf(SchemaManagementTool.class)
+        .isNotInstanceOf(StubSchemaManagementTool.class);
+    assertThat(profiles)
+        .singleElement()
+        .satisfies(
+            profile -> {
+              assertThat(profile.schemaManagementTimeMs()).isGreaterThanOrEqualTo(30);
+              assertThat(profile.entityManagerFactoryTimeMs())
+                  .isGreaterThanOrEqualTo(profile.schemaManagementTimeMs());
+              assertThat(profile.secondLevelCacheTimeMs()).isEqualTo(-1);
+            });
+  }
+
+  @Test
+  void shouldLeaveSchemaManagementToolOfApplicationAlone() throws Exception {
+    StubEntityManagerFactoryBean factoryBean = new StubEntityManagerFactoryBean();
+    SchemaManagementTool applicationTool = () -> () -> {};
+    factoryBean
+        .getJpaPropertyMap()
+        .put(JpaBootstrapProbe.SCHEMA_MANAGEMENT_TOOL_PROPERTY, applicationTool);
+
+    probe.postProcessBeforeInitialization(factoryBean, "entityManagerFactory");
+    factoryBean.afterPropertiesSet();
+    probe.postProcessAfterInitialization(factoryBean, "entityManagerFactory");
+
+    assertThat(factoryBean.getJpaPropertyMap())
+        .containsEntry(JpaBootstrapProbe.SCHEMA_MANAGEMENT_TOOL_PROPERTY, applicationTool);
+    assertThat(profiles).singleElement().extracting("schemaManagementTimeMs").isEqualTo(-1L);
+  }
+
+  @Test
+  void shouldTimeConfiguredRegionFactory() throws Exception {
+    StubEntityManagerFactoryBean factoryBean = new StubEntityManagerFactoryBean();
+    factoryBean
+        .getJpaPropertyMap()
+        .put(JpaBootstrapProbe.REGION_FACTORY_PROPERTY, StubRegionFactory.class.getName());
+
+    probe.postProcessBeforeInitialization(factoryBean, "entityManagerFactory");
+    factoryBean.afterPropertiesSet();
+    probe.postProcessAfterInitialization(factoryBean, "entityManagerFactory");
+
+    assertThat(factoryBean.getJpaPropertyMap().get(JpaBootstrapProbe.REGION_FACTORY_PROPERTY))
+        .isInstanceOf(RegionFactory.class)
+        .isNotInstanceOf(StubRegionFactory.class);
+    assertThat(profiles)
+        .singleElement()
+        .extracting(JpaBootstrapProfile::secondLevelCacheTimeMs)
+        .satisfies(timeMs -> assertThat(timeMs).isGreaterThanOrEqualTo(20));
+  }
+
+  @Test
+  void shouldNotMeasureBootstrapInBackground() throws Exception {
+    StubEntityManagerFactoryBean factoryBean = new StubEntityManagerFactoryBean();
+    factoryBean.bootstrapExecutor = Runnable::run;
+
+    probe.postProcessBeforeInitialization(factoryBean, "entityManagerFactory");
+    factoryBean.afterPropertiesSet();
+    probe.postProcessAfterInitialization(factoryBean, "entityManagerFactory");
+
+    assertThat(profiles)
+        .singleElement()
+        .satisfies(
+            profile -> {
+              assertThat(profile.entityManagerFactoryTimeMs()).isEqualTo(-1);
+              assertThat(profile.getMetamodelTimeMs()).isEqualTo(-1);
+              assertThat(profile.entityCount()).isEqualTo(-1);
+            });
+  }
+
+  @Test
+  void shouldPassProfileToConsumer() throws Exception {
+    StubEntityManagerFactoryBean factoryBean = new StubEntityManagerFactoryBean();
+
+    probe.postProcessBeforeInitialization(factoryBean, "entityManagerFactory");
+    factoryBean.afterPropertiesSet();
+    assertThat(profiles).isEmpty();
+    probe.postProcessAfterInitialization(factoryBean, "entityManagerFactory");
+
+    assertThat(profiles)
+        .singleElement()
+        .satisfies(
+            profile -> {
+              assertThat(profile.beanName()).isEqualTo("entityManagerFactory");
+              assertThat(profile.entityCount()).isEqualTo(2);
+            });
+
+    // Other beans are passed through without a profile
+    probe.postProcessBeforeInitialization(new Object(), "otherBean");
+    probe.postProcessAfterInitialization(new Object(), "otherBean");
+    assertThat(profiles).hasSize(1);
+  }
+}
@@ -0,0 +1,88 @@
+package digital.pragmatech.testing.jpa;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TimingProxiesTest {
+
+  interface SchemaCreator {
+    void doCreation() throws InterruptedException;
+  }
+
+  interface SchemaTool {
+    SchemaCreator getSchemaCreator();
+
+    String getName();
+  }
+
+  interface RegistryAware {
+    void injectServices(String registry);
+  }
+
+  static class SlowSchemaCreator implements SchemaCreator {
+    @Override
+    public void doCreation() throws InterruptedException {
+      Thread.sleep(30);
+    }
+  }
+
+  static class FakeSchemaTool implements SchemaTool, RegistryAware {
+    private String registry;
+
+    @Override
+    public SchemaCreator getSchemaCreator() {
+      return new SlowSchemaCreator();
+    }
+
+    @Override
+    public String getName() {
+      return "fake:" + registry;
+    }
+
+    @Override
+    public void injectServices(String registry) {
+      this.registry = registry;
+    }
+  }
+
+  @Test
+  void shouldTimeSchemaToolsAndForwardOtherMethods() throws Exception {
+    AtomicLong nanos = new AtomicLong();
+    Object proxy = TimingProxies.timeSchemaTools(new FakeSchemaTool(), nanos);
+
+    // Implements all interfaces of the delegate, e.g. to receive services of the registry
+    assertThat(proxy).isInstanceOf(RegistryAware.class);
+    ((RegistryAware) proxy).injectServices("registry");
+    assertThat(((SchemaTool) proxy).getName()).isEqualTo("fake:registry");
+    assertThat(nanos.get()).isZero();
+
+    ((SchemaTool) proxy).getSchemaCreator().doCreation();
+    assertThat(nanos.get()).isGreaterThanOrEqualTo(30_000_000L);
+  }
+
+  @Test
+  void shouldPropagateExceptionsOfDelegate() {
+    SchemaCreator failing =
+        () -> {
+          throw new IllegalStateException("Table already exists");
+        };
+    SchemaCreator proxy = (SchemaCreator) TimingProxies.timeAllMethods(failing, new AtomicLong());
+
+    assertThatThrownBy(proxy::doCreation)
+        .isInstanceOf(IllegalStateException.class)
+        .hasMessage("Table already exists");
+  }
+
+  @Test
+  void shouldCalculateMetamodelTimeAsRemainder() {
+    JpaBootstrapProfile profile =
+        new JpaBootstrapProfile("entityManagerFactory", 100, 2_000, 1_500, -1, 12);
+
+    assertThat(profile.getMetamodelTimeMs()).isEqualTo(500);
+    assertThat(profile.getTotalTimeMs()).isEqualTo(2_100);
+  }
+}
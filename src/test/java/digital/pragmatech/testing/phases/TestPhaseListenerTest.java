@@ -0,0 +1,64 @@
+package digital.pragmatech.testing.phases;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.core.OrderComparator;
+import org.springframework.core.Ordered;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TestPhaseListenerTest {
+
+  /** Stand-in for one of Spring's listeners that spends the given time in its callbacks. */
+  private record SpringListener(int order, long beforeNanos, long afterNanos) implements Ordered {
+    @Override
+    public int getOrder() {
+      return order;
+    }
+  }
+
+  @Test
+  void shouldAttributeTimeOfSpringListenersToTheirPhases() {
+    List<Ordered> listeners = new ArrayList<>();
+    listeners.add(new SpringListener(3000, 1, 2)); // DirtiesContext
+    listeners.add(new SpringListener(4000, 10, 20)); // Transactional
+    listeners.add(new SpringListener(5000, 100, 200)); // SqlScripts
+    listeners.add(new SpringListener(10000, 3, 4)); // EventPublishing
+    listeners.add(new SpringListener(Ordered.LOWEST_PRECEDENCE - 100, 1000, 2000)); // MockReset
+    listeners.add(new TestPhaseListener.BeforeTransaction());
+    listeners.add(new TestPhaseListener.BeforeSqlScripts());
+    listeners.add(new TestPhaseListener.AfterSqlScripts());
+    listeners.add(new TestPhaseListener.BeforeMockReset());
+    listeners.add(new TestPhaseListener.AfterMockReset());
+    listeners.sort(OrderComparator.INSTANCE);
+
+    TestPhaseDurations durations = new TestPhaseDurations();
+    TestPhase phase = TestPhase.SETUP;
+    for (Ordered listener : listeners) {
+      if (listener instanceof TestPhaseListener probe) {
+        phase = probe.getBeforePhase();
+      } else {
+        durations.add(phase, ((SpringListener) listener).beforeNanos());
+      }
+    }
+    phase = TestPhase.TEARDOWN;
+    Collections.reverse(listeners);
+    for (Ordered listener : listeners) {
+      if (listener instanceof TestPhaseListener probe) {
+        phase = probe.getAfterPhase();
+      } else {
+        durations.add(phase, ((SpringListener) listener).afterNanos());
+      }
+    }
+
+    assertThat(durations.getNanos(TestPhase.TRANSACTION)).isEqualTo(30);
+    assertThat(durations.getNanos(TestPhase.SQL_SCRIPTS)).isEqualTo(300);
+    assertThat(durations.getNanos(TestPhase.MOCK_RESET)).isEqualTo(3000);
+    assertThat(durations.getNanos(TestPhase.SETUP)).isEqualTo(4);
+    assertThat(durations.getNanos(TestPhase.TEARDOWN)).isEqualTo(6);
+    assertThat(durations.isSplitRecorded()).isTrue();
+  }
+}
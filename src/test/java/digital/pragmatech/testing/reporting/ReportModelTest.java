@@ -0,0 +1,71 @@
+package digital.pragmatech.testing.reporting;
+
+import java.time.Instant;
+
+import digital.pragmatech.testing.ContextCacheTracker;
+import digital.pragmatech.testing.TestExecutionTracker;
+import digital.pragmatech.testing.TestStatus;
+import digital.pragmatech.testing.phases.TestPhase;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReportModelTest {
+
+  private static final long MILLIS = 1_000_000L;
+
+  @Test
+  void shouldCollectTestClassesAndStatusCountsInOnePass() {
+    TestExecutionTracker tracker = new TestExecutionTracker();
+    // Enough classes for the parallel pass to split them
+    for (int i = 0; i < 500; i++) {
+      String className = String.format("com.example.Test%03d", i);
+      tracker.recordTestClassStart(className);
+      recordTestMethod(tracker, className, "passes", TestStatus.PASSED, 0);
+      recordTestMethod(
+          tracker, className, "varies", i % 10 == 0 ? TestStatus.FAILED : TestStatus.PASSED, i);
+      tracker.recordTestClassEnd(className);
+    }
+
+    ReportModel model = ReportModel.build(tracker, new ContextCacheTracker());
+
+    assertThat(model.getTestCount(TestStatus.PASSED)).isEqualTo(950);
+    assertThat(model.getTestCount(TestStatus.FAILED)).isEqualTo(50);
+    assertThat(model.getTestCount(TestStatus.DISABLED)).isZero();
+    assertThat(model.testClassStatistics())
+        .hasSize(500)
+        .first()
+        .satisfies(
+            testClass -> assertThat(testClass).containsEntry("className", "com.example.Test000"));
+    assertThat(model.phaseProfiledTestClasses())
+        .hasSize(499)
+        .extracting(TestExecutionTracker.TestClassMetrics::getClassName)
+        .startsWith("com.example.Test499", "com.example.Test498")
+        .endsWith("com.example.Test001");
+    assertThat(model.contextStatistics()).isEmpty();
+    assertThat(model.gcPausedContexts()).isEmpty();
+  }
+
+  @Test
+  void shouldBuildEmptyModel() {
+    ReportModel model = ReportModel.empty();
+
+    assertThat(model.testClassStatistics()).isEmpty();
+    assertThat(model.phaseProfiledTestClasses()).isEmpty();
+    assertThat(model.optimizationStatistics().getTotalContextsCreated()).isZero();
+    assertThat(model.availableProcessors()).isNull();
+  }
+
+  private static void recordTestMethod(
+      TestExecutionTracker tracker,
+      String className,
+      String methodName,
+      TestStatus status,
+      long executionMs) {
+    tracker.recordTestMethodStart(className, methodName, Instant.now(), 0);
+    tracker.recordTestPhase(className, methodName, TestPhase.EXECUTION, 0);
+    tracker.recordTestMethodEnd(className, methodName, status, Instant.now());
+    tracker.recordTestPhase(className, methodName, TestPhase.TEARDOWN, executionMs * MILLIS);
+    tracker.recordTestMethodTeardownEnd(className, methodName, executionMs * MILLIS);
+  }
+}
@@ -0,0 +1,148 @@
+package digital.pragmatech.testing.reporting.diff;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReportDiffCalculatorTest {
+
+  private static final String MOCKITO_CUSTOMIZER =
+      "org.springframework.test.context.bean.override.BeanOverrideContextCustomizer";
+
+  private final ReportDiffCalculator calculator = new ReportDiffCalculator();
+
+  @Test
+  void shouldMatchContextsByConfigurationInsteadOfContextKey() {
+    Map<String, Object> base =
+        report(context("context-0", List.of("com.example.AppConfig"), List.of(), 1000, 50, "A"));
+    Map<String, Object> head =
+        report(context("context-7", List.of("com.example.AppConfig"), List.of(), 1400, 55, "A"));
+
+    ReportDiff diff = calculator.calculate(base, head);
+
+    assertThat(diff.addedContexts()).isEmpty();
+    assertThat(diff.removedContexts()).isEmpty();
+    assertThat(diff.changedContexts()).singleElement();
+    ReportDiff.ContextDelta delta = diff.changedContexts().get(0);
+    assertThat(delta.getLoadTimeDeltaMs()).isEqualTo(400);
+    assertThat(delta.getBeanCountDelta()).isEqualTo(5);
+  }
+
+  @Test
+  void shouldReportAddedAndRemovedContexts() {
+    Map<String, Object> base =
+        report(
+            context("context-0", List.of("com.example.AppConfig"), List.of(), 1000, 50, "A"),
+            context("context-1", List.of("com.example.OldConfig"), List.of(), 800, 30, "B"));
+    Map<String, Object> head =
+        report(
+            context("context-0", List.of("com.example.AppConfig"), List.of(), 1000, 50, "A"),
+            context("context-1", List.of("com.example.NewConfig"), List.of(), 30000, 400, "C"));
+
+    ReportDiff diff = calculator.calculate(base, head);
+
+    assertThat(diff.addedContexts())
+        .singleElement()
+        .satisfies(
+            added -> {
+              assertThat(added.label()).isEqualTo("C");
+              assertThat(added.loadTimeMs()).isEqualTo(30000);
+            });
+    assertThat(diff.removedContexts()).extracting(ReportDiff.ContextSummary::label).contains("B");
+    assertThat(diff.summary().getLoadTimeDeltaMs()).isEqualTo(29200);
+    assertThat(ReportDiffCommand.exceedsLoadIncrease(diff, 30000)).isTrue();
+    assertThat(ReportDiffCommand.exceedsLoadIncrease(diff, 30001)).isFalse();
+  }
+
+  @Test
+  void shouldDetectNewMockFragmentationAndMovedTestClasses() {
+    Map<String, Object> base =
+        report(
+            context(
+                "context-0",
+                List.of("com.example.AppConfig"),
+                List.of(MOCKITO_CUSTOMIZER),
+                2000,
+                100,
+                "com.example.FirstIT",
+                "com.example.SecondIT"));
+    Map<String, Object> head =
+        report(
+            context(
+                "context-0",
+                List.of("com.example.AppConfig"),
+                List.of(MOCKITO_CUSTOMIZER),
+                2000,
+                100,
+                "com.example.FirstIT"),
+            context(
+                "context-1",
+                List.of("com.example.AppConfig"),
+                List.of(MOCKITO_CUSTOMIZER),
+                1800,
+                100,
+                "com.example.SecondIT"));
+
+    ReportDiff diff = calculator.calculate(base, head);
+
+    assertThat(diff.mockFragmentation())
+        .singleElement()
+        .satisfies(
+            fragmentation -> {
+              assertThat(fragmentation.baseContextCount()).isEqualTo(1);
+              assertThat(fragmentation.headContextCount()).isEqualTo(2);
+              assertThat(fragmentation.avoidableLoadTimeMs()).isEqualTo(1800);
+            });
+    assertThat(diff.movedTestClasses())
+        .singleElement()
+        .satisfies(
+            moved -> {
+              assertThat(moved.className()).isEqualTo("com.example.SecondIT");
+              assertThat(moved.fromContext()).isEqualTo("FirstIT (+1)");
+              assertThat(moved.toContext()).isEqualTo("SecondIT");
+            });
+    assertThat(new ReportDiffMarkdownRenderer().render(diff))
+        .contains("### New Mock Fragmentation", "`com.example.SecondIT` | FirstIT (+1) | SecondIT");
+  }
+
+  @Test
+  void shouldRenderNoChangesForIdenticalReports() {
+    Map<String, Object> report =
+        report(context("context-0", List.of("com.example.AppConfig"), List.of(), 1000, 50, "A"));
+
+    ReportDiff diff = calculator.calculate(report, report);
+
+    assertThat(diff.hasChanges()).isFalse();
+    assertThat(new ReportDiffMarkdownRenderer().render(diff)).contains("No context changes.");
+  }
+
+  private Map<String, Object> report(Map<String, Object>... contexts) {
+    return Map.of("contexts", List.of(contexts));
+  }
+
+  private Map<String, Object> context(
+      String contextKey,
+      List<String> classes,
+      List<String> customizers,
+      long loadDuration,
+      long beans,
+      String... testClasses) {
+    Map<String, Object> configuration = new LinkedHashMap<>();
+    configuration.put("testClass", testClasses[0]);
+    configuration.put("classes", classes);
+    configuration.put("contextCustomizers", customizers);
+    configuration.put("activeProfiles", List.of());
+
+    Map<String, Object> context = new LinkedHashMap<>();
+    context.put("contextKey", contextKey);
+    context.put("loadDuration", loadDuration);
+    context.put("numberOfBeans", beans);
+    context.put("testClasses", List.of(testClasses));
+    context.put("contextConfiguration", configuration);
+    return context;
+  }
+}
@@ -0,0 +1,66 @@
+package digital.pragmatech.testing.reporting.html;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.GZIPInputStream;
+
+import digital.pragmatech.testing.ContextCacheTracker;
+import digital.pragmatech.testing.TestExecutionTracker;
+import digital.pragmatech.testing.TestStatus;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReportDataWriterTest {
+
+  @TempDir Path reportDir;
+
+  @Test
+  void shouldWriteOneChunkPerPackage() throws IOException {
+    TestExecutionTracker tracker = new TestExecutionTracker();
+    recordTestMethod(tracker, "com.example.orders.OrderControllerTest", "shouldCreateOrder");
+    recordTestMethod(tracker, "com.example.orders.OrderRepositoryTest", "shouldFindOrders");
+    recordTestMethod(tracker, "com.example.users.UserServiceTest", "shouldRegisterUser");
+
+    ReportDataWriter.ReportIndex index =
+        new ReportDataWriter()
+            .write(reportDir, "test-profiler-report-1", tracker, new ContextCacheTracker());
+
+    assertThat(index.basePath()).isEqualTo("data/test-profiler-report-1/");
+    assertThat(index.contexts()).isEmpty();
+    assertThat(index.packages())
+        .extracting(testPackage -> testPackage.get("packageName"))
+        .containsExactly("com.example.orders", "com.example.users");
+    assertThat(index.packages().get(0))
+        .containsEntry("testClassCount", 2)
+        .containsEntry("testMethodCount", 2)
+        .containsEntry("chunk", "packages/com.example.orders");
+
+    Path dataDir = reportDir.resolve("data/test-profiler-report-1");
+    assertThat(gunzip(dataDir.resolve("packages/com.example.orders.json.gz")))
+        .contains("\"className\":\"com.example.orders.OrderControllerTest\"")
+        .contains("\"methodName\":\"shouldFindOrders\"")
+        .doesNotContain("UserServiceTest");
+    assertThat(Files.readString(dataDir.resolve("packages/com.example.users.js")))
+        .startsWith("springTestProfilerChunkLoaded(\"packages/com.example.users\", {")
+        .contains("\"methodName\":\"shouldRegisterUser\"");
+  }
+
+  private static void recordTestMethod(
+      TestExecutionTracker tracker, String className, String methodName) {
+    tracker.recordTestClassStart(className);
+    tracker.recordTestMethodStart(className, methodName);
+    tracker.recordTestMethodEnd(className, methodName, TestStatus.PASSED);
+    tracker.recordTestClassEnd(className);
+  }
+
+  private static String gunzip(Path file) throws IOException {
+    try (InputStream in = new GZIPInputStream(Files.newInputStream(file))) {
+      return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+    }
+  }
+}
@@ -0,0 +1,72 @@
+package digital.pragmatech.testing.reporting.html;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import digital.pragmatech.testing.TestExecutionTracker;
+import digital.pragmatech.testing.TestStatus;
+import digital.pragmatech.testing.phases.TestPhase;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReportRowWriterTest {
+
+  private final ReportRowWriter rowWriter = new ReportRowWriter();
+
+  @Test
+  void shouldWriteOneTestPhaseRowPerTestClass() {
+    TestExecutionTracker tracker = new TestExecutionTracker();
+    recordTestMethod(tracker, "com.example.orders.OrderControllerTest");
+    recordTestMethod(tracker, "com.example.users.UserServiceTest");
+
+    String rows = rowWriter.testPhaseRows(List.copyOf(tracker.getClassMetrics().values()));
+
+    assertThat(rows.lines()).hasSize(2);
+    assertThat(rows)
+        .contains("<td title=\"com.example.orders.OrderControllerTest\"><span>OrderControllerTest")
+        .contains("<td title=\"com.example.users.UserServiceTest\"><span>UserServiceTest");
+    for (TestPhase phase : TestPhase.values()) {
+      assertThat(rows).contains("class=\"test-phase-" + phase.name().toLowerCase() + "\"");
+    }
+  }
+
+  @Test
+  void shouldEscapeClassNames() {
+    TestExecutionTracker tracker = new TestExecutionTracker();
+    recordTestMethod(tracker, "com.example.Outer$<Nested>\"Test");
+
+    String rows = rowWriter.gcTestClassRows(List.copyOf(tracker.getClassMetrics().values()));
+
+    assertThat(rows)
+        .contains("title=\"com.example.Outer$&lt;Nested&gt;&quot;Test\"")
+        .contains("0ms (0.0%)")
+        .doesNotContain("<Nested>");
+  }
+
+  @Test
+  void shouldWriteOneCollapsedItemPerPackage() {
+    Map<String, Object> testPackage = new LinkedHashMap<>();
+    testPackage.put("packageName", "com.example.orders");
+    testPackage.put("testClassCount", 4);
+    testPackage.put("testMethodCount", 32);
+    testPackage.put("durationMs", 12_500L);
+    testPackage.put("chunk", "packages/com.example.orders");
+
+    String items = rowWriter.testPackageItems(List.of(testPackage));
+
+    assertThat(items)
+        .startsWith("<details class=\"test-package\" data-chunk=\"packages/com.example.orders\">")
+        .contains("<span class=\"test-package-name\">com.example.orders</span>")
+        .contains("4 classes, 32 methods, ")
+        .contains("<div class=\"test-package-content\"></div></details>");
+  }
+
+  private static void recordTestMethod(TestExecutionTracker tracker, String className) {
+    tracker.recordTestClassStart(className);
+    tracker.recordTestMethodStart(className, "shouldWork");
+    tracker.recordTestMethodEnd(className, "shouldWork", TestStatus.PASSED);
+    tracker.recordTestClassEnd(className);
+  }
+}
@@ -0,0 +1,46 @@
+package digital.pragmatech.testing.reporting.json;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JsonReportGeneratorTest {
+
+  @TempDir Path buildDir;
+
+  @Test
+  void shouldNameMavenModulesByTheirPathInTheReactor() throws IOException {
+    Files.writeString(buildDir.resolve("pom.xml"), "<project/>");
+    for (String module : new String[] {"services", "services/core", "clients", "clients/core"}) {
+      Files.createDirectories(buildDir.resolve(module));
+      Files.writeString(buildDir.resolve(module).resolve("pom.xml"), "<project/>");
+    }
+
+    assertThat(JsonReportGenerator.moduleName(buildDir.resolve("services/core")))
+        .isEqualTo("services/core");
+    assertThat(JsonReportGenerator.moduleName(buildDir.resolve("clients/core")))
+        .isEqualTo("clients/core");
+  }
+
+  @Test
+  void shouldNameGradleSubprojectsByTheirPathFromTheSettings() throws IOException {
+    Files.writeString(buildDir.resolve("settings.gradle.kts"), "include(\"services:core\")");
+    Files.createDirectories(buildDir.resolve("services/core"));
+
+    assertThat(JsonReportGenerator.moduleName(buildDir.resolve("services/core")))
+        .isEqualTo("services/core");
+  }
+
+  @Test
+  void shouldNameSingleModuleBuildByItsDirectory() throws IOException {
+    Path project = Files.createDirectories(buildDir.resolve("orders"));
+    Files.writeString(project.resolve("pom.xml"), "<project/>");
+
+    assertThat(JsonReportGenerator.moduleName(project)).isEqualTo("orders");
+  }
+}
@@ -0,0 +1,168 @@
+package digital.pragmatech.testing.sharding;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+class ShardPlannerTest {
+
+  @TempDir Path outputDir;
+
+  @Test
+  void shouldKeepClassesOfTheSameContextTogether() {
+    List<TestClassCost> costs = new ArrayList<>();
+    for (String context : List.of("a", "b", "c", "d")) {
+      costs.add(new TestClassCost("com.example." + context + ".FirstIT", 6000, context, 5000));
+      costs.add(new TestClassCost("com.example." + context + ".SecondIT", 1000, context, 5000));
+    }
+
+    ShardPlan plan = new ShardPlanner(2).plan(costs);
+
+    assertThat(plan.getDuplicatedContextLoads()).isZero();
+    assertThat(plan.shards())
+        .allSatisfy(
+            shard -> {
+              assertThat(shard.testClasses()).hasSize(4);
+              assertThat(shard.contextLoads()).isEqualTo(2);
+              // Net test time is derived proportionally from the measured durations
+              assertThat(shard.estimatedDurationMs()).isCloseTo(14000, within(5L));
+            });
+  }
+
+  @Test
+  void shouldSplitContextsThatAreLargerThanAShard() {
+    List<TestClassCost> costs = new ArrayList<>();
+    for (int i = 0; i < 6; i++) {
+      costs.add(
+          new TestClassCost("com.example.Big" + i + "IT", i == 0 ? 11000 : 10000, "big", 1000));
+    }
+
+    ShardPlan plan = new ShardPlanner(3).plan(costs);
+
+    assertThat(plan.getDuplicatedContextLoads()).isEqualTo(2);
+    assertThat(plan.shards()).allSatisfy(shard -> assertThat(shard.testClasses()).hasSize(2));
+    assertThat(plan.shards()).allSatisfy(shard -> assertThat(shard.contextLoads()).isOne());
+    assertThat(plan.getMakespanMs()).isCloseTo(21660, within(10L));
+  }
+
+  @Test
+  void shouldKeepNestedClassesWithTheirTopLevelClass() {
+    List<TestClassCost> costs =
+        List.of(
+            new TestClassCost("com.example.OuterIT", 3000, "a", 2000),
+            new TestClassCost("com.example.OuterIT$NestedIT", 3000, "b", 2000),
+            new TestClassCost("com.example.OtherIT", 3000, "c", 2000));
+
+    ShardPlan plan = new ShardPlanner(2).plan(costs);
+
+    assertThat(plan.shards())
+        .extracting(ShardPlan.Shard::testClasses)
+        .containsExactlyInAnyOrder(List.of("com.example.OuterIT"), List.of("com.example.OtherIT"));
+  }
+
+  @Test
+  void shouldWriteIncludeAndExcludeFiles() throws Exception {
+    ShardPlan plan =
+        new ShardPlanner(2)
+            .plan(
+                List.of(
+                    new TestClassCost("com.example.FirstIT", 5000, "a", 2000),
+                    new TestClassCost("com.example.SecondIT", 5000, "b", 2000),
+                    new TestClassCost("com.example.UnitTest", 10, null, 0)));
+
+    new ShardPlanWriter().write(plan, outputDir);
+
+    List<String> first = Files.readAllLines(outputDir.resolve("shard-1.txt"));
+    List<String> second = Files.readAllLines(outputDir.resolve("shard-2.txt"));
+    assertThat(first.size() + second.size()).isEqualTo(3);
+    assertThat(Files.readAllLines(outputDir.resolve("shard-1-excludes.txt")))
+        .containsExactlyElementsOf(second);
+    assertThat(outputDir.resolve("shard-plan.json")).exists();
+  }
+
+  @Test
+  void shouldPlanTheTestClassesOfAllForksOfTheBuild() throws Exception {
+    ShardPlanWriter writer = new ShardPlanWriter();
+    writer.planWithOtherForks(
+        outputDir,
+        "build-1",
+        List.of(new TestClassCost("com.example.StaleIT", 5000, "a", 2000)),
+        new ShardPlanner(2));
+    writer.planWithOtherForks(
+        outputDir,
+        "build-2",
+        List.of(new TestClassCost("com.example.FirstIT", 5000, "a", 2000)),
+        new ShardPlanner(2));
+
+    ShardPlan plan =
+        writer.planWithOtherForks(
+            outputDir,
+            "build-2",
+            List.of(new TestClassCost("com.example.SecondIT", 5000, "b", 2000)),
+            new ShardPlanner(2));
+
+    assertThat(plan.shards())
+        .flatExtracting(ShardPlan.Shard::testClasses)
+        .containsExactlyInAnyOrder("com.example.FirstIT", "com.example.SecondIT");
+    assertThat(Files.readAllLines(outputDir.resolve("shard-1.txt"))).hasSize(1);
+    assertThat(Files.readAllLines(outputDir.resolve("shard-2.txt"))).hasSize(1);
+  }
+
+  @Test
+  void shouldPlanFromTheMergedReportsOfAllForks() throws Exception {
+    Path reportDir = outputDir.resolve("reports");
+    Files.createDirectories(reportDir);
+    Files.writeString(
+        reportDir.resolve("spring-test-profiler-fork-1.json"),
+        report("com.example.FirstIT", "a", 4000));
+    Files.writeString(
+        reportDir.resolve("spring-test-profiler-fork-2.json"),
+        report("com.example.SecondIT", "b", 6000));
+    Path shardDir = outputDir.resolve("shards");
+
+    int exitCode =
+        new ShardPlanCommand()
+            .run(
+                new String[] {
+                  reportDir.toString(), "--shards", "2", "--output-dir", shardDir.toString()
+                },
+                new PrintStream(new ByteArrayOutputStream()),
+                new PrintStream(new ByteArrayOutputStream()));
+
+    assertThat(exitCode).isEqualTo(ShardPlanCommand.EXIT_OK);
+    List<String> classes = new ArrayList<>(Files.readAllLines(shardDir.resolve("shard-1.txt")));
+    classes.addAll(Files.readAllLines(shardDir.resolve("shard-2.txt")));
+    assertThat(classes).containsExactlyInAnyOrder("com.example.FirstIT", "com.example.SecondIT");
+  }
+
+  @Test
+  void shouldRejectInvalidShardCount() {
+    assertThatThrownBy(() -> new ShardPlanner(0)).isInstanceOf(IllegalArgumentException.class);
+  }
+
+  private static String report(String className, String fingerprint, long loadDuration) {
+    return """
+        {
+          "contexts": [
+            {"contextKey": "context-0", "fingerprint": "%2$s", "loadDuration": %3$d,
+             "testClasses": ["%1$s"]}
+          ],
+          "testClasses": [
+            {"className": "%1$s", "durationMs": 5000, "contextKey": "context-0",
+             "fingerprint": "%2$s"}
+          ]
+        }
+        """
+        .formatted(className, fingerprint, loadDuration);
+  }
+}
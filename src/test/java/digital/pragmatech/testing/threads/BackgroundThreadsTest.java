@@ -0,0 +1,88 @@
+package digital.pragmatech.testing.threads;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BackgroundThreadsTest {
+
+  @Test
+  void shouldDetectThreadsStartedSinceSnapshot() throws Exception {
+    Set<Long> before = BackgroundThreads.liveThreadIds();
+    CountDownLatch stop = new CountDownLatch(1);
+    Thread worker = new Thread(() -> awaitQuietly(stop), "test-scheduler-1");
+    worker.setDaemon(true);
+    worker.start();
+    try {
+      List<BackgroundThread> started = BackgroundThreads.startedSince(before);
+
+      assertThat(started)
+          .filteredOn(thread -> thread.getName().equals("test-scheduler-1"))
+          .singleElement()
+          .satisfies(
+              thread -> {
+                assertThat(thread.isDaemon()).isTrue();
+                assertThat(thread.getThreadGroup()).isEqualTo("main");
+                assertThat(thread.isAlive()).isTrue();
+              });
+    } finally {
+      stop.countDown();
+      worker.join();
+    }
+  }
+
+  @Test
+  void shouldAccountCpuTimeAfterDetectionAndMarkTerminatedThreads() throws Exception {
+    Set<Long> before = BackgroundThreads.liveThreadIds();
+    CountDownLatch detected = new CountDownLatch(1);
+    CountDownLatch stop = new CountDownLatch(1);
+    Thread worker =
+        new Thread(
+            () -> {
+              awaitQuietly(detected);
+              long end = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(100);
+              long counter = 0;
+              while (System.nanoTime() < end) {
+                counter++;
+              }
+              if (counter >= 0) {
+                awaitQuietly(stop);
+              }
+            },
+            "test-busy-worker");
+    worker.start();
+
+    BackgroundThread thread =
+        BackgroundThreads.startedSince(before).stream()
+            .filter(candidate -> candidate.getName().equals("test-busy-worker"))
+            .findFirst()
+            .orElseThrow();
+    detected.countDown();
+    Thread.sleep(200);
+
+    BackgroundThreads.updateCpuTime(List.of(thread));
+    long cpuTimeMs = thread.getCpuTimeMs();
+    stop.countDown();
+    worker.join();
+    BackgroundThreads.updateCpuTime(List.of(thread));
+
+    if (cpuTimeMs >= 0) {
+      assertThat(cpuTimeMs).isPositive();
+      assertThat(thread.isAlive()).isFalse();
+      assertThat(thread.getCpuTimeMs()).isGreaterThanOrEqualTo(cpuTimeMs);
+    }
+  }
+
+  private static void awaitQuietly(CountDownLatch latch) {
+    try {
+      latch.await();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
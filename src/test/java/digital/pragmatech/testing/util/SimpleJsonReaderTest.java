@@ -0,0 +1,67 @@
+package digital.pragmatech.testing.util;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SimpleJsonReaderTest {
+
+  @Test
+  void shouldParsePrimitives() {
+    assertThat(SimpleJsonReader.parse("null")).isNull();
+    assertThat(SimpleJsonReader.parse("true")).isEqualTo(true);
+    assertThat(SimpleJsonReader.parse("false")).isEqualTo(false);
+    assertThat(SimpleJsonReader.parse("42")).isEqualTo(42L);
+    assertThat(SimpleJsonReader.parse("-3.5")).isEqualTo(-3.5);
+    assertThat(SimpleJsonReader.parse("1e3")).isEqualTo(1000.0);
+  }
+
+  @Test
+  void shouldParseEscapedStrings() {
+    assertThat(SimpleJsonReader.parse("\"a\\\"b\\\\c\\nd\\u0041\"")).isEqualTo("a\"b\\c\ndA");
+  }
+
+  @Test
+  void shouldParseNestedStructures() {
+    Map<String, Object> result =
+        SimpleJsonReader.parseObject(
+            "{ \"name\": \"ctx\", \"values\": [1, 2, {\"x\": null}], \"empty\": {} }");
+
+    assertThat(result).containsEntry("name", "ctx");
+    assertThat(SimpleJsonReader.asList(result.get("values"))).hasSize(3).startsWith(1L, 2L);
+    assertThat(SimpleJsonReader.asMap(result.get("empty"))).isEmpty();
+  }
+
+  @Test
+  void shouldRoundTripWriterOutput() {
+    Map<String, Object> original = new LinkedHashMap<>();
+    original.put("text", "line\nbreak \"quoted\"");
+    original.put("number", 123L);
+    original.put("list", List.of("a", "b"));
+
+    assertThat(SimpleJsonReader.parse(SimpleJsonWriter.toJsonPretty(original))).isEqualTo(original);
+  }
+
+  @Test
+  void shouldRejectInvalidJson() {
+    assertThatThrownBy(() -> SimpleJsonReader.parse("{\"a\": 1"))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> SimpleJsonReader.parse("[1, 2] trailing"))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> SimpleJsonReader.parseObject("[]"))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  void shouldProvideFallbacksForMissingValues() {
+    assertThat(SimpleJsonReader.asLong(null, 7)).isEqualTo(7);
+    assertThat(SimpleJsonReader.asDouble("text", 1.5)).isEqualTo(1.5);
+    assertThat(SimpleJsonReader.asList(null)).isEmpty();
+    assertThat(SimpleJsonReader.asMap(null)).isEmpty();
+  }
+}